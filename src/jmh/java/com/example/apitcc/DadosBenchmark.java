@@ -0,0 +1,63 @@
+package com.example.apitcc;
+
+import com.example.apitcc.model.entity.Match;
+import com.example.apitcc.model.entity.StatusMatch;
+import com.example.apitcc.repository.MatchRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dados sintéticos compartilhados pelos benchmarks
+ */
+public final class DadosBenchmark {
+
+    // Matches por usuário nos dados gerados
+    public static final int MATCHES_POR_USUARIO = 10;
+
+    private static final StatusMatch[] STATUS = {
+            StatusMatch.ATIVO, StatusMatch.EM_ANDAMENTO, StatusMatch.PENDENTE,
+            StatusMatch.FINALIZADO, StatusMatch.CONCLUIDO, StatusMatch.CANCELADO
+    };
+
+    private DadosBenchmark() {}
+
+    /**
+     * Match i: usuário i / MATCHES_POR_USUARIO, trabalho i, status alternando entre ativos e finalizados
+     */
+    public static Match novoMatch(int i) {
+        return new Match(
+                null,
+                "",
+                i / MATCHES_POR_USUARIO + 1,
+                i + 1,
+                STATUS[i % STATUS.length],
+                LocalDate.of(2025, 1, 15),
+                LocalDate.of(2025, 2, 1),
+                LocalDate.of(2025, 6, 30),
+                120.5,
+                4,
+                LocalDateTime.of(2025, 1, 15, 10, 0)
+        );
+    }
+
+    public static List<Match> matches(int quantidade) {
+        List<Match> matches = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Match match = novoMatch(i);
+            match.setId(i + 1L);
+            matches.add(match);
+        }
+        return matches;
+    }
+
+    public static MatchRepository repositorioComMatches(int quantidade) {
+        MatchRepository repositorio = new MatchRepository();
+        for (int i = 0; i < quantidade; i++) {
+            repositorio.save(novoMatch(i));
+        }
+        return repositorio;
+    }
+}
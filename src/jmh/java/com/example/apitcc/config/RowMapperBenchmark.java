@@ -0,0 +1,138 @@
+package com.example.apitcc.config;
+
+import com.example.apitcc.model.entity.Empresa;
+import com.example.apitcc.model.entity.Match;
+import com.example.apitcc.model.entity.Trabalho;
+import com.example.apitcc.model.entity.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RowMappers do DatabaseConfig sobre um ResultSet sintético (uma linha em memória)
+ * Mede o custo do mapeamento em si, sem driver nem rede
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private final DatabaseConfig.EmpresaRowMapper empresaRowMapper = new DatabaseConfig.EmpresaRowMapper();
+    private final DatabaseConfig.UsuarioRowMapper usuarioRowMapper = new DatabaseConfig.UsuarioRowMapper();
+    private final DatabaseConfig.TrabalhoRowMapper trabalhoRowMapper = new DatabaseConfig.TrabalhoRowMapper();
+    private final DatabaseConfig.MatchRowMapper matchRowMapper = new DatabaseConfig.MatchRowMapper();
+
+    private ResultSet empresa;
+    private ResultSet usuario;
+    private ResultSet trabalho;
+    private ResultSet match;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Map<String, Object> colunasEmpresa = new HashMap<>();
+        colunasEmpresa.put("IdEmpresa", 42);
+        colunasEmpresa.put("descricao_Empresa", "Empresa de tecnologia");
+        colunasEmpresa.put("nome_Empresa", "Tech Ltda");
+        colunasEmpresa.put("email_Empresa", "contato@tech.com");
+        colunasEmpresa.put("cnpj", "12345678000199");
+        colunasEmpresa.put("telefone_Empresa", "11999990000");
+        colunasEmpresa.put("endereco_Empresa", "Rua A, 100");
+        colunasEmpresa.put("area_atuacao_empresa", "Software");
+        colunasEmpresa.put("publicoAlvo_Empresa", "Estudantes");
+        colunasEmpresa.put("senha_Empresa", "segredo123");
+        empresa = resultSet(colunasEmpresa);
+
+        Map<String, Object> colunasUsuario = new HashMap<>();
+        colunasUsuario.put("IdUsuario", 42);
+        colunasUsuario.put("email_Usuario", "ana@email.com");
+        colunasUsuario.put("telefone_Usuario", "11988887777");
+        colunasUsuario.put("dataDeNascimento_Usuario", Date.valueOf("2000-05-10"));
+        colunasUsuario.put("senha_Usuario", "segredo123");
+        colunasUsuario.put("habilidades_Usuario", "Java, Spring Boot, SQL");
+        colunasUsuario.put("horas_Usuario", 20.0);
+        colunasUsuario.put("nome_Usuario", "Ana");
+        usuario = resultSet(colunasUsuario);
+
+        Map<String, Object> colunasTrabalho = new HashMap<>();
+        colunasTrabalho.put("IdTrabalho", 42);
+        colunasTrabalho.put("IdEmpresa", 7);
+        colunasTrabalho.put("nomeEmpresa_Trabalho", "Tech Ltda");
+        colunasTrabalho.put("descricao_Trabalho", "Desenvolvedor backend");
+        colunasTrabalho.put("quantidadeDeVagas_Trabalho", 3);
+        colunasTrabalho.put("tipoTrabalho_Trabalho", "remoto");
+        colunasTrabalho.put("habilidadesNecessarias_Trabalho", "Java, SQL");
+        trabalho = resultSet(colunasTrabalho);
+
+        Map<String, Object> colunasMatch = new HashMap<>();
+        colunasMatch.put("IdMatch", 42);
+        colunasMatch.put("IdUsuario", 7);
+        colunasMatch.put("IdTrabalho", 9);
+        colunasMatch.put("status_Match", "ativo");
+        colunasMatch.put("data_Match", Date.valueOf("2025-01-15"));
+        colunasMatch.put("dataInicio_Match", Date.valueOf("2025-02-01"));
+        colunasMatch.put("dataTermino_Match", Date.valueOf("2025-06-30"));
+        colunasMatch.put("horasTrabalhadas_Match", 120.5);
+        colunasMatch.put("avaliacao_Match", 4);
+        match = resultSet(colunasMatch);
+    }
+
+    @Benchmark
+    public Empresa empresaRowMapper() throws SQLException {
+        return empresaRowMapper.mapRow(empresa, 0);
+    }
+
+    @Benchmark
+    public Usuario usuarioRowMapper() throws SQLException {
+        return usuarioRowMapper.mapRow(usuario, 0);
+    }
+
+    @Benchmark
+    public Trabalho trabalhoRowMapper() throws SQLException {
+        return trabalhoRowMapper.mapRow(trabalho, 0);
+    }
+
+    @Benchmark
+    public Match matchRowMapper() throws SQLException {
+        return matchRowMapper.mapRow(match, 0);
+    }
+
+    /**
+     * ResultSet de uma linha apoiado em um mapa coluna -> valor
+     * Atende apenas os getters por nome usados pelos RowMappers
+     */
+    private static ResultSet resultSet(Map<String, Object> colunas) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, metodo, argumentos) -> {
+                    Object valor = argumentos != null && argumentos.length == 1 ? colunas.get(argumentos[0]) : null;
+                    return switch (metodo.getName()) {
+                        case "getString" -> valor != null ? valor.toString() : null;
+                        case "getInt" -> valor != null ? ((Number) valor).intValue() : 0;
+                        case "getLong" -> valor != null ? ((Number) valor).longValue() : 0L;
+                        case "getDouble" -> valor != null ? ((Number) valor).doubleValue() : 0.0;
+                        case "getDate" -> valor;
+                        case "getObject" -> valor;
+                        case "wasNull" -> false;
+                        default -> throw new UnsupportedOperationException(metodo.getName());
+                    };
+                });
+    }
+}
@@ -0,0 +1,345 @@
+package com.example.apitcc.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Carga real contra a aplicação: threads virtuais x threads de plataforma com 2000 conexões simultâneas
+ *
+ * Para cada modo sobe o jar com APP_VIRTUAL_THREADS=true/false (limites por IP desligados, APP_LIMITES=false),
+ * abre as conexões HTTP/1.1 e mantém cada uma em laço fechado (a próxima requisição sai quando chega a resposta)
+ * durante o aquecimento e a medição. Na medição amostra o heap usado (actuator jvm.memory.used, area=heap),
+ * as threads de plataforma vivas (jvm.threads.live) e o RSS do processo (/proc/{pid}/status, só Linux).
+ * Relatório por modo: req/s, erros, latência p50/p99 e os picos de heap, RSS e threads.
+ *
+ * Threads virtuais exigem Java 21 no processo da aplicação (opção java=/caminho/jdk-21/bin/java): em Java 17
+ * spring.threads.virtual.enabled é ignorado e os dois modos usam o pool do Tomcat.
+ * O ambiente é repassado à aplicação: com SPRING_PROFILES_ACTIVE=prod e DATABASE_URL a carga passa pelo
+ * PostgreSQL; sem perfil roda no dev (repositórios em memória, com 50 trabalhos cadastrados antes da carga).
+ *
+ *   mvn -P jmh package -DskipTests exec:exec@carga-threads
+ *   mvn -P jmh package -DskipTests exec:exec@carga-threads -Dcarga.opcoes="conexoes=2000 duracao=60 java=/opt/jdk-21/bin/java"
+ * Opções (chave=valor): jar, java, conexoes (2000), aquecimento (10 s), duracao (30 s),
+ * caminho (/api/trabalhos/listar?limit=20), modos (virtual,plataforma)
+ */
+public class ThreadsRequisicaoCarga {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    // Latências em faixas de 100 µs, até 60 s
+    private static final long FAIXA_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final int FAIXAS = 600_000;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = new LinkedHashMap<>();
+        opcoes.put("java", ProcessHandle.current().info().command().orElse("java"));
+        opcoes.put("conexoes", "2000");
+        opcoes.put("aquecimento", "10");
+        opcoes.put("duracao", "30");
+        opcoes.put("caminho", "/api/trabalhos/listar?limit=20");
+        opcoes.put("modos", "virtual,plataforma");
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (igual < 0) {
+                throw new IllegalArgumentException("Opção deve ser chave=valor: " + arg);
+            }
+            opcoes.put(arg.substring(0, igual), arg.substring(igual + 1));
+        }
+        if (opcoes.get("jar") == null || !new File(opcoes.get("jar")).isFile()) {
+            throw new IllegalArgumentException("jar da aplicação não encontrado (mvn -P jmh package -DskipTests): "
+                    + opcoes.get("jar"));
+        }
+
+        int versao = versaoJava(opcoes.get("java"));
+        System.out.println("Aplicação em Java " + versao + " (" + opcoes.get("java") + "), "
+                + opcoes.get("conexoes") + " conexões, " + opcoes.get("duracao") + " s de medição em "
+                + opcoes.get("caminho"));
+        if (versao < 21) {
+            System.out.println("AVISO: Java < 21 ignora spring.threads.virtual.enabled; os dois modos usam threads de plataforma");
+        }
+
+        List<String> linhas = new ArrayList<>();
+        for (String modo : opcoes.get("modos").split(",")) {
+            linhas.add(executar(modo.trim(), opcoes).formatar());
+        }
+
+        System.out.println();
+        System.out.println(String.format("%-11s %10s %8s %9s %9s %11s %10s %8s",
+                "modo", "req/s", "erros", "p50 ms", "p99 ms", "heap MB", "RSS MB", "threads"));
+        linhas.forEach(System.out::println);
+        System.out.println("(heap, RSS e threads: picos durante a medição)");
+    }
+
+    /**
+     * Sobe a aplicação no modo informado, aplica a carga e encerra o processo
+     */
+    private static Resultado executar(String modo, Map<String, String> opcoes) throws Exception {
+        if (!modo.equals("virtual") && !modo.equals("plataforma")) {
+            throw new IllegalArgumentException("Modo inválido: " + modo + " (virtual ou plataforma)");
+        }
+        int porta;
+        try (ServerSocket livre = new ServerSocket(0)) {
+            porta = livre.getLocalPort();
+        }
+        File log = new File("target", "carga-" + modo + ".log");
+        ProcessBuilder construtor = new ProcessBuilder(opcoes.get("java"), "-jar", opcoes.get("jar"),
+                "--server.port=" + porta)
+                .redirectErrorStream(true)
+                .redirectOutput(log);
+        construtor.environment().put("APP_VIRTUAL_THREADS", String.valueOf(modo.equals("virtual")));
+        construtor.environment().put("APP_LIMITES", "false");
+        construtor.environment().putIfAbsent("SPRING_PROFILES_ACTIVE", "dev");
+
+        System.out.println();
+        System.out.println("== " + modo + " (log: " + log.getPath() + ")");
+        Process aplicacao = construtor.start();
+        try {
+            URI base = URI.create("http://localhost:" + porta);
+            HttpClient administracao = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            aguardarInicio(aplicacao, administracao, base, log);
+            if (construtor.environment().get("SPRING_PROFILES_ACTIVE").contains("dev")) {
+                semear(administracao, base);
+            }
+            return carga(modo, aplicacao, administracao, base, opcoes);
+        } finally {
+            aplicacao.destroy();
+            if (!aplicacao.waitFor(30, TimeUnit.SECONDS)) {
+                aplicacao.destroyForcibly();
+            }
+        }
+    }
+
+    private static Resultado carga(String modo, Process aplicacao, HttpClient administracao, URI base,
+                                   Map<String, String> opcoes) throws Exception {
+        int conexoes = Integer.parseInt(opcoes.get("conexoes"));
+        long aquecimento = TimeUnit.SECONDS.toNanos(Long.parseLong(opcoes.get("aquecimento")));
+        long duracao = TimeUnit.SECONDS.toNanos(Long.parseLong(opcoes.get("duracao")));
+
+        // Poucas threads no gerador: cada conexão é uma cadeia de sendAsync, não uma thread
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(executor)
+                .build();
+        HttpRequest requisicao = HttpRequest.newBuilder(base.resolve(opcoes.get("caminho")))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        long inicioMedicao = System.nanoTime() + aquecimento;
+        long fim = inicioMedicao + duracao;
+        Medicao medicao = new Medicao();
+        CountDownLatch encerradas = new CountDownLatch(conexoes);
+        for (int i = 0; i < conexoes; i++) {
+            enviar(cliente, requisicao, executor, inicioMedicao, fim, medicao, encerradas);
+        }
+
+        Picos picos = new Picos();
+        while (System.nanoTime() < fim) {
+            if (System.nanoTime() >= inicioMedicao) {
+                picos.heap = Math.max(picos.heap, metrica(administracao, base, "jvm.memory.used?tag=area:heap"));
+                picos.threads = Math.max(picos.threads, metrica(administracao, base, "jvm.threads.live"));
+                picos.rss = Math.max(picos.rss, rss(aplicacao.pid()));
+            }
+            Thread.sleep(500);
+        }
+        encerradas.await(90, TimeUnit.SECONDS);
+        executor.shutdownNow();
+
+        return new Resultado(modo, medicao.sucessos.get() / (duracao / 1e9), medicao.erros.get(),
+                medicao.percentil(0.50), medicao.percentil(0.99), picos);
+    }
+
+    /**
+     * Laço fechado de uma conexão: registra a resposta (se chegou na janela de medição) e envia a próxima
+     */
+    private static void enviar(HttpClient cliente, HttpRequest requisicao, ExecutorService executor,
+                               long inicioMedicao, long fim, Medicao medicao, CountDownLatch encerradas) {
+        long inicio = System.nanoTime();
+        if (inicio >= fim) {
+            encerradas.countDown();
+            return;
+        }
+        cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                .whenCompleteAsync((resposta, erro) -> {
+                    long agora = System.nanoTime();
+                    // Conta pela chegada: as respostas lentas de requisições feitas no aquecimento também entram
+                    if (agora >= inicioMedicao && agora <= fim) {
+                        if (erro == null && resposta.statusCode() == 200) {
+                            medicao.registrar(agora - inicio);
+                        } else {
+                            medicao.erros.incrementAndGet();
+                        }
+                    }
+                    enviar(cliente, requisicao, executor, inicioMedicao, fim, medicao, encerradas);
+                }, executor);
+    }
+
+    private static void aguardarInicio(Process aplicacao, HttpClient cliente, URI base, File log) throws Exception {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (System.nanoTime() < limite) {
+            if (!aplicacao.isAlive()) {
+                throw new IllegalStateException("A aplicação encerrou na inicialização; ver " + log.getPath());
+            }
+            try {
+                HttpResponse<Void> resposta = cliente.send(
+                        HttpRequest.newBuilder(base.resolve("/actuator/health")).timeout(Duration.ofSeconds(5)).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (resposta.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Ainda subindo
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("A aplicação não respondeu em 120 s; ver " + log.getPath());
+    }
+
+    /**
+     * Perfil dev: uma empresa e 50 trabalhos, para a listagem padrão não sair vazia
+     */
+    private static void semear(HttpClient cliente, URI base) throws Exception {
+        JsonNode empresa = postar(cliente, base, "/api/empresas/criar",
+                "{\"nome\":\"Empresa Carga\",\"email\":\"carga@example.com\",\"senha\":\"carga123\"}");
+        String idEmpresa = empresa.path("id").asText();
+        for (int i = 1; i <= 50; i++) {
+            postar(cliente, base, "/api/trabalhos/criar", "{\"idEmpresa\":\"" + idEmpresa
+                    + "\",\"descricaoTrabalho\":\"Trabalho " + i + "\",\"tipoTrabalho\":\"remoto\","
+                    + "\"quantidadeDeVagas\":\"3\",\"habilidadesNecessarias\":\"Java, SQL\"}");
+        }
+    }
+
+    private static JsonNode postar(HttpClient cliente, URI base, String caminho, String corpo) throws Exception {
+        HttpResponse<String> resposta = cliente.send(HttpRequest.newBuilder(base.resolve(caminho))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() >= 300) {
+            throw new IllegalStateException("POST " + caminho + ": " + resposta.statusCode() + " " + resposta.body());
+        }
+        return JSON.readTree(resposta.body());
+    }
+
+    /**
+     * Valor de uma métrica do actuator (-1 se não responder: a amostra é ignorada)
+     */
+    private static double metrica(HttpClient cliente, URI base, String nome) {
+        try {
+            HttpResponse<String> resposta = cliente.send(
+                    HttpRequest.newBuilder(base.resolve("/actuator/metrics/" + nome)).timeout(Duration.ofSeconds(5)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            return JSON.readTree(resposta.body()).path("measurements").path(0).path("value").asDouble(-1);
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * RSS do processo em bytes (VmRSS), -1 fora do Linux
+     */
+    private static double rss(long pid) {
+        try {
+            for (String linha : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (linha.startsWith("VmRSS:")) {
+                    return Long.parseLong(linha.replaceAll("\\D", "")) * 1024.0;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Sem /proc
+        }
+        return -1;
+    }
+
+    private static int versaoJava(String java) throws IOException, InterruptedException {
+        Process processo = new ProcessBuilder(java, "-XshowSettings:properties", "-version")
+                .redirectErrorStream(true)
+                .start();
+        int versao = 0;
+        try (BufferedReader leitor = new BufferedReader(
+                new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                linha = linha.trim();
+                if (linha.startsWith("java.specification.version = ")) {
+                    versao = Integer.parseInt(linha.substring(linha.indexOf('=') + 1).trim());
+                }
+            }
+        }
+        processo.waitFor();
+        return versao;
+    }
+
+    private static class Medicao {
+        private final AtomicLong sucessos = new AtomicLong();
+        private final AtomicLong erros = new AtomicLong();
+        private final AtomicLongArray faixas = new AtomicLongArray(FAIXAS + 1);
+
+        void registrar(long nanos) {
+            sucessos.incrementAndGet();
+            faixas.incrementAndGet((int) Math.min(FAIXAS, nanos / FAIXA_NANOS));
+        }
+
+        // Limite superior (ms) da faixa que contém o percentil
+        double percentil(double p) {
+            long alvo = (long) Math.ceil(sucessos.get() * p);
+            long acumulado = 0;
+            for (int i = 0; i <= FAIXAS; i++) {
+                acumulado += faixas.get(i);
+                if (acumulado >= alvo && acumulado > 0) {
+                    return (i + 1) * FAIXA_NANOS / 1e6;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static class Picos {
+        private double heap = -1;
+        private double rss = -1;
+        private double threads = -1;
+    }
+
+    private record Resultado(String modo, double reqPorSegundo, long erros, double p50, double p99, Picos picos) {
+
+        String formatar() {
+            return String.format("%-11s %10.0f %8d %9.1f %9.1f %11.0f %10.0f %8.0f",
+                    modo, reqPorSegundo, erros, p50, p99, megabytes(picos.heap), megabytes(picos.rss), picos.threads);
+        }
+
+        private static double megabytes(double bytes) {
+            return bytes < 0 ? -1 : bytes / (1024 * 1024);
+        }
+    }
+}
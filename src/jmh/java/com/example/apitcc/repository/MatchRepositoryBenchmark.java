@@ -0,0 +1,71 @@
+package com.example.apitcc.repository;
+
+import com.example.apitcc.DadosBenchmark;
+import com.example.apitcc.model.entity.Match;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca pontual de match por (usuário, trabalho) no repositório em memória
+ * Metade das consultas encontra o match e metade não
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MatchRepositoryBenchmark {
+
+    private static final int CONSULTAS = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    private int quantidade;
+
+    private MatchRepository repositorio;
+    private long[] usuarios;
+    private long[] trabalhos;
+    private int proxima;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        repositorio = DadosBenchmark.repositorioComMatches(quantidade);
+
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        usuarios = new long[CONSULTAS];
+        trabalhos = new long[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            int indice = aleatorio.nextInt(quantidade);
+            usuarios[i] = indice / DadosBenchmark.MATCHES_POR_USUARIO + 1;
+            // Consultas ímpares apontam para um trabalho de outro usuário (não encontrado)
+            int trabalho = i % 2 == 0 ? indice : (indice + DadosBenchmark.MATCHES_POR_USUARIO) % quantidade;
+            trabalhos[i] = trabalho + 1;
+        }
+    }
+
+    @Benchmark
+    public Optional<Match> findByIdUsuarioAndIdTrabalho() {
+        int i = proxima++ & (CONSULTAS - 1);
+        return repositorio.findByIdUsuarioAndIdTrabalho(usuarios[i], trabalhos[i]);
+    }
+
+    @Benchmark
+    public boolean existsByIdUsuarioAndIdTrabalho() {
+        int i = proxima++ & (CONSULTAS - 1);
+        return repositorio.existsByIdUsuarioAndIdTrabalho(usuarios[i], trabalhos[i]);
+    }
+}
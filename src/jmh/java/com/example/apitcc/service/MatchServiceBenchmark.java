@@ -0,0 +1,50 @@
+package com.example.apitcc.service;
+
+import com.example.apitcc.DadosBenchmark;
+import com.example.apitcc.model.dto.MatchDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MatchService.buscarMatchesAtivos no modo desenvolvimento (repositório em memória)
+ * Metade dos matches gerados tem status ativo, em_andamento ou pendente
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class MatchServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int quantidade;
+
+    private MatchService matchService;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        // Sem Spring: injeta só o repositório (databaseOperations nulo = memória)
+        matchService = new MatchService();
+        ReflectionTestUtils.setField(matchService, "matchRepository", DadosBenchmark.repositorioComMatches(quantidade));
+    }
+
+    @Benchmark
+    public List<MatchDTO> buscarMatchesAtivos() {
+        return matchService.buscarMatchesAtivos();
+    }
+}
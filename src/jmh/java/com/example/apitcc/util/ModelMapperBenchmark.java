@@ -0,0 +1,47 @@
+package com.example.apitcc.util;
+
+import com.example.apitcc.DadosBenchmark;
+import com.example.apitcc.model.dto.MatchDTO;
+import com.example.apitcc.model.entity.Match;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de listas de Match para MatchDTO
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelMapperBenchmark {
+
+    @Param({"100", "10000"})
+    private int quantidade;
+
+    private List<Match> matches;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        matches = DadosBenchmark.matches(quantidade);
+    }
+
+    @Benchmark
+    public List<MatchDTO> toMatchDTOList() {
+        return ModelMapper.toMatchDTOList(matches);
+    }
+}
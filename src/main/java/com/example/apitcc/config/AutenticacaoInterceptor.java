@@ -0,0 +1,43 @@
+package com.example.apitcc.config;
+
+import com.example.apitcc.exception.UnauthorizedException;
+import com.example.apitcc.service.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Autenticação por token (Authorization: Bearer <token>) em todas as rotas /api/**
+ *
+ * O token é verificado só pela assinatura e validade (TokenService), sem consulta ao banco.
+ * Token inválido ou expirado responde 401; sem o cabeçalho a requisição segue anônima.
+ * A sessão fica no atributo ATRIBUTO_SESSAO da requisição (@RequestAttribute nos controllers)
+ */
+public class AutenticacaoInterceptor implements HandlerInterceptor {
+
+    public static final String ATRIBUTO_SESSAO = "apitcc.sessao";
+
+    static final String PREFIXO_BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+
+    public AutenticacaoInterceptor(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+        // Já verificado pelo LimiteRequisicoesFilter
+        if (autorizacao == null || autorizacao.isBlank() || request.getAttribute(ATRIBUTO_SESSAO) != null) {
+            return true;
+        }
+        if (!autorizacao.regionMatches(true, 0, PREFIXO_BEARER, 0, PREFIXO_BEARER.length())) {
+            throw new UnauthorizedException("Esquema de autorização não suportado (use Bearer)");
+        }
+        String token = autorizacao.substring(PREFIXO_BEARER.length()).trim();
+        request.setAttribute(ATRIBUTO_SESSAO, tokenService.verificar(token));
+        return true;
+    }
+}
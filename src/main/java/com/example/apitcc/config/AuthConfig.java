@@ -0,0 +1,29 @@
+package com.example.apitcc.config;
+
+import com.example.apitcc.service.TokenService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Autenticação da API
+ *
+ * - POST /api/auth/login: email e senha de um usuário ou empresa, devolve o token (AuthService)
+ * - Demais rotas: o AutenticacaoInterceptor valida o token, quando enviado, sem consultar o banco
+ * Configuração em application.properties (app.auth.*)
+ */
+@Configuration
+public class AuthConfig implements WebMvcConfigurer {
+
+    private final TokenService tokenService;
+
+    public AuthConfig(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AutenticacaoInterceptor(tokenService))
+                .addPathPatterns("/api/**");
+    }
+}
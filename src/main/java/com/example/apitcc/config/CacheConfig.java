@@ -0,0 +1,111 @@
+package com.example.apitcc.config;
+
+import com.example.apitcc.model.entity.ItemBase;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuração do cache de leitura por ID na frente do DatabaseOperations
+ *
+ * Um cache Caffeine por entidade, configurado em application.properties:
+ *   app.cache.<nome>.spec=maximumSize=10000,expireAfterWrite=10m
+ * As escritas (saveX/deleteX) invalidam as entradas afetadas
+ *
+ * impacto guarda o painel de impacto por empresa; qualquer escrita de trabalhos ou matches limpa o cache inteiro
+ * (a escrita de um match não sabe a empresa do trabalho)
+ *
+ * As entidades são mutáveis e os serviços alteram a instância buscada antes do saveX: o cache guarda
+ * uma cópia e devolve uma cópia a cada acerto (CacheDeCopias), então uma alteração ainda não gravada
+ * (ou que falhou na validação) nunca chega ao cache nem a outras requisições
+ *
+ * O cache fica por fora do timer do DatabaseOperations (@Timed): acertos não contam como operação de banco
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String USUARIOS = "usuarios";
+    public static final String EMPRESAS = "empresas";
+    public static final String TRABALHOS = "trabalhos";
+    public static final String MATCHES = "matches";
+    public static final String IMPACTO = "impacto";
+
+    private static final List<String> CACHES = List.of(USUARIOS, EMPRESAS, TRABALHOS, MATCHES, IMPACTO);
+    private static final String SPEC_PADRAO = "maximumSize=10000,expireAfterWrite=10m";
+
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new CacheDeCopias(name, cache, isAllowNullValues());
+            }
+        };
+        // Consultas sem resultado não são guardadas (unless nas anotações), então null não é permitido
+        cacheManager.setAllowNullValues(false);
+
+        for (String nome : CACHES) {
+            String spec = environment.getProperty("app.cache." + nome + ".spec", SPEC_PADRAO);
+            // recordStats habilita as estatísticas de acerto/erro expostas em /status
+            cacheManager.registerCustomCache(nome, Caffeine.from(spec).recordStats().build());
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Cache Caffeine que guarda e devolve cópias das entidades (ItemBase.copiar)
+     * Os demais valores (ex.: ImpactoEmpresaDTO) não são alterados depois de montados e ficam como estão
+     */
+    private static class CacheDeCopias extends CaffeineCache {
+
+        CacheDeCopias(String nome, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean permitirNulos) {
+            super(nome, cache, permitirNulos);
+        }
+
+        @Override
+        protected Object toStoreValue(Object valor) {
+            return super.toStoreValue(copiar(valor));
+        }
+
+        @Override
+        protected Object fromStoreValue(Object valor) {
+            return copiar(super.fromStoreValue(valor));
+        }
+
+        private static Object copiar(Object valor) {
+            return valor instanceof ItemBase entidade ? entidade.copiar() : valor;
+        }
+    }
+
+    /**
+     * Estatísticas de um cache (acertos, erros, taxa de acerto, tamanho)
+     */
+    public static Map<String, Object> estatisticas(CacheManager cacheManager, String nome) {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        Cache cache = cacheManager.getCache(nome);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativo)) {
+            return estatisticas;
+        }
+
+        CacheStats stats = nativo.stats();
+        estatisticas.put("acertos", stats.hitCount());
+        estatisticas.put("erros", stats.missCount());
+        estatisticas.put("taxaAcerto", stats.hitRate());
+        estatisticas.put("remocoes", stats.evictionCount());
+        estatisticas.put("tamanho", nativo.estimatedSize());
+        return estatisticas;
+    }
+}
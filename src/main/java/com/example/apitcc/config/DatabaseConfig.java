@@ -1,24 +1,64 @@
 package com.example.apitcc.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.stereotype.Component;
 
+import com.example.apitcc.config.VersaoTabelas.Tabela;
+import com.example.apitcc.model.dto.ImpactoEmpresaDTO;
 import com.example.apitcc.model.entity.Empresa;
+import com.example.apitcc.model.entity.Foto;
 import com.example.apitcc.model.entity.Usuario;
 import com.example.apitcc.model.entity.Trabalho;
 import com.example.apitcc.model.entity.Match;
+import com.example.apitcc.model.entity.ItemBase;
+import com.example.apitcc.model.entity.StatusMatch;
+import com.example.apitcc.util.BuscaTexto;
+import com.example.apitcc.util.Paginacao;
+import com.example.apitcc.util.Projecao;
 
 import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * ConfiguraÃ§Ã£o completa de banco de dados para o projeto MatchVoluntario
@@ -48,24 +88,61 @@ public class DatabaseConfig {
 
     /**
      * ConfiguraÃ§Ã£o para ambiente de produÃ§Ã£o com PostgreSQL
+     *
+     * Dois pools (bulkheads) para o mesmo banco:
+     * - interativo (primário): CRUD e buscas pontuais da aplicação (spring.datasource.hikari.*)
+     * - relatorios: listagens completas, exportações, relatórios e inserções em lote
+     *   (app.datasource.relatorios.hikari.*), menor, para um pico de relatórios não esgotar as conexões do CRUD
+     * Cada pool tem seus próprios timeouts e métricas (hikaricp.connections.*{pool=...})
+     * Réplicas de leitura opcionais para as buscas do pool interativo (RoteamentoReplicas)
      */
     @Configuration
     @Profile("prod")
     public static class ProdDatabaseConfig {
 
         @Bean
-        public JdbcTemplate jdbcTemplate(DataSource dataSource) {
-            return new JdbcTemplate(dataSource);
+        @Primary
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource dataSource(DataSourceProperties properties) {
+            return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
         }
 
         @Bean
-        public PlatformTransactionManager transactionManager(DataSource dataSource) {
-            return new DataSourceTransactionManager(dataSource);
+        @ConfigurationProperties("app.datasource.relatorios.hikari")
+        public HikariDataSource dataSourceRelatorios(DataSourceProperties properties) {
+            return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
         }
 
+        /**
+         * Pool interativo; as buscas com @LeituraReplica podem ir para as réplicas (RoteamentoReplicas)
+         * Comandos que passam de app.datasource.interativo.query-timeout são cancelados no banco
+         */
         @Bean
-        public DatabaseOperations databaseOperations(JdbcTemplate jdbcTemplate) {
-            return new DatabaseOperations(jdbcTemplate);
+        @Primary
+        public JdbcTemplate jdbcTemplate(RoteamentoReplicas roteamentoReplicas, Environment environment) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(roteamentoReplicas.dataSource());
+            jdbcTemplate.setQueryTimeout((int) environment.getProperty("app.datasource.interativo.query-timeout",
+                    Duration.class, Duration.ofSeconds(10)).toSeconds());
+            return jdbcTemplate;
+        }
+
+        @Bean
+        public JdbcTemplate jdbcTemplateRelatorios(@Qualifier("dataSourceRelatorios") DataSource dataSourceRelatorios) {
+            return new JdbcTemplate(dataSourceRelatorios);
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager(RoteamentoReplicas roteamentoReplicas) {
+            // Mesmo DataSource do jdbcTemplate: a conexão da transação (sempre do primário) é a que ele usa
+            return new DataSourceTransactionManager(roteamentoReplicas.dataSource());
+        }
+
+        @Bean
+        public DatabaseOperations databaseOperations(JdbcTemplate jdbcTemplate,
+                                                     @Qualifier("jdbcTemplateRelatorios") JdbcTemplate jdbcTemplateRelatorios,
+                                                     PlatformTransactionManager transactionManager,
+                                                     VersaoTabelas versaoTabelas) {
+            return new DatabaseOperations(jdbcTemplate, jdbcTemplateRelatorios, transactionManager, versaoTabelas);
         }
 
         public ProdDatabaseConfig() {
@@ -78,41 +155,280 @@ public class DatabaseConfig {
 
     /**
      * Classe que contÃ©m todas as operaÃ§Ãµes CRUD para PostgreSQL
+     *
+     * As buscas por ID passam pelo cache (CacheConfig). Os saveX invalidam a entrada
+     * antes da escrita (descarta a instância já alterada pelo serviço, mesmo se a escrita falhar)
+     * e depois dela (descarta o que uma leitura concorrente tenha guardado nesse meio tempo)
+     *
+     * Cada método público é medido pelo timer apitcc.db.operacoes (tags class e method), ver MetricasConfig
+     * Acertos de cache não chegam ao método e por isso não entram nessa medição
+     *
+     * Roteamento por tipo de operação: findAllX, streamX, consultas de relatório (status, avaliação, período)
+     * e inserções em lote usam o pool de relatórios; o restante usa o pool interativo
+     * As buscas do pool interativo anotadas com @LeituraReplica podem ir para uma réplica (RoteamentoReplicas)
      */
     @Component
     @Profile("prod")
+    @Timed(MetricasConfig.OPERACOES_BANCO)
     public static class DatabaseOperations {
 
+        // Linhas buscadas por ida ao banco nas exportações (cursor no servidor)
+        private static final int TAMANHO_LOTE_EXPORTACAO = 500;
+
+        // Linhas enviadas por execução de batch nas inserções em lote
+        private static final int TAMANHO_LOTE_INSERCAO = 1000;
+
+        // Pool interativo
         private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transacaoEscrita;
+
+        // Pool de relatórios
+        private final JdbcTemplate jdbcTemplateRelatorios;
+        private final JdbcTemplate jdbcTemplateExportacao;
+        private final TransactionTemplate transacaoLeitura;
+        private final TransactionTemplate transacaoLote;
+
+        // Versão por tabela (ETags), incrementada depois de cada escrita
+        private final VersaoTabelas versaoTabelas;
 
-        public DatabaseOperations(JdbcTemplate jdbcTemplate) {
+        public DatabaseOperations(JdbcTemplate jdbcTemplate,
+                                  @Qualifier("jdbcTemplateRelatorios") JdbcTemplate jdbcTemplateRelatorios,
+                                  PlatformTransactionManager transactionManager,
+                                  VersaoTabelas versaoTabelas) {
             this.jdbcTemplate = jdbcTemplate;
+            this.versaoTabelas = versaoTabelas;
+            this.transacaoEscrita = new TransactionTemplate(transactionManager);
+
+            this.jdbcTemplateRelatorios = jdbcTemplateRelatorios;
+
+            this.jdbcTemplateExportacao = new JdbcTemplate(jdbcTemplateRelatorios.getDataSource());
+            this.jdbcTemplateExportacao.setFetchSize(TAMANHO_LOTE_EXPORTACAO);
+
+            // Transações do pool de relatórios (cursor das exportações e inserções em lote)
+            PlatformTransactionManager transactionManagerRelatorios =
+                    new DataSourceTransactionManager(jdbcTemplateRelatorios.getDataSource());
+            this.transacaoLeitura = new TransactionTemplate(transactionManagerRelatorios);
+            this.transacaoLeitura.setReadOnly(true);
+            this.transacaoLote = new TransactionTemplate(transactionManagerRelatorios);
+        }
+
+        /**
+         * Percorre o resultado linha a linha sem materializar a lista
+         * Dentro de uma transação (autocommit desligado) o driver do PostgreSQL
+         * usa um cursor no servidor e busca TAMANHO_LOTE_EXPORTACAO linhas por vez
+         */
+        private <T> void percorrer(String sql, RowMapper<T> rowMapper, Consumer<T> consumidor) {
+            transacaoLeitura.executeWithoutResult(status ->
+                    jdbcTemplateExportacao.query(sql, (RowCallbackHandler) rs ->
+                            consumidor.accept(rowMapper.mapRow(rs, rs.getRow()))));
+        }
+
+        /**
+         * Insere os itens com JdbcTemplate.batchUpdate em blocos de TAMANHO_LOTE_INSERCAO,
+         * tudo em uma transação, e atribui a cada item o ID gerado (na mesma ordem da lista)
+         */
+        private <T> void inserirEmLote(String sql, String colunaId, List<T> itens,
+                                       ParameterizedPreparedStatementSetter<T> preencher,
+                                       BiConsumer<T, Long> atribuirId) {
+            transacaoLote.executeWithoutResult(status -> {
+                for (int inicio = 0; inicio < itens.size(); inicio += TAMANHO_LOTE_INSERCAO) {
+                    List<T> bloco = itens.subList(inicio, Math.min(inicio + TAMANHO_LOTE_INSERCAO, itens.size()));
+                    KeyHolder chaves = new GeneratedKeyHolder();
+
+                    jdbcTemplateRelatorios.batchUpdate(con -> con.prepareStatement(sql, new String[] {colunaId}),
+                            new BatchPreparedStatementSetter() {
+                                @Override
+                                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                    preencher.setValues(ps, bloco.get(i));
+                                }
+
+                                @Override
+                                public int getBatchSize() {
+                                    return bloco.size();
+                                }
+                            }, chaves);
+
+                    List<Map<String, Object>> ids = chaves.getKeyList();
+                    for (int i = 0; i < bloco.size(); i++) {
+                        atribuirId.accept(bloco.get(i), ((Number) ids.get(i).get(colunaId)).longValue());
+                    }
+                }
+            });
+        }
+
+        /**
+         * IDs distintos para uso com "= ANY (?)" (array bigint)
+         */
+        private static Long[] idsDistintos(Collection<Long> ids) {
+            return ids.stream()
+                    .filter(id -> id != null)
+                    .distinct()
+                    .toArray(Long[]::new);
+        }
+
+        /**
+         * Executa um DELETE por ID e registra a alteração da tabela se a linha existia
+         */
+        private boolean excluirPorId(String sql, long id, Tabela tabela) {
+            boolean removido = jdbcTemplate.update(sql, id) > 0;
+            if (removido) {
+                versaoTabelas.alterou(tabela);
+            }
+            return removido;
+        }
+
+        /**
+         * Executa um DELETE ... RETURNING e devolve os IDs removidos
+         */
+        private List<Long> excluirRetornandoIds(String sql, Object... params) {
+            return jdbcTemplate.queryForList(sql, Long.class, params);
+        }
+
+        /**
+         * Condição "coluna contém o termo", sem acento e sem caixa, para uso com termoLiteral(termo)
+         * Atendida pelos índices GIN de trigramas sobre public.sem_acento(coluna) (db/indices.sql)
+         */
+        private static String contem(String coluna) {
+            return "public.sem_acento(" + coluna + ") ILIKE '%' || public.sem_acento(?) || '%'";
+        }
+
+        /**
+         * Escapa os curingas do LIKE (%, _ e a barra de escape) para o termo ser buscado literalmente
+         */
+        private static String termoLiteral(String termo) {
+            return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        }
+
+        // Colunas aceitas no parâmetro sort das listagens (além do ID)
+        private static final Map<String, String> COLUNAS_ORDENACAO_EMPRESA = Map.of(
+                "nome", "\"nome_Empresa\"");
+        private static final Map<String, String> COLUNAS_ORDENACAO_USUARIO = Map.of(
+                "nome", "\"nome_Usuario\"");
+        private static final Map<String, String> COLUNAS_ORDENACAO_TRABALHO = Map.of(
+                "nomeEmpresa", "\"nomeEmpresa_Trabalho\"",
+                "tipoTrabalho", "\"tipoTrabalho_Trabalho\"");
+        private static final Map<String, String> COLUNAS_ORDENACAO_MATCH = Map.of(
+                "status", "\"status_Match\"");
+
+        // Coluna de cada campo do DTO, na ordem do SELECT (projeção das listagens)
+        // Campos sem coluna (foto, dataCadastro, descricao de Usuario/Match) não entram
+        // senha não é um campo de fields: a coluna sai sempre como NULL nas listagens
+        private static final Map<String, String> COLUNAS_EMPRESA = colunasPorCampo(
+                "id", "\"IdEmpresa\"", "nome", "\"nome_Empresa\"", "email", "\"email_Empresa\"",
+                "cnpj", "\"cnpj\"", "telefone", "\"telefone_Empresa\"", "endereco", "\"endereco_Empresa\"",
+                "areaAtuacao", "\"area_atuacao_empresa\"", "publicoAlvo", "\"publicoAlvo_Empresa\"",
+                "senha", "\"senha_Empresa\"", "descricao", "\"descricao_Empresa\"");
+        private static final Map<String, String> COLUNAS_USUARIO = colunasPorCampo(
+                "id", "\"IdUsuario\"", "email", "\"email_Usuario\"", "telefone", "\"telefone_Usuario\"",
+                "dataDeNascimento", "\"dataDeNascimento_Usuario\"", "senha", "\"senha_Usuario\"",
+                "habilidades", "\"habilidades_Usuario\"", "horas", "\"horas_Usuario\"", "nome", "\"nome_Usuario\"");
+        private static final Map<String, String> COLUNAS_TRABALHO = colunasPorCampo(
+                "id", "\"IdTrabalho\"", "idEmpresa", "\"IdEmpresa\"", "nomeEmpresa", "\"nomeEmpresa_Trabalho\"",
+                "descricaoTrabalho", "\"descricao_Trabalho\"", "descricao", "\"descricao_Trabalho\"",
+                "quantidadeDeVagas", "\"quantidadeDeVagas_Trabalho\"", "tipoTrabalho", "\"tipoTrabalho_Trabalho\"",
+                "habilidadesNecessarias", "\"habilidadesNecessarias_Trabalho\"");
+        private static final Map<String, String> COLUNAS_MATCH = colunasPorCampo(
+                "id", "\"IdMatch\"", "idUsuario", "\"IdUsuario\"", "idTrabalho", "\"IdTrabalho\"",
+                "status", "\"status_Match\"", "dataMatch", "\"data_Match\"", "dataInicio", "\"dataInicio_Match\"",
+                "dataTermino", "\"dataTermino_Match\"", "horasTrabalhas", "\"horasTrabalhadas_Match\"",
+                "avaliacao", "\"avaliacao_Match\"");
+
+        private static Map<String, String> colunasPorCampo(String... camposEColunas) {
+            Map<String, String> colunas = new LinkedHashMap<>();
+            for (int i = 0; i < camposEColunas.length; i += 2) {
+                colunas.put(camposEColunas[i], camposEColunas[i + 1]);
+            }
+            return colunas;
+        }
+
+        /**
+         * Lista do SELECT com projeção: as colunas dos campos pedidos (mais o ID e o campo de ordenação,
+         * usados no cursor) e NULL com o mesmo nome para as demais
+         * Os RowMappers continuam os mesmos (texto null, número 0) e o banco não lê nem envia o valor
+         */
+        private static String colunasProjetadas(Map<String, String> colunasPorCampo, Projecao projecao,
+                                                Paginacao.Consulta consulta) {
+            Set<String> lidas = new HashSet<>();
+            colunasPorCampo.forEach((campo, coluna) -> {
+                if (projecao.inclui(campo) || campo.equals(consulta.getCampo())) {
+                    lidas.add(coluna);
+                }
+            });
+            List<String> selecionadas = new ArrayList<>();
+            for (String coluna : new LinkedHashSet<>(colunasPorCampo.values())) {
+                selecionadas.add(lidas.contains(coluna) ? coluna : "NULL AS " + coluna);
+            }
+            return String.join(", ", selecionadas);
+        }
+
+        /**
+         * Monta WHERE/ORDER BY/LIMIT da paginação por cursor (keyset)
+         * Busca limite + 1 linhas para saber se existe próxima página
+         */
+        private String clausulaPaginacao(Paginacao.Consulta consulta, String colunaId,
+                                         Map<String, String> colunasOrdenacao, List<Object> params) {
+            String operador = consulta.isDescendente() ? "<" : ">";
+            String direcao = consulta.isDescendente() ? "DESC" : "ASC";
+            StringBuilder sql = new StringBuilder();
+
+            if (consulta.ordenadoPorId()) {
+                if (consulta.temCursor()) {
+                    sql.append("WHERE ").append(colunaId).append(" ").append(operador).append(" ?\n");
+                    params.add(consulta.getCursorId());
+                }
+                sql.append("ORDER BY ").append(colunaId).append(" ").append(direcao).append("\n");
+            } else {
+                String coluna = "COALESCE(" + colunasOrdenacao.get(consulta.getCampo()) + ", '')";
+                if (consulta.temCursor()) {
+                    sql.append("WHERE (").append(coluna).append(", ").append(colunaId).append(") ")
+                            .append(operador).append(" (?, ?)\n");
+                    params.add(consulta.getCursorValor());
+                    params.add(consulta.getCursorId());
+                }
+                sql.append("ORDER BY ").append(coluna).append(" ").append(direcao).append(", ")
+                        .append(colunaId).append(" ").append(direcao).append("\n");
+            }
+
+            sql.append("LIMIT ?");
+            params.add(consulta.getLimite() + 1);
+            return sql.toString();
         }
 
         // =================== EMPRESA OPERATIONS ===================
 
         public List<Empresa> findAllEmpresas() {
+            String sql = """
+                    SELECT "IdEmpresa", "nome_Empresa", "email_Empresa", "cnpj",
+                           "telefone_Empresa", "endereco_Empresa", "area_atuacao_empresa",
+                           "publicoAlvo_Empresa", "senha_Empresa", "descricao_Empresa"
+                    FROM public."Empresa"
+                    """;
+            return jdbcTemplateRelatorios.query(sql, new EmpresaRowMapper());
+        }
 
-            // ===== TESTE DE DIAGNÓSTICO =====
-            System.out.println("----------------------------------------------------------");
-            System.out.println("[DIAGNÓSTICO] MÉTODO findAllEmpresas FOI CHAMADO!");
-            System.out.println("----------------------------------------------------------");
-            // ===================================
-
+        public void streamEmpresas(Consumer<Empresa> consumidor) {
             String sql = """
                     SELECT "IdEmpresa", "nome_Empresa", "email_Empresa", "cnpj",
                            "telefone_Empresa", "endereco_Empresa", "area_atuacao_empresa",
-                           "publicoAlvo_Empresa", "senha_Empresa",  "foto_Empresa", "descricao_Empresa"
+                           "publicoAlvo_Empresa", "senha_Empresa", "descricao_Empresa"
                     FROM public."Empresa"
+                    ORDER BY "IdEmpresa"
                     """;
+            percorrer(sql, new EmpresaRowMapper(), consumidor);
+        }
 
-            // ===== TESTE DE DIAGNÓSTICO =====
-            System.out.println("[DIAGNÓSTICO] SQL que será executado: " + sql);
-            // ===================================
-            return jdbcTemplate.query(sql, new EmpresaRowMapper());
+        @LeituraReplica(Tabela.EMPRESAS)
+        public List<Empresa> findEmpresasPagina(Paginacao.Consulta consulta, Projecao projecao) {
+            List<Object> params = new ArrayList<>();
+            String sql = "SELECT " + colunasProjetadas(COLUNAS_EMPRESA, projecao, consulta) + "\n"
+                    + "FROM public.\"Empresa\"\n"
+                    + clausulaPaginacao(consulta, "\"IdEmpresa\"", COLUNAS_ORDENACAO_EMPRESA, params);
+            return jdbcTemplate.query(sql, new EmpresaRowMapper(), params.toArray());
         }
 
-        public Optional<Empresa> findEmpresaById(String id) {
+        @Cacheable(cacheNames = CacheConfig.EMPRESAS, key = "#id", unless = "#result == null")
+        @LeituraReplica(Tabela.EMPRESAS)
+        public Optional<Empresa> findEmpresaById(long id) {
             String sql = """
                     SELECT "IdEmpresa", "nome_Empresa", "email_Empresa", "cnpj",
                            "telefone_Empresa", "endereco_Empresa", "area_atuacao_empresa",
@@ -120,10 +436,11 @@ public class DatabaseConfig {
                     FROM public."Empresa"
                     WHERE "IdEmpresa" = ?
                     """;
-            List<Empresa> empresas = jdbcTemplate.query(sql, new EmpresaRowMapper(), Integer.parseInt(id));
+            List<Empresa> empresas = jdbcTemplate.query(sql, new EmpresaRowMapper(), id);
             return empresas.isEmpty() ? Optional.empty() : Optional.of(empresas.get(0));
         }
 
+        @LeituraReplica(Tabela.EMPRESAS)
         public Optional<Empresa> findEmpresaByEmail(String email) {
             String sql = """
                     SELECT "IdEmpresa", "nome_Empresa", "email_Empresa", "cnpj",
@@ -136,8 +453,25 @@ public class DatabaseConfig {
             return empresas.isEmpty() ? Optional.empty() : Optional.of(empresas.get(0));
         }
 
+        @LeituraReplica(Tabela.EMPRESAS)
+        public List<Empresa> findEmpresasByAreaAtuacao(String areaAtuacao) {
+            String sql = """
+                    SELECT "IdEmpresa", "nome_Empresa", "email_Empresa", "cnpj",
+                           "telefone_Empresa", "endereco_Empresa", "area_atuacao_empresa",
+                           "publicoAlvo_Empresa", "senha_Empresa", "descricao_Empresa"
+                    FROM public."Empresa"
+                    WHERE %s
+                    ORDER BY "IdEmpresa"
+                    """.formatted(contem("\"area_atuacao_empresa\""));
+            return jdbcTemplate.query(sql, new EmpresaRowMapper(), termoLiteral(areaAtuacao));
+        }
+
+        @Caching(evict = {
+                @CacheEvict(cacheNames = CacheConfig.EMPRESAS, key = "#empresa.id", condition = "#empresa.id != null", beforeInvocation = true),
+                @CacheEvict(cacheNames = CacheConfig.EMPRESAS, key = "#empresa.id", condition = "#empresa.id != null")
+        })
         public Empresa saveEmpresa(Empresa empresa) {
-            if (empresa.getId() == null || empresa.getId().isEmpty()) {
+            if (empresa.getId() == null) {
                 // INSERT - 10 colunas, 10 valores
                 String sql = """
                         INSERT INTO public."Empresa"
@@ -148,7 +482,7 @@ public class DatabaseConfig {
                         RETURNING "IdEmpresa"
                         """;
 
-                Integer id = jdbcTemplate.queryForObject(sql, Integer.class,
+                Long id = jdbcTemplate.queryForObject(sql, Long.class,
                         empresa.getNome(), // 1
                         empresa.getEmail(), // 2
                         empresa.getCnpj(), // 3
@@ -157,18 +491,17 @@ public class DatabaseConfig {
                         empresa.getAreaAtuacao(), // 6 - missao_Empresa
                         empresa.getPublicoAlvo(), // 7
                         empresa.getSenha(), // 8
-                        empresa.getFoto() != null ? empresa.getFoto() : "", // 9
+                        "", // 9 - legado: a foto fica em public.foto (FotoService)
                         empresa.getDescricao() // 10 - descricao_Empresa
                 );
-                empresa.setId(String.valueOf(id));
+                empresa.setId(id);
             } else {
                 // UPDATE
                 String sql = """
                         UPDATE public."Empresa"
                         SET "nome_Empresa" = ?, "email_Empresa" = ?, "cnpj" = ?,
                             "telefone_Empresa" = ?, "endereco_Empresa" = ?, "area_atuacao_empresa" = ?,
-                            "publicoAlvo_Empresa" = ?, "senha_Empresa" = ?,
-                            "foto_Empresa" = ?, "descricao_Empresa" = ?
+                            "publicoAlvo_Empresa" = ?, "senha_Empresa" = ?, "descricao_Empresa" = ?
                         WHERE "IdEmpresa" = ?
                         """;
                 jdbcTemplate.update(sql,
@@ -180,16 +513,17 @@ public class DatabaseConfig {
                         empresa.getAreaAtuacao(),
                         empresa.getPublicoAlvo(),
                         empresa.getSenha(),
-                        empresa.getFoto() != null ? empresa.getFoto() : "",
                         empresa.getDescricao(),
-                        Integer.parseInt(empresa.getId()));
+                        empresa.getId());
             }
+            versaoTabelas.alterou(Tabela.EMPRESAS);
             return empresa;
         }
 
-        public boolean deleteEmpresaById(String id) {
+        @CacheEvict(cacheNames = CacheConfig.EMPRESAS, key = "#id")
+        public boolean deleteEmpresaById(long id) {
             String sql = "DELETE FROM public.\"Empresa\" WHERE \"IdEmpresa\" = ?";
-            return jdbcTemplate.update(sql, Integer.parseInt(id)) > 0;
+            return excluirPorId(sql, id, Tabela.EMPRESAS);
         }
 
         // =================== USUARIO OPERATIONS ===================
@@ -200,20 +534,42 @@ public class DatabaseConfig {
                            "senha_Usuario", "habilidades_Usuario", "horas_Usuario", "nome_Usuario"
                     FROM public."Usuario"
                     """;
-            return jdbcTemplate.query(sql, new UsuarioRowMapper());
+            return jdbcTemplateRelatorios.query(sql, new UsuarioRowMapper());
         }
 
-        public Optional<Usuario> findUsuarioById(String id) {
+        public void streamUsuarios(Consumer<Usuario> consumidor) {
+            String sql = """
+                    SELECT "IdUsuario", "email_Usuario", "telefone_Usuario", "dataDeNascimento_Usuario",
+                           "senha_Usuario", "habilidades_Usuario", "horas_Usuario", "nome_Usuario"
+                    FROM public."Usuario"
+                    ORDER BY "IdUsuario"
+                    """;
+            percorrer(sql, new UsuarioRowMapper(), consumidor);
+        }
+
+        @LeituraReplica(Tabela.USUARIOS)
+        public List<Usuario> findUsuariosPagina(Paginacao.Consulta consulta, Projecao projecao) {
+            List<Object> params = new ArrayList<>();
+            String sql = "SELECT " + colunasProjetadas(COLUNAS_USUARIO, projecao, consulta) + "\n"
+                    + "FROM public.\"Usuario\"\n"
+                    + clausulaPaginacao(consulta, "\"IdUsuario\"", COLUNAS_ORDENACAO_USUARIO, params);
+            return jdbcTemplate.query(sql, new UsuarioRowMapper(), params.toArray());
+        }
+
+        @Cacheable(cacheNames = CacheConfig.USUARIOS, key = "#id", unless = "#result == null")
+        @LeituraReplica(Tabela.USUARIOS)
+        public Optional<Usuario> findUsuarioById(long id) {
             String sql = """
                     SELECT "IdUsuario", "email_Usuario", "telefone_Usuario", "dataDeNascimento_Usuario",
                            "senha_Usuario", "habilidades_Usuario", "horas_Usuario", "nome_Usuario"
                     FROM public."Usuario"
                     WHERE "IdUsuario" = ?
                     """;
-            List<Usuario> usuarios = jdbcTemplate.query(sql, new UsuarioRowMapper(), Integer.parseInt(id));
+            List<Usuario> usuarios = jdbcTemplate.query(sql, new UsuarioRowMapper(), id);
             return usuarios.isEmpty() ? Optional.empty() : Optional.of(usuarios.get(0));
         }
 
+        @LeituraReplica(Tabela.USUARIOS)
         public Optional<Usuario> findUsuarioByEmail(String email) {
             String sql = """
                     SELECT "IdUsuario", "email_Usuario", "telefone_Usuario", "dataDeNascimento_Usuario",
@@ -225,27 +581,102 @@ public class DatabaseConfig {
             return usuarios.isEmpty() ? Optional.empty() : Optional.of(usuarios.get(0));
         }
 
+        @LeituraReplica(Tabela.USUARIOS)
+        public List<Usuario> findUsuariosByNome(String nome) {
+            return findUsuariosContendo("\"nome_Usuario\"", nome);
+        }
+
+        @LeituraReplica(Tabela.USUARIOS)
+        public List<Usuario> findUsuariosByHabilidade(String habilidade) {
+            return findUsuariosContendo("\"habilidades_Usuario\"", habilidade);
+        }
+
+        private List<Usuario> findUsuariosContendo(String coluna, String termo) {
+            String sql = """
+                    SELECT "IdUsuario", "email_Usuario", "telefone_Usuario", "dataDeNascimento_Usuario",
+                           "senha_Usuario", "habilidades_Usuario", "horas_Usuario", "nome_Usuario"
+                    FROM public."Usuario"
+                    WHERE %s
+                    ORDER BY "IdUsuario"
+                    """.formatted(contem(coluna));
+            return jdbcTemplate.query(sql, new UsuarioRowMapper(), termoLiteral(termo));
+        }
+
+        /**
+         * Busca vários usuários pelos IDs em uma única consulta (IDs inexistentes são ignorados)
+         */
+        @LeituraReplica(Tabela.USUARIOS)
+        public List<Usuario> findUsuariosByIds(Collection<Long> ids) {
+            Long[] idsDistintos = idsDistintos(ids);
+            if (idsDistintos.length == 0) {
+                return Collections.emptyList();
+            }
+            String sql = """
+                    SELECT "IdUsuario", "email_Usuario", "telefone_Usuario", "dataDeNascimento_Usuario",
+                           "senha_Usuario", "habilidades_Usuario", "horas_Usuario", "nome_Usuario"
+                    FROM public."Usuario"
+                    WHERE "IdUsuario" = ANY (?)
+                    """;
+            return jdbcTemplate.query(sql,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", idsDistintos)),
+                    new UsuarioRowMapper());
+        }
+
+        /**
+         * Dentre os emails informados, retorna os que já estão cadastrados (uma única consulta)
+         */
+        @LeituraReplica(Tabela.USUARIOS)
+        public Set<String> findEmailsUsuariosExistentes(Collection<String> emails) {
+            if (emails.isEmpty()) {
+                return Collections.emptySet();
+            }
+            String sql = """
+                    SELECT "email_Usuario"
+                    FROM public."Usuario"
+                    WHERE "email_Usuario" = ANY (?)
+                    """;
+            return new HashSet<>(jdbcTemplate.query(sql,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", emails.toArray())),
+                    (rs, rowNum) -> rs.getString(1)));
+        }
+
+        /**
+         * Insere os usuários em lote (batch) em uma transação e atribui os IDs gerados
+         */
+        public void insertUsuariosEmLote(List<Usuario> usuarios) {
+            String sql = """
+                    INSERT INTO public."Usuario" ("email_Usuario", "telefone_Usuario", "dataDeNascimento_Usuario",
+                                                "senha_Usuario", "habilidades_Usuario", "horas_Usuario", "nome_Usuario")
+                    VALUES (?, ?, ?, ?, ?, ?, ?)
+                    """;
+            inserirEmLote(sql, "IdUsuario", usuarios, (ps, usuario) -> {
+                ps.setString(1, usuario.getEmail());
+                ps.setString(2, usuario.getTelefone());
+                ps.setObject(3, usuario.getDataDeNascimento(), Types.DATE);
+                ps.setString(4, usuario.getSenha());
+                ps.setString(5, usuario.getHabilidades());
+                ps.setDouble(6, usuario.getHoras());
+                ps.setString(7, usuario.getNome());
+            }, Usuario::setId);
+            versaoTabelas.alterou(Tabela.USUARIOS);
+        }
+
+        @Caching(evict = {
+                @CacheEvict(cacheNames = CacheConfig.USUARIOS, key = "#usuario.id", condition = "#usuario.id != null", beforeInvocation = true),
+                @CacheEvict(cacheNames = CacheConfig.USUARIOS, key = "#usuario.id", condition = "#usuario.id != null")
+        })
         public Usuario saveUsuario(Usuario usuario) {
-            if (usuario.getId() == null || usuario.getId().isEmpty()) {
+            if (usuario.getId() == null) {
                 String sql = """
                         INSERT INTO public."Usuario" ("email_Usuario", "telefone_Usuario", "dataDeNascimento_Usuario",
                                                     "senha_Usuario", "habilidades_Usuario", "horas_Usuario", "nome_Usuario")
                         VALUES (?, ?, ?::date, ?, ?, ?, ?)
                         RETURNING "IdUsuario"
                         """;
-                Double horas = null;
-                try {
-                    if (usuario.getHoras() != null && !usuario.getHoras().isEmpty()) {
-                        horas = Double.parseDouble(usuario.getHoras());
-                    }
-                } catch (NumberFormatException e) {
-                    horas = 0.0;
-                }
-
-                Integer id = jdbcTemplate.queryForObject(sql, Integer.class,
+                Long id = jdbcTemplate.queryForObject(sql, Long.class,
                         usuario.getEmail(), usuario.getTelefone(), usuario.getDataDeNascimento(),
-                        usuario.getSenha(), usuario.getHabilidades(), horas, usuario.getNome());
-                usuario.setId(String.valueOf(id));
+                        usuario.getSenha(), usuario.getHabilidades(), usuario.getHoras(), usuario.getNome());
+                usuario.setId(id);
             } else {
                 String sql = """
                         UPDATE public."Usuario"
@@ -253,26 +684,19 @@ public class DatabaseConfig {
                             "senha_Usuario" = ?, "habilidades_Usuario" = ?, "horas_Usuario" = ?, "nome_Usuario" = ?
                         WHERE "IdUsuario" = ?
                         """;
-                Double horas = null;
-                try {
-                    if (usuario.getHoras() != null && !usuario.getHoras().isEmpty()) {
-                        horas = Double.parseDouble(usuario.getHoras());
-                    }
-                } catch (NumberFormatException e) {
-                    horas = 0.0;
-                }
-
                 jdbcTemplate.update(sql,
                         usuario.getEmail(), usuario.getTelefone(), usuario.getDataDeNascimento(),
-                        usuario.getSenha(), usuario.getHabilidades(), horas, usuario.getNome(),
-                        Integer.parseInt(usuario.getId()));
+                        usuario.getSenha(), usuario.getHabilidades(), usuario.getHoras(), usuario.getNome(),
+                        usuario.getId());
             }
+            versaoTabelas.alterou(Tabela.USUARIOS);
             return usuario;
         }
 
-        public boolean deleteUsuarioById(String id) {
+        @CacheEvict(cacheNames = CacheConfig.USUARIOS, key = "#id")
+        public boolean deleteUsuarioById(long id) {
             String sql = "DELETE FROM public.\"Usuario\" WHERE \"IdUsuario\" = ?";
-            return jdbcTemplate.update(sql, Integer.parseInt(id)) > 0;
+            return excluirPorId(sql, id, Tabela.USUARIOS);
         }
 
         // =================== TRABALHO OPERATIONS ===================
@@ -283,52 +707,187 @@ public class DatabaseConfig {
                            "quantidadeDeVagas_Trabalho", "tipoTrabalho_Trabalho", "habilidadesNecessarias_Trabalho"
                     FROM public.trabalho
                     """;
-            return jdbcTemplate.query(sql, new TrabalhoRowMapper());
+            return jdbcTemplateRelatorios.query(sql, new TrabalhoRowMapper());
+        }
+
+        public void streamTrabalhos(Consumer<Trabalho> consumidor) {
+            String sql = """
+                    SELECT "IdTrabalho", "IdEmpresa", "nomeEmpresa_Trabalho", "descricao_Trabalho",
+                           "quantidadeDeVagas_Trabalho", "tipoTrabalho_Trabalho", "habilidadesNecessarias_Trabalho"
+                    FROM public.trabalho
+                    ORDER BY "IdTrabalho"
+                    """;
+            percorrer(sql, new TrabalhoRowMapper(), consumidor);
         }
 
-        public Optional<Trabalho> findTrabalhoById(String id) {
+        @LeituraReplica(Tabela.TRABALHOS)
+        public List<Trabalho> findTrabalhosPagina(Paginacao.Consulta consulta, Projecao projecao) {
+            List<Object> params = new ArrayList<>();
+            String sql = "SELECT " + colunasProjetadas(COLUNAS_TRABALHO, projecao, consulta) + "\n"
+                    + "FROM public.trabalho\n"
+                    + clausulaPaginacao(consulta, "\"IdTrabalho\"", COLUNAS_ORDENACAO_TRABALHO, params);
+            return jdbcTemplate.query(sql, new TrabalhoRowMapper(), params.toArray());
+        }
+
+        @Cacheable(cacheNames = CacheConfig.TRABALHOS, key = "#id", unless = "#result == null")
+        @LeituraReplica(Tabela.TRABALHOS)
+        public Optional<Trabalho> findTrabalhoById(long id) {
             String sql = """
                     SELECT "IdTrabalho", "IdEmpresa", "nomeEmpresa_Trabalho", "descricao_Trabalho",
                            "quantidadeDeVagas_Trabalho", "tipoTrabalho_Trabalho", "habilidadesNecessarias_Trabalho"
                     FROM public.trabalho
                     WHERE "IdTrabalho" = ?
                     """;
-            List<Trabalho> trabalhos = jdbcTemplate.query(sql, new TrabalhoRowMapper(), Integer.parseInt(id));
+            List<Trabalho> trabalhos = jdbcTemplate.query(sql, new TrabalhoRowMapper(), id);
             return trabalhos.isEmpty() ? Optional.empty() : Optional.of(trabalhos.get(0));
         }
 
-        public List<Trabalho> findTrabalhosByEmpresa(String idEmpresa) {
+        @LeituraReplica(Tabela.TRABALHOS)
+        public List<Trabalho> findTrabalhosByEmpresa(long idEmpresa) {
             String sql = """
                     SELECT "IdTrabalho", "IdEmpresa", "nomeEmpresa_Trabalho", "descricao_Trabalho",
                            "quantidadeDeVagas_Trabalho", "tipoTrabalho_Trabalho", "habilidadesNecessarias_Trabalho"
                     FROM public.trabalho
                     WHERE "IdEmpresa" = ?
                     """;
-            return jdbcTemplate.query(sql, new TrabalhoRowMapper(), Integer.parseInt(idEmpresa));
+            return jdbcTemplate.query(sql, new TrabalhoRowMapper(), idEmpresa);
+        }
+
+        @LeituraReplica(Tabela.TRABALHOS)
+        public List<Trabalho> findTrabalhosByTipo(String tipoTrabalho) {
+            return findTrabalhosContendo("\"tipoTrabalho_Trabalho\"", tipoTrabalho);
+        }
+
+        @LeituraReplica(Tabela.TRABALHOS)
+        public List<Trabalho> findTrabalhosByHabilidade(String habilidade) {
+            return findTrabalhosContendo("\"habilidadesNecessarias_Trabalho\"", habilidade);
+        }
+
+        private List<Trabalho> findTrabalhosContendo(String coluna, String termo) {
+            String sql = """
+                    SELECT "IdTrabalho", "IdEmpresa", "nomeEmpresa_Trabalho", "descricao_Trabalho",
+                           "quantidadeDeVagas_Trabalho", "tipoTrabalho_Trabalho", "habilidadesNecessarias_Trabalho"
+                    FROM public.trabalho
+                    WHERE %s
+                    ORDER BY "IdTrabalho"
+                    """.formatted(contem(coluna));
+            return jdbcTemplate.query(sql, new TrabalhoRowMapper(), termoLiteral(termo));
+        }
+
+        /**
+         * Busca textual ordenada por ts_rank (relevância e ID decrescentes), a partir do cursor, até limite + 1 itens
+         * q segue a sintaxe do websearch_to_tsquery: "frase exata", or, -excluir
+         * Usa a coluna "busca_Trabalho" e o índice GIN ix_trabalho_busca (db/indices.sql)
+         */
+        public List<BuscaTexto.Resultado<Trabalho>> buscarTrabalhos(String q, Paginacao.Consulta consulta) {
+            List<Object> params = new ArrayList<>();
+            params.add(q);
+            String filtroCursor = "";
+            if (consulta.temCursor()) {
+                filtroCursor = "WHERE (relevancia, \"IdTrabalho\") < (?::real, ?)";
+                params.add(BuscaTexto.relevanciaDoCursor(consulta));
+                params.add(consulta.getCursorId());
+            }
+            params.add(consulta.getLimite() + 1);
+
+            String sql = """
+                    SELECT * FROM (
+                        SELECT "IdTrabalho", "IdEmpresa", "nomeEmpresa_Trabalho", "descricao_Trabalho",
+                               "quantidadeDeVagas_Trabalho", "tipoTrabalho_Trabalho", "habilidadesNecessarias_Trabalho",
+                               ts_rank("busca_Trabalho", consulta) AS relevancia
+                        FROM public.trabalho, websearch_to_tsquery('portuguese', ?) AS consulta
+                        WHERE "busca_Trabalho" @@ consulta
+                    ) AS encontrados
+                    %s
+                    ORDER BY relevancia DESC, "IdTrabalho" DESC
+                    LIMIT ?
+                    """.formatted(filtroCursor);
+            TrabalhoRowMapper trabalhoRowMapper = new TrabalhoRowMapper();
+            return jdbcTemplate.query(sql,
+                    (rs, rowNum) -> new BuscaTexto.Resultado<>(trabalhoRowMapper.mapRow(rs, rowNum), rs.getFloat("relevancia")),
+                    params.toArray());
+        }
+
+        /**
+         * Busca vários trabalhos pelos IDs em uma única consulta (IDs inexistentes são ignorados)
+         */
+        @LeituraReplica(Tabela.TRABALHOS)
+        public List<Trabalho> findTrabalhosByIds(Collection<Long> ids) {
+            Long[] idsDistintos = idsDistintos(ids);
+            if (idsDistintos.length == 0) {
+                return Collections.emptyList();
+            }
+            String sql = """
+                    SELECT "IdTrabalho", "IdEmpresa", "nomeEmpresa_Trabalho", "descricao_Trabalho",
+                           "quantidadeDeVagas_Trabalho", "tipoTrabalho_Trabalho", "habilidadesNecessarias_Trabalho"
+                    FROM public.trabalho
+                    WHERE "IdTrabalho" = ANY (?)
+                    """;
+            return jdbcTemplate.query(sql,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", idsDistintos)),
+                    new TrabalhoRowMapper());
         }
 
+        /**
+         * Busca o nome das empresas informadas (ID -> nome) em uma única consulta
+         */
+        @LeituraReplica(Tabela.EMPRESAS)
+        public Map<Long, String> findNomesEmpresas(Collection<Long> ids) {
+            Long[] idsDistintos = idsDistintos(ids);
+            if (idsDistintos.length == 0) {
+                return Collections.emptyMap();
+            }
+            String sql = """
+                    SELECT "IdEmpresa", "nome_Empresa"
+                    FROM public."Empresa"
+                    WHERE "IdEmpresa" = ANY (?)
+                    """;
+            Map<Long, String> nomes = new HashMap<>();
+            jdbcTemplate.query(sql,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", idsDistintos)),
+                    (RowCallbackHandler) rs -> nomes.put(rs.getLong("IdEmpresa"), rs.getString("nome_Empresa")));
+            return nomes;
+        }
+
+        /**
+         * Insere os trabalhos em lote (batch) em uma transação e atribui os IDs gerados
+         */
+        @CacheEvict(cacheNames = CacheConfig.IMPACTO, allEntries = true)
+        public void insertTrabalhosEmLote(List<Trabalho> trabalhos) {
+            String sql = """
+                    INSERT INTO public.trabalho ("IdEmpresa", "nomeEmpresa_Trabalho", "descricao_Trabalho",
+                                               "quantidadeDeVagas_Trabalho", "tipoTrabalho_Trabalho", "habilidadesNecessarias_Trabalho")
+                    VALUES (?, ?, ?, ?, ?, ?)
+                    """;
+            inserirEmLote(sql, "IdTrabalho", trabalhos, (ps, trabalho) -> {
+                ps.setLong(1, trabalho.getIdEmpresa());
+                ps.setString(2, trabalho.getNomeEmpresa());
+                ps.setString(3, trabalho.getDescricaoTrabalho());
+                ps.setInt(4, trabalho.getQuantidadeDeVagas());
+                ps.setString(5, trabalho.getTipoTrabalho());
+                ps.setString(6, trabalho.getHabilidadesNecessarias());
+            }, Trabalho::setId);
+            versaoTabelas.alterou(Tabela.TRABALHOS);
+        }
+
+        @Caching(evict = {
+                @CacheEvict(cacheNames = CacheConfig.TRABALHOS, key = "#trabalho.id", condition = "#trabalho.id != null", beforeInvocation = true),
+                @CacheEvict(cacheNames = CacheConfig.TRABALHOS, key = "#trabalho.id", condition = "#trabalho.id != null"),
+                @CacheEvict(cacheNames = CacheConfig.IMPACTO, allEntries = true)
+        })
         public Trabalho saveTrabalho(Trabalho trabalho) {
-            if (trabalho.getId() == null || trabalho.getId().isEmpty()) {
+            if (trabalho.getId() == null) {
                 String sql = """
                         INSERT INTO public.trabalho ("IdEmpresa", "nomeEmpresa_Trabalho", "descricao_Trabalho",
                                                    "quantidadeDeVagas_Trabalho", "tipoTrabalho_Trabalho", "habilidadesNecessarias_Trabalho")
                         VALUES (?, ?, ?, ?, ?, ?)
                         RETURNING "IdTrabalho"
                         """;
-                Integer vagas = null;
-                try {
-                    if (trabalho.getQuantidadeDeVagas() != null && !trabalho.getQuantidadeDeVagas().isEmpty()) {
-                        vagas = Integer.parseInt(trabalho.getQuantidadeDeVagas());
-                    }
-                } catch (NumberFormatException e) {
-                    vagas = 1;
-                }
-
-                Integer id = jdbcTemplate.queryForObject(sql, Integer.class,
-                        Integer.parseInt(trabalho.getIdEmpresa()), trabalho.getNomeEmpresa(),
-                        trabalho.getDescricaoTrabalho(), vagas, trabalho.getTipoTrabalho(),
+                Long id = jdbcTemplate.queryForObject(sql, Long.class,
+                        trabalho.getIdEmpresa(), trabalho.getNomeEmpresa(),
+                        trabalho.getDescricaoTrabalho(), trabalho.getQuantidadeDeVagas(), trabalho.getTipoTrabalho(),
                         trabalho.getHabilidadesNecessarias());
-                trabalho.setId(String.valueOf(id));
+                trabalho.setId(id);
             } else {
                 String sql = """
                         UPDATE public.trabalho
@@ -336,26 +895,49 @@ public class DatabaseConfig {
                             "quantidadeDeVagas_Trabalho" = ?, "tipoTrabalho_Trabalho" = ?, "habilidadesNecessarias_Trabalho" = ?
                         WHERE "IdTrabalho" = ?
                         """;
-                Integer vagas = null;
-                try {
-                    if (trabalho.getQuantidadeDeVagas() != null && !trabalho.getQuantidadeDeVagas().isEmpty()) {
-                        vagas = Integer.parseInt(trabalho.getQuantidadeDeVagas());
-                    }
-                } catch (NumberFormatException e) {
-                    vagas = 1;
-                }
-
                 jdbcTemplate.update(sql,
-                        Integer.parseInt(trabalho.getIdEmpresa()), trabalho.getNomeEmpresa(),
-                        trabalho.getDescricaoTrabalho(), vagas, trabalho.getTipoTrabalho(),
-                        trabalho.getHabilidadesNecessarias(), Integer.parseInt(trabalho.getId()));
+                        trabalho.getIdEmpresa(), trabalho.getNomeEmpresa(),
+                        trabalho.getDescricaoTrabalho(), trabalho.getQuantidadeDeVagas(), trabalho.getTipoTrabalho(),
+                        trabalho.getHabilidadesNecessarias(), trabalho.getId());
             }
+            versaoTabelas.alterou(Tabela.TRABALHOS);
             return trabalho;
         }
 
-        public boolean deleteTrabalhoById(String id) {
+        /**
+         * Insere o trabalho em um único comando, somente se a empresa existir, copiando o nome dela
+         * Em caso de sucesso o ID gerado e o nome da empresa são atribuídos ao trabalho
+         */
+        @CacheEvict(cacheNames = CacheConfig.IMPACTO, allEntries = true)
+        public boolean insertTrabalhoSeEmpresaExiste(Trabalho trabalho) {
+            String sql = """
+                    INSERT INTO public.trabalho ("IdEmpresa", "nomeEmpresa_Trabalho", "descricao_Trabalho",
+                                               "quantidadeDeVagas_Trabalho", "tipoTrabalho_Trabalho", "habilidadesNecessarias_Trabalho")
+                    SELECT e."IdEmpresa", e."nome_Empresa", ?, ?, ?, ?
+                    FROM public."Empresa" e
+                    WHERE e."IdEmpresa" = ?
+                    RETURNING "IdTrabalho", "nomeEmpresa_Trabalho"
+                    """;
+            List<Trabalho> inseridos = jdbcTemplate.query(sql, (rs, rowNum) -> {
+                trabalho.setId(rs.getLong("IdTrabalho"));
+                trabalho.setNomeEmpresa(rs.getString("nomeEmpresa_Trabalho"));
+                return trabalho;
+            }, trabalho.getDescricaoTrabalho(), trabalho.getQuantidadeDeVagas(), trabalho.getTipoTrabalho(),
+                    trabalho.getHabilidadesNecessarias(), trabalho.getIdEmpresa());
+            if (inseridos.isEmpty()) {
+                return false;
+            }
+            versaoTabelas.alterou(Tabela.TRABALHOS);
+            return true;
+        }
+
+        @Caching(evict = {
+                @CacheEvict(cacheNames = CacheConfig.TRABALHOS, key = "#id"),
+                @CacheEvict(cacheNames = CacheConfig.IMPACTO, allEntries = true)
+        })
+        public boolean deleteTrabalhoById(long id) {
             String sql = "DELETE FROM public.trabalho WHERE \"IdTrabalho\" = ?";
-            return jdbcTemplate.update(sql, Integer.parseInt(id)) > 0;
+            return excluirPorId(sql, id, Tabela.TRABALHOS);
         }
 
         // =================== MATCH OPERATIONS ===================
@@ -366,72 +948,187 @@ public class DatabaseConfig {
                            "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match"
                     FROM public."Match"
                     """;
-            return jdbcTemplate.query(sql, new MatchRowMapper());
+            return jdbcTemplateRelatorios.query(sql, new MatchRowMapper());
         }
 
-        public Optional<Match> findMatchById(String id) {
+        public void streamMatches(Consumer<Match> consumidor) {
+            String sql = """
+                    SELECT "IdMatch", "IdUsuario", "IdTrabalho", "status_Match", "data_Match",
+                           "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match"
+                    FROM public."Match"
+                    ORDER BY "IdMatch"
+                    """;
+            percorrer(sql, new MatchRowMapper(), consumidor);
+        }
+
+        @LeituraReplica(Tabela.MATCHES)
+        public List<Match> findMatchesPagina(Paginacao.Consulta consulta, Projecao projecao) {
+            List<Object> params = new ArrayList<>();
+            String sql = "SELECT " + colunasProjetadas(COLUNAS_MATCH, projecao, consulta) + "\n"
+                    + "FROM public.\"Match\"\n"
+                    + clausulaPaginacao(consulta, "\"IdMatch\"", COLUNAS_ORDENACAO_MATCH, params);
+            return jdbcTemplate.query(sql, new MatchRowMapper(), params.toArray());
+        }
+
+        @Cacheable(cacheNames = CacheConfig.MATCHES, key = "#id", unless = "#result == null")
+        @LeituraReplica(Tabela.MATCHES)
+        public Optional<Match> findMatchById(long id) {
             String sql = """
                     SELECT "IdMatch", "IdUsuario", "IdTrabalho", "status_Match", "data_Match",
                            "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match"
                     FROM public."Match"
                     WHERE "IdMatch" = ?
                     """;
-            List<Match> matches = jdbcTemplate.query(sql, new MatchRowMapper(), Integer.parseInt(id));
+            List<Match> matches = jdbcTemplate.query(sql, new MatchRowMapper(), id);
             return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
         }
 
-        public List<Match> findMatchesByUsuario(String idUsuario) {
+        @LeituraReplica(Tabela.MATCHES)
+        public List<Match> findMatchesByUsuario(long idUsuario) {
             String sql = """
                     SELECT "IdMatch", "IdUsuario", "IdTrabalho", "status_Match", "data_Match",
                            "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match"
                     FROM public."Match"
                     WHERE "IdUsuario" = ?
                     """;
-            return jdbcTemplate.query(sql, new MatchRowMapper(), Integer.parseInt(idUsuario));
+            return jdbcTemplate.query(sql, new MatchRowMapper(), idUsuario);
         }
 
-        public List<Match> findMatchesByTrabalho(String idTrabalho) {
+        @LeituraReplica(Tabela.MATCHES)
+        public List<Match> findMatchesByTrabalho(long idTrabalho) {
             String sql = """
                     SELECT "IdMatch", "IdUsuario", "IdTrabalho", "status_Match", "data_Match",
                            "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match"
                     FROM public."Match"
                     WHERE "IdTrabalho" = ?
                     """;
-            return jdbcTemplate.query(sql, new MatchRowMapper(), Integer.parseInt(idTrabalho));
+            return jdbcTemplate.query(sql, new MatchRowMapper(), idTrabalho);
         }
 
-        public Match saveMatch(Match match) {
-            if (match.getId() == null || match.getId().isEmpty()) {
-                String sql = """
+        @LeituraReplica(Tabela.MATCHES)
+        public Optional<Match> findMatchByUsuarioAndTrabalho(long idUsuario, long idTrabalho) {
+            String sql = """
+                    SELECT "IdMatch", "IdUsuario", "IdTrabalho", "status_Match", "data_Match",
+                           "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match"
+                    FROM public."Match"
+                    WHERE "IdUsuario" = ? AND "IdTrabalho" = ?
+                    LIMIT 1
+                    """;
+            List<Match> matches = jdbcTemplate.query(sql, new MatchRowMapper(), idUsuario, idTrabalho);
+            return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
+        }
+
+        public List<Match> findMatchesByStatusIn(Collection<StatusMatch> status) {
+            if (status == null || status.isEmpty()) {
+                return new ArrayList<>();
+            }
+            String placeholders = String.join(", ", Collections.nCopies(status.size(), "?"));
+            String sql = """
+                    SELECT "IdMatch", "IdUsuario", "IdTrabalho", "status_Match", "data_Match",
+                           "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match"
+                    FROM public."Match"
+                    WHERE LOWER("status_Match") IN (%s)
+                    """.formatted(placeholders);
+            Object[] params = status.stream().map(StatusMatch::getCodigo).toArray();
+            return jdbcTemplateRelatorios.query(sql, new MatchRowMapper(), params);
+        }
+
+        public List<Match> findMatchesByAvaliacaoMinima(int avaliacaoMinima) {
+            String sql = """
+                    SELECT "IdMatch", "IdUsuario", "IdTrabalho", "status_Match", "data_Match",
+                           "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match"
+                    FROM public."Match"
+                    WHERE "avaliacao_Match" >= ?
+                    """;
+            return jdbcTemplateRelatorios.query(sql, new MatchRowMapper(), avaliacaoMinima);
+        }
+
+        public List<Match> findMatchesByDataMatchBetween(LocalDate dataInicio, LocalDate dataFim) {
+            String sql = """
+                    SELECT "IdMatch", "IdUsuario", "IdTrabalho", "status_Match", "data_Match",
+                           "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match"
+                    FROM public."Match"
+                    WHERE "data_Match" BETWEEN ? AND ?
+                    """;
+            return jdbcTemplateRelatorios.query(sql, new MatchRowMapper(), dataInicio, dataFim);
+        }
+
+        /**
+         * Resultado da inserção condicional de um match
+         */
+        public enum ResultadoInsercaoMatch {
+            CRIADO, USUARIO_INEXISTENTE, TRABALHO_INEXISTENTE, DUPLICADO
+        }
+
+        /**
+         * Insere o match em um único comando, somente se o usuário e o trabalho existirem
+         * e ainda não houver match para o par (ver índice único em db/indices.sql)
+         * Em caso de sucesso o ID gerado é atribuído ao match
+         */
+        @CacheEvict(cacheNames = CacheConfig.IMPACTO, allEntries = true)
+        public ResultadoInsercaoMatch insertMatchSeValido(Match match) {
+            String sql = """
+                    WITH usuario AS (
+                        SELECT EXISTS (SELECT 1 FROM public."Usuario" WHERE "IdUsuario" = ?) AS existe
+                    ), trabalho AS (
+                        SELECT EXISTS (SELECT 1 FROM public.trabalho WHERE "IdTrabalho" = ?) AS existe
+                    ), inserido AS (
                         INSERT INTO public."Match" ("IdUsuario", "IdTrabalho", "status_Match", "data_Match",
                                                   "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match")
-                        VALUES (?, ?, ?, ?::date, ?::date, ?::date, ?, ?)
+                        SELECT ?, ?, ?, ?::date, ?::date, ?::date, ?, ?
+                        WHERE (SELECT existe FROM usuario) AND (SELECT existe FROM trabalho)
+                          AND NOT EXISTS (SELECT 1 FROM public."Match" WHERE "IdUsuario" = ? AND "IdTrabalho" = ?)
+                        ON CONFLICT DO NOTHING
                         RETURNING "IdMatch"
-                        """;
-                Double horas = null;
-                Integer avaliacao = null;
+                    )
+                    SELECT (SELECT existe FROM usuario) AS usuario_existe,
+                           (SELECT existe FROM trabalho) AS trabalho_existe,
+                           (SELECT "IdMatch" FROM inserido) AS id
+                    """;
+            long idUsuario = match.getIdUsuario();
+            long idTrabalho = match.getIdTrabalho();
 
-                try {
-                    if (match.getHorasTrabalhas() != null && !match.getHorasTrabalhas().isEmpty()) {
-                        horas = Double.parseDouble(match.getHorasTrabalhas());
-                    }
-                } catch (NumberFormatException e) {
-                    horas = 0.0;
+            ResultadoInsercaoMatch resultado = jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+                if (!rs.getBoolean("usuario_existe")) {
+                    return ResultadoInsercaoMatch.USUARIO_INEXISTENTE;
                 }
-
-                try {
-                    if (match.getAvaliacao() != null && !match.getAvaliacao().isEmpty()) {
-                        avaliacao = Integer.parseInt(match.getAvaliacao());
-                    }
-                } catch (NumberFormatException e) {
-                    avaliacao = null;
+                if (!rs.getBoolean("trabalho_existe")) {
+                    return ResultadoInsercaoMatch.TRABALHO_INEXISTENTE;
+                }
+                long id = rs.getLong("id");
+                if (rs.wasNull()) {
+                    return ResultadoInsercaoMatch.DUPLICADO;
                 }
+                match.setId(id);
+                return ResultadoInsercaoMatch.CRIADO;
+            }, idUsuario, idTrabalho,
+                    idUsuario, idTrabalho, match.getCodigoStatus(), match.getDataMatch(), match.getDataInicio(),
+                    match.getDataTermino(), match.getHorasTrabalhas(), avaliacao(match),
+                    idUsuario, idTrabalho);
+            if (resultado == ResultadoInsercaoMatch.CRIADO) {
+                versaoTabelas.alterou(Tabela.MATCHES);
+            }
+            return resultado;
+        }
 
-                Integer id = jdbcTemplate.queryForObject(sql, Integer.class,
-                        Integer.parseInt(match.getIdUsuario()), Integer.parseInt(match.getIdTrabalho()),
-                        match.getStatus(), match.getDataMatch(), match.getDataInicio(),
-                        match.getDataTermino(), horas, avaliacao);
-                match.setId(String.valueOf(id));
+        @Caching(evict = {
+                @CacheEvict(cacheNames = CacheConfig.MATCHES, key = "#match.id", condition = "#match.id != null", beforeInvocation = true),
+                @CacheEvict(cacheNames = CacheConfig.MATCHES, key = "#match.id", condition = "#match.id != null"),
+                @CacheEvict(cacheNames = CacheConfig.IMPACTO, allEntries = true)
+        })
+        public Match saveMatch(Match match) {
+            if (match.getId() == null) {
+                String sql = """
+                        INSERT INTO public."Match" ("IdUsuario", "IdTrabalho", "status_Match", "data_Match",
+                                                  "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match")
+                        VALUES (?, ?, ?, ?::date, ?::date, ?::date, ?, ?)
+                        RETURNING "IdMatch"
+                        """;
+                Long id = jdbcTemplate.queryForObject(sql, Long.class,
+                        match.getIdUsuario(), match.getIdTrabalho(),
+                        match.getCodigoStatus(), match.getDataMatch(), match.getDataInicio(),
+                        match.getDataTermino(), match.getHorasTrabalhas(), avaliacao(match));
+                match.setId(id);
             } else {
                 String sql = """
                         UPDATE public."Match"
@@ -439,46 +1136,301 @@ public class DatabaseConfig {
                             "dataInicio_Match" = ?::date, "dataTermino_Match" = ?::date, "horasTrabalhadas_Match" = ?, "avaliacao_Match" = ?
                         WHERE "IdMatch" = ?
                         """;
-                Double horas = null;
-                Integer avaliacao = null;
+                jdbcTemplate.update(sql,
+                        match.getIdUsuario(), match.getIdTrabalho(),
+                        match.getCodigoStatus(), match.getDataMatch(), match.getDataInicio(),
+                        match.getDataTermino(), match.getHorasTrabalhas(), avaliacao(match), match.getId());
+            }
+            versaoTabelas.alterou(Tabela.MATCHES);
+            return match;
+        }
 
-                try {
-                    if (match.getHorasTrabalhas() != null && !match.getHorasTrabalhas().isEmpty()) {
-                        horas = Double.parseDouble(match.getHorasTrabalhas());
-                    }
-                } catch (NumberFormatException e) {
-                    horas = 0.0;
-                }
+        /**
+         * Remove o match e devolve a linha removida (o MatchService publica a exclusão para o usuário e o trabalho)
+         */
+        @Caching(evict = {
+                @CacheEvict(cacheNames = CacheConfig.MATCHES, key = "#id"),
+                @CacheEvict(cacheNames = CacheConfig.IMPACTO, allEntries = true)
+        })
+        public Optional<Match> deleteMatchById(long id) {
+            String sql = """
+                    DELETE FROM public."Match"
+                    WHERE "IdMatch" = ?
+                    RETURNING "IdMatch", "IdUsuario", "IdTrabalho", "status_Match", "data_Match",
+                              "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match"
+                    """;
+            List<Match> removidos = jdbcTemplate.query(sql, new MatchRowMapper(), id);
+            if (removidos.isEmpty()) {
+                return Optional.empty();
+            }
+            versaoTabelas.alterou(Tabela.MATCHES);
+            return Optional.of(removidos.get(0));
+        }
 
-                try {
-                    if (match.getAvaliacao() != null && !match.getAvaliacao().isEmpty()) {
-                        avaliacao = Integer.parseInt(match.getAvaliacao());
-                    }
-                } catch (NumberFormatException e) {
-                    avaliacao = null;
+        /**
+         * Avaliação gravada no banco (0 = sem avaliação = NULL)
+         */
+        private static Integer avaliacao(Match match) {
+            return match.getAvaliacao() > 0 ? match.getAvaliacao() : null;
+        }
+
+        /**
+         * Remove os matches do usuário e devolve as linhas removidas (o MatchService publica a exclusão de cada um)
+         */
+        @CacheEvict(cacheNames = {CacheConfig.MATCHES, CacheConfig.IMPACTO}, allEntries = true)
+        public List<Match> deleteMatchesByUsuario(long idUsuario) {
+            String sql = """
+                    DELETE FROM public."Match"
+                    WHERE "IdUsuario" = ?
+                    RETURNING "IdMatch", "IdUsuario", "IdTrabalho", "status_Match", "data_Match",
+                              "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match"
+                    """;
+            List<Match> removidos = transacaoEscrita.execute(status -> jdbcTemplate.query(sql, new MatchRowMapper(), idUsuario));
+            versaoTabelas.alterou(Tabela.MATCHES);
+            return removidos;
+        }
+
+        /**
+         * Remove os matches do trabalho e devolve as linhas removidas (o MatchService publica a exclusão de cada um)
+         */
+        @CacheEvict(cacheNames = {CacheConfig.MATCHES, CacheConfig.IMPACTO}, allEntries = true)
+        public List<Match> deleteMatchesByTrabalho(long idTrabalho) {
+            String sql = """
+                    DELETE FROM public."Match"
+                    WHERE "IdTrabalho" = ?
+                    RETURNING "IdMatch", "IdUsuario", "IdTrabalho", "status_Match", "data_Match",
+                              "dataInicio_Match", "dataTermino_Match", "horasTrabalhadas_Match", "avaliacao_Match"
+                    """;
+            List<Match> removidos = transacaoEscrita.execute(status -> jdbcTemplate.query(sql, new MatchRowMapper(), idTrabalho));
+            versaoTabelas.alterou(Tabela.MATCHES);
+            return removidos;
+        }
+
+        /**
+         * Remove os trabalhos da empresa e os matches desses trabalhos em uma transação
+         * Retorna os IDs dos trabalhos removidos
+         */
+        @CacheEvict(cacheNames = {CacheConfig.TRABALHOS, CacheConfig.MATCHES, CacheConfig.IMPACTO}, allEntries = true)
+        public List<Long> deleteTrabalhosByEmpresa(long idEmpresa) {
+            String sqlMatches = """
+                    DELETE FROM public."Match"
+                    WHERE "IdTrabalho" IN (SELECT "IdTrabalho" FROM public.trabalho WHERE "IdEmpresa" = ?)
+                    """;
+            String sqlTrabalhos = """
+                    DELETE FROM public.trabalho
+                    WHERE "IdEmpresa" = ?
+                    RETURNING "IdTrabalho"
+                    """;
+            List<Long> ids = transacaoEscrita.execute(status -> {
+                jdbcTemplate.update(sqlMatches, idEmpresa);
+                return excluirRetornandoIds(sqlTrabalhos, idEmpresa);
+            });
+            versaoTabelas.alterou(Tabela.TRABALHOS, Tabela.MATCHES);
+            return ids;
+        }
+
+        /**
+         * Remove a empresa junto com seus trabalhos e os matches desses trabalhos em uma transação
+         */
+        @Caching(evict = {
+                @CacheEvict(cacheNames = CacheConfig.EMPRESAS, key = "#idEmpresa"),
+                @CacheEvict(cacheNames = {CacheConfig.TRABALHOS, CacheConfig.MATCHES, CacheConfig.IMPACTO}, allEntries = true)
+        })
+        public boolean deleteEmpresaCascata(long idEmpresa) {
+            String sql = "DELETE FROM public.\"Empresa\" WHERE \"IdEmpresa\" = ?";
+            boolean removida = Boolean.TRUE.equals(transacaoEscrita.execute(status -> {
+                deleteTrabalhosByEmpresa(idEmpresa);
+                return jdbcTemplate.update(sql, idEmpresa) > 0;
+            }));
+            versaoTabelas.alterou(Tabela.EMPRESAS, Tabela.TRABALHOS, Tabela.MATCHES);
+            return removida;
+        }
+
+        // =================== IMPACTO OPERATIONS ===================
+
+        /**
+         * Painel de impacto da empresa em uma única consulta (trabalho LEFT JOIN "Match")
+         * Dois agrupamentos na mesma leitura (GROUPING SETS): por trabalho, para as vagas ofertadas e
+         * preenchidas, e por status, para matches, horas e avaliações. Empresa sem trabalhos: tudo zerado
+         * Cache por empresa, limpo a cada escrita de trabalhos ou matches
+         */
+        @Cacheable(cacheNames = CacheConfig.IMPACTO, key = "#idEmpresa")
+        @LeituraReplica({Tabela.TRABALHOS, Tabela.MATCHES})
+        public ImpactoEmpresaDTO findImpactoEmpresa(long idEmpresa) {
+            String placeholders = String.join(", ", Collections.nCopies(StatusMatch.PREENCHEM_VAGA.size(), "?"));
+            String sql = """
+                    SELECT GROUPING(t."IdTrabalho") = 1 AS por_status,
+                           MAX(t."quantidadeDeVagas_Trabalho") AS vagas,
+                           LOWER(m."status_Match") AS status,
+                           COUNT(m."IdMatch") AS matches,
+                           COUNT(m."IdMatch") FILTER (WHERE LOWER(m."status_Match") IN (%s)) AS ocupadas,
+                           COALESCE(SUM(m."horasTrabalhadas_Match"), 0) AS horas,
+                           COALESCE(SUM(m."avaliacao_Match") FILTER (WHERE m."avaliacao_Match" > 0), 0) AS soma_avaliacoes,
+                           COUNT(m."avaliacao_Match") FILTER (WHERE m."avaliacao_Match" > 0) AS avaliacoes
+                    FROM public.trabalho t
+                    LEFT JOIN public."Match" m ON m."IdTrabalho" = t."IdTrabalho"
+                    WHERE t."IdEmpresa" = ?
+                    GROUP BY GROUPING SETS ((t."IdTrabalho"), (LOWER(m."status_Match")))
+                    """.formatted(placeholders);
+            List<Object> params = new ArrayList<>();
+            StatusMatch.PREENCHEM_VAGA.forEach(status -> params.add(status.getCodigo()));
+            params.add(idEmpresa);
+
+            ImpactoEmpresaDTO impacto = new ImpactoEmpresaDTO(String.valueOf(idEmpresa));
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                if (!rs.getBoolean("por_status")) {
+                    impacto.adicionarTrabalho(rs.getInt("vagas"), rs.getLong("ocupadas"));
+                } else if (rs.getLong("matches") > 0) {
+                    // Trabalhos sem matches formam um grupo de status NULL com zero matches
+                    impacto.adicionarStatus(rs.getString("status"), rs.getLong("matches"), rs.getDouble("horas"),
+                            rs.getLong("soma_avaliacoes"), rs.getLong("avaliacoes"));
                 }
+            }, params.toArray());
+            return impacto;
+        }
 
-                jdbcTemplate.update(sql,
-                        Integer.parseInt(match.getIdUsuario()), Integer.parseInt(match.getIdTrabalho()),
-                        match.getStatus(), match.getDataMatch(), match.getDataInicio(),
-                        match.getDataTermino(), horas, avaliacao, Integer.parseInt(match.getId()));
+        // =================== SENHA OPERATIONS ===================
+        // Login (regrava a senha com hash) e migração das senhas em texto puro (MigracaoSenhas)
+
+        // Senhas que não estão no formato BCrypt ($2a$, $2b$, $2y$); vazias não têm o que migrar
+        private static final String SENHA_LEGADA = "%1$s <> '' AND %1$s !~ '^\\$2[aby]?\\$[0-9]{2}\\$'";
+
+        @CacheEvict(cacheNames = CacheConfig.USUARIOS, key = "#id")
+        public void updateSenhaUsuario(long id, String senha) {
+            String sql = "UPDATE public.\"Usuario\" SET \"senha_Usuario\" = ? WHERE \"IdUsuario\" = ?";
+            jdbcTemplate.update(sql, senha, id);
+            versaoTabelas.alterou(Tabela.USUARIOS);
+        }
+
+        @CacheEvict(cacheNames = CacheConfig.EMPRESAS, key = "#id")
+        public void updateSenhaEmpresa(long id, String senha) {
+            String sql = "UPDATE public.\"Empresa\" SET \"senha_Empresa\" = ? WHERE \"IdEmpresa\" = ?";
+            jdbcTemplate.update(sql, senha, id);
+            versaoTabelas.alterou(Tabela.EMPRESAS);
+        }
+
+        /**
+         * Próximo lote de usuários com senha em texto puro (ID > afterId), ID -> senha
+         */
+        public Map<Long, String> findSenhasLegadasUsuarios(long afterId, int limite) {
+            return buscarSenhasLegadas("Usuario", "IdUsuario", "\"senha_Usuario\"", afterId, limite);
+        }
+
+        public Map<Long, String> findSenhasLegadasEmpresas(long afterId, int limite) {
+            return buscarSenhasLegadas("Empresa", "IdEmpresa", "\"senha_Empresa\"", afterId, limite);
+        }
+
+        /**
+         * Grava os hashes (ID -> hash) em batch, numa transação; só altera a linha se a senha
+         * ainda for a lida em findSenhasLegadas (uma troca de senha no meio da migração prevalece)
+         */
+        @CacheEvict(cacheNames = CacheConfig.USUARIOS, allEntries = true)
+        public int updateSenhasUsuariosMigradas(Map<Long, String> legadas, Map<Long, String> hashes) {
+            int alteradas = gravarSenhasMigradas("Usuario", "IdUsuario", "\"senha_Usuario\"", legadas, hashes);
+            versaoTabelas.alterou(Tabela.USUARIOS);
+            return alteradas;
+        }
+
+        @CacheEvict(cacheNames = CacheConfig.EMPRESAS, allEntries = true)
+        public int updateSenhasEmpresasMigradas(Map<Long, String> legadas, Map<Long, String> hashes) {
+            int alteradas = gravarSenhasMigradas("Empresa", "IdEmpresa", "\"senha_Empresa\"", legadas, hashes);
+            versaoTabelas.alterou(Tabela.EMPRESAS);
+            return alteradas;
+        }
+
+        private Map<Long, String> buscarSenhasLegadas(String tabela, String colunaId, String colunaSenha,
+                                                      long afterId, int limite) {
+            String sql = """
+                    SELECT "%2$s", %3$s
+                    FROM public."%1$s"
+                    WHERE "%2$s" > ? AND %4$s
+                    ORDER BY "%2$s"
+                    LIMIT ?
+                    """.formatted(tabela, colunaId, colunaSenha, SENHA_LEGADA.formatted(colunaSenha));
+            Map<Long, String> senhas = new LinkedHashMap<>();
+            jdbcTemplateRelatorios.query(sql, (RowCallbackHandler) rs -> senhas.put(rs.getLong(1), rs.getString(2)),
+                    afterId, limite);
+            return senhas;
+        }
+
+        private int gravarSenhasMigradas(String tabela, String colunaId, String colunaSenha,
+                                         Map<Long, String> legadas, Map<Long, String> hashes) {
+            String sql = "UPDATE public.\"%1$s\" SET %3$s = ? WHERE \"%2$s\" = ? AND %3$s = ?"
+                    .formatted(tabela, colunaId, colunaSenha);
+            List<Long> ids = new ArrayList<>(hashes.keySet());
+            int[] alteradas = transacaoLote.execute(status -> jdbcTemplateRelatorios.batchUpdate(sql,
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            long id = ids.get(i);
+                            ps.setString(1, hashes.get(id));
+                            ps.setLong(2, id);
+                            ps.setString(3, legadas.get(id));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return ids.size();
+                        }
+                    }));
+            int total = 0;
+            for (int linhas : alteradas) {
+                total += Math.max(linhas, 0);
             }
-            return match;
+            return total;
+        }
+
+        // =================== FOTO OPERATIONS ===================
+        // Tabela public.foto (db/indices.sql), uma linha por empresa/usuário; fora do cache por ID
+
+        /**
+         * Foto de uma entidade; comConteudo = false lê só os metadados (ETag, tipo), sem o BYTEA
+         */
+        public Optional<Foto> findFoto(String entidade, long id, boolean comConteudo) {
+            String sql = """
+                    SELECT "tipo", "hash", "tamanho", %s AS "conteudo"
+                    FROM public.foto
+                    WHERE "entidade" = ? AND "IdEntidade" = ?
+                    """.formatted(comConteudo ? "\"conteudo\"" : "NULL::bytea");
+            List<Foto> fotos = jdbcTemplate.query(sql, (rs, rowNum) -> new Foto(
+                    rs.getString("tipo"),
+                    rs.getString("hash"),
+                    rs.getInt("tamanho"),
+                    rs.getBytes("conteudo")), entidade, id);
+            return fotos.isEmpty() ? Optional.empty() : Optional.of(fotos.get(0));
+        }
+
+        public void saveFoto(String entidade, long id, Foto foto) {
+            String sql = """
+                    INSERT INTO public.foto ("entidade", "IdEntidade", "tipo", "hash", "tamanho", "conteudo")
+                    VALUES (?, ?, ?, ?, ?, ?)
+                    ON CONFLICT ("entidade", "IdEntidade") DO UPDATE
+                    SET "tipo" = EXCLUDED."tipo", "hash" = EXCLUDED."hash", "tamanho" = EXCLUDED."tamanho",
+                        "conteudo" = EXCLUDED."conteudo", "atualizado_em" = now()
+                    """;
+            jdbcTemplate.update(sql, entidade, id, foto.getTipo(), foto.getHash(), foto.getTamanho(), foto.getConteudo());
         }
 
-        public boolean deleteMatchById(String id) {
-            String sql = "DELETE FROM public.\"Match\" WHERE \"IdMatch\" = ?";
-            return jdbcTemplate.update(sql, Integer.parseInt(id)) > 0;
+        public boolean deleteFoto(String entidade, long id) {
+            String sql = "DELETE FROM public.foto WHERE \"entidade\" = ? AND \"IdEntidade\" = ?";
+            return jdbcTemplate.update(sql, entidade, id) > 0;
         }
     }
 
     // =================== ROW MAPPERS ===================
+    // Visíveis no pacote para os benchmarks (src/jmh/java)
+    // O banco não guarda dataCadastro: as linhas lidas recebem a data/hora da leitura
 
-    private static class EmpresaRowMapper implements RowMapper<Empresa> {
+    private static LocalDate data(ResultSet rs, String coluna) throws SQLException {
+        Date data = rs.getDate(coluna);
+        return data != null ? data.toLocalDate() : null;
+    }
+
+    static class EmpresaRowMapper implements RowMapper<Empresa> {
         @Override
         public Empresa mapRow(ResultSet rs, int rowNum) throws SQLException {
             return new Empresa(
-                    String.valueOf(rs.getInt("IdEmpresa")),
+                    rs.getLong("IdEmpresa"),
                     rs.getString("descricao_Empresa"),
                     rs.getString("nome_Empresa"),
                     rs.getString("email_Empresa"),
@@ -488,65 +1440,70 @@ public class DatabaseConfig {
                     rs.getString("area_atuacao_empresa"),
                     rs.getString("publicoAlvo_Empresa"),
                     rs.getString("senha_Empresa"),
-                    "", // foto - BYTEA nÃ£o tratado nesta versÃ£o
-                    java.time.LocalDateTime.now().toString() // dataCadastro
+                    "", // foto - bytes em public.foto, servidos por GET /{id}/foto
+                    ItemBase.getCurrentDateTime() // dataCadastro
             );
         }
     }
 
-    private static class UsuarioRowMapper implements RowMapper<Usuario> {
+    static class UsuarioRowMapper implements RowMapper<Usuario> {
         @Override
         public Usuario mapRow(ResultSet rs, int rowNum) throws SQLException {
             return new Usuario(
-                    String.valueOf(rs.getInt("IdUsuario")),
+                    rs.getLong("IdUsuario"),
                     "", // descriÃ§Ã£o - nÃ£o existe no banco atual
                     rs.getString("email_Usuario"),
                     rs.getString("telefone_Usuario"),
-                    rs.getDate("dataDeNascimento_Usuario") != null ? rs.getDate("dataDeNascimento_Usuario").toString()
-                            : null,
+                    data(rs, "dataDeNascimento_Usuario"),
                     rs.getString("senha_Usuario"),
                     rs.getString("habilidades_Usuario"),
-                    String.valueOf(rs.getDouble("horas_Usuario")),
+                    rs.getDouble("horas_Usuario"),
                     rs.getString("nome_Usuario"),
-                    "", // foto - BYTEA nÃ£o tratado nesta versÃ£o
-                    java.time.LocalDateTime.now().toString() // dataCadastro
+                    "", // foto - bytes em public.foto, servidos por GET /{id}/foto
+                    ItemBase.getCurrentDateTime() // dataCadastro
             );
         }
     }
 
-    private static class TrabalhoRowMapper implements RowMapper<Trabalho> {
+    static class TrabalhoRowMapper implements RowMapper<Trabalho> {
         @Override
         public Trabalho mapRow(ResultSet rs, int rowNum) throws SQLException {
             return new Trabalho(
-                    String.valueOf(rs.getInt("IdTrabalho")),
+                    rs.getLong("IdTrabalho"),
                     rs.getString("descricao_Trabalho"),
-                    String.valueOf(rs.getInt("IdEmpresa")),
+                    rs.getLong("IdEmpresa"),
                     rs.getString("nomeEmpresa_Trabalho"),
                     rs.getString("descricao_Trabalho"),
-                    String.valueOf(rs.getInt("quantidadeDeVagas_Trabalho")),
+                    rs.getInt("quantidadeDeVagas_Trabalho"),
                     rs.getString("tipoTrabalho_Trabalho"),
                     rs.getString("habilidadesNecessarias_Trabalho"),
-                    java.time.LocalDateTime.now().toString() // dataCadastro
+                    ItemBase.getCurrentDateTime() // dataCadastro
             );
         }
     }
 
-    private static class MatchRowMapper implements RowMapper<Match> {
+    static class MatchRowMapper implements RowMapper<Match> {
         @Override
         public Match mapRow(ResultSet rs, int rowNum) throws SQLException {
-            return new Match(
-                    String.valueOf(rs.getInt("IdMatch")),
+            String codigoStatus = rs.getString("status_Match");
+            Match match = new Match(
+                    rs.getLong("IdMatch"),
                     "", // descriÃ§Ã£o - nÃ£o existe no banco atual
-                    String.valueOf(rs.getInt("IdUsuario")),
-                    String.valueOf(rs.getInt("IdTrabalho")),
-                    rs.getString("status_Match"),
-                    rs.getDate("data_Match") != null ? rs.getDate("data_Match").toString() : null,
-                    rs.getDate("dataInicio_Match") != null ? rs.getDate("dataInicio_Match").toString() : null,
-                    rs.getDate("dataTermino_Match") != null ? rs.getDate("dataTermino_Match").toString() : null,
-                    String.valueOf(rs.getDouble("horasTrabalhadas_Match")),
-                    String.valueOf(rs.getInt("avaliacao_Match")),
-                    java.time.LocalDateTime.now().toString() // dataCadastro
+                    rs.getLong("IdUsuario"),
+                    rs.getLong("IdTrabalho"),
+                    StatusMatch.deCodigo(codigoStatus), // null se fora dos status conhecidos
+                    data(rs, "data_Match"),
+                    data(rs, "dataInicio_Match"),
+                    data(rs, "dataTermino_Match"),
+                    rs.getDouble("horasTrabalhadas_Match"),
+                    rs.getInt("avaliacao_Match"), // NULL -> 0 (sem avaliação)
+                    ItemBase.getCurrentDateTime() // dataCadastro
             );
+            // Código legado ou desconhecido: preservado nas próximas gravações (ver Match.getCodigoStatus)
+            if (match.getStatus() == null) {
+                match.setStatusOriginal(codigoStatus);
+            }
+            return match;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.apitcc.config;
+
+import com.example.apitcc.util.Projecao;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do ObjectMapper da aplicação
+ *
+ * Registra o filtro de projeção dos DTOs (Projecao.FILTRO) serializando todos os campos,
+ * para respostas e exportações sem o parâmetro fields
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer filtroProjecao() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(Projecao.FILTRO, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.apitcc.config;
+
+import com.example.apitcc.config.VersaoTabelas.Tabela;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Busca do DatabaseOperations que pode ser atendida por uma réplica de leitura (RoteamentoReplicas)
+ * value: tabelas lidas, para a réplica só ser usada depois de aplicar as últimas escritas nelas
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LeituraReplica {
+
+    Tabela[] value();
+}
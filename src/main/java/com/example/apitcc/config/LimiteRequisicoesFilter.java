@@ -0,0 +1,185 @@
+package com.example.apitcc.config;
+
+import com.example.apitcc.exception.ServiceUnavailableException;
+import com.example.apitcc.exception.TooManyRequestsException;
+import com.example.apitcc.exception.UnauthorizedException;
+import com.example.apitcc.model.dto.SessaoDTO;
+import com.example.apitcc.service.MetricasService;
+import com.example.apitcc.service.TokenService;
+import com.example.apitcc.util.BaldeTokens;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de requisições por cliente e descarte de carga nas rotas /api/**
+ *
+ * Cliente: o ID do token (Authorization: Bearer) ou, sem token válido, o IP.
+ * Cada cliente tem um balde de tokens por classe de rota, configurado em app.limites.<classe>.*:
+ * - leitura: GETs atendidos pelo pool interativo
+ * - escrita: POST/PUT/DELETE (inclui o login)
+ * - relatorios: exportações, relatórios de matches e inserções em lote (pool de relatórios)
+ * Balde vazio responde 429 com Retry-After.
+ *
+ * Descarte de carga: se a espera média por conexão do pool da rota no último segundo passar de
+ * app.limites.descarte.espera-maxima, a requisição recebe 503 antes de chegar ao banco.
+ * Rejeições contadas em apitcc.limites.rejeicoes{classe,motivo}
+ */
+@Component
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    public static final String REJEICOES = "apitcc.limites.rejeicoes";
+
+    enum Classe {
+        LEITURA("interativo"),
+        ESCRITA("interativo"),
+        RELATORIOS("relatorios");
+
+        private final String pool;
+
+        Classe(String pool) {
+            this.pool = pool;
+        }
+
+        String nome() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // Rotas servidas pelo pool de relatórios (ver roteamento no DatabaseOperations)
+    private static final List<String> ROTAS_RELATORIOS = List.of(
+            "/api/*/export", "/api/*/criar-lote",
+            "/api/matches/status/*", "/api/matches/ativos", "/api/matches/finalizados",
+            "/api/matches/avaliacao/*", "/api/matches/periodo");
+
+    private static final AntPathMatcher ROTAS = new AntPathMatcher();
+
+    private final boolean habilitado;
+    private final Map<Classe, Limite> limites = new EnumMap<>(Classe.class);
+    private final Cache<String, BaldeTokens> baldes;
+    private final double esperaMaximaMs;
+
+    private final TokenService tokenService;
+    private final MetricasService metricasService;
+    private final MeterRegistry meterRegistry;
+    private final HandlerExceptionResolver resolvedorExcecoes;
+
+    public LimiteRequisicoesFilter(Environment environment, TokenService tokenService,
+                                   MetricasService metricasService, MeterRegistry meterRegistry,
+                                   @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolvedorExcecoes) {
+        this.tokenService = tokenService;
+        this.metricasService = metricasService;
+        this.meterRegistry = meterRegistry;
+        this.resolvedorExcecoes = resolvedorExcecoes;
+
+        this.habilitado = environment.getProperty("app.limites.habilitado", Boolean.class, true);
+        for (Classe classe : Classe.values()) {
+            String prefixo = "app.limites." + classe.nome() + ".";
+            limites.put(classe, new Limite(
+                    environment.getProperty(prefixo + "capacidade", Double.class, 60.0),
+                    environment.getProperty(prefixo + "por-segundo", Double.class, 10.0)));
+        }
+        // Clientes parados saem do mapa; ao voltar recomeçam com o balde cheio
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(environment.getProperty("app.limites.clientes-maximo", Long.class, 100_000L))
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.esperaMaximaMs = environment.getProperty("app.limites.descarte.espera-maxima",
+                Duration.class, Duration.ofMillis(250)).toMillis();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado
+                || !request.getRequestURI().startsWith("/api/")
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Classe classe = classificar(request);
+
+        if (metricasService.esperaRecentePool(classe.pool) > esperaMaximaMs) {
+            rejeitar(request, response, classe, "descarte",
+                    new ServiceUnavailableException("Servidor sobrecarregado, tente novamente em instantes", 1));
+            return;
+        }
+
+        Limite limite = limites.get(classe);
+        BaldeTokens balde = baldes.get(classe.nome() + "|" + cliente(request),
+                chave -> new BaldeTokens(limite.capacidade(), limite.porSegundo()));
+        long esperaNanos = balde.consumir();
+        if (esperaNanos > 0) {
+            long segundos = (esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+            rejeitar(request, response, classe, "limite",
+                    new TooManyRequestsException("Limite de requisições excedido, tente novamente em "
+                            + segundos + "s", segundos));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static Classe classificar(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        for (String rota : ROTAS_RELATORIOS) {
+            if (ROTAS.match(rota, uri)) {
+                return Classe.RELATORIOS;
+            }
+        }
+        String metodo = request.getMethod();
+        return HttpMethod.GET.matches(metodo) || HttpMethod.HEAD.matches(metodo) ? Classe.LEITURA : Classe.ESCRITA;
+    }
+
+    /**
+     * Chave do cliente; a sessão verificada fica na requisição para o AutenticacaoInterceptor
+     */
+    private String cliente(HttpServletRequest request) {
+        String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String prefixo = AutenticacaoInterceptor.PREFIXO_BEARER;
+        if (autorizacao != null && autorizacao.regionMatches(true, 0, prefixo, 0, prefixo.length())) {
+            try {
+                SessaoDTO sessao = tokenService.verificar(autorizacao.substring(prefixo.length()).trim());
+                request.setAttribute(AutenticacaoInterceptor.ATRIBUTO_SESSAO, sessao);
+                return sessao.getTipo() + ":" + sessao.getId();
+            } catch (UnauthorizedException e) {
+                // Token inválido: limitado pelo IP; o 401 sai no AutenticacaoInterceptor
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Resposta de erro no mesmo formato do GlobalExceptionHandler
+     */
+    private void rejeitar(HttpServletRequest request, HttpServletResponse response, Classe classe,
+                          String motivo, RuntimeException erro) {
+        meterRegistry.counter(REJEICOES, "classe", classe.nome(), "motivo", motivo).increment();
+        // Os controllers liberam qualquer origem (@CrossOrigin), o filtro responde antes deles
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        resolvedorExcecoes.resolveException(request, response, null, erro);
+    }
+
+    private record Limite(double capacidade, double porSegundo) {}
+}
@@ -0,0 +1,33 @@
+package com.example.apitcc.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas da aplicação (Actuator + Micrometer)
+ *
+ * - http.server.requests: um timer por rota (method, uri, status), registrado pelo Spring MVC
+ * - apitcc.db.operacoes: um timer por método do DatabaseOperations (@Timed)
+ * - hikaricp.connections.*: pool de conexões (ativas, ociosas, pendentes, tempo de espera)
+ * - cache.*, jvm.*, process.*: caches Caffeine, memória, GC e threads
+ *
+ * Histogramas e percentis (p50/p95/p99) são configurados em application.properties
+ * Scrape do Prometheus em /actuator/prometheus; resumo por recurso em /api/<recurso>/status
+ */
+@Configuration
+public class MetricasConfig {
+
+    public static final String REQUISICOES_HTTP = "http.server.requests";
+    public static final String OPERACOES_BANCO = "apitcc.db.operacoes";
+    public static final String POOL_CONEXOES = "hikaricp.connections";
+
+    /**
+     * Aspecto que registra os timers dos métodos anotados com @Timed
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
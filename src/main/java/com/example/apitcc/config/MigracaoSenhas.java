@@ -0,0 +1,40 @@
+package com.example.apitcc.config;
+
+import com.example.apitcc.service.AuthService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Migração de uma vez das senhas em texto puro para BCrypt, ao iniciar a aplicação
+ *
+ * Habilitada por app.auth.migrar-senhas=true (APP_AUTH_MIGRAR_SENHAS): subir uma instância com a
+ * opção, conferir o resultado no log e voltar para false. Usa o pool de relatórios e no máximo
+ * metade das threads de hash. Até lá o login aceita as senhas antigas e regrava cada uma com hash.
+ */
+@Component
+@Profile("prod")
+@ConditionalOnProperty(name = "app.auth.migrar-senhas", havingValue = "true")
+public class MigracaoSenhas implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracaoSenhas.class);
+
+    private final AuthService authService;
+
+    public MigracaoSenhas(AuthService authService) {
+        this.authService = authService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Migração de senhas para BCrypt iniciada");
+        Map<String, Integer> migradas = authService.migrarSenhasLegadas();
+        migradas.forEach((tabela, total) -> log.info("Migração de senhas - {}: {} senhas migradas", tabela, total));
+    }
+}
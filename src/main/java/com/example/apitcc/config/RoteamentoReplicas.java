@@ -0,0 +1,268 @@
+package com.example.apitcc.config;
+
+import com.example.apitcc.config.VersaoTabelas.Tabela;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Leituras nas réplicas do PostgreSQL (app.datasource.replicas.*)
+ *
+ * As buscas do DatabaseOperations anotadas com @LeituraReplica vão para uma réplica (em rodízio);
+ * escritas, transações e as demais consultas continuam no primário, pelo pool interativo.
+ * Sem réplicas configuradas nada muda: o JdbcTemplate usa o pool interativo direto.
+ *
+ * Leitura das próprias escritas: a cada app.datasource.replicas.verificacao a posição do WAL do primário
+ * é comparada com a já aplicada em cada réplica. Uma réplica só atende a busca se, na última verificação,
+ * já tinha aplicado tudo o que este processo gravou nas tabelas lidas (VersaoTabelas.alteradaEm):
+ * quem acabou de gravar lê o que gravou, e os caches por ID e os ETags nunca guardam dados anteriores à versão.
+ * Réplica sem confirmação há mais de app.datasource.replicas.atraso-maximo (atraso ou falha) sai do rodízio
+ * até alcançar o primário; sem réplica disponível a busca vai para o primário.
+ *
+ * Métricas: apitcc.replicas.atraso{replica} (segundos desde a última confirmação),
+ * apitcc.replicas.leituras{destino} e hikaricp.connections.*{pool=replica-N}
+ */
+@Aspect
+@Component
+@Profile("prod")
+public class RoteamentoReplicas {
+
+    public static final String ATRASO = "apitcc.replicas.atraso";
+    public static final String LEITURAS = "apitcc.replicas.leituras";
+
+    private static final String PRIMARIO = "primario";
+
+    // Destino da busca em andamento nesta thread (null = primário)
+    private static final ThreadLocal<String> DESTINO = new ThreadLocal<>();
+
+    private final DataSource primario;
+    private final DataSource dataSource;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long atrasoMaximoNanos;
+    private final VersaoTabelas versaoTabelas;
+    private final Map<String, Counter> leituras = new HashMap<>();
+    private final AtomicInteger proxima = new AtomicInteger();
+    private final ScheduledExecutorService verificador;
+
+    public RoteamentoReplicas(@Qualifier("dataSource") DataSource primario, DataSourceProperties properties,
+                              Environment environment, VersaoTabelas versaoTabelas, MeterRegistry meterRegistry) {
+        this.primario = primario;
+        this.versaoTabelas = versaoTabelas;
+        this.atrasoMaximoNanos = environment.getProperty("app.datasource.replicas.atraso-maximo",
+                Duration.class, Duration.ofSeconds(2)).toNanos();
+
+        List<String> urls = Arrays.stream(environment.getProperty("app.datasource.replicas.urls", "").split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        Binder binder = Binder.get(environment);
+        for (String url : urls) {
+            // Mesmo usuário e senha do primário; o pool só conecta na primeira busca ou verificação
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+            binder.bind("app.datasource.replicas.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("replica-" + (replicas.size() + 1));
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+            Replica replica = new Replica(pool);
+            replicas.add(replica);
+            Gauge.builder(ATRASO, replica, Replica::atrasoSegundos)
+                    .tag("replica", replica.nome)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+
+        leituras.put(PRIMARIO, meterRegistry.counter(LEITURAS, "destino", PRIMARIO));
+        replicas.forEach(replica -> leituras.put(replica.nome, meterRegistry.counter(LEITURAS, "destino", replica.nome)));
+
+        if (replicas.isEmpty()) {
+            this.dataSource = primario;
+            this.verificador = null;
+            return;
+        }
+
+        Map<Object, Object> destinos = new HashMap<>();
+        replicas.forEach(replica -> destinos.put(replica.nome, replica.pool));
+        AbstractRoutingDataSource roteado = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return DESTINO.get();
+            }
+        };
+        roteado.setTargetDataSources(destinos);
+        roteado.setDefaultTargetDataSource(primario);
+        roteado.afterPropertiesSet();
+        this.dataSource = roteado;
+
+        CustomizableThreadFactory fabrica = new CustomizableThreadFactory("verificacao-replicas-");
+        fabrica.setDaemon(true);
+        this.verificador = Executors.newSingleThreadScheduledExecutor(fabrica);
+        long intervalo = environment.getProperty("app.datasource.replicas.verificacao",
+                Duration.class, Duration.ofMillis(500)).toMillis();
+        verificador.scheduleWithFixedDelay(this::verificar, 0, intervalo, TimeUnit.MILLISECONDS);
+
+        System.out.println("Réplicas de leitura: " + replicas.size());
+    }
+
+    /**
+     * DataSource do pool interativo: roteado entre primário e réplicas, ou o próprio primário sem réplicas
+     */
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    @Around("@annotation(leitura)")
+    public Object rotear(ProceedingJoinPoint joinPoint, LeituraReplica leitura) throws Throwable {
+        // Dentro de uma transação a conexão já está presa ao primário
+        if (replicas.isEmpty() || DESTINO.get() != null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        Replica replica = escolher(leitura.value());
+        if (replica == null) {
+            leituras.get(PRIMARIO).increment();
+            return joinPoint.proceed();
+        }
+
+        DESTINO.set(replica.nome);
+        try {
+            Object resultado = joinPoint.proceed();
+            leituras.get(replica.nome).increment();
+            return resultado;
+        } catch (CannotGetJdbcConnectionException e) {
+            // Réplica inacessível: fora do rodízio até a próxima verificação, a busca vai para o primário
+            replica.marcarFalha();
+            DESTINO.remove();
+            leituras.get(PRIMARIO).increment();
+            return joinPoint.proceed();
+        } finally {
+            DESTINO.remove();
+        }
+    }
+
+    private Replica escolher(Tabela[] tabelas) {
+        long agora = System.nanoTime();
+        int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (replica.atende(agora, tabelas)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Confirma as réplicas que já aplicaram todo o WAL gravado no primário até o início da verificação
+     * Fora de recuperação (outra URL do próprio primário, em testes locais) a réplica está sempre em dia
+     */
+    private void verificar() {
+        long inicio = System.nanoTime();
+        String posicaoPrimario;
+        try {
+            posicaoPrimario = new JdbcTemplate(primario).queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+        } catch (RuntimeException e) {
+            return; // Sem o primário não há o que comparar; as réplicas envelhecem até atraso-maximo
+        }
+        for (Replica replica : replicas) {
+            try {
+                Boolean emDia = replica.jdbcTemplate.queryForObject("""
+                        SELECT CASE WHEN pg_is_in_recovery() THEN pg_last_wal_replay_lsn() >= ?::pg_lsn ELSE true END
+                        """, Boolean.class, posicaoPrimario);
+                replica.confirmar(inicio, Boolean.TRUE.equals(emDia));
+            } catch (RuntimeException e) {
+                // DataAccessException ou falha ao abrir o pool (PoolInitializationException)
+                replica.marcarFalha();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (verificador != null) {
+            verificador.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private class Replica {
+        private final String nome;
+        private final HikariDataSource pool;
+        private final JdbcTemplate jdbcTemplate;
+
+        // System.nanoTime() do início da última verificação em que estava em dia
+        private volatile long sincronizadaAte;
+        private volatile boolean confirmada;
+        private volatile boolean acessivel;
+
+        Replica(HikariDataSource pool) {
+            this.nome = pool.getPoolName();
+            this.pool = pool;
+            this.jdbcTemplate = new JdbcTemplate(pool);
+        }
+
+        boolean atende(long agora, Tabela[] tabelas) {
+            long sincronizada = sincronizadaAte;
+            if (!acessivel || !confirmada || agora - sincronizada > atrasoMaximoNanos) {
+                return false;
+            }
+            for (Tabela tabela : tabelas) {
+                if (versaoTabelas.alteradaEm(tabela) - sincronizada >= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void confirmar(long inicio, boolean emDia) {
+            if (emDia) {
+                sincronizadaAte = inicio;
+                confirmada = true;
+            }
+            if (!acessivel) {
+                System.out.println("Réplica " + nome + " acessível");
+            }
+            acessivel = true;
+        }
+
+        void marcarFalha() {
+            if (acessivel) {
+                System.out.println("Réplica " + nome + " inacessível, leituras no primário");
+            }
+            acessivel = false;
+        }
+
+        double atrasoSegundos() {
+            return confirmada ? (System.nanoTime() - sincronizadaAte) / 1e9 : Double.NaN;
+        }
+    }
+}
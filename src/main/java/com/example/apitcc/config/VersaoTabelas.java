@@ -0,0 +1,53 @@
+package com.example.apitcc.config;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de alterações por tabela do banco de produção, usado nos ETags das listagens e buscas
+ *
+ * O DatabaseOperations incrementa a versão depois de cada escrita confirmada (saveX, deleteX, lotes, cascatas);
+ * no modo memória a versão vem do próprio ArmazenamentoEmMemoria.
+ * Vale para um processo só, como os caches: escritas feitas por outra instância ou direto no banco não são vistas.
+ * O instante da última alteração decide se uma réplica já pode atender as leituras da tabela (RoteamentoReplicas).
+ */
+@Component
+public class VersaoTabelas {
+
+    public enum Tabela { EMPRESAS, USUARIOS, TRABALHOS, MATCHES }
+
+    private final Map<Tabela, AtomicLong> versoes = new EnumMap<>(Tabela.class);
+    private final Map<Tabela, AtomicLong> alteradas = new EnumMap<>(Tabela.class);
+
+    public VersaoTabelas() {
+        long agora = System.nanoTime();
+        for (Tabela tabela : Tabela.values()) {
+            versoes.put(tabela, new AtomicLong());
+            alteradas.put(tabela, new AtomicLong(agora));
+        }
+    }
+
+    public long versao(Tabela tabela) {
+        return versoes.get(tabela).get();
+    }
+
+    /**
+     * System.nanoTime() da última alteração (ou da criação, se a tabela ainda não foi alterada)
+     */
+    public long alteradaEm(Tabela tabela) {
+        return alteradas.get(tabela).get();
+    }
+
+    /**
+     * Registra uma alteração (chamar só depois do commit, para um ETag nunca rotular dados antigos)
+     */
+    public void alterou(Tabela... tabelas) {
+        for (Tabela tabela : tabelas) {
+            alteradas.get(tabela).set(System.nanoTime());
+            versoes.get(tabela).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.apitcc.controller;
+
+import com.example.apitcc.config.AutenticacaoInterceptor;
+import com.example.apitcc.model.dto.LoginDTO;
+import com.example.apitcc.model.dto.SessaoDTO;
+import com.example.apitcc.service.AuthService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+
+    @Autowired
+    private AuthService authService;
+
+    /**
+     * Login de usuário ou empresa
+     * POST /api/auth/login {"email": "...", "senha": "...", "tipo": "usuario|empresa"}
+     * Devolve o token para o cabeçalho Authorization: Bearer <token>
+     */
+    @PostMapping("/login")
+    public ResponseEntity<SessaoDTO> login(@RequestBody LoginDTO login) {
+        SessaoDTO sessao = authService.login(login);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(sessao);
+    }
+
+    /**
+     * Sessão do token enviado (ID, tipo e validade), sem consulta ao banco
+     * GET /api/auth/me
+     */
+    @GetMapping("/me")
+    public ResponseEntity<SessaoDTO> sessaoAtual(
+            @RequestAttribute(name = AutenticacaoInterceptor.ATRIBUTO_SESSAO, required = false) SessaoDTO sessao) {
+        return ResponseEntity.ok(authService.sessaoAtual(sessao));
+    }
+}
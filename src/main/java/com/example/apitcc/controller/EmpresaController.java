@@ -1,17 +1,34 @@
 package com.example.apitcc.controller;
 
+import com.example.apitcc.config.CacheConfig;
 import com.example.apitcc.exception.ResourceNotFoundException;
 import com.example.apitcc.model.dto.EmpresaDTO;
+import com.example.apitcc.model.dto.ImpactoEmpresaDTO;
 import com.example.apitcc.model.entity.Empresa;
+import com.example.apitcc.model.entity.Foto;
 import com.example.apitcc.repository.EmpresaRepository;
 import com.example.apitcc.service.EmpresaService;
+import com.example.apitcc.service.FotoService;
+import com.example.apitcc.service.MetricasService;
 import com.example.apitcc.util.ModelMapper;
 
+import com.example.apitcc.util.ExportacaoNdjson;
+import com.example.apitcc.util.Projecao;
+import com.example.apitcc.util.RespostaCondicional;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,27 +42,60 @@ public class EmpresaController {
     @Autowired
     private EmpresaService empresaService;
 
+    @Autowired
+    private FotoService fotoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MetricasService metricasService;
+
     @Autowired
     private EmpresaRepository empresaRepository;
 
     /**
-     * Listar todas as empresas
-     * GET /api/empresas/listar
+     * Listar empresas com paginação por cursor
+     * GET /api/empresas/listar?limit=50&after={cursor}&sort={campo|-campo}
+     * Campos de ordenação: id, nome
+     * fields=campo1,campo2 escolhe os campos de cada item (padrão: CAMPOS_LISTAGEM, sem os textos longos)
      */
     @GetMapping("/listar")
-    public ResponseEntity<List<EmpresaDTO>> listarEmpresas() {
-        List<EmpresaDTO> empresas = empresaService.listarTodasEmpresas();
-        return ResponseEntity.ok(empresas);
+    public ResponseEntity<MappingJacksonValue> listarEmpresas(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Projecao projecao = Projecao.criar(fields, EmpresaDTO.CAMPOS, EmpresaDTO.CAMPOS_LISTAGEM);
+        return RespostaCondicional.responder(request, empresaService.versaoEmpresas(), projecao,
+                () -> empresaService.listarEmpresasPaginado(limit, after, sort, projecao));
+    }
+
+    /**
+     * Exportar todos os empresas em NDJSON (uma linha JSON por registro)
+     * GET /api/empresas/export
+     */
+    @GetMapping(value = "/export", produces = ExportacaoNdjson.MEDIA_TYPE)
+    public void exportarEmpresas(HttpServletResponse response) throws IOException {
+        ExportacaoNdjson.<EmpresaDTO>exportar(response, objectMapper, "empresas", empresaService::exportarEmpresas);
     }
 
     /**
      * Buscar empresa por ID
      * GET /api/empresas/buscar/{id}
+     * fields=campo1,campo2 escolhe os campos (padrão: todos)
      */
     @GetMapping("/buscar/{id}")
-    public ResponseEntity<EmpresaDTO> buscarEmpresa(@PathVariable String id) {
-        EmpresaDTO empresa = empresaService.buscarEmpresaPorId(id);
-        return ResponseEntity.ok(empresa);
+    public ResponseEntity<MappingJacksonValue> buscarEmpresa(@PathVariable String id,
+                                                             @RequestParam(required = false) String fields,
+                                                             WebRequest request) {
+        Projecao projecao = Projecao.criar(fields, EmpresaDTO.CAMPOS, EmpresaDTO.CAMPOS);
+        return RespostaCondicional.responder(request, empresaService.versaoEmpresas(), projecao,
+                () -> empresaService.buscarEmpresaPorId(id));
     }
 
     /**
@@ -91,7 +141,7 @@ public class EmpresaController {
     }
 
     /**
-     * Excluir empresa
+     * Excluir empresa (junto com seus trabalhos e os matches desses trabalhos)
      * DELETE /api/empresas/{id}/excluir
      */
     @DeleteMapping("/{id}/excluir")
@@ -105,6 +155,66 @@ public class EmpresaController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Painel de impacto da empresa: vagas ofertadas e preenchidas, horas de voluntariado,
+     * avaliação média e matches por status
+     * GET /api/empresas/{id}/impacto
+     */
+    @GetMapping("/{id}/impacto")
+    public ResponseEntity<ImpactoEmpresaDTO> buscarImpacto(@PathVariable String id) {
+        return ResponseEntity.ok(empresaService.buscarImpacto(id));
+    }
+
+    /**
+     * Enviar foto da empresa (multipart, campo "arquivo"; JPEG ou PNG)
+     * POST /api/empresas/{id}/foto
+     */
+    @PostMapping(value = "/{id}/foto", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> enviarFoto(
+            @PathVariable String id,
+            @RequestParam(value = "arquivo", required = false) MultipartFile arquivo) {
+        Foto foto = empresaService.salvarFoto(id, arquivo);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "sucesso");
+        response.put("mensagem", "Foto salva com sucesso");
+        response.put("foto", ModelMapper.formatarUrlFoto("empresas", ModelMapper.converterIdObrigatorio(id)));
+        response.put("tipo", foto.getTipo());
+        response.put("tamanho", foto.getTamanho());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Baixar foto da empresa, com suporte a Range e ETag
+     * GET /api/empresas/{id}/foto?tamanho={64|128|256}
+     * tamanho devolve uma miniatura com esse lado maior, gerada uma vez e guardada em disco
+     */
+    @GetMapping("/{id}/foto")
+    public ResponseEntity<Resource> baixarFoto(@PathVariable String id,
+                                               @RequestParam(required = false) Integer tamanho,
+                                               WebRequest request) {
+        long idEmpresa = ModelMapper.converterIdObrigatorio(id);
+        Foto foto = fotoService.buscarInformacoes(FotoService.EMPRESAS, idEmpresa);
+        return RespostaCondicional.responderArquivo(request, fotoService.versao(foto, tamanho), foto.getTipo(),
+                () -> fotoService.buscarArquivo(FotoService.EMPRESAS, idEmpresa, foto, tamanho));
+    }
+
+    /**
+     * Remover foto da empresa
+     * DELETE /api/empresas/{id}/foto
+     */
+    @DeleteMapping("/{id}/foto")
+    public ResponseEntity<Map<String, String>> removerFoto(@PathVariable String id) {
+        empresaService.removerFoto(id);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("sucesso", "Foto removida com sucesso.");
+        response.put("id", id);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Buscar empresas por Ã¡rea de atuaÃ§Ã£o
      * GET /api/empresas/area/{area}
@@ -163,6 +273,9 @@ public class EmpresaController {
         status.put("service", "EmpresaService");
         status.put("version", "1.0.0");
         status.put("timestamp", java.time.LocalDateTime.now());
+        status.put("cache", CacheConfig.estatisticas(cacheManager, CacheConfig.EMPRESAS));
+        status.put("cacheImpacto", CacheConfig.estatisticas(cacheManager, CacheConfig.IMPACTO));
+        status.put("metricas", metricasService.estatisticas("/api/empresas", "Empresa"));
 
         return ResponseEntity.ok(status);
     }
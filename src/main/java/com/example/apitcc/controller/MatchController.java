@@ -1,12 +1,31 @@
 package com.example.apitcc.controller;
 
+import com.example.apitcc.config.CacheConfig;
 import com.example.apitcc.model.dto.MatchDTO;
+import com.example.apitcc.model.dto.RecomendacaoDTO;
+import com.example.apitcc.model.dto.TrabalhoDTO;
+import com.example.apitcc.model.dto.UsuarioDTO;
+import com.example.apitcc.service.EventosMatchService;
 import com.example.apitcc.service.MatchService;
+import com.example.apitcc.service.MetricasService;
+import com.example.apitcc.service.RecomendacaoService;
+import com.example.apitcc.util.ExportacaoNdjson;
+import com.example.apitcc.util.Projecao;
+import com.example.apitcc.util.RespostaCondicional;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,24 +38,60 @@ public class MatchController {
     @Autowired
     private MatchService matchService;
     
+    @Autowired
+    private RecomendacaoService recomendacaoService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private MetricasService metricasService;
+    
+    @Autowired
+    private EventosMatchService eventosMatchService;
+    
     /**
-     * Listar todos os matches
-     * GET /api/matches/listar
+     * Listar matches com paginação por cursor
+     * GET /api/matches/listar?limit=50&after={cursor}&sort={campo|-campo}
+     * Campos de ordenação: id, status
+     * fields=campo1,campo2 escolhe os campos de cada item (padrão: CAMPOS_LISTAGEM, sem os textos longos)
      */
     @GetMapping("/listar")
-    public ResponseEntity<List<MatchDTO>> listarMatches() {
-        List<MatchDTO> matches = matchService.listarTodosMatches();
-        return ResponseEntity.ok(matches);
+    public ResponseEntity<MappingJacksonValue> listarMatches(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Projecao projecao = Projecao.criar(fields, MatchDTO.CAMPOS, MatchDTO.CAMPOS_LISTAGEM);
+        return RespostaCondicional.responder(request, matchService.versaoMatches(), projecao,
+                () -> matchService.listarMatchesPaginado(limit, after, sort, projecao));
+    }
+    
+    /**
+     * Exportar todos os matches em NDJSON (uma linha JSON por registro)
+     * GET /api/matches/export
+     */
+    @GetMapping(value = "/export", produces = ExportacaoNdjson.MEDIA_TYPE)
+    public void exportarMatches(HttpServletResponse response) throws IOException {
+        ExportacaoNdjson.<MatchDTO>exportar(response, objectMapper, "matches", matchService::exportarMatches);
     }
     
     /**
      * Buscar match por ID
      * GET /api/matches/buscar/{id}
+     * fields=campo1,campo2 escolhe os campos (padrão: todos)
      */
     @GetMapping("/buscar/{id}")
-    public ResponseEntity<MatchDTO> buscarMatch(@PathVariable String id) {
-        MatchDTO match = matchService.buscarMatchPorId(id);
-        return ResponseEntity.ok(match);
+    public ResponseEntity<MappingJacksonValue> buscarMatch(@PathVariable String id,
+                                                           @RequestParam(required = false) String fields,
+                                                           WebRequest request) {
+        Projecao projecao = Projecao.criar(fields, MatchDTO.CAMPOS, MatchDTO.CAMPOS);
+        return RespostaCondicional.responder(request, matchService.versaoMatches(), projecao,
+                () -> matchService.buscarMatchPorId(id));
     }
     
     /**
@@ -95,9 +150,9 @@ public class MatchController {
      * GET /api/matches/usuario/{idUsuario}
      */
     @GetMapping("/usuario/{idUsuario}")
-    public ResponseEntity<List<MatchDTO>> buscarMatchesPorUsuario(@PathVariable String idUsuario) {
-        List<MatchDTO> matches = matchService.buscarMatchesPorUsuario(idUsuario);
-        return ResponseEntity.ok(matches);
+    public ResponseEntity<List<MatchDTO>> buscarMatchesPorUsuario(@PathVariable String idUsuario, WebRequest request) {
+        return RespostaCondicional.responder(request, matchService.versaoMatches(),
+                () -> matchService.buscarMatchesPorUsuario(idUsuario));
     }
     
     /**
@@ -105,9 +160,24 @@ public class MatchController {
      * GET /api/matches/trabalho/{idTrabalho}
      */
     @GetMapping("/trabalho/{idTrabalho}")
-    public ResponseEntity<List<MatchDTO>> buscarMatchesPorTrabalho(@PathVariable String idTrabalho) {
-        List<MatchDTO> matches = matchService.buscarMatchesPorTrabalho(idTrabalho);
-        return ResponseEntity.ok(matches);
+    public ResponseEntity<List<MatchDTO>> buscarMatchesPorTrabalho(@PathVariable String idTrabalho, WebRequest request) {
+        return RespostaCondicional.responder(request, matchService.versaoMatches(),
+                () -> matchService.buscarMatchesPorTrabalho(idTrabalho));
+    }
+    
+    /**
+     * Acompanhar os matches de um usuário ou de um trabalho em tempo real (Server-Sent Events)
+     * GET /api/matches/stream?usuario={idUsuario} ou ?trabalho={idTrabalho}
+     * Eventos "match" com {"tipo": "criado|atualizado|excluido", "match": {...}}; o estado atual vem das listagens
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> acompanharMatches(@RequestParam(required = false) String usuario,
+                                                        @RequestParam(required = false) String trabalho) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // Proxies (nginx) não acumulam os eventos em buffer
+                .header("X-Accel-Buffering", "no")
+                .body(eventosMatchService.assinar(usuario, trabalho));
     }
     
     /**
@@ -150,6 +220,18 @@ public class MatchController {
         return ResponseEntity.ok(matches);
     }
     
+    /**
+     * Buscar matches por período da data do match
+     * GET /api/matches/periodo?inicio=yyyy-MM-dd&fim=yyyy-MM-dd
+     */
+    @GetMapping("/periodo")
+    public ResponseEntity<List<MatchDTO>> buscarPorPeriodo(
+            @RequestParam String inicio, 
+            @RequestParam String fim) {
+        List<MatchDTO> matches = matchService.buscarPorPeriodo(inicio, fim);
+        return ResponseEntity.ok(matches);
+    }
+    
     /**
      * Buscar match específico entre usuário e trabalho
      * GET /api/matches/usuario/{idUsuario}/trabalho/{idTrabalho}
@@ -157,9 +239,34 @@ public class MatchController {
     @GetMapping("/usuario/{idUsuario}/trabalho/{idTrabalho}")
     public ResponseEntity<MatchDTO> buscarMatchPorUsuarioETrabalho(
             @PathVariable String idUsuario, 
-            @PathVariable String idTrabalho) {
-        MatchDTO match = matchService.buscarMatchPorUsuarioETrabalho(idUsuario, idTrabalho);
-        return ResponseEntity.ok(match);
+            @PathVariable String idTrabalho,
+            WebRequest request) {
+        return RespostaCondicional.responder(request, matchService.versaoMatches(),
+                () -> matchService.buscarMatchPorUsuarioETrabalho(idUsuario, idTrabalho));
+    }
+    
+    /**
+     * Recomendar trabalhos para um usuário (por habilidades em comum)
+     * GET /api/matches/recomendacoes/usuario/{idUsuario}?k=20
+     */
+    @GetMapping("/recomendacoes/usuario/{idUsuario}")
+    public ResponseEntity<List<RecomendacaoDTO<TrabalhoDTO>>> recomendarTrabalhos(
+            @PathVariable String idUsuario,
+            @RequestParam(required = false) Integer k) {
+        List<RecomendacaoDTO<TrabalhoDTO>> recomendacoes = recomendacaoService.recomendarTrabalhos(idUsuario, k);
+        return ResponseEntity.ok(recomendacoes);
+    }
+    
+    /**
+     * Recomendar usuários para um trabalho (por habilidades em comum)
+     * GET /api/matches/recomendacoes/trabalho/{idTrabalho}?k=20
+     */
+    @GetMapping("/recomendacoes/trabalho/{idTrabalho}")
+    public ResponseEntity<List<RecomendacaoDTO<UsuarioDTO>>> recomendarUsuarios(
+            @PathVariable String idTrabalho,
+            @RequestParam(required = false) Integer k) {
+        List<RecomendacaoDTO<UsuarioDTO>> recomendacoes = recomendacaoService.recomendarUsuarios(idTrabalho, k);
+        return ResponseEntity.ok(recomendacoes);
     }
     
     /**
@@ -168,11 +275,12 @@ public class MatchController {
      */
     @DeleteMapping("/usuario/{idUsuario}/excluir-todos")
     public ResponseEntity<Map<String, String>> excluirMatchesPorUsuario(@PathVariable String idUsuario) {
-        matchService.excluirMatchesPorUsuario(idUsuario);
+        int removidos = matchService.excluirMatchesPorUsuario(idUsuario);
         
         Map<String, String> response = new HashMap<>();
         response.put("sucesso", "Todos os matches do usuário foram excluídos com sucesso.");
         response.put("idUsuario", idUsuario);
+        response.put("quantidade", String.valueOf(removidos));
         
         return ResponseEntity.ok(response);
     }
@@ -183,11 +291,12 @@ public class MatchController {
      */
     @DeleteMapping("/trabalho/{idTrabalho}/excluir-todos")
     public ResponseEntity<Map<String, String>> excluirMatchesPorTrabalho(@PathVariable String idTrabalho) {
-        matchService.excluirMatchesPorTrabalho(idTrabalho);
+        int removidos = matchService.excluirMatchesPorTrabalho(idTrabalho);
         
         Map<String, String> response = new HashMap<>();
         response.put("sucesso", "Todos os matches do trabalho foram excluídos com sucesso.");
         response.put("idTrabalho", idTrabalho);
+        response.put("quantidade", String.valueOf(removidos));
         
         return ResponseEntity.ok(response);
     }
@@ -203,6 +312,10 @@ public class MatchController {
         status.put("service", "MatchService");
         status.put("version", "1.0.0");
         status.put("timestamp", java.time.LocalDateTime.now());
+        status.put("cache", CacheConfig.estatisticas(cacheManager, CacheConfig.MATCHES));
+        status.put("metricas", metricasService.estatisticas("/api/matches", "Match"));
+        status.put("recomendacoes", recomendacaoService.estatisticas());
+        status.put("assinantesStream", eventosMatchService.totalAssinantes());
         
         return ResponseEntity.ok(status);
     }
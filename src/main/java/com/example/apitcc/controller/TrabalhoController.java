@@ -1,12 +1,25 @@
 package com.example.apitcc.controller;
 
+import com.example.apitcc.config.CacheConfig;
 import com.example.apitcc.model.dto.TrabalhoDTO;
+import com.example.apitcc.model.dto.PaginaDTO;
+import com.example.apitcc.model.dto.ResultadoLoteDTO;
 import com.example.apitcc.service.TrabalhoService;
+import com.example.apitcc.service.MetricasService;
+import com.example.apitcc.util.ExportacaoNdjson;
+import com.example.apitcc.util.Projecao;
+import com.example.apitcc.util.RespostaCondicional;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,24 +32,68 @@ public class TrabalhoController {
     @Autowired
     private TrabalhoService trabalhoService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private MetricasService metricasService;
+    
     /**
-     * Listar todos os trabalhos
-     * GET /api/trabalhos/listar
+     * Listar trabalhos com paginação por cursor
+     * GET /api/trabalhos/listar?limit=50&after={cursor}&sort={campo|-campo}
+     * Campos de ordenação: id, nomeEmpresa, tipoTrabalho
+     * fields=campo1,campo2 escolhe os campos de cada item (padrão: CAMPOS_LISTAGEM, sem os textos longos)
      */
     @GetMapping("/listar")
-    public ResponseEntity<List<TrabalhoDTO>> listarTrabalhos() {
-        List<TrabalhoDTO> trabalhos = trabalhoService.listarTodosTrabalhos();
-        return ResponseEntity.ok(trabalhos);
+    public ResponseEntity<MappingJacksonValue> listarTrabalhos(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Projecao projecao = Projecao.criar(fields, TrabalhoDTO.CAMPOS, TrabalhoDTO.CAMPOS_LISTAGEM);
+        return RespostaCondicional.responder(request, trabalhoService.versaoTrabalhos(), projecao,
+                () -> trabalhoService.listarTrabalhosPaginado(limit, after, sort, projecao));
+    }
+    
+    /**
+     * Busca textual em descrição, habilidades e tipo, ordenada por relevância
+     * GET /api/trabalhos/busca?q=java remoto&limit=20&after={cursor}
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<PaginaDTO<TrabalhoDTO>> buscarTrabalhos(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        return RespostaCondicional.responder(request, trabalhoService.versaoTrabalhos(),
+                () -> trabalhoService.buscarTrabalhos(q, limit, after));
+    }
+    
+    /**
+     * Exportar todos os trabalhos em NDJSON (uma linha JSON por registro)
+     * GET /api/trabalhos/export
+     */
+    @GetMapping(value = "/export", produces = ExportacaoNdjson.MEDIA_TYPE)
+    public void exportarTrabalhos(HttpServletResponse response) throws IOException {
+        ExportacaoNdjson.<TrabalhoDTO>exportar(response, objectMapper, "trabalhos", trabalhoService::exportarTrabalhos);
     }
     
     /**
      * Buscar trabalho por ID
      * GET /api/trabalhos/buscar/{id}
+     * fields=campo1,campo2 escolhe os campos (padrão: todos)
      */
     @GetMapping("/buscar/{id}")
-    public ResponseEntity<TrabalhoDTO> buscarTrabalho(@PathVariable String id) {
-        TrabalhoDTO trabalho = trabalhoService.buscarTrabalhoPorId(id);
-        return ResponseEntity.ok(trabalho);
+    public ResponseEntity<MappingJacksonValue> buscarTrabalho(@PathVariable String id,
+                                                              @RequestParam(required = false) String fields,
+                                                              WebRequest request) {
+        Projecao projecao = Projecao.criar(fields, TrabalhoDTO.CAMPOS, TrabalhoDTO.CAMPOS);
+        return RespostaCondicional.responder(request, trabalhoService.versaoTrabalhos(), projecao,
+                () -> trabalhoService.buscarTrabalhoPorId(id));
     }
     
     /**
@@ -55,6 +112,26 @@ public class TrabalhoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    /**
+     * Criar trabalhos em lote
+     * POST /api/trabalhos/criar-lote
+     * Retorna o resultado de cada item (índice, ID criado ou erro)
+     */
+    @PostMapping("/criar-lote")
+    public ResponseEntity<Map<String, Object>> criarTrabalhosEmLote(@RequestBody List<TrabalhoDTO> trabalhosDTO) {
+        List<ResultadoLoteDTO> resultados = trabalhoService.criarTrabalhosEmLote(trabalhosDTO);
+        long criados = resultados.stream().filter(ResultadoLoteDTO::isSucesso).count();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("total", resultados.size());
+        response.put("criados", criados);
+        response.put("falhas", resultados.size() - criados);
+        response.put("resultados", resultados);
+        
+        HttpStatus status = criados > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(response);
+    }
+    
     /**
      * Atualizar trabalho
      * PUT /api/trabalhos/{id}/atualizar
@@ -95,9 +172,9 @@ public class TrabalhoController {
      * GET /api/trabalhos/empresa/{idEmpresa}
      */
     @GetMapping("/empresa/{idEmpresa}")
-    public ResponseEntity<List<TrabalhoDTO>> buscarTrabalhosPorEmpresa(@PathVariable String idEmpresa) {
-        List<TrabalhoDTO> trabalhos = trabalhoService.buscarTrabalhosPorEmpresa(idEmpresa);
-        return ResponseEntity.ok(trabalhos);
+    public ResponseEntity<List<TrabalhoDTO>> buscarTrabalhosPorEmpresa(@PathVariable String idEmpresa, WebRequest request) {
+        return RespostaCondicional.responder(request, trabalhoService.versaoTrabalhos(),
+                () -> trabalhoService.buscarTrabalhosPorEmpresa(idEmpresa));
     }
     
     /**
@@ -146,11 +223,12 @@ public class TrabalhoController {
      */
     @DeleteMapping("/empresa/{idEmpresa}/excluir-todos")
     public ResponseEntity<Map<String, String>> excluirTrabalhosPorEmpresa(@PathVariable String idEmpresa) {
-        trabalhoService.excluirTrabalhosPorEmpresa(idEmpresa);
+        int removidos = trabalhoService.excluirTrabalhosPorEmpresa(idEmpresa);
         
         Map<String, String> response = new HashMap<>();
         response.put("sucesso", "Todos os trabalhos da empresa foram excluídos com sucesso.");
         response.put("idEmpresa", idEmpresa);
+        response.put("quantidade", String.valueOf(removidos));
         
         return ResponseEntity.ok(response);
     }
@@ -166,6 +244,8 @@ public class TrabalhoController {
         status.put("service", "TrabalhoService");
         status.put("version", "1.0.0");
         status.put("timestamp", java.time.LocalDateTime.now());
+        status.put("cache", CacheConfig.estatisticas(cacheManager, CacheConfig.TRABALHOS));
+        status.put("metricas", metricasService.estatisticas("/api/trabalhos", "Trabalho"));
         
         return ResponseEntity.ok(status);
     }
@@ -1,12 +1,30 @@
 package com.example.apitcc.controller;
 
+import com.example.apitcc.config.CacheConfig;
 import com.example.apitcc.model.dto.UsuarioDTO;
+import com.example.apitcc.model.dto.ResultadoLoteDTO;
+import com.example.apitcc.model.entity.Foto;
 import com.example.apitcc.service.UsuarioService;
+import com.example.apitcc.service.FotoService;
+import com.example.apitcc.service.MetricasService;
+import com.example.apitcc.util.ExportacaoNdjson;
+import com.example.apitcc.util.ModelMapper;
+import com.example.apitcc.util.Projecao;
+import com.example.apitcc.util.RespostaCondicional;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,24 +37,57 @@ public class UsuarioController {
     @Autowired
     private UsuarioService usuarioService;
     
+    @Autowired
+    private FotoService fotoService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private MetricasService metricasService;
+    
     /**
-     * Listar todos os usuários
-     * GET /api/usuarios/listar
+     * Listar usuários com paginação por cursor
+     * GET /api/usuarios/listar?limit=50&after={cursor}&sort={campo|-campo}
+     * Campos de ordenação: id, nome
+     * fields=campo1,campo2 escolhe os campos de cada item (padrão: CAMPOS_LISTAGEM, sem os textos longos)
      */
     @GetMapping("/listar")
-    public ResponseEntity<List<UsuarioDTO>> listarUsuarios() {
-        List<UsuarioDTO> usuarios = usuarioService.listarTodosUsuarios();
-        return ResponseEntity.ok(usuarios);
+    public ResponseEntity<MappingJacksonValue> listarUsuarios(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Projecao projecao = Projecao.criar(fields, UsuarioDTO.CAMPOS, UsuarioDTO.CAMPOS_LISTAGEM);
+        return RespostaCondicional.responder(request, usuarioService.versaoUsuarios(), projecao,
+                () -> usuarioService.listarUsuariosPaginado(limit, after, sort, projecao));
+    }
+    
+    /**
+     * Exportar todos os usuários em NDJSON (uma linha JSON por registro)
+     * GET /api/usuarios/export
+     */
+    @GetMapping(value = "/export", produces = ExportacaoNdjson.MEDIA_TYPE)
+    public void exportarUsuarios(HttpServletResponse response) throws IOException {
+        ExportacaoNdjson.<UsuarioDTO>exportar(response, objectMapper, "usuarios", usuarioService::exportarUsuarios);
     }
     
     /**
      * Buscar usuário por ID
      * GET /api/usuarios/buscar/{id}
+     * fields=campo1,campo2 escolhe os campos (padrão: todos)
      */
     @GetMapping("/buscar/{id}")
-    public ResponseEntity<UsuarioDTO> buscarUsuario(@PathVariable String id) {
-        UsuarioDTO usuario = usuarioService.buscarUsuarioPorId(id);
-        return ResponseEntity.ok(usuario);
+    public ResponseEntity<MappingJacksonValue> buscarUsuario(@PathVariable String id,
+                                                             @RequestParam(required = false) String fields,
+                                                             WebRequest request) {
+        Projecao projecao = Projecao.criar(fields, UsuarioDTO.CAMPOS, UsuarioDTO.CAMPOS);
+        return RespostaCondicional.responder(request, usuarioService.versaoUsuarios(), projecao,
+                () -> usuarioService.buscarUsuarioPorId(id));
     }
     
     /**
@@ -55,6 +106,26 @@ public class UsuarioController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    /**
+     * Criar usuários em lote
+     * POST /api/usuarios/criar-lote
+     * Retorna o resultado de cada item (índice, ID criado ou erro)
+     */
+    @PostMapping("/criar-lote")
+    public ResponseEntity<Map<String, Object>> criarUsuariosEmLote(@RequestBody List<UsuarioDTO> usuariosDTO) {
+        List<ResultadoLoteDTO> resultados = usuarioService.criarUsuariosEmLote(usuariosDTO);
+        long criados = resultados.stream().filter(ResultadoLoteDTO::isSucesso).count();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("total", resultados.size());
+        response.put("criados", criados);
+        response.put("falhas", resultados.size() - criados);
+        response.put("resultados", resultados);
+        
+        HttpStatus status = criados > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(response);
+    }
+    
     /**
      * Atualizar usuário
      * PUT /api/usuarios/{id}/atualizar
@@ -90,6 +161,56 @@ public class UsuarioController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Enviar foto do usuário (multipart, campo "arquivo"; JPEG ou PNG)
+     * POST /api/usuarios/{id}/foto
+     */
+    @PostMapping(value = "/{id}/foto", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> enviarFoto(
+            @PathVariable String id,
+            @RequestParam(value = "arquivo", required = false) MultipartFile arquivo) {
+        Foto foto = usuarioService.salvarFoto(id, arquivo);
+    
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "sucesso");
+        response.put("mensagem", "Foto salva com sucesso");
+        response.put("foto", ModelMapper.formatarUrlFoto("usuarios", ModelMapper.converterIdObrigatorio(id)));
+        response.put("tipo", foto.getTipo());
+        response.put("tamanho", foto.getTamanho());
+    
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Baixar foto do usuário, com suporte a Range e ETag
+     * GET /api/usuarios/{id}/foto?tamanho={64|128|256}
+     * tamanho devolve uma miniatura com esse lado maior, gerada uma vez e guardada em disco
+     */
+    @GetMapping("/{id}/foto")
+    public ResponseEntity<Resource> baixarFoto(@PathVariable String id,
+                                               @RequestParam(required = false) Integer tamanho,
+                                               WebRequest request) {
+        long idUsuario = ModelMapper.converterIdObrigatorio(id);
+        Foto foto = fotoService.buscarInformacoes(FotoService.USUARIOS, idUsuario);
+        return RespostaCondicional.responderArquivo(request, fotoService.versao(foto, tamanho), foto.getTipo(),
+                () -> fotoService.buscarArquivo(FotoService.USUARIOS, idUsuario, foto, tamanho));
+    }
+    
+    /**
+     * Remover foto do usuário
+     * DELETE /api/usuarios/{id}/foto
+     */
+    @DeleteMapping("/{id}/foto")
+    public ResponseEntity<Map<String, String>> removerFoto(@PathVariable String id) {
+        usuarioService.removerFoto(id);
+    
+        Map<String, String> response = new HashMap<>();
+        response.put("sucesso", "Foto removida com sucesso.");
+        response.put("id", id);
+    
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Buscar usuários por habilidades
      * GET /api/usuarios/habilidades/{habilidade}
@@ -100,6 +221,16 @@ public class UsuarioController {
         return ResponseEntity.ok(usuarios);
     }
     
+    /**
+     * Buscar usuários por nome (contém, sem acento e sem caixa)
+     * GET /api/usuarios/nome/{nome}
+     */
+    @GetMapping("/nome/{nome}")
+    public ResponseEntity<List<UsuarioDTO>> buscarPorNome(@PathVariable String nome) {
+        List<UsuarioDTO> usuarios = usuarioService.buscarPorNome(nome);
+        return ResponseEntity.ok(usuarios);
+    }
+    
     /**
      * Buscar usuário por email
      * GET /api/usuarios/email/{email}
@@ -155,6 +286,8 @@ public class UsuarioController {
         status.put("service", "UsuarioService");
         status.put("version", "1.0.0");
         status.put("timestamp", java.time.LocalDateTime.now());
+        status.put("cache", CacheConfig.estatisticas(cacheManager, CacheConfig.USUARIOS));
+        status.put("metricas", metricasService.estatisticas("/api/usuarios", "Usuario"));
         
         return ResponseEntity.ok(status);
     }
@@ -1,6 +1,21 @@
 package com.example.apitcc.model.dto;
 
+import com.example.apitcc.util.Projecao;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Set;
+
+@JsonFilter(Projecao.FILTRO)
 public class EmpresaDTO {
+    // Campos aceitos no parâmetro fields (a senha nunca é serializada)
+    public static final Set<String> CAMPOS = Set.of(
+            "id", "nome", "email", "cnpj", "telefone", "endereco", "areaAtuacao", "publicoAlvo",
+            "foto", "descricao", "dataCadastro");
+    // Padrão das listagens: sem os textos longos (endereco, descricao), que vêm do detalhe ou de fields
+    public static final Set<String> CAMPOS_LISTAGEM = Set.of(
+            "id", "nome", "email", "cnpj", "telefone", "areaAtuacao", "publicoAlvo", "foto", "dataCadastro");
+    
     private String id;
     private String nome;
     private String email;
@@ -9,7 +24,11 @@ public class EmpresaDTO {
     private String endereco;
     private String areaAtuacao;
     private String publicoAlvo;
+    // Só de entrada (cadastro, alteração); o banco guarda o hash BCrypt (SenhaService)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String senha;
+    // Link para GET /api/.../{id}/foto; ignorado na entrada (a foto é enviada por POST /{id}/foto)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private String foto;
     private String descricao;
     private String dataCadastro;
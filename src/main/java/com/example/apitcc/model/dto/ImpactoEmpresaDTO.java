@@ -0,0 +1,87 @@
+package com.example.apitcc.model.dto;
+
+import com.example.apitcc.model.entity.StatusMatch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Painel de impacto de uma empresa (GET /api/empresas/{id}/impacto)
+ * Totais dos trabalhos da empresa e dos matches desses trabalhos
+ */
+public class ImpactoEmpresaDTO {
+
+    // Chave de matchesPorStatus para matches sem status
+    public static final String SEM_STATUS = "sem_status";
+
+    private String idEmpresa;
+    private long trabalhos;
+    private long vagasOferecidas;
+    private long vagasPreenchidas;
+    private double horasVoluntariado;
+    private Double avaliacaoMedia;
+    private long avaliacoes;
+    private long totalMatches;
+    private Map<String, Long> matchesPorStatus = new LinkedHashMap<>();
+
+    // Construtor vazio
+    public ImpactoEmpresaDTO() {}
+
+    public ImpactoEmpresaDTO(String idEmpresa) {
+        this.idEmpresa = idEmpresa;
+        // Todos os status conhecidos aparecem, mesmo sem matches
+        for (StatusMatch status : StatusMatch.values()) {
+            matchesPorStatus.put(status.getCodigo(), 0L);
+        }
+    }
+
+    /**
+     * Soma um trabalho: vagas ofertadas e matches que ocupam vaga (limitados às vagas)
+     */
+    public void adicionarTrabalho(int vagas, long ocupadas) {
+        trabalhos++;
+        vagasOferecidas += vagas;
+        vagasPreenchidas += Math.min(vagas, ocupadas);
+    }
+
+    /**
+     * Soma os matches de um status (código em minúsculas, ou null)
+     */
+    public void adicionarStatus(String status, long matches, double horas, long somaAvaliacoes, long quantidadeAvaliacoes) {
+        matchesPorStatus.merge(status != null ? status : SEM_STATUS, matches, Long::sum);
+        totalMatches += matches;
+        horasVoluntariado += horas;
+
+        double soma = (avaliacaoMedia != null ? avaliacaoMedia * avaliacoes : 0) + somaAvaliacoes;
+        avaliacoes += quantidadeAvaliacoes;
+        avaliacaoMedia = avaliacoes > 0 ? soma / avaliacoes : null;
+    }
+
+    // Getters e Setters
+    public String getIdEmpresa() { return idEmpresa; }
+    public void setIdEmpresa(String idEmpresa) { this.idEmpresa = idEmpresa; }
+
+    public long getTrabalhos() { return trabalhos; }
+    public void setTrabalhos(long trabalhos) { this.trabalhos = trabalhos; }
+
+    public long getVagasOferecidas() { return vagasOferecidas; }
+    public void setVagasOferecidas(long vagasOferecidas) { this.vagasOferecidas = vagasOferecidas; }
+
+    public long getVagasPreenchidas() { return vagasPreenchidas; }
+    public void setVagasPreenchidas(long vagasPreenchidas) { this.vagasPreenchidas = vagasPreenchidas; }
+
+    public double getHorasVoluntariado() { return horasVoluntariado; }
+    public void setHorasVoluntariado(double horasVoluntariado) { this.horasVoluntariado = horasVoluntariado; }
+
+    public Double getAvaliacaoMedia() { return avaliacaoMedia; }
+    public void setAvaliacaoMedia(Double avaliacaoMedia) { this.avaliacaoMedia = avaliacaoMedia; }
+
+    public long getAvaliacoes() { return avaliacoes; }
+    public void setAvaliacoes(long avaliacoes) { this.avaliacoes = avaliacoes; }
+
+    public long getTotalMatches() { return totalMatches; }
+    public void setTotalMatches(long totalMatches) { this.totalMatches = totalMatches; }
+
+    public Map<String, Long> getMatchesPorStatus() { return matchesPorStatus; }
+    public void setMatchesPorStatus(Map<String, Long> matchesPorStatus) { this.matchesPorStatus = matchesPorStatus; }
+}
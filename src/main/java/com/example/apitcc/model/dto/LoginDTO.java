@@ -0,0 +1,27 @@
+package com.example.apitcc.model.dto;
+
+public class LoginDTO {
+    private String email;
+    private String senha;
+    private String tipo; // usuario ou empresa
+
+    // Construtor vazio
+    public LoginDTO() {}
+
+    // Construtor completo
+    public LoginDTO(String email, String senha, String tipo) {
+        this.email = email;
+        this.senha = senha;
+        this.tipo = tipo;
+    }
+
+    // Getters e Setters
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getSenha() { return senha; }
+    public void setSenha(String senha) { this.senha = senha; }
+
+    public String getTipo() { return tipo; }
+    public void setTipo(String tipo) { this.tipo = tipo; }
+}
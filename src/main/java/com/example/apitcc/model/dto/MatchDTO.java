@@ -1,6 +1,21 @@
 package com.example.apitcc.model.dto;
 
+import com.example.apitcc.util.Projecao;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.util.Set;
+
+@JsonFilter(Projecao.FILTRO)
 public class MatchDTO {
+    // Campos aceitos no parâmetro fields
+    public static final Set<String> CAMPOS = Set.of(
+            "id", "idUsuario", "idTrabalho", "status", "dataMatch", "dataInicio", "dataTermino",
+            "horasTrabalhas", "avaliacao", "descricao", "dataCadastro");
+    // Padrão das listagens: sem a descricao, que vem do detalhe ou de fields
+    public static final Set<String> CAMPOS_LISTAGEM = Set.of(
+            "id", "idUsuario", "idTrabalho", "status", "dataMatch", "dataInicio", "dataTermino",
+            "horasTrabalhas", "avaliacao", "dataCadastro");
+    
     private String id;
     private String idUsuario;
     private String idTrabalho;
@@ -0,0 +1,34 @@
+package com.example.apitcc.model.dto;
+
+import java.util.List;
+
+public class PaginaDTO<T> {
+    private List<T> itens;
+    private String proximoCursor;
+    private int limite;
+    private boolean temMais;
+
+    // Construtor vazio
+    public PaginaDTO() {}
+
+    // Construtor completo
+    public PaginaDTO(List<T> itens, String proximoCursor, int limite, boolean temMais) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+        this.limite = limite;
+        this.temMais = temMais;
+    }
+
+    // Getters e Setters
+    public List<T> getItens() { return itens; }
+    public void setItens(List<T> itens) { this.itens = itens; }
+
+    public String getProximoCursor() { return proximoCursor; }
+    public void setProximoCursor(String proximoCursor) { this.proximoCursor = proximoCursor; }
+
+    public int getLimite() { return limite; }
+    public void setLimite(int limite) { this.limite = limite; }
+
+    public boolean isTemMais() { return temMais; }
+    public void setTemMais(boolean temMais) { this.temMais = temMais; }
+}
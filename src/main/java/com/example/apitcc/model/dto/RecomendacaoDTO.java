@@ -0,0 +1,34 @@
+package com.example.apitcc.model.dto;
+
+import java.util.List;
+
+public class RecomendacaoDTO<T> {
+    private T item;
+    private double pontuacao;
+    private double cobertura;
+    private List<String> habilidadesEmComum;
+
+    // Construtor vazio
+    public RecomendacaoDTO() {}
+
+    // Construtor completo
+    public RecomendacaoDTO(T item, double pontuacao, double cobertura, List<String> habilidadesEmComum) {
+        this.item = item;
+        this.pontuacao = pontuacao;
+        this.cobertura = cobertura;
+        this.habilidadesEmComum = habilidadesEmComum;
+    }
+
+    // Getters e Setters
+    public T getItem() { return item; }
+    public void setItem(T item) { this.item = item; }
+
+    public double getPontuacao() { return pontuacao; }
+    public void setPontuacao(double pontuacao) { this.pontuacao = pontuacao; }
+
+    public double getCobertura() { return cobertura; }
+    public void setCobertura(double cobertura) { this.cobertura = cobertura; }
+
+    public List<String> getHabilidadesEmComum() { return habilidadesEmComum; }
+    public void setHabilidadesEmComum(List<String> habilidadesEmComum) { this.habilidadesEmComum = habilidadesEmComum; }
+}
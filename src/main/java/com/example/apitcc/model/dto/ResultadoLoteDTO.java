@@ -0,0 +1,40 @@
+package com.example.apitcc.model.dto;
+
+public class ResultadoLoteDTO {
+    private int indice;
+    private boolean sucesso;
+    private String id;
+    private String erro;
+
+    // Construtor vazio
+    public ResultadoLoteDTO() {}
+
+    // Construtor completo
+    public ResultadoLoteDTO(int indice, boolean sucesso, String id, String erro) {
+        this.indice = indice;
+        this.sucesso = sucesso;
+        this.id = id;
+        this.erro = erro;
+    }
+
+    public static ResultadoLoteDTO criado(int indice, String id) {
+        return new ResultadoLoteDTO(indice, true, id, null);
+    }
+
+    public static ResultadoLoteDTO falha(int indice, String erro) {
+        return new ResultadoLoteDTO(indice, false, null, erro);
+    }
+
+    // Getters e Setters
+    public int getIndice() { return indice; }
+    public void setIndice(int indice) { this.indice = indice; }
+
+    public boolean isSucesso() { return sucesso; }
+    public void setSucesso(boolean sucesso) { this.sucesso = sucesso; }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getErro() { return erro; }
+    public void setErro(String erro) { this.erro = erro; }
+}
@@ -0,0 +1,41 @@
+package com.example.apitcc.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public class SessaoDTO {
+    private String id;
+    private String tipo; // usuario ou empresa
+    private String emitidoEm;
+    private String expiraEm;
+    // Só na resposta do login; GET /api/auth/me devolve a sessão sem o token
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String token;
+
+    // Construtor vazio
+    public SessaoDTO() {}
+
+    // Construtor completo
+    public SessaoDTO(String id, String tipo, String emitidoEm, String expiraEm, String token) {
+        this.id = id;
+        this.tipo = tipo;
+        this.emitidoEm = emitidoEm;
+        this.expiraEm = expiraEm;
+        this.token = token;
+    }
+
+    // Getters e Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTipo() { return tipo; }
+    public void setTipo(String tipo) { this.tipo = tipo; }
+
+    public String getEmitidoEm() { return emitidoEm; }
+    public void setEmitidoEm(String emitidoEm) { this.emitidoEm = emitidoEm; }
+
+    public String getExpiraEm() { return expiraEm; }
+    public void setExpiraEm(String expiraEm) { this.expiraEm = expiraEm; }
+
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+}
@@ -1,6 +1,21 @@
 package com.example.apitcc.model.dto;
 
+import com.example.apitcc.util.Projecao;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.util.Set;
+
+@JsonFilter(Projecao.FILTRO)
 public class TrabalhoDTO {
+    // Campos aceitos no parâmetro fields
+    public static final Set<String> CAMPOS = Set.of(
+            "id", "idEmpresa", "nomeEmpresa", "descricaoTrabalho", "quantidadeDeVagas", "tipoTrabalho",
+            "habilidadesNecessarias", "descricao", "dataCadastro");
+    // Padrão das listagens: sem os textos longos (descricaoTrabalho/descricao, habilidadesNecessarias),
+    // que vêm do detalhe ou de fields
+    public static final Set<String> CAMPOS_LISTAGEM = Set.of(
+            "id", "idEmpresa", "nomeEmpresa", "quantidadeDeVagas", "tipoTrabalho", "dataCadastro");
+    
     private String id;
     private String idEmpresa;
     private String nomeEmpresa;
@@ -1,14 +1,33 @@
 package com.example.apitcc.model.dto;
 
+import com.example.apitcc.util.Projecao;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Set;
+
+@JsonFilter(Projecao.FILTRO)
 public class UsuarioDTO {
+    // Campos aceitos no parâmetro fields (a senha nunca é serializada)
+    public static final Set<String> CAMPOS = Set.of(
+            "id", "email", "telefone", "dataDeNascimento", "habilidades", "horas", "nome", "foto",
+            "descricao", "dataCadastro");
+    // Padrão das listagens: sem os textos longos (habilidades, descricao), que vêm do detalhe ou de fields
+    public static final Set<String> CAMPOS_LISTAGEM = Set.of(
+            "id", "email", "telefone", "dataDeNascimento", "horas", "nome", "foto", "dataCadastro");
+    
     private String id;
     private String email;
     private String telefone;
     private String dataDeNascimento;
+    // Só de entrada (cadastro, alteração); o banco guarda o hash BCrypt (SenhaService)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String senha;
     private String habilidades;
     private String horas;
     private String nome;
+    // Link para GET /api/.../{id}/foto; ignorado na entrada (a foto é enviada por POST /{id}/foto)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private String foto;
     private String descricao;
     private String dataCadastro;
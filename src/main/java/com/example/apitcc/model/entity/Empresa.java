@@ -1,7 +1,6 @@
 package com.example.apitcc.model.entity;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 public class Empresa extends ItemBase {
@@ -15,9 +14,9 @@ public class Empresa extends ItemBase {
     private String senha;
     private String foto; // Base64 ou URL
     
-    public Empresa(String id, String descricao, String nome, String email, String cnpj, 
+    public Empresa(Long id, String descricao, String nome, String email, String cnpj, 
                   String telefone, String endereco, String areaAtuacao, String publicoAlvo, 
-                  String senha, String foto, String dataCadastro) {
+                  String senha, String foto, LocalDateTime dataCadastro) {
         super(id, descricao, dataCadastro);
         this.nome = nome;
         this.email = email;
@@ -30,6 +29,11 @@ public class Empresa extends ItemBase {
         this.foto = foto;
     }
     
+    @Override
+    public Empresa copiar() {
+        return (Empresa) super.copiar();
+    }
+    
     // Getters e Setters
     public String getNome() { return nome; }
     public void setNome(String nome) { this.nome = nome; }
@@ -72,8 +76,4 @@ public class Empresa extends ItemBase {
         map.put("foto", this.foto);
         return map;
     }
-    
-    // Lista estÃ¡tica para armazenamento em memÃ³ria (para desenvolvimento)
-    public static List<Empresa> empresas = new ArrayList<>();
-    public static int proximoId = 1;
 }
\ No newline at end of file
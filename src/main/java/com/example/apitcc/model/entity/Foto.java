@@ -0,0 +1,26 @@
+package com.example.apitcc.model.entity;
+
+/**
+ * Foto de perfil de uma empresa ou usuário (bytes fora do JSON das entidades)
+ * conteudo é null quando só os metadados foram lidos
+ */
+public class Foto {
+    private final String tipo; // image/jpeg ou image/png
+    private final String hash; // SHA-256 do conteúdo, em hexadecimal (ETag)
+    private final int tamanho;
+    private final byte[] conteudo;
+
+    public Foto(String tipo, String hash, int tamanho, byte[] conteudo) {
+        this.tipo = tipo;
+        this.hash = hash;
+        this.tamanho = tamanho;
+        this.conteudo = conteudo;
+    }
+
+    public String getTipo() { return tipo; }
+    public String getHash() { return hash; }
+    public int getTamanho() { return tamanho; }
+    public byte[] getConteudo() { return conteudo; }
+
+    public boolean isPng() { return "image/png".equals(tipo); }
+}
@@ -2,43 +2,61 @@ package com.example.apitcc.model.entity;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
 
-public abstract class ItemBase {
-    protected String id;
+public abstract class ItemBase implements Cloneable {
+    // Formato de dataCadastro na API
+    public static final DateTimeFormatter FORMATO_DATA_HORA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    protected Long id; // null antes de salvar
     protected String descricao;
-    protected String dataCadastro;
+    protected LocalDateTime dataCadastro;
     
-    public ItemBase(String id, String descricao, String dataCadastro) {
+    public ItemBase(Long id, String descricao, LocalDateTime dataCadastro) {
         this.id = id;
         this.descricao = descricao;
         this.dataCadastro = dataCadastro;
     }
     
     // Getters e Setters
-    public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
     
     public String getDescricao() { return descricao; }
     public void setDescricao(String descricao) { this.descricao = descricao; }
     
-    public String getDataCadastro() { return dataCadastro; }
-    public void setDataCadastro(String dataCadastro) { this.dataCadastro = dataCadastro; }
+    public LocalDateTime getDataCadastro() { return dataCadastro; }
+    public void setDataCadastro(LocalDateTime dataCadastro) { this.dataCadastro = dataCadastro; }
+    
+    /**
+     * Cópia independente da entidade; os campos são todos imutáveis (String, LocalDate, enum...),
+     * então a cópia rasa basta
+     */
+    public ItemBase copiar() {
+        try {
+            return (ItemBase) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
     
-    // MÃ©todo estÃ¡tico para obter data/hora atual
-    public static String getCurrentDateTime() {
-        LocalDateTime now = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        return now.format(formatter);
+    // Data/hora atual, truncada em segundos (formato da API)
+    public static LocalDateTime getCurrentDateTime() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
     }
     
     // MÃ©todo para converter para Map (pode ser sobrescrito)
     public Map<String, String> toMap() {
         Map<String, String> map = new HashMap<>();
-        map.put("id", this.id);
+        map.put("id", texto(this.id));
         map.put("descricao", this.descricao);
-        map.put("dataCadastro", this.dataCadastro);
+        map.put("dataCadastro", this.dataCadastro != null ? this.dataCadastro.format(FORMATO_DATA_HORA) : null);
         return map;
     }
+    
+    protected static String texto(Object valor) {
+        return valor != null ? valor.toString() : null;
+    }
 }
\ No newline at end of file
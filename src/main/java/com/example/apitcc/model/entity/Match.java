@@ -1,22 +1,23 @@
 package com.example.apitcc.model.entity;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 public class Match extends ItemBase {
-    private String idUsuario; // Foreign Key para Usuario
-    private String idTrabalho; // Foreign Key para Trabalho
-    private String status;
-    private String dataMatch;
-    private String dataInicio;
-    private String dataTermino;
-    private String horasTrabalhas; // FLOAT como String para compatibilidade
-    private String avaliacao; // INT como String para compatibilidade
+    private long idUsuario; // Foreign Key para Usuario
+    private long idTrabalho; // Foreign Key para Trabalho
+    private StatusMatch status;
+    private String statusOriginal; // código lido do banco fora dos status conhecidos (status = null)
+    private LocalDate dataMatch;
+    private LocalDate dataInicio;
+    private LocalDate dataTermino;
+    private double horasTrabalhas;
+    private int avaliacao; // 1 a 5; 0 = sem avaliação
     
-    public Match(String id, String descricao, String idUsuario, String idTrabalho, 
-                String status, String dataMatch, String dataInicio, String dataTermino, 
-                String horasTrabalhas, String avaliacao, String dataCadastro) {
+    public Match(Long id, String descricao, long idUsuario, long idTrabalho, 
+                StatusMatch status, LocalDate dataMatch, LocalDate dataInicio, LocalDate dataTermino, 
+                double horasTrabalhas, int avaliacao, LocalDateTime dataCadastro) {
         super(id, descricao, dataCadastro);
         this.idUsuario = idUsuario;
         this.idTrabalho = idTrabalho;
@@ -28,46 +29,58 @@ public class Match extends ItemBase {
         this.avaliacao = avaliacao;
     }
     
+    @Override
+    public Match copiar() {
+        return (Match) super.copiar();
+    }
+    
     // Getters e Setters
-    public String getIdUsuario() { return idUsuario; }
-    public void setIdUsuario(String idUsuario) { this.idUsuario = idUsuario; }
+    public long getIdUsuario() { return idUsuario; }
+    public void setIdUsuario(long idUsuario) { this.idUsuario = idUsuario; }
     
-    public String getIdTrabalho() { return idTrabalho; }
-    public void setIdTrabalho(String idTrabalho) { this.idTrabalho = idTrabalho; }
+    public long getIdTrabalho() { return idTrabalho; }
+    public void setIdTrabalho(long idTrabalho) { this.idTrabalho = idTrabalho; }
     
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public StatusMatch getStatus() { return status; }
+    // Um novo status substitui o código desconhecido lido do banco
+    public void setStatus(StatusMatch status) { this.status = status; this.statusOriginal = null; }
     
-    public String getDataMatch() { return dataMatch; }
-    public void setDataMatch(String dataMatch) { this.dataMatch = dataMatch; }
+    public String getStatusOriginal() { return statusOriginal; }
+    public void setStatusOriginal(String statusOriginal) { this.statusOriginal = statusOriginal; }
     
-    public String getDataInicio() { return dataInicio; }
-    public void setDataInicio(String dataInicio) { this.dataInicio = dataInicio; }
+    /**
+     * Código do status na API e no banco; sem status conhecido, o código original lido do banco
+     */
+    public String getCodigoStatus() {
+        return status != null ? status.getCodigo() : statusOriginal;
+    }
     
-    public String getDataTermino() { return dataTermino; }
-    public void setDataTermino(String dataTermino) { this.dataTermino = dataTermino; }
+    public LocalDate getDataMatch() { return dataMatch; }
+    public void setDataMatch(LocalDate dataMatch) { this.dataMatch = dataMatch; }
     
-    public String getHorasTrabalhas() { return horasTrabalhas; }
-    public void setHorasTrabalhas(String horasTrabalhas) { this.horasTrabalhas = horasTrabalhas; }
+    public LocalDate getDataInicio() { return dataInicio; }
+    public void setDataInicio(LocalDate dataInicio) { this.dataInicio = dataInicio; }
     
-    public String getAvaliacao() { return avaliacao; }
-    public void setAvaliacao(String avaliacao) { this.avaliacao = avaliacao; }
+    public LocalDate getDataTermino() { return dataTermino; }
+    public void setDataTermino(LocalDate dataTermino) { this.dataTermino = dataTermino; }
+    
+    public double getHorasTrabalhas() { return horasTrabalhas; }
+    public void setHorasTrabalhas(double horasTrabalhas) { this.horasTrabalhas = horasTrabalhas; }
+    
+    public int getAvaliacao() { return avaliacao; }
+    public void setAvaliacao(int avaliacao) { this.avaliacao = avaliacao; }
     
     @Override
     public Map<String, String> toMap() {
         Map<String, String> map = super.toMap();
-        map.put("idUsuario", this.idUsuario);
-        map.put("idTrabalho", this.idTrabalho);
-        map.put("status", this.status);
-        map.put("dataMatch", this.dataMatch);
-        map.put("dataInicio", this.dataInicio);
-        map.put("dataTermino", this.dataTermino);
-        map.put("horasTrabalhas", this.horasTrabalhas);
-        map.put("avaliacao", this.avaliacao);
+        map.put("idUsuario", String.valueOf(this.idUsuario));
+        map.put("idTrabalho", String.valueOf(this.idTrabalho));
+        map.put("status", getCodigoStatus());
+        map.put("dataMatch", texto(this.dataMatch));
+        map.put("dataInicio", texto(this.dataInicio));
+        map.put("dataTermino", texto(this.dataTermino));
+        map.put("horasTrabalhas", String.valueOf(this.horasTrabalhas));
+        map.put("avaliacao", this.avaliacao > 0 ? String.valueOf(this.avaliacao) : null);
         return map;
     }
-    
-    // Lista estática para armazenamento em memória (para desenvolvimento)
-    public static List<Match> matches = new ArrayList<>();
-    public static int proximoId = 1;
 }
\ No newline at end of file
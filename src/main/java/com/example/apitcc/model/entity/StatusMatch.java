@@ -0,0 +1,54 @@
+package com.example.apitcc.model.entity;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Status de um match
+ * Na API e no banco o status trafega pelo código em minúsculas (ex: "em_andamento")
+ */
+public enum StatusMatch {
+    PENDENTE("pendente"),
+    ATIVO("ativo"),
+    EM_ANDAMENTO("em_andamento"),
+    FINALIZADO("finalizado"),
+    CONCLUIDO("concluido"),
+    TERMINADO("terminado"),
+    CANCELADO("cancelado");
+
+    // Status considerados em andamento / encerrados
+    public static final Set<StatusMatch> ATIVOS = Collections.unmodifiableSet(EnumSet.of(ATIVO, EM_ANDAMENTO, PENDENTE));
+    public static final Set<StatusMatch> FINALIZADOS = Collections.unmodifiableSet(EnumSet.of(FINALIZADO, CONCLUIDO, TERMINADO));
+    // Status que ocupam uma vaga do trabalho (aceito, em andamento ou encerrado)
+    public static final Set<StatusMatch> PREENCHEM_VAGA = Collections.unmodifiableSet(
+            EnumSet.of(ATIVO, EM_ANDAMENTO, FINALIZADO, CONCLUIDO, TERMINADO));
+
+    private static final Map<String, StatusMatch> POR_CODIGO = new HashMap<>();
+
+    static {
+        for (StatusMatch status : values()) {
+            POR_CODIGO.put(status.codigo, status);
+        }
+    }
+
+    private final String codigo;
+
+    StatusMatch(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Status correspondente ao código (sem diferenciar maiúsculas), ou null se desconhecido
+     */
+    public static StatusMatch deCodigo(String codigo) {
+        return codigo != null ? POR_CODIGO.get(codigo.trim().toLowerCase(Locale.ROOT)) : null;
+    }
+}
@@ -1,20 +1,19 @@
 package com.example.apitcc.model.entity;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 public class Trabalho extends ItemBase {
-    private String idEmpresa; // Foreign Key para Empresa
+    private long idEmpresa; // Foreign Key para Empresa
     private String nomeEmpresa;
     private String descricaoTrabalho;
-    private String quantidadeDeVagas; // INT como String para compatibilidade
+    private int quantidadeDeVagas;
     private String tipoTrabalho;
     private String habilidadesNecessarias;
     
-    public Trabalho(String id, String descricao, String idEmpresa, String nomeEmpresa,
-                   String descricaoTrabalho, String quantidadeDeVagas, String tipoTrabalho,
-                   String habilidadesNecessarias, String dataCadastro) {
+    public Trabalho(Long id, String descricao, long idEmpresa, String nomeEmpresa,
+                   String descricaoTrabalho, int quantidadeDeVagas, String tipoTrabalho,
+                   String habilidadesNecessarias, LocalDateTime dataCadastro) {
         super(id, descricao, dataCadastro);
         this.idEmpresa = idEmpresa;
         this.nomeEmpresa = nomeEmpresa;
@@ -24,9 +23,14 @@ public class Trabalho extends ItemBase {
         this.habilidadesNecessarias = habilidadesNecessarias;
     }
     
+    @Override
+    public Trabalho copiar() {
+        return (Trabalho) super.copiar();
+    }
+    
     // Getters e Setters
-    public String getIdEmpresa() { return idEmpresa; }
-    public void setIdEmpresa(String idEmpresa) { this.idEmpresa = idEmpresa; }
+    public long getIdEmpresa() { return idEmpresa; }
+    public void setIdEmpresa(long idEmpresa) { this.idEmpresa = idEmpresa; }
     
     public String getNomeEmpresa() { return nomeEmpresa; }
     public void setNomeEmpresa(String nomeEmpresa) { this.nomeEmpresa = nomeEmpresa; }
@@ -34,8 +38,8 @@ public class Trabalho extends ItemBase {
     public String getDescricaoTrabalho() { return descricaoTrabalho; }
     public void setDescricaoTrabalho(String descricaoTrabalho) { this.descricaoTrabalho = descricaoTrabalho; }
     
-    public String getQuantidadeDeVagas() { return quantidadeDeVagas; }
-    public void setQuantidadeDeVagas(String quantidadeDeVagas) { this.quantidadeDeVagas = quantidadeDeVagas; }
+    public int getQuantidadeDeVagas() { return quantidadeDeVagas; }
+    public void setQuantidadeDeVagas(int quantidadeDeVagas) { this.quantidadeDeVagas = quantidadeDeVagas; }
     
     public String getTipoTrabalho() { return tipoTrabalho; }
     public void setTipoTrabalho(String tipoTrabalho) { this.tipoTrabalho = tipoTrabalho; }
@@ -46,16 +50,12 @@ public class Trabalho extends ItemBase {
     @Override
     public Map<String, String> toMap() {
         Map<String, String> map = super.toMap();
-        map.put("idEmpresa", this.idEmpresa);
+        map.put("idEmpresa", String.valueOf(this.idEmpresa));
         map.put("nomeEmpresa", this.nomeEmpresa);
         map.put("descricaoTrabalho", this.descricaoTrabalho);
-        map.put("quantidadeDeVagas", this.quantidadeDeVagas);
+        map.put("quantidadeDeVagas", String.valueOf(this.quantidadeDeVagas));
         map.put("tipoTrabalho", this.tipoTrabalho);
         map.put("habilidadesNecessarias", this.habilidadesNecessarias);
         return map;
     }
-    
-    // Lista estática para armazenamento em memória (para desenvolvimento)
-    public static List<Trabalho> trabalhos = new ArrayList<>();
-    public static int proximoId = 1;
 }
\ No newline at end of file
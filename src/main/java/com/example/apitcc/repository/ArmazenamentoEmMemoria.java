@@ -0,0 +1,382 @@
+package com.example.apitcc.repository;
+
+import com.example.apitcc.model.entity.ItemBase;
+import com.example.apitcc.util.BuscaTexto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Armazenamento em memória thread-safe usado pelos repositories no ambiente de desenvolvimento
+ *
+ * - Registros indexados por ID em um ConcurrentHashMap (busca O(1))
+ * - Índices secundários por hash (ex: email, cnpj, idUsuario) declarados com comIndice;
+ *   a chave é o próprio valor tipado do campo (String, Long, enum...)
+ * - Índices de texto por trigramas (comIndiceTexto) para buscas "contém", sem acento e sem caixa
+ * - IDs gerados por AtomicLong
+ * - Versão incrementada a cada alteração (ETags das listagens, ver VersaoTabelas no modo banco)
+ *
+ * Leituras não bloqueiam; escritas (salvar/remover) são serializadas para manter
+ * os índices consistentes com os registros.
+ */
+public class ArmazenamentoEmMemoria<T extends ItemBase> {
+
+    private final ConcurrentHashMap<Long, T> registros = new ConcurrentHashMap<>();
+    private final AtomicLong proximoId = new AtomicLong(1);
+    private final AtomicLong versao = new AtomicLong();
+    private final Map<String, Indice<T, ?>> indices = new HashMap<>();
+    private final Map<String, IndiceTexto<T>> indicesTexto = new HashMap<>();
+
+    /**
+     * Índice secundário: chave -> IDs, mais a chave com que cada ID foi indexado
+     * (necessária para reindexar quando a entidade é alterada)
+     */
+    private static class Indice<T, K> {
+        private final Function<T, K> extrator;
+        private final ConcurrentHashMap<K, Set<Long>> idsPorChave = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, K> chavePorId = new ConcurrentHashMap<>();
+
+        private Indice(Function<T, K> extrator) {
+            this.extrator = extrator;
+        }
+
+        /**
+         * Indexa a nova chave antes de retirar a antiga, para que leituras
+         * concorrentes nunca deixem de encontrar o registro
+         */
+        private void reindexar(Long id, T entidade) {
+            K novaChave = extrator.apply(entidade);
+            K chaveAntiga = chavePorId.get(id);
+            if (Objects.equals(novaChave, chaveAntiga)) {
+                return;
+            }
+            if (novaChave != null) {
+                idsPorChave.computeIfAbsent(novaChave, k -> ConcurrentHashMap.newKeySet()).add(id);
+                chavePorId.put(id, novaChave);
+            } else {
+                chavePorId.remove(id);
+            }
+            if (chaveAntiga != null) {
+                retirar(chaveAntiga, id);
+            }
+        }
+
+        private void remover(Long id) {
+            K chave = chavePorId.remove(id);
+            if (chave != null) {
+                retirar(chave, id);
+            }
+        }
+
+        private void retirar(K chave, Long id) {
+            idsPorChave.computeIfPresent(chave, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Índice de texto: trigrama -> IDs, mais o texto normalizado de cada ID
+     * Equivalente em memória ao GIN gin_trgm_ops sobre public.sem_acento(coluna) do banco:
+     * a busca por um termo com 3+ caracteres cruza as listas dos seus trigramas (começando pela menor)
+     * e confere o texto dos candidatos; termos menores percorrem apenas os textos já normalizados
+     */
+    private static class IndiceTexto<T> {
+        private static final int TAMANHO_GRAMA = 3;
+
+        private final Function<T, String> extrator;
+        private final ConcurrentHashMap<String, Set<Long>> idsPorTrigrama = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, String> textoPorId = new ConcurrentHashMap<>();
+
+        private IndiceTexto(Function<T, String> extrator) {
+            this.extrator = extrator;
+        }
+
+        /**
+         * Como em Indice.reindexar: os trigramas novos entram antes de os antigos saírem
+         */
+        private void reindexar(Long id, T entidade) {
+            String novoTexto = BuscaTexto.normalizar(extrator.apply(entidade));
+            String textoAntigo = textoPorId.get(id);
+            if (Objects.equals(novoTexto, textoAntigo)) {
+                return;
+            }
+            Set<String> novos = trigramas(novoTexto);
+            for (String trigrama : novos) {
+                idsPorTrigrama.computeIfAbsent(trigrama, k -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+            if (novoTexto != null) {
+                textoPorId.put(id, novoTexto);
+            } else {
+                textoPorId.remove(id);
+            }
+            for (String trigrama : trigramas(textoAntigo)) {
+                if (!novos.contains(trigrama)) {
+                    retirar(trigrama, id);
+                }
+            }
+        }
+
+        private void remover(Long id) {
+            String texto = textoPorId.remove(id);
+            for (String trigrama : trigramas(texto)) {
+                retirar(trigrama, id);
+            }
+        }
+
+        private void retirar(String trigrama, Long id) {
+            idsPorTrigrama.computeIfPresent(trigrama, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+
+        /**
+         * IDs cujo texto normalizado contém o termo (já normalizado)
+         */
+        private Set<Long> buscar(String termo) {
+            if (termo.length() < TAMANHO_GRAMA) {
+                Set<Long> ids = new HashSet<>();
+                textoPorId.forEach((id, texto) -> {
+                    if (texto.contains(termo)) {
+                        ids.add(id);
+                    }
+                });
+                return ids;
+            }
+
+            List<Set<Long>> listas = new ArrayList<>();
+            for (String trigrama : trigramas(termo)) {
+                Set<Long> ids = idsPorTrigrama.get(trigrama);
+                if (ids == null) {
+                    return Set.of();
+                }
+                listas.add(ids);
+            }
+            listas.sort(Comparator.comparingInt(Set::size));
+
+            Set<Long> candidatos = new HashSet<>();
+            for (Long id : listas.get(0)) {
+                if (listas.stream().skip(1).allMatch(ids -> ids.contains(id))) {
+                    String texto = textoPorId.get(id);
+                    if (texto != null && texto.contains(termo)) {
+                        candidatos.add(id);
+                    }
+                }
+            }
+            return candidatos;
+        }
+
+        private static Set<String> trigramas(String texto) {
+            if (texto == null || texto.length() < TAMANHO_GRAMA) {
+                return Set.of();
+            }
+            Set<String> trigramas = new HashSet<>();
+            for (int i = 0; i + TAMANHO_GRAMA <= texto.length(); i++) {
+                trigramas.add(texto.substring(i, i + TAMANHO_GRAMA));
+            }
+            return trigramas;
+        }
+    }
+
+    /**
+     * Declara um índice secundário (chamado apenas na construção do repository)
+     * O extrator deve devolver a chave já normalizada (ou null para não indexar)
+     */
+    public <K> ArmazenamentoEmMemoria<T> comIndice(String nome, Function<T, K> extrator) {
+        indices.put(nome, new Indice<>(extrator));
+        return this;
+    }
+
+    /**
+     * Declara um índice de texto para buscarPorTexto (chamado apenas na construção do repository)
+     */
+    public ArmazenamentoEmMemoria<T> comIndiceTexto(String nome, Function<T, String> extrator) {
+        indicesTexto.put(nome, new IndiceTexto<>(extrator));
+        return this;
+    }
+
+    /**
+     * Lista todos os registros ordenados por ID (cópia, segura para iterar)
+     */
+    public List<T> listar() {
+        return registros.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+    }
+
+    public Optional<T> buscarPorId(long id) {
+        return Optional.ofNullable(registros.get(id));
+    }
+
+    /**
+     * Busca pelo índice secundário; confere a chave atual de cada registro
+     * porque a entidade pode ter sido alterada e ainda não salva novamente
+     */
+    public List<T> buscarPorIndice(String nomeIndice, Object chave) {
+        Indice<T, ?> indice = indice(nomeIndice);
+        if (chave == null) {
+            return List.of();
+        }
+        Set<Long> ids = indice.idsPorChave.get(chave);
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream()
+                .map(registros::get)
+                .filter(Objects::nonNull)
+                .filter(entidade -> chave.equals(indice.extrator.apply(entidade)))
+                .sorted(Comparator.comparingLong(ItemBase::getId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Registros cujo campo do índice de texto contém o termo, ignorando acentos e maiúsculas
+     * Confere o valor atual de cada registro, como buscarPorIndice
+     */
+    public List<T> buscarPorTexto(String nomeIndice, String termo) {
+        IndiceTexto<T> indice = indicesTexto.get(nomeIndice);
+        if (indice == null) {
+            throw new IllegalArgumentException("Índice de texto não declarado: " + nomeIndice);
+        }
+        if (termo == null) {
+            return List.of();
+        }
+        String termoNormalizado = BuscaTexto.normalizar(termo);
+        return indice.buscar(termoNormalizado).stream()
+                .map(registros::get)
+                .filter(Objects::nonNull)
+                .filter(entidade -> {
+                    String texto = BuscaTexto.normalizar(indice.extrator.apply(entidade));
+                    return texto != null && texto.contains(termoNormalizado);
+                })
+                .sorted(Comparator.comparingLong(ItemBase::getId))
+                .collect(Collectors.toList());
+    }
+
+    public Optional<T> buscarPrimeiroPorIndice(String nomeIndice, Object chave) {
+        return buscarPorIndice(nomeIndice, chave).stream().findFirst();
+    }
+
+    public boolean existePorIndice(String nomeIndice, Object chave) {
+        return !buscarPorIndice(nomeIndice, chave).isEmpty();
+    }
+
+    public long contarPorIndice(String nomeIndice, Object chave) {
+        return buscarPorIndice(nomeIndice, chave).size();
+    }
+
+    /**
+     * Insere (gerando ID) ou substitui o registro e atualiza os índices
+     */
+    public synchronized T salvar(T entidade) {
+        Long id = entidade.getId();
+        if (id == null) {
+            id = proximoId.getAndIncrement();
+            entidade.setId(id);
+        } else {
+            // Mantém o gerador à frente de IDs informados manualmente
+            proximoId.accumulateAndGet(id + 1, Math::max);
+        }
+
+        registros.put(id, entidade);
+        for (Indice<T, ?> indice : indices.values()) {
+            indice.reindexar(id, entidade);
+        }
+        for (IndiceTexto<T> indice : indicesTexto.values()) {
+            indice.reindexar(id, entidade);
+        }
+        versao.incrementAndGet();
+        return entidade;
+    }
+
+    /**
+     * Salva apenas se nenhum outro registro tiver a mesma chave no índice (índice único)
+     * Verificação e escrita ficam sob o mesmo bloqueio de salvar: duas chamadas concorrentes
+     * com a mesma chave não salvam as duas. Retorna false, sem salvar, se houver conflito
+     */
+    public synchronized boolean salvarSeUnico(String nomeIndice, T entidade) {
+        Object chave = indice(nomeIndice).extrator.apply(entidade);
+        boolean conflito = buscarPorIndice(nomeIndice, chave).stream()
+                .anyMatch(outro -> !outro.getId().equals(entidade.getId()));
+        if (conflito) {
+            return false;
+        }
+        salvar(entidade);
+        return true;
+    }
+
+    public synchronized boolean remover(long id) {
+        if (registros.remove(id) == null) {
+            return false;
+        }
+        for (Indice<T, ?> indice : indices.values()) {
+            indice.remover(id);
+        }
+        for (IndiceTexto<T> indice : indicesTexto.values()) {
+            indice.remover(id);
+        }
+        versao.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Remove todos os registros com a chave informada no índice
+     * Retorna os registros removidos
+     */
+    public synchronized List<T> removerPorIndice(String nomeIndice, Object chave) {
+        List<T> encontrados = buscarPorIndice(nomeIndice, chave);
+        encontrados.forEach(entidade -> remover(entidade.getId()));
+        return encontrados;
+    }
+
+    public boolean existe(long id) {
+        return registros.containsKey(id);
+    }
+
+    public long contar() {
+        return registros.size();
+    }
+
+    /**
+     * Número de alterações (salvar, remover, limpar) desde a criação
+     */
+    public long versao() {
+        return versao.get();
+    }
+
+    public synchronized void limpar() {
+        registros.clear();
+        indices.values().forEach(indice -> {
+            indice.idsPorChave.clear();
+            indice.chavePorId.clear();
+        });
+        indicesTexto.values().forEach(indice -> {
+            indice.idsPorTrigrama.clear();
+            indice.textoPorId.clear();
+        });
+        proximoId.set(1);
+        versao.incrementAndGet();
+    }
+
+    private Indice<T, ?> indice(String nome) {
+        Indice<T, ?> indice = indices.get(nome);
+        if (indice == null) {
+            throw new IllegalArgumentException("Índice não declarado: " + nome);
+        }
+        return indice;
+    }
+}
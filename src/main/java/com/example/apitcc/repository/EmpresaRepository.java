@@ -1,64 +1,80 @@
 package com.example.apitcc.repository;
 
 import com.example.apitcc.model.entity.Empresa;
+import com.example.apitcc.util.Paginacao;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Repository
 public class EmpresaRepository {
     
+    // Campos aceitos no parâmetro sort da listagem paginada
+    public static final Map<String, Function<Empresa, String>> CAMPOS_ORDENACAO = Map.of(
+            "id", empresa -> String.valueOf(empresa.getId()),
+            "nome", Empresa::getNome);
+    
+    private static final String INDICE_CNPJ = "cnpj";
+    private static final String INDICE_EMAIL = "email";
+    private static final String INDICE_AREA_ATUACAO = "areaAtuacao";
+    
+    // Armazenamento em memória (para desenvolvimento)
+    private final ArmazenamentoEmMemoria<Empresa> armazenamento = new ArmazenamentoEmMemoria<Empresa>()
+            .comIndice(INDICE_CNPJ, Empresa::getCnpj)
+            .comIndice(INDICE_EMAIL, Empresa::getEmail)
+            .comIndiceTexto(INDICE_AREA_ATUACAO, Empresa::getAreaAtuacao);
+    
     /**
      * Busca todas as empresas
      */
     public List<Empresa> findAll() {
-        return Empresa.empresas;
+        return armazenamento.listar();
+    }
+    
+    /**
+     * Busca uma página ordenada a partir do cursor (até limite + 1 itens)
+     */
+    public List<Empresa> findPagina(Paginacao.Consulta consulta) {
+        return Paginacao.paginar(armazenamento.listar(), consulta, CAMPOS_ORDENACAO.get(consulta.getCampo()), Empresa::getId);
     }
     
     /**
      * Busca empresa por ID
      */
-    public Optional<Empresa> findById(String id) {
-        return Empresa.empresas.stream()
-                .filter(empresa -> empresa.getId().equals(id))
-                .findFirst();
+    public Optional<Empresa> findById(long id) {
+        return armazenamento.buscarPorId(id);
     }
     
     /**
      * Busca empresa por CNPJ
      */
     public Optional<Empresa> findByCnpj(String cnpj) {
-        return Empresa.empresas.stream()
-                .filter(empresa -> empresa.getCnpj() != null && empresa.getCnpj().equals(cnpj))
-                .findFirst();
+        return armazenamento.buscarPrimeiroPorIndice(INDICE_CNPJ, cnpj);
     }
     
     /**
      * Busca empresa por email
      */
     public Optional<Empresa> findByEmail(String email) {
-        return Empresa.empresas.stream()
-                .filter(empresa -> empresa.getEmail() != null && empresa.getEmail().equals(email))
-                .findFirst();
+        return armazenamento.buscarPrimeiroPorIndice(INDICE_EMAIL, email);
     }
     
     /**
      * Busca empresas por Ã¡rea de atuaÃ§Ã£o
      */
     public List<Empresa> findByAreaAtuacaoContaining(String areaAtuacao) {
-        return Empresa.empresas.stream()
-                .filter(empresa -> empresa.getAreaAtuacao() != null && 
-                        empresa.getAreaAtuacao().toLowerCase().contains(areaAtuacao.toLowerCase()))
-                .collect(Collectors.toList());
+        return armazenamento.buscarPorTexto(INDICE_AREA_ATUACAO, areaAtuacao);
     }
     
     /**
      * Busca empresas por pÃºblico alvo
      */
     public List<Empresa> findByPublicoAlvoContaining(String publicoAlvo) {
-        return Empresa.empresas.stream()
+        return armazenamento.listar().stream()
                 .filter(empresa -> empresa.getPublicoAlvo() != null && 
                         empresa.getPublicoAlvo().toLowerCase().contains(publicoAlvo.toLowerCase()))
                 .collect(Collectors.toList());
@@ -68,77 +84,65 @@ public class EmpresaRepository {
      * Busca empresas por nome
      */
     public List<Empresa> findByNomeContaining(String nome) {
-        return Empresa.empresas.stream()
+        return armazenamento.listar().stream()
                 .filter(empresa -> empresa.getNome() != null && 
                         empresa.getNome().toLowerCase().contains(nome.toLowerCase()))
                 .collect(Collectors.toList());
     }
     
     /**
-     * Salva uma empresa (adiciona Ã  lista)
+     * Salva uma empresa (gera o ID se for nova e atualiza os índices)
      */
     public Empresa save(Empresa empresa) {
-        // Se Ã© uma nova empresa (sem ID ou ID novo)
-        if (empresa.getId() == null || empresa.getId().isEmpty()) {
-            empresa.setId(String.valueOf(Empresa.proximoId++));
-            Empresa.empresas.add(empresa);
-        } else {
-            // Atualiza empresa existente
-            Optional<Empresa> existingEmpresa = findById(empresa.getId());
-            if (existingEmpresa.isPresent()) {
-                int index = Empresa.empresas.indexOf(existingEmpresa.get());
-                Empresa.empresas.set(index, empresa);
-            } else {
-                // Se nÃ£o encontrou, adiciona como nova
-                Empresa.empresas.add(empresa);
-            }
-        }
-        return empresa;
+        return armazenamento.salvar(empresa);
     }
     
     /**
      * Deleta empresa por ID
      */
-    public boolean deleteById(String id) {
-        return Empresa.empresas.removeIf(empresa -> empresa.getId().equals(id));
+    public boolean deleteById(long id) {
+        return armazenamento.remover(id);
     }
     
     /**
      * Verifica se existe empresa com o ID
      */
-    public boolean existsById(String id) {
-        return Empresa.empresas.stream()
-                .anyMatch(empresa -> empresa.getId().equals(id));
+    public boolean existsById(long id) {
+        return armazenamento.existe(id);
     }
     
     /**
      * Verifica se existe empresa com o CNPJ
      */
     public boolean existsByCnpj(String cnpj) {
-        return Empresa.empresas.stream()
-                .anyMatch(empresa -> empresa.getCnpj() != null && empresa.getCnpj().equals(cnpj));
+        return armazenamento.existePorIndice(INDICE_CNPJ, cnpj);
     }
     
     /**
      * Verifica se existe empresa com o email
      */
     public boolean existsByEmail(String email) {
-        return Empresa.empresas.stream()
-                .anyMatch(empresa -> empresa.getEmail() != null && empresa.getEmail().equals(email));
+        return armazenamento.existePorIndice(INDICE_EMAIL, email);
     }
     
     /**
      * Conta total de empresas
      */
     public long count() {
-        return Empresa.empresas.size();
+        return armazenamento.contar();
+    }
+    
+    /**
+     * Versão dos dados (muda a cada alteração), usada nos ETags
+     */
+    public long versao() {
+        return armazenamento.versao();
     }
     
     /**
      * Deleta todas as empresas (usado para testes)
      */
     public void deleteAll() {
-        Empresa.empresas.clear();
-        Empresa.proximoId = 1; // Reset do contador
+        armazenamento.limpar(); // Limpa registros, índices e o contador de IDs
     }
 }
\ No newline at end of file
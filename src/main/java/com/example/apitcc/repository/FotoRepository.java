@@ -0,0 +1,40 @@
+package com.example.apitcc.repository;
+
+import com.example.apitcc.model.entity.Foto;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+public class FotoRepository {
+
+    // Armazenamento em memória (para desenvolvimento), chave "<entidade>:<id>"
+    private final Map<String, Foto> fotos = new ConcurrentHashMap<>();
+
+    /**
+     * Busca a foto de uma empresa ou usuário
+     */
+    public Optional<Foto> findById(String entidade, long id) {
+        return Optional.ofNullable(fotos.get(chave(entidade, id)));
+    }
+
+    /**
+     * Salva (ou substitui) a foto
+     */
+    public void save(String entidade, long id, Foto foto) {
+        fotos.put(chave(entidade, id), foto);
+    }
+
+    /**
+     * Remove a foto
+     */
+    public boolean deleteById(String entidade, long id) {
+        return fotos.remove(chave(entidade, id)) != null;
+    }
+
+    private static String chave(String entidade, long id) {
+        return entidade + ":" + id;
+    }
+}
@@ -1,113 +1,126 @@
 package com.example.apitcc.repository;
 
 import com.example.apitcc.model.entity.Match;
+import com.example.apitcc.model.entity.StatusMatch;
+import com.example.apitcc.util.Paginacao;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Repository
 public class MatchRepository {
     
+    // Campos aceitos no parâmetro sort da listagem paginada
+    public static final Map<String, Function<Match, String>> CAMPOS_ORDENACAO = Map.of(
+            "id", match -> String.valueOf(match.getId()),
+            "status", match -> match.getStatus() != null ? match.getStatus().getCodigo() : null);
+    
+    private static final String INDICE_USUARIO = "idUsuario";
+    private static final String INDICE_TRABALHO = "idTrabalho";
+    private static final String INDICE_STATUS = "status";
+    // Par (usuário, trabalho): único, como ux_match_usuario_trabalho no banco
+    private static final String INDICE_USUARIO_TRABALHO = "usuarioTrabalho";
+    
+    // Armazenamento em memória (para desenvolvimento)
+    private final ArmazenamentoEmMemoria<Match> armazenamento = new ArmazenamentoEmMemoria<Match>()
+            .comIndice(INDICE_USUARIO, Match::getIdUsuario)
+            .comIndice(INDICE_TRABALHO, Match::getIdTrabalho)
+            .comIndice(INDICE_STATUS, Match::getStatus)
+            .comIndice(INDICE_USUARIO_TRABALHO, MatchRepository::parUsuarioTrabalho);
+    
     /**
      * Busca todos os matches
      */
     public List<Match> findAll() {
-        return Match.matches;
+        return armazenamento.listar();
+    }
+    
+    /**
+     * Busca uma página ordenada a partir do cursor (até limite + 1 itens)
+     */
+    public List<Match> findPagina(Paginacao.Consulta consulta) {
+        return Paginacao.paginar(armazenamento.listar(), consulta, CAMPOS_ORDENACAO.get(consulta.getCampo()), Match::getId);
     }
     
     /**
      * Busca match por ID
      */
-    public Optional<Match> findById(String id) {
-        return Match.matches.stream()
-                .filter(match -> match.getId().equals(id))
-                .findFirst();
+    public Optional<Match> findById(long id) {
+        return armazenamento.buscarPorId(id);
     }
     
     /**
      * Busca matches por ID do usuário
      */
-    public List<Match> findByIdUsuario(String idUsuario) {
-        return Match.matches.stream()
-                .filter(match -> match.getIdUsuario() != null && match.getIdUsuario().equals(idUsuario))
-                .collect(Collectors.toList());
+    public List<Match> findByIdUsuario(long idUsuario) {
+        return armazenamento.buscarPorIndice(INDICE_USUARIO, idUsuario);
     }
     
     /**
      * Busca matches por ID do trabalho
      */
-    public List<Match> findByIdTrabalho(String idTrabalho) {
-        return Match.matches.stream()
-                .filter(match -> match.getIdTrabalho() != null && match.getIdTrabalho().equals(idTrabalho))
-                .collect(Collectors.toList());
+    public List<Match> findByIdTrabalho(long idTrabalho) {
+        return armazenamento.buscarPorIndice(INDICE_TRABALHO, idTrabalho);
     }
     
     /**
      * Busca matches por status
      */
-    public List<Match> findByStatus(String status) {
-        return Match.matches.stream()
-                .filter(match -> match.getStatus() != null && 
-                        match.getStatus().toLowerCase().equals(status.toLowerCase()))
+    public List<Match> findByStatus(StatusMatch status) {
+        return armazenamento.buscarPorIndice(INDICE_STATUS, status);
+    }
+    
+    /**
+     * Busca matches cujo status pertence ao conjunto informado
+     */
+    public List<Match> findByStatusIn(Collection<StatusMatch> status) {
+        return status.stream()
+                .distinct()
+                .flatMap(s -> armazenamento.buscarPorIndice(INDICE_STATUS, s).stream())
+                .sorted(Comparator.comparingLong(Match::getId))
                 .collect(Collectors.toList());
     }
     
     /**
      * Busca matches por combinação usuário e trabalho
      */
-    public Optional<Match> findByIdUsuarioAndIdTrabalho(String idUsuario, String idTrabalho) {
-        return Match.matches.stream()
-                .filter(match -> match.getIdUsuario() != null && match.getIdUsuario().equals(idUsuario) &&
-                                match.getIdTrabalho() != null && match.getIdTrabalho().equals(idTrabalho))
-                .findFirst();
+    public Optional<Match> findByIdUsuarioAndIdTrabalho(long idUsuario, long idTrabalho) {
+        return armazenamento.buscarPrimeiroPorIndice(INDICE_USUARIO_TRABALHO, List.of(idUsuario, idTrabalho));
     }
     
     /**
      * Busca matches por faixa de avaliação
      */
-    public List<Match> findByAvaliacaoGreaterThanEqual(String avaliacaoMinima) {
-        return Match.matches.stream()
-                .filter(match -> {
-                    if (match.getAvaliacao() == null) return false;
-                    try {
-                        int avaliacaoMatch = Integer.parseInt(match.getAvaliacao());
-                        int avaliacaoMin = Integer.parseInt(avaliacaoMinima);
-                        return avaliacaoMatch >= avaliacaoMin;
-                    } catch (NumberFormatException e) {
-                        return false;
-                    }
-                })
+    public List<Match> findByAvaliacaoGreaterThanEqual(int avaliacaoMinima) {
+        return armazenamento.listar().stream()
+                .filter(match -> match.getAvaliacao() >= avaliacaoMinima)
                 .collect(Collectors.toList());
     }
     
     /**
      * Busca matches por faixa de horas trabalhadas
      */
-    public List<Match> findByHorasTrabalhasGreaterThanEqual(String horasMinimas) {
-        return Match.matches.stream()
-                .filter(match -> {
-                    if (match.getHorasTrabalhas() == null) return false;
-                    try {
-                        float horasMatch = Float.parseFloat(match.getHorasTrabalhas());
-                        float horasMin = Float.parseFloat(horasMinimas);
-                        return horasMatch >= horasMin;
-                    } catch (NumberFormatException e) {
-                        return false;
-                    }
-                })
+    public List<Match> findByHorasTrabalhasGreaterThanEqual(double horasMinimas) {
+        return armazenamento.listar().stream()
+                .filter(match -> match.getHorasTrabalhas() >= horasMinimas)
                 .collect(Collectors.toList());
     }
     
     /**
      * Busca matches entre datas
      */
-    public List<Match> findByDataMatchBetween(String dataInicio, String dataFim) {
-        return Match.matches.stream()
+    public List<Match> findByDataMatchBetween(LocalDate dataInicio, LocalDate dataFim) {
+        return armazenamento.listar().stream()
                 .filter(match -> match.getDataMatch() != null &&
-                                match.getDataMatch().compareTo(dataInicio) >= 0 &&
-                                match.getDataMatch().compareTo(dataFim) <= 0)
+                                !match.getDataMatch().isBefore(dataInicio) &&
+                                !match.getDataMatch().isAfter(dataFim))
                 .collect(Collectors.toList());
     }
     
@@ -115,118 +128,102 @@ public class MatchRepository {
      * Busca matches ativos (com status específicos)
      */
     public List<Match> findActiveMatches() {
-        return Match.matches.stream()
-                .filter(match -> match.getStatus() != null && 
-                        (match.getStatus().equalsIgnoreCase("ativo") || 
-                         match.getStatus().equalsIgnoreCase("em_andamento") ||
-                         match.getStatus().equalsIgnoreCase("pendente")))
-                .collect(Collectors.toList());
+        return findByStatusIn(StatusMatch.ATIVOS);
     }
     
     /**
      * Busca matches finalizados
      */
     public List<Match> findCompletedMatches() {
-        return Match.matches.stream()
-                .filter(match -> match.getStatus() != null && 
-                        (match.getStatus().equalsIgnoreCase("finalizado") || 
-                         match.getStatus().equalsIgnoreCase("concluido") ||
-                         match.getStatus().equalsIgnoreCase("terminado")))
-                .collect(Collectors.toList());
+        return findByStatusIn(StatusMatch.FINALIZADOS);
     }
     
     /**
-     * Salva um match (adiciona à lista)
+     * Salva um match (gera o ID se for novo e atualiza os índices)
      */
     public Match save(Match match) {
-        // Se é um novo match (sem ID ou ID novo)
-        if (match.getId() == null || match.getId().isEmpty()) {
-            match.setId(String.valueOf(Match.proximoId++));
-            Match.matches.add(match);
-        } else {
-            // Atualiza match existente
-            Optional<Match> existingMatch = findById(match.getId());
-            if (existingMatch.isPresent()) {
-                int index = Match.matches.indexOf(existingMatch.get());
-                Match.matches.set(index, match);
-            } else {
-                // Se não encontrou, adiciona como novo
-                Match.matches.add(match);
-            }
-        }
-        return match;
+        return armazenamento.salvar(match);
+    }
+    
+    /**
+     * Salva o match se nenhum outro tiver o mesmo usuário e trabalho (verificação e escrita atômicas)
+     * Retorna false, sem salvar, se o par já existir
+     */
+    public boolean saveSeParUnico(Match match) {
+        return armazenamento.salvarSeUnico(INDICE_USUARIO_TRABALHO, match);
     }
     
     /**
      * Deleta match por ID
      */
-    public boolean deleteById(String id) {
-        return Match.matches.removeIf(match -> match.getId().equals(id));
+    public boolean deleteById(long id) {
+        return armazenamento.remover(id);
     }
     
     /**
-     * Deleta todos os matches de um usuário
+     * Deleta todos os matches de um usuário (retorna os matches removidos)
      */
-    public boolean deleteByIdUsuario(String idUsuario) {
-        return Match.matches.removeIf(match -> match.getIdUsuario() != null && 
-                                              match.getIdUsuario().equals(idUsuario));
+    public List<Match> deleteByIdUsuario(long idUsuario) {
+        return armazenamento.removerPorIndice(INDICE_USUARIO, idUsuario);
     }
     
     /**
-     * Deleta todos os matches de um trabalho
+     * Deleta todos os matches de um trabalho (retorna os matches removidos)
      */
-    public boolean deleteByIdTrabalho(String idTrabalho) {
-        return Match.matches.removeIf(match -> match.getIdTrabalho() != null && 
-                                              match.getIdTrabalho().equals(idTrabalho));
+    public List<Match> deleteByIdTrabalho(long idTrabalho) {
+        return armazenamento.removerPorIndice(INDICE_TRABALHO, idTrabalho);
     }
     
     /**
      * Verifica se existe match com o ID
      */
-    public boolean existsById(String id) {
-        return Match.matches.stream()
-                .anyMatch(match -> match.getId().equals(id));
+    public boolean existsById(long id) {
+        return armazenamento.existe(id);
     }
     
     /**
      * Verifica se existe match entre usuário e trabalho
      */
-    public boolean existsByIdUsuarioAndIdTrabalho(String idUsuario, String idTrabalho) {
-        return Match.matches.stream()
-                .anyMatch(match -> match.getIdUsuario() != null && match.getIdUsuario().equals(idUsuario) &&
-                                  match.getIdTrabalho() != null && match.getIdTrabalho().equals(idTrabalho));
+    public boolean existsByIdUsuarioAndIdTrabalho(long idUsuario, long idTrabalho) {
+        return findByIdUsuarioAndIdTrabalho(idUsuario, idTrabalho).isPresent();
     }
     
     /**
      * Conta total de matches
      */
     public long count() {
-        return Match.matches.size();
+        return armazenamento.contar();
+    }
+    
+    /**
+     * Versão dos dados (muda a cada alteração), usada nos ETags
+     */
+    public long versao() {
+        return armazenamento.versao();
     }
     
     /**
      * Conta matches de um usuário
      */
-    public long countByIdUsuario(String idUsuario) {
-        return Match.matches.stream()
-                .filter(match -> match.getIdUsuario() != null && match.getIdUsuario().equals(idUsuario))
-                .count();
+    public long countByIdUsuario(long idUsuario) {
+        return armazenamento.contarPorIndice(INDICE_USUARIO, idUsuario);
     }
     
     /**
      * Conta matches de um trabalho
      */
-    public long countByIdTrabalho(String idTrabalho) {
-        return Match.matches.stream()
-                .filter(match -> match.getIdTrabalho() != null && match.getIdTrabalho().equals(idTrabalho))
-                .count();
+    public long countByIdTrabalho(long idTrabalho) {
+        return armazenamento.contarPorIndice(INDICE_TRABALHO, idTrabalho);
     }
     
     /**
      * Deleta todos os matches (usado para testes)
      */
     public void deleteAll() {
-        Match.matches.clear();
-        Match.proximoId = 1; // Reset do contador
+        armazenamento.limpar(); // Limpa registros, índices e o contador de IDs
+    }
+    
+    private static List<Long> parUsuarioTrabalho(Match match) {
+        return List.of(match.getIdUsuario(), match.getIdTrabalho());
     }
 }
\ No newline at end of file
@@ -1,75 +1,105 @@
 package com.example.apitcc.repository;
 
 import com.example.apitcc.model.entity.Trabalho;
+import com.example.apitcc.util.BuscaTexto;
+import com.example.apitcc.util.Paginacao;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Repository
 public class TrabalhoRepository {
     
+    // Campos aceitos no parâmetro sort da listagem paginada
+    public static final Map<String, Function<Trabalho, String>> CAMPOS_ORDENACAO = Map.of(
+            "id", trabalho -> String.valueOf(trabalho.getId()),
+            "nomeEmpresa", Trabalho::getNomeEmpresa,
+            "tipoTrabalho", Trabalho::getTipoTrabalho);
+    
+    private static final String INDICE_EMPRESA = "idEmpresa";
+    private static final String INDICE_TIPO = "tipoTrabalho";
+    private static final String INDICE_HABILIDADES = "habilidadesNecessarias";
+    
+    // Campos da busca textual e seus pesos (mesmos rótulos A, B e C da coluna "busca_Trabalho" no banco)
+    private static final List<BuscaTexto.Campo<Trabalho>> CAMPOS_BUSCA = List.of(
+            new BuscaTexto.Campo<>(Trabalho::getDescricaoTrabalho, BuscaTexto.PESO_A),
+            new BuscaTexto.Campo<>(Trabalho::getHabilidadesNecessarias, BuscaTexto.PESO_B),
+            new BuscaTexto.Campo<>(Trabalho::getTipoTrabalho, BuscaTexto.PESO_C));
+    
+    // Armazenamento em memória (para desenvolvimento)
+    private final ArmazenamentoEmMemoria<Trabalho> armazenamento = new ArmazenamentoEmMemoria<Trabalho>()
+            .comIndice(INDICE_EMPRESA, Trabalho::getIdEmpresa)
+            .comIndiceTexto(INDICE_TIPO, Trabalho::getTipoTrabalho)
+            .comIndiceTexto(INDICE_HABILIDADES, Trabalho::getHabilidadesNecessarias);
+    
     /**
      * Busca todos os trabalhos
      */
     public List<Trabalho> findAll() {
-        return Trabalho.trabalhos;
+        return armazenamento.listar();
+    }
+    
+    /**
+     * Busca uma página ordenada a partir do cursor (até limite + 1 itens)
+     */
+    public List<Trabalho> findPagina(Paginacao.Consulta consulta) {
+        return Paginacao.paginar(armazenamento.listar(), consulta, CAMPOS_ORDENACAO.get(consulta.getCampo()), Trabalho::getId);
+    }
+    
+    /**
+     * Busca textual por relevância a partir do cursor (até limite + 1 itens)
+     */
+    public List<BuscaTexto.Resultado<Trabalho>> buscarTexto(String q, Paginacao.Consulta consulta) {
+        return BuscaTexto.buscar(armazenamento.listar(), q, consulta, CAMPOS_BUSCA, Trabalho::getId);
     }
     
     /**
      * Busca trabalho por ID
      */
-    public Optional<Trabalho> findById(String id) {
-        return Trabalho.trabalhos.stream()
-                .filter(trabalho -> trabalho.getId().equals(id))
-                .findFirst();
+    public Optional<Trabalho> findById(long id) {
+        return armazenamento.buscarPorId(id);
     }
     
     /**
      * Busca trabalhos por ID da empresa
      */
-    public List<Trabalho> findByIdEmpresa(String idEmpresa) {
-        return Trabalho.trabalhos.stream()
-                .filter(trabalho -> trabalho.getIdEmpresa() != null && trabalho.getIdEmpresa().equals(idEmpresa))
-                .collect(Collectors.toList());
+    public List<Trabalho> findByIdEmpresa(long idEmpresa) {
+        return armazenamento.buscarPorIndice(INDICE_EMPRESA, idEmpresa);
     }
     
     /**
      * Busca trabalhos por nome da empresa
      */
     public List<Trabalho> findByNomeEmpresaContaining(String nomeEmpresa) {
-        return Trabalho.trabalhos.stream()
+        return armazenamento.listar().stream()
                 .filter(trabalho -> trabalho.getNomeEmpresa() != null && 
                         trabalho.getNomeEmpresa().toLowerCase().contains(nomeEmpresa.toLowerCase()))
                 .collect(Collectors.toList());
     }
     
     /**
-     * Busca trabalhos por tipo de trabalho
+     * Busca trabalhos por tipo de trabalho (contém, sem acento e sem caixa)
      */
     public List<Trabalho> findByTipoTrabalhoContaining(String tipoTrabalho) {
-        return Trabalho.trabalhos.stream()
-                .filter(trabalho -> trabalho.getTipoTrabalho() != null && 
-                        trabalho.getTipoTrabalho().toLowerCase().contains(tipoTrabalho.toLowerCase()))
-                .collect(Collectors.toList());
+        return armazenamento.buscarPorTexto(INDICE_TIPO, tipoTrabalho);
     }
     
     /**
-     * Busca trabalhos por habilidades necessárias
+     * Busca trabalhos por habilidades necessárias (contém, sem acento e sem caixa)
      */
     public List<Trabalho> findByHabilidadesNecessariasContaining(String habilidade) {
-        return Trabalho.trabalhos.stream()
-                .filter(trabalho -> trabalho.getHabilidadesNecessarias() != null && 
-                        trabalho.getHabilidadesNecessarias().toLowerCase().contains(habilidade.toLowerCase()))
-                .collect(Collectors.toList());
+        return armazenamento.buscarPorTexto(INDICE_HABILIDADES, habilidade);
     }
     
     /**
      * Busca trabalhos por descrição
      */
     public List<Trabalho> findByDescricaoTrabalhoContaining(String descricao) {
-        return Trabalho.trabalhos.stream()
+        return armazenamento.listar().stream()
                 .filter(trabalho -> trabalho.getDescricaoTrabalho() != null && 
                         trabalho.getDescricaoTrabalho().toLowerCase().contains(descricao.toLowerCase()))
                 .collect(Collectors.toList());
@@ -78,95 +108,72 @@ public class TrabalhoRepository {
     /**
      * Busca trabalhos com quantidade de vagas maior ou igual
      */
-    public List<Trabalho> findByQuantidadeDeVagasGreaterThanEqual(String quantidadeMinima) {
-        return Trabalho.trabalhos.stream()
-                .filter(trabalho -> {
-                    if (trabalho.getQuantidadeDeVagas() == null) return false;
-                    try {
-                        int vagasTrabalho = Integer.parseInt(trabalho.getQuantidadeDeVagas());
-                        int vagasMinimas = Integer.parseInt(quantidadeMinima);
-                        return vagasTrabalho >= vagasMinimas;
-                    } catch (NumberFormatException e) {
-                        return false;
-                    }
-                })
+    public List<Trabalho> findByQuantidadeDeVagasGreaterThanEqual(int quantidadeMinima) {
+        return armazenamento.listar().stream()
+                .filter(trabalho -> trabalho.getQuantidadeDeVagas() >= quantidadeMinima)
                 .collect(Collectors.toList());
     }
     
     /**
-     * Salva um trabalho (adiciona à lista)
+     * Salva um trabalho (gera o ID se for novo e atualiza os índices)
      */
     public Trabalho save(Trabalho trabalho) {
-        // Se é um novo trabalho (sem ID ou ID novo)
-        if (trabalho.getId() == null || trabalho.getId().isEmpty()) {
-            trabalho.setId(String.valueOf(Trabalho.proximoId++));
-            Trabalho.trabalhos.add(trabalho);
-        } else {
-            // Atualiza trabalho existente
-            Optional<Trabalho> existingTrabalho = findById(trabalho.getId());
-            if (existingTrabalho.isPresent()) {
-                int index = Trabalho.trabalhos.indexOf(existingTrabalho.get());
-                Trabalho.trabalhos.set(index, trabalho);
-            } else {
-                // Se não encontrou, adiciona como novo
-                Trabalho.trabalhos.add(trabalho);
-            }
-        }
-        return trabalho;
+        return armazenamento.salvar(trabalho);
     }
     
     /**
      * Deleta trabalho por ID
      */
-    public boolean deleteById(String id) {
-        return Trabalho.trabalhos.removeIf(trabalho -> trabalho.getId().equals(id));
+    public boolean deleteById(long id) {
+        return armazenamento.remover(id);
     }
     
     /**
-     * Deleta todos os trabalhos de uma empresa
+     * Deleta todos os trabalhos de uma empresa (retorna a quantidade removida)
      */
-    public boolean deleteByIdEmpresa(String idEmpresa) {
-        return Trabalho.trabalhos.removeIf(trabalho -> trabalho.getIdEmpresa() != null && 
-                                                      trabalho.getIdEmpresa().equals(idEmpresa));
+    public int deleteByIdEmpresa(long idEmpresa) {
+        return armazenamento.removerPorIndice(INDICE_EMPRESA, idEmpresa).size();
     }
     
     /**
      * Verifica se existe trabalho com o ID
      */
-    public boolean existsById(String id) {
-        return Trabalho.trabalhos.stream()
-                .anyMatch(trabalho -> trabalho.getId().equals(id));
+    public boolean existsById(long id) {
+        return armazenamento.existe(id);
     }
     
     /**
      * Verifica se existe trabalho para a empresa
      */
-    public boolean existsByIdEmpresa(String idEmpresa) {
-        return Trabalho.trabalhos.stream()
-                .anyMatch(trabalho -> trabalho.getIdEmpresa() != null && trabalho.getIdEmpresa().equals(idEmpresa));
+    public boolean existsByIdEmpresa(long idEmpresa) {
+        return armazenamento.existePorIndice(INDICE_EMPRESA, idEmpresa);
     }
     
     /**
      * Conta total de trabalhos
      */
     public long count() {
-        return Trabalho.trabalhos.size();
+        return armazenamento.contar();
+    }
+    
+    /**
+     * Versão dos dados (muda a cada alteração), usada nos ETags
+     */
+    public long versao() {
+        return armazenamento.versao();
     }
     
     /**
      * Conta trabalhos de uma empresa
      */
-    public long countByIdEmpresa(String idEmpresa) {
-        return Trabalho.trabalhos.stream()
-                .filter(trabalho -> trabalho.getIdEmpresa() != null && trabalho.getIdEmpresa().equals(idEmpresa))
-                .count();
+    public long countByIdEmpresa(long idEmpresa) {
+        return armazenamento.contarPorIndice(INDICE_EMPRESA, idEmpresa);
     }
     
     /**
      * Deleta todos os trabalhos (usado para testes)
      */
     public void deleteAll() {
-        Trabalho.trabalhos.clear();
-        Trabalho.proximoId = 1; // Reset do contador
+        armazenamento.limpar(); // Limpa registros, índices e o contador de IDs
     }
 }
\ No newline at end of file
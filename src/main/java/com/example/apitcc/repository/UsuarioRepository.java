@@ -1,152 +1,146 @@
 package com.example.apitcc.repository;
 
 import com.example.apitcc.model.entity.Usuario;
+import com.example.apitcc.util.Paginacao;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Repository
 public class UsuarioRepository {
     
+    // Campos aceitos no parâmetro sort da listagem paginada
+    public static final Map<String, Function<Usuario, String>> CAMPOS_ORDENACAO = Map.of(
+            "id", usuario -> String.valueOf(usuario.getId()),
+            "nome", Usuario::getNome);
+    
+    private static final String INDICE_EMAIL = "email";
+    private static final String INDICE_TELEFONE = "telefone";
+    private static final String INDICE_NOME = "nome";
+    private static final String INDICE_HABILIDADES = "habilidades";
+    
+    // Armazenamento em memória (para desenvolvimento)
+    private final ArmazenamentoEmMemoria<Usuario> armazenamento = new ArmazenamentoEmMemoria<Usuario>()
+            .comIndice(INDICE_EMAIL, Usuario::getEmail)
+            .comIndice(INDICE_TELEFONE, Usuario::getTelefone)
+            .comIndiceTexto(INDICE_NOME, Usuario::getNome)
+            .comIndiceTexto(INDICE_HABILIDADES, Usuario::getHabilidades);
+    
     /**
      * Busca todos os usuários
      */
     public List<Usuario> findAll() {
-        return Usuario.usuarios;
+        return armazenamento.listar();
+    }
+    
+    /**
+     * Busca uma página ordenada a partir do cursor (até limite + 1 itens)
+     */
+    public List<Usuario> findPagina(Paginacao.Consulta consulta) {
+        return Paginacao.paginar(armazenamento.listar(), consulta, CAMPOS_ORDENACAO.get(consulta.getCampo()), Usuario::getId);
     }
     
     /**
      * Busca usuário por ID
      */
-    public Optional<Usuario> findById(String id) {
-        return Usuario.usuarios.stream()
-                .filter(usuario -> usuario.getId().equals(id))
-                .findFirst();
+    public Optional<Usuario> findById(long id) {
+        return armazenamento.buscarPorId(id);
     }
     
     /**
      * Busca usuário por email
      */
     public Optional<Usuario> findByEmail(String email) {
-        return Usuario.usuarios.stream()
-                .filter(usuario -> usuario.getEmail() != null && usuario.getEmail().equals(email))
-                .findFirst();
+        return armazenamento.buscarPrimeiroPorIndice(INDICE_EMAIL, email);
     }
     
     /**
-     * Busca usuários por habilidades
+     * Busca usuários por habilidades (contém, sem acento e sem caixa)
      */
     public List<Usuario> findByHabilidadesContaining(String habilidade) {
-        return Usuario.usuarios.stream()
-                .filter(usuario -> usuario.getHabilidades() != null && 
-                        usuario.getHabilidades().toLowerCase().contains(habilidade.toLowerCase()))
-                .collect(Collectors.toList());
+        return armazenamento.buscarPorTexto(INDICE_HABILIDADES, habilidade);
     }
     
     /**
-     * Busca usuários por nome
+     * Busca usuários por nome (contém, sem acento e sem caixa)
      */
     public List<Usuario> findByNomeContaining(String nome) {
-        return Usuario.usuarios.stream()
-                .filter(usuario -> usuario.getNome() != null && 
-                        usuario.getNome().toLowerCase().contains(nome.toLowerCase()))
-                .collect(Collectors.toList());
+        return armazenamento.buscarPorTexto(INDICE_NOME, nome);
     }
     
     /**
      * Busca usuários por telefone
      */
     public Optional<Usuario> findByTelefone(String telefone) {
-        return Usuario.usuarios.stream()
-                .filter(usuario -> usuario.getTelefone() != null && usuario.getTelefone().equals(telefone))
-                .findFirst();
+        return armazenamento.buscarPrimeiroPorIndice(INDICE_TELEFONE, telefone);
     }
     
     /**
      * Busca usuários por faixa de horas disponíveis
      */
-    public List<Usuario> findByHorasGreaterThanEqual(String horasMinimas) {
-        return Usuario.usuarios.stream()
-                .filter(usuario -> {
-                    if (usuario.getHoras() == null) return false;
-                    try {
-                        float userHours = Float.parseFloat(usuario.getHoras());
-                        float minHours = Float.parseFloat(horasMinimas);
-                        return userHours >= minHours;
-                    } catch (NumberFormatException e) {
-                        return false;
-                    }
-                })
+    public List<Usuario> findByHorasGreaterThanEqual(double horasMinimas) {
+        return armazenamento.listar().stream()
+                .filter(usuario -> usuario.getHoras() >= horasMinimas)
                 .collect(Collectors.toList());
     }
     
     /**
-     * Salva um usuário (adiciona à lista)
+     * Salva um usuário (gera o ID se for novo e atualiza os índices)
      */
     public Usuario save(Usuario usuario) {
-        // Se é um novo usuário (sem ID ou ID novo)
-        if (usuario.getId() == null || usuario.getId().isEmpty()) {
-            usuario.setId(String.valueOf(Usuario.proximoId++));
-            Usuario.usuarios.add(usuario);
-        } else {
-            // Atualiza usuário existente
-            Optional<Usuario> existingUsuario = findById(usuario.getId());
-            if (existingUsuario.isPresent()) {
-                int index = Usuario.usuarios.indexOf(existingUsuario.get());
-                Usuario.usuarios.set(index, usuario);
-            } else {
-                // Se não encontrou, adiciona como novo
-                Usuario.usuarios.add(usuario);
-            }
-        }
-        return usuario;
+        return armazenamento.salvar(usuario);
     }
     
     /**
      * Deleta usuário por ID
      */
-    public boolean deleteById(String id) {
-        return Usuario.usuarios.removeIf(usuario -> usuario.getId().equals(id));
+    public boolean deleteById(long id) {
+        return armazenamento.remover(id);
     }
     
     /**
      * Verifica se existe usuário com o ID
      */
-    public boolean existsById(String id) {
-        return Usuario.usuarios.stream()
-                .anyMatch(usuario -> usuario.getId().equals(id));
+    public boolean existsById(long id) {
+        return armazenamento.existe(id);
     }
     
     /**
      * Verifica se existe usuário com o email
      */
     public boolean existsByEmail(String email) {
-        return Usuario.usuarios.stream()
-                .anyMatch(usuario -> usuario.getEmail() != null && usuario.getEmail().equals(email));
+        return armazenamento.existePorIndice(INDICE_EMAIL, email);
     }
     
     /**
      * Verifica se existe usuário com o telefone
      */
     public boolean existsByTelefone(String telefone) {
-        return Usuario.usuarios.stream()
-                .anyMatch(usuario -> usuario.getTelefone() != null && usuario.getTelefone().equals(telefone));
+        return armazenamento.existePorIndice(INDICE_TELEFONE, telefone);
     }
     
     /**
      * Conta total de usuários
      */
     public long count() {
-        return Usuario.usuarios.size();
+        return armazenamento.contar();
+    }
+    
+    /**
+     * Versão dos dados (muda a cada alteração), usada nos ETags
+     */
+    public long versao() {
+        return armazenamento.versao();
     }
     
     /**
      * Deleta todos os usuários (usado para testes)
      */
     public void deleteAll() {
-        Usuario.usuarios.clear();
-        Usuario.proximoId = 1; // Reset do contador
+        armazenamento.limpar(); // Limpa registros, índices e o contador de IDs
     }
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.example.apitcc.service;
+
+import com.example.apitcc.config.DatabaseConfig;
+import com.example.apitcc.exception.BadRequestException;
+import com.example.apitcc.exception.UnauthorizedException;
+import com.example.apitcc.model.dto.LoginDTO;
+import com.example.apitcc.model.dto.SessaoDTO;
+import com.example.apitcc.model.entity.Empresa;
+import com.example.apitcc.model.entity.Usuario;
+import com.example.apitcc.repository.EmpresaRepository;
+import com.example.apitcc.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Login de usuários e empresas (POST /api/auth/login) e migração das senhas em texto puro
+ *
+ * O login consulta o banco uma vez e devolve um token assinado (TokenService); as requisições
+ * seguintes são autenticadas só pelo token (AutenticacaoInterceptor)
+ */
+@Service
+public class AuthService {
+
+    // Linhas por rodada da migração de senhas
+    private static final int LOTE_MIGRACAO = 500;
+
+    @Autowired(required = false)
+    private DatabaseConfig.DatabaseOperations databaseOperations;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private SenhaService senhaService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    public SessaoDTO login(LoginDTO login) {
+        if (login == null || login.getEmail() == null || login.getEmail().trim().isEmpty()) {
+            throw new BadRequestException("Email é obrigatório");
+        }
+        if (login.getSenha() == null || login.getSenha().isEmpty()) {
+            throw new BadRequestException("Senha é obrigatória");
+        }
+        String tipo = login.getTipo() != null ? login.getTipo().trim().toLowerCase(Locale.ROOT) : "";
+        if (!TokenService.TIPOS.contains(tipo)) {
+            throw new BadRequestException("Tipo inválido: use usuario ou empresa");
+        }
+        String email = login.getEmail().trim();
+
+        if (TokenService.USUARIO.equals(tipo)) {
+            Optional<Usuario> usuario = databaseOperations != null
+                    ? databaseOperations.findUsuarioByEmail(email) // Produção: PostgreSQL
+                    : usuarioRepository.findByEmail(email); // Desenvolvimento: Memória
+            String armazenada = usuario.map(Usuario::getSenha).orElse(null);
+            // Confere mesmo sem cadastro: o tempo de resposta é o mesmo nos dois casos
+            if (!senhaService.confere(login.getSenha(), armazenada) || usuario.isEmpty()) {
+                throw new UnauthorizedException("Email ou senha inválidos");
+            }
+            if (senhaService.precisaAtualizar(armazenada)) {
+                atualizarSenhaUsuario(usuario.get(), senhaService.gerarHash(login.getSenha()));
+            }
+            return tokenService.emitir(tipo, usuario.get().getId());
+        }
+
+        Optional<Empresa> empresa = databaseOperations != null
+                ? databaseOperations.findEmpresaByEmail(email) // Produção: PostgreSQL
+                : empresaRepository.findByEmail(email); // Desenvolvimento: Memória
+        String armazenada = empresa.map(Empresa::getSenha).orElse(null);
+        if (!senhaService.confere(login.getSenha(), armazenada) || empresa.isEmpty()) {
+            throw new UnauthorizedException("Email ou senha inválidos");
+        }
+        if (senhaService.precisaAtualizar(armazenada)) {
+            atualizarSenhaEmpresa(empresa.get(), senhaService.gerarHash(login.getSenha()));
+        }
+        return tokenService.emitir(tipo, empresa.get().getId());
+    }
+
+    /**
+     * Sessão do token da requisição (preenchida pelo AutenticacaoInterceptor)
+     */
+    public SessaoDTO sessaoAtual(SessaoDTO sessao) {
+        if (sessao == null) {
+            throw new UnauthorizedException("Token ausente (Authorization: Bearer <token>)");
+        }
+        return sessao;
+    }
+
+    /**
+     * Regrava com hash todas as senhas em texto puro, em lotes (só produção)
+     * Pode ser executada de novo: as linhas já migradas não são lidas
+     */
+    public Map<String, Integer> migrarSenhasLegadas() {
+        Map<String, Integer> migradas = new LinkedHashMap<>();
+        if (databaseOperations == null) {
+            // Desenvolvimento: Memória - nada persiste entre execuções; o login já regrava as senhas
+            return migradas;
+        }
+        migradas.put("usuarios", migrar(databaseOperations::findSenhasLegadasUsuarios,
+                databaseOperations::updateSenhasUsuariosMigradas));
+        migradas.put("empresas", migrar(databaseOperations::findSenhasLegadasEmpresas,
+                databaseOperations::updateSenhasEmpresasMigradas));
+        return migradas;
+    }
+
+    private int migrar(BiFunction<Long, Integer, Map<Long, String>> buscar,
+                       BiFunction<Map<Long, String>, Map<Long, String>, Integer> gravar) {
+        int total = 0;
+        long afterId = 0;
+        Map<Long, String> legadas;
+        while (!(legadas = buscar.apply(afterId, LOTE_MIGRACAO)).isEmpty()) {
+            List<Long> ids = new ArrayList<>(legadas.keySet());
+            List<String> hashes = senhaService.gerarHashes(new ArrayList<>(legadas.values()));
+
+            Map<Long, String> hashesPorId = new LinkedHashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                hashesPorId.put(ids.get(i), hashes.get(i));
+            }
+            total += gravar.apply(legadas, hashesPorId);
+            afterId = ids.get(ids.size() - 1);
+        }
+        return total;
+    }
+
+    private void atualizarSenhaUsuario(Usuario usuario, String hash) {
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL
+            databaseOperations.updateSenhaUsuario(usuario.getId(), hash);
+        } else {
+            // Desenvolvimento: Memória
+            usuario.setSenha(hash);
+            usuarioRepository.save(usuario);
+        }
+    }
+
+    private void atualizarSenhaEmpresa(Empresa empresa, String hash) {
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL
+            databaseOperations.updateSenhaEmpresa(empresa.getId(), hash);
+        } else {
+            // Desenvolvimento: Memória
+            empresa.setSenha(hash);
+            empresaRepository.save(empresa);
+        }
+    }
+}
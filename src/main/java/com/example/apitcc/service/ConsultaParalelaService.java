@@ -0,0 +1,86 @@
+package com.example.apitcc.service;
+
+import com.example.apitcc.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Consultas independentes de uma mesma requisição executadas em paralelo (ex.: match, usuário e
+ * trabalho no atualizarMatch): a latência fica a da consulta mais lenta, não a soma
+ *
+ * Pool próprio e limitado (app.consultas-paralelas.*), menor que o pool interativo do Hikari para
+ * uma requisição não ocupar todas as conexões. Com o pool e a fila cheios a consulta roda na própria
+ * thread da requisição (volta a ser sequencial, sem erro). Métricas em executor.*{name=consultas-paralelas}
+ *
+ * Tempo esgotado: a tarefa é cancelada com interrupção (libera a thread que espera conexão no Hikari)
+ * e a consulta já em execução é cancelada no banco pelo query timeout do pool interativo
+ * (app.datasource.interativo.query-timeout, ver DatabaseConfig)
+ */
+@Service
+public class ConsultaParalelaService {
+
+    private final ExecutorService executor;
+    private final Duration espera;
+
+    public ConsultaParalelaService(Environment environment, MeterRegistry meterRegistry) {
+        int threads = environment.getProperty("app.consultas-paralelas.threads", Integer.class, 4);
+        this.espera = environment.getProperty("app.consultas-paralelas.espera", Duration.class, Duration.ofSeconds(10));
+
+        CustomizableThreadFactory fabrica = new CustomizableThreadFactory("consulta-paralela-");
+        fabrica.setDaemon(true);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(environment.getProperty("app.consultas-paralelas.fila", Integer.class, 32)),
+                fabrica, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "consultas-paralelas");
+    }
+
+    /**
+     * Inicia a consulta no pool; o resultado é lido com aguardar
+     * (FutureTask: ao contrário do CompletableFuture, cancel(true) interrompe a thread que executa a consulta)
+     */
+    public <T> Future<T> iniciar(Supplier<T> consulta) {
+        return executor.submit(consulta::get);
+    }
+
+    /**
+     * Resultado da consulta; a exceção lançada nela (BadRequestException, ResourceNotFoundException,
+     * DataAccessException...) é relançada como veio, e o tempo esgotado vira 503
+     */
+    public <T> T aguardar(Future<T> futuro) {
+        try {
+            return futuro.get(espera.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException erro) {
+                throw erro;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException | CancellationException e) {
+            futuro.cancel(true);
+            throw new ServiceUnavailableException("Tempo esgotado nas consultas ao banco", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuro.cancel(true);
+            throw new ServiceUnavailableException("Consulta interrompida", e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -1,16 +1,35 @@
 package com.example.apitcc.service;
 
 import com.example.apitcc.config.DatabaseConfig;
+import com.example.apitcc.config.VersaoTabelas;
 import com.example.apitcc.model.dto.EmpresaDTO;
+import com.example.apitcc.model.dto.ImpactoEmpresaDTO;
+import com.example.apitcc.model.dto.PaginaDTO;
 import com.example.apitcc.model.entity.Empresa;
+import com.example.apitcc.model.entity.Foto;
 import com.example.apitcc.model.entity.ItemBase;
+import com.example.apitcc.model.entity.Match;
+import com.example.apitcc.model.entity.StatusMatch;
+import com.example.apitcc.model.entity.Trabalho;
+import com.example.apitcc.repository.EmpresaRepository;
+import com.example.apitcc.repository.MatchRepository;
+import com.example.apitcc.repository.TrabalhoRepository;
 import com.example.apitcc.exception.ResourceNotFoundException;
 import com.example.apitcc.exception.BadRequestException;
+import com.example.apitcc.util.ModelMapper;
+import com.example.apitcc.util.Paginacao;
+import com.example.apitcc.util.Projecao;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.regex.Pattern;
 
@@ -20,6 +39,27 @@ public class EmpresaService {
     @Autowired(required = false)
     private DatabaseConfig.DatabaseOperations databaseOperations;
 
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private TrabalhoRepository trabalhoRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private RecomendacaoService recomendacaoService;
+
+    @Autowired
+    private FotoService fotoService;
+
+    @Autowired
+    private SenhaService senhaService;
+
     // Regex para validaÃ§Ã£o de email
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
 
@@ -27,29 +67,65 @@ public class EmpresaService {
         if (databaseOperations != null) {
             // ProduÃ§Ã£o: PostgreSQL
             return databaseOperations.findAllEmpresas().stream()
-                    .map(this::convertToDTO)
+                    .map(ModelMapper::toEmpresaDTO)
                     .collect(Collectors.toList());
         } else {
             // Desenvolvimento: MemÃ³ria
-            return Empresa.empresas.stream()
-                    .map(this::convertToDTO)
+            return empresaRepository.findAll().stream()
+                    .map(ModelMapper::toEmpresaDTO)
                     .collect(Collectors.toList());
         }
     }
 
+    /**
+     * Versão dos dados de empresas para o ETag das leituras (não consulta o banco)
+     */
+    public long versaoEmpresas() {
+        if (databaseOperations != null) {
+            return versaoTabelas.versao(VersaoTabelas.Tabela.EMPRESAS);
+        } else {
+            return empresaRepository.versao();
+        }
+    }
+
+    public PaginaDTO<EmpresaDTO> listarEmpresasPaginado(Integer limit, String after, String sort, Projecao projecao) {
+        Paginacao.Consulta consulta = Paginacao.criarConsulta(limit, after, sort,
+                EmpresaRepository.CAMPOS_ORDENACAO.keySet());
+        List<Empresa> resultado;
+
+        if (databaseOperations != null) {
+            resultado = databaseOperations.findEmpresasPagina(consulta, projecao);
+        } else {
+            resultado = empresaRepository.findPagina(consulta);
+        }
+
+        return Paginacao.montarPagina(resultado, consulta,
+                EmpresaRepository.CAMPOS_ORDENACAO.get(consulta.getCampo()), Empresa::getId, ModelMapper::toEmpresaDTO);
+    }
+
+    public void exportarEmpresas(Consumer<EmpresaDTO> consumidor) {
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL - cursor no servidor, linha a linha
+            databaseOperations.streamEmpresas(e -> consumidor.accept(ModelMapper.toEmpresaDTO(e)));
+        } else {
+            // Desenvolvimento: Memória
+            empresaRepository.findAll().forEach(e -> consumidor.accept(ModelMapper.toEmpresaDTO(e)));
+        }
+    }
+
     public EmpresaDTO buscarEmpresaPorId(String id) {
+        long idEmpresa = ModelMapper.converterIdObrigatorio(id);
+
         if (databaseOperations != null) {
             // ProduÃ§Ã£o: PostgreSQL
-            Empresa empresa = databaseOperations.findEmpresaById(id)
+            Empresa empresa = databaseOperations.findEmpresaById(idEmpresa)
                     .orElseThrow(() -> new ResourceNotFoundException("Empresa nÃ£o encontrada com ID: " + id));
-            return convertToDTO(empresa);
+            return ModelMapper.toEmpresaDTO(empresa);
         } else {
             // Desenvolvimento: MemÃ³ria
-            Empresa empresa = Empresa.empresas.stream()
-                    .filter(e -> e.getId().equals(id))
-                    .findFirst()
+            Empresa empresa = empresaRepository.findById(idEmpresa)
                     .orElseThrow(() -> new ResourceNotFoundException("Empresa nÃ£o encontrada com ID: " + id));
-            return convertToDTO(empresa);
+            return ModelMapper.toEmpresaDTO(empresa);
         }
     }
 
@@ -75,28 +151,26 @@ public class EmpresaService {
                     empresaDTO.getEndereco() != null ? empresaDTO.getEndereco() : "",
                     empresaDTO.getAreaAtuacao() != null ? empresaDTO.getAreaAtuacao() : "",
                     empresaDTO.getPublicoAlvo() != null ? empresaDTO.getPublicoAlvo() : "",
-                    empresaDTO.getSenha(),
+                    senhaService.gerarHash(empresaDTO.getSenha()),
                     empresaDTO.getFoto() != null ? empresaDTO.getFoto() : "",
                     ItemBase.getCurrentDateTime());
 
             Empresa empresaSalva = databaseOperations.saveEmpresa(empresa);
-            return convertToDTO(empresaSalva);
+            return ModelMapper.toEmpresaDTO(empresaSalva);
 
         } else {
             // Desenvolvimento: MemÃ³ria
             // Verificar se email jÃ¡ existe
-            boolean emailExiste = Empresa.empresas.stream()
-                    .anyMatch(e -> e.getEmail() != null && e.getEmail().equals(empresaDTO.getEmail()));
+            boolean emailExiste = empresaRepository.existsByEmail(empresaDTO.getEmail());
 
             if (emailExiste) {
                 throw new BadRequestException("Email jÃ¡ cadastrado no sistema");
             }
 
-            String id = String.valueOf(Empresa.proximoId++);
-            String dataCadastro = ItemBase.getCurrentDateTime();
+            LocalDateTime dataCadastro = ItemBase.getCurrentDateTime();
 
             Empresa empresa = new Empresa(
-                    id,
+                    null, // ID será gerado pelo repository
                     empresaDTO.getDescricao() != null ? empresaDTO.getDescricao() : "",
                     empresaDTO.getNome(),
                     empresaDTO.getEmail(),
@@ -105,19 +179,22 @@ public class EmpresaService {
                     empresaDTO.getEndereco() != null ? empresaDTO.getEndereco() : "",
                     empresaDTO.getAreaAtuacao() != null ? empresaDTO.getAreaAtuacao() : "",
                     empresaDTO.getPublicoAlvo() != null ? empresaDTO.getPublicoAlvo() : "",
-                    empresaDTO.getSenha(),
+                    senhaService.gerarHash(empresaDTO.getSenha()),
                     empresaDTO.getFoto() != null ? empresaDTO.getFoto() : "",
                     dataCadastro);
 
-            Empresa.empresas.add(empresa);
-            return convertToDTO(empresa);
+            Empresa empresaSalva = empresaRepository.save(empresa);
+            return ModelMapper.toEmpresaDTO(empresaSalva);
         }
     }
 
     public EmpresaDTO atualizarEmpresa(String id, EmpresaDTO empresaDTO) {
+        long idEmpresa = ModelMapper.converterIdObrigatorio(id);
+
         if (databaseOperations != null) {
             // ProduÃ§Ã£o: PostgreSQL
-            Empresa empresaExistente = databaseOperations.findEmpresaById(id)
+            Empresa empresaExistente = databaseOperations.findEmpresaById(idEmpresa)
+                    .map(Empresa::copiar)
                     .orElseThrow(() -> new ResourceNotFoundException("Empresa nÃ£o encontrada com ID: " + id));
 
             // Validar email se fornecido
@@ -127,7 +204,7 @@ public class EmpresaService {
                 }
 
                 Optional<Empresa> empresaComEmail = databaseOperations.findEmpresaByEmail(empresaDTO.getEmail());
-                if (empresaComEmail.isPresent() && !empresaComEmail.get().getId().equals(id)) {
+                if (empresaComEmail.isPresent() && empresaComEmail.get().getId() != idEmpresa) {
                     throw new BadRequestException("Email jÃ¡ cadastrado para outra empresa");
                 }
             }
@@ -136,13 +213,12 @@ public class EmpresaService {
             atualizarCamposEmpresa(empresaExistente, empresaDTO);
 
             Empresa empresaAtualizada = databaseOperations.saveEmpresa(empresaExistente);
-            return convertToDTO(empresaAtualizada);
+            return ModelMapper.toEmpresaDTO(empresaAtualizada);
 
         } else {
             // Desenvolvimento: MemÃ³ria
-            Empresa empresaExistente = Empresa.empresas.stream()
-                    .filter(e -> e.getId().equals(id))
-                    .findFirst()
+            Empresa empresaExistente = empresaRepository.findById(idEmpresa)
+                    .map(Empresa::copiar)
                     .orElseThrow(() -> new ResourceNotFoundException("Empresa nÃ£o encontrada com ID: " + id));
 
             // Validar email se fornecido
@@ -151,10 +227,9 @@ public class EmpresaService {
                     throw new BadRequestException("Email invÃ¡lido");
                 }
 
-                boolean emailExiste = Empresa.empresas.stream()
-                        .anyMatch(e -> !e.getId().equals(id) &&
-                                e.getEmail() != null &&
-                                e.getEmail().equals(empresaDTO.getEmail()));
+                boolean emailExiste = empresaRepository.findByEmail(empresaDTO.getEmail())
+                        .filter(e -> e.getId() != idEmpresa)
+                        .isPresent();
 
                 if (emailExiste) {
                     throw new BadRequestException("Email jÃ¡ cadastrado para outra empresa");
@@ -164,40 +239,69 @@ public class EmpresaService {
             // Atualizar campos
             atualizarCamposEmpresa(empresaExistente, empresaDTO);
 
-            return convertToDTO(empresaExistente);
+            // Salvar novamente para atualizar os índices (email, cnpj)
+            Empresa empresaAtualizada = empresaRepository.save(empresaExistente);
+            return ModelMapper.toEmpresaDTO(empresaAtualizada);
         }
     }
 
     public void excluirEmpresa(String id) {
+        long idEmpresa = ModelMapper.converterIdObrigatorio(id);
+
         if (databaseOperations != null) {
-            // ProduÃ§Ã£o: PostgreSQL
-            boolean removido = databaseOperations.deleteEmpresaById(id);
+            // Produção: PostgreSQL - empresa, trabalhos e matches em uma transação
+            List<Long> idsTrabalhos = databaseOperations.findTrabalhosByEmpresa(idEmpresa).stream()
+                    .map(Trabalho::getId)
+                    .collect(Collectors.toList());
+            boolean removido = databaseOperations.deleteEmpresaCascata(idEmpresa);
             if (!removido) {
                 throw new ResourceNotFoundException("Empresa nÃ£o encontrada com ID: " + id);
             }
+            recomendacaoService.removerTrabalhos(idsTrabalhos);
         } else {
             // Desenvolvimento: MemÃ³ria
-            boolean removido = Empresa.empresas.removeIf(e -> e.getId().equals(id));
-            if (!removido) {
+            if (!empresaRepository.existsById(idEmpresa)) {
                 throw new ResourceNotFoundException("Empresa nÃ£o encontrada com ID: " + id);
             }
+
+            // Remove também os trabalhos da empresa e os matches desses trabalhos
+            List<Long> idsTrabalhos = new ArrayList<>();
+            for (Trabalho trabalho : trabalhoRepository.findByIdEmpresa(idEmpresa)) {
+                matchRepository.deleteByIdTrabalho(trabalho.getId());
+                idsTrabalhos.add(trabalho.getId());
+            }
+            trabalhoRepository.deleteByIdEmpresa(idEmpresa);
+            empresaRepository.deleteById(idEmpresa);
+            recomendacaoService.removerTrabalhos(idsTrabalhos);
+        }
+        fotoService.remover(FotoService.EMPRESAS, idEmpresa);
+    }
+
+    /**
+     * Grava (ou substitui) a foto da empresa
+     */
+    public Foto salvarFoto(String id, MultipartFile arquivo) {
+        // 404 se a empresa não existe
+        buscarEmpresaPorId(id);
+        return fotoService.salvar(FotoService.EMPRESAS, ModelMapper.converterIdObrigatorio(id), arquivo);
+    }
+
+    public void removerFoto(String id) {
+        if (!fotoService.remover(FotoService.EMPRESAS, ModelMapper.converterIdObrigatorio(id))) {
+            throw new ResourceNotFoundException("Foto não encontrada para a empresa com ID: " + id);
         }
     }
 
     public List<EmpresaDTO> buscarPorAreaAtuacao(String area) {
         if (databaseOperations != null) {
-            // ProduÃ§Ã£o: PostgreSQL - implementar query especÃ­fica se necessÃ¡rio
-            return databaseOperations.findAllEmpresas().stream()
-                    .filter(e -> e.getAreaAtuacao() != null &&
-                            e.getAreaAtuacao().toLowerCase().contains(area.toLowerCase()))
-                    .map(this::convertToDTO)
+            // Produção: PostgreSQL - ILIKE sem acento com índice de trigramas
+            return databaseOperations.findEmpresasByAreaAtuacao(area).stream()
+                    .map(ModelMapper::toEmpresaDTO)
                     .collect(Collectors.toList());
         } else {
-            // Desenvolvimento: MemÃ³ria
-            return Empresa.empresas.stream()
-                    .filter(e -> e.getAreaAtuacao() != null &&
-                            e.getAreaAtuacao().toLowerCase().contains(area.toLowerCase()))
-                    .map(this::convertToDTO)
+            // Desenvolvimento: Memória - índice de trigramas
+            return empresaRepository.findByAreaAtuacaoContaining(area).stream()
+                    .map(ModelMapper::toEmpresaDTO)
                     .collect(Collectors.toList());
         }
     }
@@ -207,17 +311,54 @@ public class EmpresaService {
             // Produção: PostgreSQL
             Empresa empresa = databaseOperations.findEmpresaByEmail(email)
                     .orElseThrow(() -> new ResourceNotFoundException("Empresa não encontrada com email: " + email));
-            return convertToDTO(empresa);
+            return ModelMapper.toEmpresaDTO(empresa);
         } else {
             // Desenvolvimento: Memória
-            Empresa empresa = Empresa.empresas.stream()
-                    .filter(e -> e.getEmail() != null && e.getEmail().equals(email))
-                    .findFirst()
+            Empresa empresa = empresaRepository.findByEmail(email)
                     .orElseThrow(() -> new ResourceNotFoundException("Empresa não encontrada com email: " + email));
-            return convertToDTO(empresa);
+            return ModelMapper.toEmpresaDTO(empresa);
+        }
+    }
+
+    /**
+     * Painel de impacto da empresa: vagas ofertadas e preenchidas, horas de voluntariado,
+     * avaliação média e matches por status
+     */
+    public ImpactoEmpresaDTO buscarImpacto(String id) {
+        long idEmpresa = ModelMapper.converterIdObrigatorio(id);
+        // 404 se a empresa não existe (busca por ID em cache)
+        buscarEmpresaPorId(id);
+
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL - uma consulta agregada, em cache até a próxima escrita de trabalhos ou matches
+            return databaseOperations.findImpactoEmpresa(idEmpresa);
+        } else {
+            // Desenvolvimento: Memória
+            ImpactoEmpresaDTO impacto = new ImpactoEmpresaDTO(String.valueOf(idEmpresa));
+            Map<String, List<Match>> porStatus = new HashMap<>();
+            for (Trabalho trabalho : trabalhoRepository.findByIdEmpresa(idEmpresa)) {
+                List<Match> matches = matchRepository.findByIdTrabalho(trabalho.getId());
+                long ocupadas = matches.stream()
+                        .filter(m -> StatusMatch.PREENCHEM_VAGA.contains(m.getStatus()))
+                        .count();
+                impacto.adicionarTrabalho(trabalho.getQuantidadeDeVagas(), ocupadas);
+                for (Match match : matches) {
+                    String status = match.getStatus() != null ? match.getStatus().getCodigo() : null;
+                    porStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(match);
+                }
+            }
+            porStatus.forEach((status, matches) -> impacto.adicionarStatus(status, matches.size(),
+                    matches.stream().mapToDouble(Match::getHorasTrabalhas).sum(),
+                    matches.stream().mapToLong(Match::getAvaliacao).filter(a -> a > 0).sum(),
+                    matches.stream().filter(m -> m.getAvaliacao() > 0).count()));
+            return impacto;
         }
     }
 
+    /**
+     * Aplica os campos informados no DTO; recebe uma cópia (copiar), porque uma conversão inválida
+     * no meio lança BadRequestException com parte dos campos já alterados
+     */
     private void atualizarCamposEmpresa(Empresa empresa, EmpresaDTO dto) {
         if (dto.getNome() != null && !dto.getNome().trim().isEmpty()) {
             empresa.setNome(dto.getNome());
@@ -241,7 +382,7 @@ public class EmpresaService {
             empresa.setPublicoAlvo(dto.getPublicoAlvo());
         }
         if (dto.getSenha() != null && !dto.getSenha().trim().isEmpty()) {
-            empresa.setSenha(dto.getSenha());
+            empresa.setSenha(senhaService.gerarHash(dto.getSenha()));
         }
         if (dto.getFoto() != null) {
             empresa.setFoto(dto.getFoto());
@@ -272,20 +413,4 @@ public class EmpresaService {
             throw new BadRequestException("Senha deve ter pelo menos 6 caracteres");
         }
     }
-
-    private EmpresaDTO convertToDTO(Empresa empresa) {
-        return new EmpresaDTO(
-                empresa.getId(),
-                empresa.getNome(),
-                empresa.getEmail(),
-                empresa.getCnpj(),
-                empresa.getTelefone(),
-                empresa.getEndereco(),
-                empresa.getAreaAtuacao(),
-                empresa.getPublicoAlvo(),
-                empresa.getSenha(),
-                empresa.getFoto(),
-                empresa.getDescricao(),
-                empresa.getDataCadastro());
-    }
 }
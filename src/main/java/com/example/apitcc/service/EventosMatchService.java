@@ -0,0 +1,304 @@
+package com.example.apitcc.service;
+
+import com.example.apitcc.exception.BadRequestException;
+import com.example.apitcc.exception.ServiceUnavailableException;
+import com.example.apitcc.model.dto.MatchDTO;
+import com.example.apitcc.util.ModelMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Alterações de matches em tempo real (GET /api/matches/stream, Server-Sent Events)
+ *
+ * O MatchService publica um EventoMatch depois de cada criação, atualização ou exclusão; o evento é
+ * serializado uma vez e entregue aos assinantes do usuário e do trabalho do match (antes e depois da alteração).
+ * As exclusões em lote (excluir-todos por usuário ou por trabalho) publicam um evento por match removido; os matches
+ * removidos junto com os trabalhos de uma empresa não são publicados, porque os próprios trabalhos deixam de existir.
+ * Conexões paradas não ocupam threads (requisição assíncrona); o envio é feito por um pool pequeno
+ * (app.matches.stream.threads) com no máximo uma tarefa por assinante.
+ *
+ * Cada assinante tem uma fila limitada (app.matches.stream.buffer): o cliente lento que a deixa encher é
+ * desconectado, em vez de acumular memória; o EventSource reconecta e relê o estado pelas listagens.
+ * O heartbeat (comentário SSE a cada app.matches.stream.heartbeat) mantém proxies abertos e detecta conexões mortas.
+ * Métricas: apitcc.matches.stream.assinantes, apitcc.matches.stream.desconexoes{motivo} e executor.*{name=envio-matches}
+ */
+@Service
+public class EventosMatchService {
+
+    public static final String ASSINANTES = "apitcc.matches.stream.assinantes";
+    public static final String DESCONEXOES = "apitcc.matches.stream.desconexoes";
+
+    public static final String CRIADO = "criado";
+    public static final String ATUALIZADO = "atualizado";
+    public static final String EXCLUIDO = "excluido";
+
+    /**
+     * Publicado pelo MatchService depois da escrita; anterior é o match antes da atualização (null nos demais)
+     */
+    public record EventoMatch(String tipo, MatchDTO match, MatchDTO anterior) {}
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    // Assinantes por "usuario:{id}" ou "trabalho:{id}"
+    private final ConcurrentMap<String, Set<Assinante>> assinantes = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicLong sequencia = new AtomicLong();
+
+    private final ObjectMapper objectMapper;
+    private final ExecutorService envio;
+    private final ScheduledExecutorService heartbeat;
+    private final int buffer;
+    private final int assinantesMaximo;
+    private final long duracaoMs;
+    private final Set<DataWithMediaType> conexao;
+    private final Counter lentos;
+    private final Counter falhas;
+
+    public EventosMatchService(Environment environment, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.buffer = environment.getProperty("app.matches.stream.buffer", Integer.class, 32);
+        this.assinantesMaximo = environment.getProperty("app.matches.stream.assinantes-maximo", Integer.class, 50_000);
+        this.duracaoMs = environment.getProperty("app.matches.stream.duracao", Duration.class, Duration.ofMinutes(30)).toMillis();
+        // Primeira mensagem: envia os cabeçalhos na hora e define o intervalo de reconexão do EventSource
+        this.conexao = SseEmitter.event()
+                .reconnectTime(environment.getProperty("app.matches.stream.reconexao", Duration.class,
+                        Duration.ofSeconds(5)).toMillis())
+                .comment("conectado")
+                .build();
+
+        // Fila sem limite fixo: cada assinante tem no máximo uma tarefa pendente
+        int threads = environment.getProperty("app.matches.stream.threads", Integer.class, 4);
+        CustomizableThreadFactory fabricaEnvio = new CustomizableThreadFactory("envio-matches-");
+        fabricaEnvio.setDaemon(true);
+        this.envio = ExecutorServiceMetrics.monitor(meterRegistry,
+                new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), fabricaEnvio),
+                "envio-matches");
+
+        CustomizableThreadFactory fabricaHeartbeat = new CustomizableThreadFactory("heartbeat-matches-");
+        fabricaHeartbeat.setDaemon(true);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(fabricaHeartbeat);
+        long intervalo = environment.getProperty("app.matches.stream.heartbeat", Duration.class, Duration.ofSeconds(25)).toMillis();
+        heartbeat.scheduleWithFixedDelay(this::enviarHeartbeat, intervalo, intervalo, TimeUnit.MILLISECONDS);
+
+        meterRegistry.gauge(ASSINANTES, total);
+        this.lentos = meterRegistry.counter(DESCONEXOES, "motivo", "lento");
+        this.falhas = meterRegistry.counter(DESCONEXOES, "motivo", "falha");
+    }
+
+    /**
+     * Nova assinatura dos matches de um usuário ou de um trabalho (exatamente um dos dois)
+     */
+    public SseEmitter assinar(String usuario, String trabalho) {
+        boolean porUsuario = usuario != null && !usuario.isBlank();
+        boolean porTrabalho = trabalho != null && !trabalho.isBlank();
+        if (porUsuario == porTrabalho) {
+            throw new BadRequestException("Informe usuario ou trabalho (apenas um)");
+        }
+        String chave = porUsuario
+                ? chave("usuario", ModelMapper.converterIdObrigatorio(usuario))
+                : chave("trabalho", ModelMapper.converterIdObrigatorio(trabalho));
+
+        if (total.incrementAndGet() > assinantesMaximo) {
+            total.decrementAndGet();
+            throw new ServiceUnavailableException("Limite de conexões de acompanhamento atingido, tente novamente", 5);
+        }
+
+        SseEmitter emitter = new SseEmitter(duracaoMs);
+        Assinante assinante = new Assinante(chave, emitter);
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onError(erro -> remover(assinante));
+        // Fim da duração: encerra normalmente e o cliente reconecta
+        emitter.onTimeout(emitter::complete);
+
+        assinantes.compute(chave, (c, conjunto) -> {
+            Set<Assinante> atualizado = conjunto != null ? conjunto : ConcurrentHashMap.newKeySet();
+            atualizado.add(assinante);
+            return atualizado;
+        });
+        assinante.enviar(conexao);
+        return emitter;
+    }
+
+    @EventListener
+    public void publicar(EventoMatch evento) {
+        Set<String> chaves = new LinkedHashSet<>();
+        adicionarChaves(chaves, evento.match());
+        adicionarChaves(chaves, evento.anterior());
+
+        Set<DataWithMediaType> mensagem = null;
+        for (String chave : chaves) {
+            Set<Assinante> conjunto = assinantes.get(chave);
+            if (conjunto == null) {
+                continue;
+            }
+            if (mensagem == null) {
+                mensagem = mensagem(evento);
+            }
+            for (Assinante assinante : conjunto) {
+                assinante.enviar(mensagem);
+            }
+        }
+    }
+
+    public int totalAssinantes() {
+        return total.get();
+    }
+
+    private Set<DataWithMediaType> mensagem(EventoMatch evento) {
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("tipo", evento.tipo());
+        dados.put("match", evento.match());
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(sequencia.incrementAndGet()))
+                    .name("match")
+                    .data(objectMapper.writeValueAsString(dados))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o evento do match", e);
+        }
+    }
+
+    private static void adicionarChaves(Set<String> chaves, MatchDTO match) {
+        if (match == null) {
+            return;
+        }
+        if (match.getIdUsuario() != null) {
+            chaves.add("usuario:" + match.getIdUsuario());
+        }
+        if (match.getIdTrabalho() != null) {
+            chaves.add("trabalho:" + match.getIdTrabalho());
+        }
+    }
+
+    private static String chave(String tipo, long id) {
+        return tipo + ":" + id;
+    }
+
+    private void enviarHeartbeat() {
+        for (Set<Assinante> conjunto : assinantes.values()) {
+            for (Assinante assinante : conjunto) {
+                assinante.enviar(HEARTBEAT);
+            }
+        }
+    }
+
+    private void remover(Assinante assinante) {
+        if (!assinante.removido.compareAndSet(false, true)) {
+            return;
+        }
+        total.decrementAndGet();
+        assinantes.computeIfPresent(assinante.chave, (c, conjunto) -> {
+            conjunto.remove(assinante);
+            return conjunto.isEmpty() ? null : conjunto;
+        });
+    }
+
+    /**
+     * Encerra as conexões no início do desligamento: o desligamento gracioso do Tomcat não espera por elas
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void encerrarConexoes() {
+        heartbeat.shutdownNow();
+        assinantes.values().forEach(conjunto -> conjunto.forEach(assinante -> assinante.emitter.complete()));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        envio.shutdownNow();
+    }
+
+    private final class Assinante {
+        private final String chave;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> fila = new ArrayBlockingQueue<>(buffer);
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private final AtomicBoolean removido = new AtomicBoolean();
+
+        Assinante(String chave, SseEmitter emitter) {
+            this.chave = chave;
+            this.emitter = emitter;
+        }
+
+        void enviar(Set<DataWithMediaType> mensagem) {
+            if (removido.get()) {
+                return;
+            }
+            if (!fila.offer(mensagem)) {
+                desconectar(lentos);
+                return;
+            }
+            agendar();
+        }
+
+        private void agendar() {
+            if (agendado.compareAndSet(false, true)) {
+                try {
+                    envio.execute(this::esvaziar);
+                } catch (RejectedExecutionException e) {
+                    agendado.set(false); // Encerrando a aplicação
+                }
+            }
+        }
+
+        private void esvaziar() {
+            try {
+                Set<DataWithMediaType> mensagem;
+                while (!removido.get() && (mensagem = fila.poll()) != null) {
+                    emitter.send(mensagem);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado ou emitter já encerrado
+                desconectar(falhas);
+                return;
+            } finally {
+                agendado.set(false);
+            }
+            // Mensagem que chegou depois do último poll e antes de liberar o agendamento
+            if (!fila.isEmpty()) {
+                agendar();
+            }
+        }
+
+        private void desconectar(Counter motivo) {
+            if (!removido.get()) {
+                motivo.increment();
+            }
+            remover(this);
+            fila.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.apitcc.service;
+
+import com.example.apitcc.config.DatabaseConfig;
+import com.example.apitcc.exception.BadRequestException;
+import com.example.apitcc.exception.ResourceNotFoundException;
+import com.example.apitcc.model.entity.Foto;
+import com.example.apitcc.repository.FotoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Fotos de perfil de empresas e usuários (GET/POST/DELETE /api/{empresas|usuarios}/{id}/foto)
+ *
+ * Os bytes ficam fora das entidades: em produção na tabela public.foto, no modo memória no FotoRepository.
+ * Só JPEG e PNG são aceitos, validados pelo conteúdo (não pelo Content-Type enviado).
+ * As miniaturas são geradas na primeira leitura e guardadas em disco (app.fotos.miniaturas.diretorio),
+ * com o hash da foto no nome do arquivo: uma foto nova nunca reaproveita a miniatura da anterior.
+ */
+@Service
+public class FotoService {
+
+    public static final String EMPRESAS = "empresas";
+    public static final String USUARIOS = "usuarios";
+
+    // Lados (em pixels) aceitos no parâmetro tamanho; limita quantos arquivos cada foto gera em disco
+    public static final Set<Integer> TAMANHOS_MINIATURA = Set.of(64, 128, 256);
+
+    // Proteção contra imagens pequenas em bytes e enormes em pixels (o decodificador alocaria tudo)
+    private static final long MAXIMO_PIXELS = 40_000_000L;
+
+    private static final Map<String, String> TIPOS_POR_FORMATO = Map.of(
+            "jpeg", "image/jpeg",
+            "png", "image/png");
+
+    @Autowired(required = false)
+    private DatabaseConfig.DatabaseOperations databaseOperations;
+
+    @Autowired
+    private FotoRepository fotoRepository;
+
+    @Autowired
+    private Environment environment;
+
+    /**
+     * Valida e grava a foto, substituindo a anterior e suas miniaturas
+     */
+    public Foto salvar(String entidade, long id, MultipartFile arquivo) {
+        if (arquivo == null || arquivo.isEmpty()) {
+            throw new BadRequestException("Arquivo da foto é obrigatório (campo multipart \"arquivo\")");
+        }
+        byte[] conteudo;
+        try {
+            conteudo = arquivo.getBytes();
+        } catch (IOException e) {
+            throw new BadRequestException("Não foi possível ler o arquivo enviado");
+        }
+        Foto foto = new Foto(tipoDaImagem(conteudo), hash(conteudo), conteudo.length, conteudo);
+
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL
+            databaseOperations.saveFoto(entidade, id, foto);
+        } else {
+            // Desenvolvimento: Memória
+            fotoRepository.save(entidade, id, foto);
+        }
+        removerMiniaturas(entidade, id);
+        return foto;
+    }
+
+    /**
+     * Metadados da foto, sem os bytes (suficiente para o ETag e o 304)
+     */
+    public Foto buscarInformacoes(String entidade, long id) {
+        return buscar(entidade, id, false);
+    }
+
+    /**
+     * Versão do ETag: hash da foto, mais o tamanho nas miniaturas (vale entre reinícios e instâncias)
+     */
+    public String versao(Foto informacoes, Integer tamanho) {
+        if (tamanho == null) {
+            return informacoes.getHash();
+        }
+        validarTamanho(tamanho);
+        return informacoes.getHash() + "-" + tamanho;
+    }
+
+    /**
+     * Bytes da foto original (tamanho null) ou arquivo da miniatura
+     */
+    public Resource buscarArquivo(String entidade, long id, Foto informacoes, Integer tamanho) {
+        if (tamanho == null) {
+            return new ByteArrayResource(buscar(entidade, id, true).getConteudo());
+        }
+        return new FileSystemResource(buscarMiniatura(entidade, id, informacoes, tamanho));
+    }
+
+    /**
+     * Arquivo da miniatura (lado maior = tamanho), gerado e gravado em disco se ainda não existir
+     */
+    private Path buscarMiniatura(String entidade, long id, Foto informacoes, int tamanho) {
+        validarTamanho(tamanho);
+        Path destino = diretorioMiniaturas().resolve(nomeMiniatura(entidade, id, informacoes, tamanho));
+        if (Files.exists(destino)) {
+            return destino;
+        }
+
+        Foto foto = buscar(entidade, id, true);
+        try {
+            BufferedImage miniatura = redimensionar(ImageIO.read(new ByteArrayInputStream(foto.getConteudo())),
+                    tamanho, foto.isPng());
+            // Grava em arquivo temporário e move: leituras simultâneas nunca veem um arquivo pela metade
+            Path temporario = Files.createTempFile(destino.getParent(), "miniatura-", ".tmp");
+            try {
+                ImageIO.write(miniatura, foto.isPng() ? "png" : "jpg", temporario.toFile());
+                Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporario);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return destino;
+    }
+
+    /**
+     * Remove a foto e as miniaturas; false se não havia foto
+     */
+    public boolean remover(String entidade, long id) {
+        boolean removida;
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL
+            removida = databaseOperations.deleteFoto(entidade, id);
+        } else {
+            // Desenvolvimento: Memória
+            removida = fotoRepository.deleteById(entidade, id);
+        }
+        removerMiniaturas(entidade, id);
+        return removida;
+    }
+
+    private static void validarTamanho(int tamanho) {
+        if (!TAMANHOS_MINIATURA.contains(tamanho)) {
+            throw new BadRequestException("Parâmetro tamanho inválido: " + tamanho
+                    + ". Valores aceitos: 64, 128, 256");
+        }
+    }
+
+    private Foto buscar(String entidade, long id, boolean comConteudo) {
+        Optional<Foto> foto;
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL
+            foto = databaseOperations.findFoto(entidade, id, comConteudo);
+        } else {
+            // Desenvolvimento: Memória
+            foto = fotoRepository.findById(entidade, id);
+        }
+        return foto.orElseThrow(() -> new ResourceNotFoundException("Foto não encontrada para o ID: " + id));
+    }
+
+    /**
+     * Tipo MIME detectado pelo decodificador do ImageIO; recusa outros formatos e imagens grandes demais
+     */
+    private static String tipoDaImagem(byte[] conteudo) {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(new ByteArrayInputStream(conteudo))) {
+            Iterator<ImageReader> leitores = ImageIO.getImageReaders(entrada);
+            String tipo = null;
+            if (leitores.hasNext()) {
+                ImageReader leitor = leitores.next();
+                try {
+                    tipo = TIPOS_POR_FORMATO.get(leitor.getFormatName().toLowerCase(Locale.ROOT));
+                    if (tipo != null) {
+                        leitor.setInput(entrada);
+                        if ((long) leitor.getWidth(0) * leitor.getHeight(0) > MAXIMO_PIXELS) {
+                            throw new BadRequestException("Imagem com resolução grande demais");
+                        }
+                    }
+                } finally {
+                    leitor.dispose();
+                }
+            }
+            if (tipo == null) {
+                throw new BadRequestException("Formato de imagem não suportado (use JPEG ou PNG)");
+            }
+            return tipo;
+        } catch (IOException e) {
+            throw new BadRequestException("Imagem inválida ou corrompida");
+        }
+    }
+
+    private static String hash(byte[] conteudo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BufferedImage redimensionar(BufferedImage original, int tamanho, boolean png) {
+        double escala = Math.min(1.0, (double) tamanho / Math.max(original.getWidth(), original.getHeight()));
+        int largura = Math.max(1, (int) Math.round(original.getWidth() * escala));
+        int altura = Math.max(1, (int) Math.round(original.getHeight() * escala));
+
+        // PNG mantém a transparência; JPEG não tem canal alfa
+        BufferedImage miniatura = new BufferedImage(largura, altura,
+                png ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D grafico = miniatura.createGraphics();
+        try {
+            grafico.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            grafico.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            grafico.drawImage(original, 0, 0, largura, altura, null);
+        } finally {
+            grafico.dispose();
+        }
+        return miniatura;
+    }
+
+    private static String nomeMiniatura(String entidade, long id, Foto foto, int tamanho) {
+        return prefixoMiniaturas(entidade, id) + foto.getHash() + "-" + tamanho + (foto.isPng() ? ".png" : ".jpg");
+    }
+
+    private static String prefixoMiniaturas(String entidade, long id) {
+        return entidade + "-" + id + "-";
+    }
+
+    private void removerMiniaturas(String entidade, long id) {
+        Path diretorio = diretorioMiniaturas();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, prefixoMiniaturas(entidade, id) + "*")) {
+            for (Path arquivo : arquivos) {
+                Files.deleteIfExists(arquivo);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path diretorioMiniaturas() {
+        Path diretorio = Path.of(environment.getProperty("app.fotos.miniaturas.diretorio",
+                System.getProperty("java.io.tmpdir") + "/apitcc-miniaturas"));
+        try {
+            return Files.createDirectories(diretorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,19 +1,33 @@
 package com.example.apitcc.service;
 
 import com.example.apitcc.config.DatabaseConfig;
+import com.example.apitcc.config.VersaoTabelas;
 import com.example.apitcc.model.dto.MatchDTO;
+import com.example.apitcc.model.dto.PaginaDTO;
 import com.example.apitcc.model.entity.Match;
+import com.example.apitcc.model.entity.StatusMatch;
 import com.example.apitcc.model.entity.Usuario;
 import com.example.apitcc.model.entity.Trabalho;
 import com.example.apitcc.model.entity.ItemBase;
 import com.example.apitcc.repository.MatchRepository;
+import com.example.apitcc.repository.TrabalhoRepository;
+import com.example.apitcc.repository.UsuarioRepository;
 import com.example.apitcc.exception.ResourceNotFoundException;
 import com.example.apitcc.exception.BadRequestException;
+import com.example.apitcc.util.ModelMapper;
+import com.example.apitcc.util.Paginacao;
+import com.example.apitcc.util.Projecao;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,34 +36,87 @@ public class MatchService {
     @Autowired(required = false)
     private DatabaseConfig.DatabaseOperations databaseOperations;
     
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+    
     @Autowired
     private MatchRepository matchRepository;
     
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    
+    @Autowired
+    private TrabalhoRepository trabalhoRepository;
+    
+    @Autowired
+    private ConsultaParalelaService consultaParalelaService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public List<MatchDTO> listarTodosMatches() {
         if (databaseOperations != null) {
             // Produção: PostgreSQL
             return databaseOperations.findAllMatches().stream()
-                    .map(this::convertToDTO)
+                    .map(ModelMapper::toMatchDTO)
                     .collect(Collectors.toList());
         } else {
             // Desenvolvimento: Memória
             return matchRepository.findAll().stream()
-                    .map(this::convertToDTO)
+                    .map(ModelMapper::toMatchDTO)
                     .collect(Collectors.toList());
         }
     }
     
+    /**
+     * Versão dos dados de matches para o ETag das leituras (não consulta o banco)
+     */
+    public long versaoMatches() {
+        if (databaseOperations != null) {
+            return versaoTabelas.versao(VersaoTabelas.Tabela.MATCHES);
+        } else {
+            return matchRepository.versao();
+        }
+    }
+    
+    public PaginaDTO<MatchDTO> listarMatchesPaginado(Integer limit, String after, String sort, Projecao projecao) {
+        Paginacao.Consulta consulta = Paginacao.criarConsulta(limit, after, sort,
+                MatchRepository.CAMPOS_ORDENACAO.keySet());
+        List<Match> resultado;
+        
+        if (databaseOperations != null) {
+            resultado = databaseOperations.findMatchesPagina(consulta, projecao);
+        } else {
+            resultado = matchRepository.findPagina(consulta);
+        }
+        
+        return Paginacao.montarPagina(resultado, consulta,
+                MatchRepository.CAMPOS_ORDENACAO.get(consulta.getCampo()), Match::getId, ModelMapper::toMatchDTO);
+    }
+    
+    public void exportarMatches(Consumer<MatchDTO> consumidor) {
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL - cursor no servidor, linha a linha
+            databaseOperations.streamMatches(m -> consumidor.accept(ModelMapper.toMatchDTO(m)));
+        } else {
+            // Desenvolvimento: Memória
+            matchRepository.findAll().forEach(m -> consumidor.accept(ModelMapper.toMatchDTO(m)));
+        }
+    }
+    
     public MatchDTO buscarMatchPorId(String id) {
+        long idMatch = ModelMapper.converterIdObrigatorio(id);
+        
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            Match match = databaseOperations.findMatchById(id)
+            Match match = databaseOperations.findMatchById(idMatch)
                     .orElseThrow(() -> new ResourceNotFoundException("Match não encontrado com ID: " + id));
-            return convertToDTO(match);
+            return ModelMapper.toMatchDTO(match);
         } else {
             // Desenvolvimento: Memória
-            Match match = matchRepository.findById(id)
+            Match match = matchRepository.findById(idMatch)
                     .orElseThrow(() -> new ResourceNotFoundException("Match não encontrado com ID: " + id));
-            return convertToDTO(match);
+            return ModelMapper.toMatchDTO(match);
         }
     }
     
@@ -59,155 +126,106 @@ public class MatchService {
         
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            // Verificar se o usuário existe
-            Optional<Usuario> usuarioExistente = databaseOperations.findUsuarioById(matchDTO.getIdUsuario());
-            if (!usuarioExistente.isPresent()) {
-                throw new BadRequestException("Usuário não encontrado com ID: " + matchDTO.getIdUsuario());
-            }
-            
-            // Verificar se o trabalho existe
-            Optional<Trabalho> trabalhoExistente = databaseOperations.findTrabalhoById(matchDTO.getIdTrabalho());
-            if (!trabalhoExistente.isPresent()) {
-                throw new BadRequestException("Trabalho não encontrado com ID: " + matchDTO.getIdTrabalho());
-            }
+            // Existência do usuário/trabalho e duplicidade são verificadas no próprio INSERT
+            Match match = novoMatch(matchDTO);
             
-            // Verificar se já existe um match entre este usuário e trabalho
-            List<Match> matchesUsuario = databaseOperations.findMatchesByUsuario(matchDTO.getIdUsuario());
-            boolean matchExiste = matchesUsuario.stream()
-                    .anyMatch(m -> m.getIdTrabalho().equals(matchDTO.getIdTrabalho()));
-            
-            if (matchExiste) {
-                throw new BadRequestException("Já existe um match entre este usuário e trabalho");
+            switch (databaseOperations.insertMatchSeValido(match)) {
+                case USUARIO_INEXISTENTE:
+                    throw new BadRequestException("Usuário não encontrado com ID: " + matchDTO.getIdUsuario());
+                case TRABALHO_INEXISTENTE:
+                    throw new BadRequestException("Trabalho não encontrado com ID: " + matchDTO.getIdTrabalho());
+                case DUPLICADO:
+                    throw new BadRequestException("Já existe um match entre este usuário e trabalho");
+                default:
+                    return publicar(EventosMatchService.CRIADO, ModelMapper.toMatchDTO(match), null);
             }
             
-            String dataMatch = matchDTO.getDataMatch() != null ? 
-                              matchDTO.getDataMatch() : ItemBase.getCurrentDateTime();
-            
-            Match match = new Match(
-                    null, // ID será gerado pelo banco
-                    matchDTO.getDescricao() != null ? matchDTO.getDescricao() : "",
-                    matchDTO.getIdUsuario(),
-                    matchDTO.getIdTrabalho(),
-                    matchDTO.getStatus() != null ? matchDTO.getStatus() : "pendente",
-                    dataMatch,
-                    matchDTO.getDataInicio(),
-                    matchDTO.getDataTermino(),
-                    matchDTO.getHorasTrabalhas() != null ? matchDTO.getHorasTrabalhas() : "0",
-                    matchDTO.getAvaliacao(),
-                    ItemBase.getCurrentDateTime()
-            );
-            
-            Match matchSalvo = databaseOperations.saveMatch(match);
-            return convertToDTO(matchSalvo);
-            
         } else {
             // Desenvolvimento: Memória
+            Match match = novoMatch(matchDTO);
+            
             // Verificar se o usuário existe
-            boolean usuarioExiste = Usuario.usuarios.stream()
-                    .anyMatch(u -> u.getId().equals(matchDTO.getIdUsuario()));
+            boolean usuarioExiste = usuarioRepository.existsById(match.getIdUsuario());
             
             if (!usuarioExiste) {
                 throw new BadRequestException("Usuário não encontrado com ID: " + matchDTO.getIdUsuario());
             }
             
             // Verificar se o trabalho existe
-            boolean trabalhoExiste = Trabalho.trabalhos.stream()
-                    .anyMatch(t -> t.getId().equals(matchDTO.getIdTrabalho()));
+            boolean trabalhoExiste = trabalhoRepository.existsById(match.getIdTrabalho());
             
             if (!trabalhoExiste) {
                 throw new BadRequestException("Trabalho não encontrado com ID: " + matchDTO.getIdTrabalho());
             }
             
-            // Verificar se já existe um match entre este usuário e trabalho
-            boolean matchExiste = matchRepository.existsByIdUsuarioAndIdTrabalho(
-                    matchDTO.getIdUsuario(), matchDTO.getIdTrabalho());
-            
-            if (matchExiste) {
+            // Salva só se ainda não existe match entre este usuário e trabalho (verificação e inserção atômicas)
+            if (!matchRepository.saveSeParUnico(match)) {
                 throw new BadRequestException("Já existe um match entre este usuário e trabalho");
             }
             
-            String dataMatch = matchDTO.getDataMatch() != null ? 
-                              matchDTO.getDataMatch() : ItemBase.getCurrentDateTime();
-            
-            Match match = new Match(
-                    null, // ID será gerado pelo repository
-                    matchDTO.getDescricao() != null ? matchDTO.getDescricao() : "",
-                    matchDTO.getIdUsuario(),
-                    matchDTO.getIdTrabalho(),
-                    matchDTO.getStatus() != null ? matchDTO.getStatus() : "pendente",
-                    dataMatch,
-                    matchDTO.getDataInicio(),
-                    matchDTO.getDataTermino(),
-                    matchDTO.getHorasTrabalhas() != null ? matchDTO.getHorasTrabalhas() : "0",
-                    matchDTO.getAvaliacao(),
-                    ItemBase.getCurrentDateTime()
-            );
-            
-            Match matchSalvo = matchRepository.save(match);
-            return convertToDTO(matchSalvo);
+            return publicar(EventosMatchService.CRIADO, ModelMapper.toMatchDTO(match), null);
         }
     }
     
     public MatchDTO atualizarMatch(String id, MatchDTO matchDTO) {
+        long idMatch = ModelMapper.converterIdObrigatorio(id);
+        
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            Match matchExistente = databaseOperations.findMatchById(id)
+            // Match, usuário e trabalho são buscados em paralelo; os erros seguem a mesma ordem de antes
+            boolean temUsuario = matchDTO.getIdUsuario() != null && !matchDTO.getIdUsuario().isEmpty();
+            boolean temTrabalho = matchDTO.getIdTrabalho() != null && !matchDTO.getIdTrabalho().isEmpty();
+            long idUsuario = temUsuario ? ModelMapper.converterIdObrigatorio(matchDTO.getIdUsuario()) : 0;
+            long idTrabalho = temTrabalho ? ModelMapper.converterIdObrigatorio(matchDTO.getIdTrabalho()) : 0;
+            
+            Future<Optional<Match>> buscaMatch = consultaParalelaService.iniciar(
+                    () -> databaseOperations.findMatchById(idMatch));
+            Future<Optional<Usuario>> buscaUsuario = temUsuario
+                    ? consultaParalelaService.iniciar(() -> databaseOperations.findUsuarioById(idUsuario))
+                    : null;
+            Future<Optional<Trabalho>> buscaTrabalho = temTrabalho
+                    ? consultaParalelaService.iniciar(() -> databaseOperations.findTrabalhoById(idTrabalho))
+                    : null;
+            
+            Match matchExistente = consultaParalelaService.aguardar(buscaMatch)
+                    .map(Match::copiar)
                     .orElseThrow(() -> new ResourceNotFoundException("Match não encontrado com ID: " + id));
             
             // Validar dados se fornecidos
-            if (matchDTO.getIdUsuario() != null && !matchDTO.getIdUsuario().isEmpty()) {
-                Optional<Usuario> usuario = databaseOperations.findUsuarioById(matchDTO.getIdUsuario());
-                if (!usuario.isPresent()) {
-                    throw new BadRequestException("Usuário não encontrado com ID: " + matchDTO.getIdUsuario());
-                }
-            }
-            
-            if (matchDTO.getIdTrabalho() != null && !matchDTO.getIdTrabalho().isEmpty()) {
-                Optional<Trabalho> trabalho = databaseOperations.findTrabalhoById(matchDTO.getIdTrabalho());
-                if (!trabalho.isPresent()) {
-                    throw new BadRequestException("Trabalho não encontrado com ID: " + matchDTO.getIdTrabalho());
-                }
+            if (temUsuario && consultaParalelaService.aguardar(buscaUsuario).isEmpty()) {
+                throw new BadRequestException("Usuário não encontrado com ID: " + matchDTO.getIdUsuario());
             }
             
-            // Validar avaliação se fornecida
-            if (matchDTO.getAvaliacao() != null && !matchDTO.getAvaliacao().isEmpty()) {
-                try {
-                    int avaliacao = Integer.parseInt(matchDTO.getAvaliacao());
-                    if (avaliacao < 1 || avaliacao > 5) {
-                        throw new BadRequestException("Avaliação deve estar entre 1 e 5");
-                    }
-                } catch (NumberFormatException e) {
-                    throw new BadRequestException("Formato de avaliação inválido");
-                }
+            if (temTrabalho && consultaParalelaService.aguardar(buscaTrabalho).isEmpty()) {
+                throw new BadRequestException("Trabalho não encontrado com ID: " + matchDTO.getIdTrabalho());
             }
             
-            // Validar horas trabalhadas se fornecidas
-            if (matchDTO.getHorasTrabalhas() != null && !matchDTO.getHorasTrabalhas().isEmpty()) {
-                try {
-                    float horas = Float.parseFloat(matchDTO.getHorasTrabalhas());
-                    if (horas < 0) {
-                        throw new BadRequestException("Horas trabalhadas não pode ser negativo");
-                    }
-                } catch (NumberFormatException e) {
-                    throw new BadRequestException("Formato de horas trabalhadas inválido");
-                }
-            }
+            // Validar avaliação e horas trabalhadas se fornecidas
+            validarValoresMatch(matchDTO);
             
             // Atualizar campos
+            MatchDTO anterior = ModelMapper.toMatchDTO(matchExistente);
             atualizarCamposMatch(matchExistente, matchDTO);
             
-            Match matchAtualizado = databaseOperations.saveMatch(matchExistente);
-            return convertToDTO(matchAtualizado);
+            // Trocar usuário ou trabalho pode bater no índice único ux_match_usuario_trabalho
+            Match matchAtualizado;
+            try {
+                matchAtualizado = databaseOperations.saveMatch(matchExistente);
+            } catch (DuplicateKeyException e) {
+                throw new BadRequestException("Já existe um match entre este usuário e trabalho");
+            }
+            return publicar(EventosMatchService.ATUALIZADO, ModelMapper.toMatchDTO(matchAtualizado), anterior);
             
         } else {
             // Desenvolvimento: Memória
-            Match matchExistente = matchRepository.findById(id)
+            Match matchExistente = matchRepository.findById(idMatch)
+                    .map(Match::copiar)
                     .orElseThrow(() -> new ResourceNotFoundException("Match não encontrado com ID: " + id));
             
             // Validar dados se fornecidos
             if (matchDTO.getIdUsuario() != null && !matchDTO.getIdUsuario().isEmpty()) {
-                boolean usuarioExiste = Usuario.usuarios.stream()
-                        .anyMatch(u -> u.getId().equals(matchDTO.getIdUsuario()));
+                boolean usuarioExiste = usuarioRepository.existsById(
+                        ModelMapper.converterIdObrigatorio(matchDTO.getIdUsuario()));
                 
                 if (!usuarioExiste) {
                     throw new BadRequestException("Usuário não encontrado com ID: " + matchDTO.getIdUsuario());
@@ -215,72 +233,56 @@ public class MatchService {
             }
             
             if (matchDTO.getIdTrabalho() != null && !matchDTO.getIdTrabalho().isEmpty()) {
-                boolean trabalhoExiste = Trabalho.trabalhos.stream()
-                        .anyMatch(t -> t.getId().equals(matchDTO.getIdTrabalho()));
+                boolean trabalhoExiste = trabalhoRepository.existsById(
+                        ModelMapper.converterIdObrigatorio(matchDTO.getIdTrabalho()));
                 
                 if (!trabalhoExiste) {
                     throw new BadRequestException("Trabalho não encontrado com ID: " + matchDTO.getIdTrabalho());
                 }
             }
             
-            // Validar avaliação se fornecida
-            if (matchDTO.getAvaliacao() != null && !matchDTO.getAvaliacao().isEmpty()) {
-                try {
-                    int avaliacao = Integer.parseInt(matchDTO.getAvaliacao());
-                    if (avaliacao < 1 || avaliacao > 5) {
-                        throw new BadRequestException("Avaliação deve estar entre 1 e 5");
-                    }
-                } catch (NumberFormatException e) {
-                    throw new BadRequestException("Formato de avaliação inválido");
-                }
-            }
-            
-            // Validar horas trabalhadas se fornecidas
-            if (matchDTO.getHorasTrabalhas() != null && !matchDTO.getHorasTrabalhas().isEmpty()) {
-                try {
-                    float horas = Float.parseFloat(matchDTO.getHorasTrabalhas());
-                    if (horas < 0) {
-                        throw new BadRequestException("Horas trabalhadas não pode ser negativo");
-                    }
-                } catch (NumberFormatException e) {
-                    throw new BadRequestException("Formato de horas trabalhadas inválido");
-                }
-            }
+            // Validar avaliação e horas trabalhadas se fornecidas
+            validarValoresMatch(matchDTO);
             
             // Atualizar campos
+            MatchDTO anterior = ModelMapper.toMatchDTO(matchExistente);
             atualizarCamposMatch(matchExistente, matchDTO);
             
-            Match matchAtualizado = matchRepository.save(matchExistente);
-            return convertToDTO(matchAtualizado);
+            // Não pode ocupar o par usuário/trabalho de outro match (verificação e gravação atômicas)
+            if (!matchRepository.saveSeParUnico(matchExistente)) {
+                throw new BadRequestException("Já existe um match entre este usuário e trabalho");
+            }
+            return publicar(EventosMatchService.ATUALIZADO, ModelMapper.toMatchDTO(matchExistente), anterior);
         }
     }
     
     public void excluirMatch(String id) {
+        long idMatch = ModelMapper.converterIdObrigatorio(id);
+        Match removido;
+        
         if (databaseOperations != null) {
-            // Produção: PostgreSQL
-            boolean removido = databaseOperations.deleteMatchById(id);
-            if (!removido) {
-                throw new ResourceNotFoundException("Match não encontrado com ID: " + id);
-            }
+            // Produção: PostgreSQL - o DELETE devolve a linha removida
+            removido = databaseOperations.deleteMatchById(idMatch)
+                    .orElseThrow(() -> new ResourceNotFoundException("Match não encontrado com ID: " + id));
         } else {
             // Desenvolvimento: Memória
-            boolean removido = matchRepository.deleteById(id);
-            if (!removido) {
-                throw new ResourceNotFoundException("Match não encontrado com ID: " + id);
-            }
+            removido = matchRepository.findById(idMatch)
+                    .filter(match -> matchRepository.deleteById(idMatch))
+                    .orElseThrow(() -> new ResourceNotFoundException("Match não encontrado com ID: " + id));
         }
+        publicar(EventosMatchService.EXCLUIDO, ModelMapper.toMatchDTO(removido), null);
     }
     
     public List<MatchDTO> buscarMatchesPorUsuario(String idUsuario) {
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            return databaseOperations.findMatchesByUsuario(idUsuario).stream()
-                    .map(this::convertToDTO)
+            return databaseOperations.findMatchesByUsuario(ModelMapper.converterIdObrigatorio(idUsuario)).stream()
+                    .map(ModelMapper::toMatchDTO)
                     .collect(Collectors.toList());
         } else {
             // Desenvolvimento: Memória
-            return matchRepository.findByIdUsuario(idUsuario).stream()
-                    .map(this::convertToDTO)
+            return matchRepository.findByIdUsuario(ModelMapper.converterIdObrigatorio(idUsuario)).stream()
+                    .map(ModelMapper::toMatchDTO)
                     .collect(Collectors.toList());
         }
     }
@@ -288,28 +290,32 @@ public class MatchService {
     public List<MatchDTO> buscarMatchesPorTrabalho(String idTrabalho) {
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            return databaseOperations.findMatchesByTrabalho(idTrabalho).stream()
-                    .map(this::convertToDTO)
+            return databaseOperations.findMatchesByTrabalho(ModelMapper.converterIdObrigatorio(idTrabalho)).stream()
+                    .map(ModelMapper::toMatchDTO)
                     .collect(Collectors.toList());
         } else {
             // Desenvolvimento: Memória
-            return matchRepository.findByIdTrabalho(idTrabalho).stream()
-                    .map(this::convertToDTO)
+            return matchRepository.findByIdTrabalho(ModelMapper.converterIdObrigatorio(idTrabalho)).stream()
+                    .map(ModelMapper::toMatchDTO)
                     .collect(Collectors.toList());
         }
     }
     
     public List<MatchDTO> buscarPorStatus(String status) {
+        StatusMatch statusMatch = ModelMapper.converterStatus(status);
+        if (statusMatch == null) {
+            throw new BadRequestException("Status é obrigatório");
+        }
         List<Match> matches;
         
         if (databaseOperations != null) {
-            matches = databaseOperations.findAllMatches();
+            matches = databaseOperations.findMatchesByStatusIn(EnumSet.of(statusMatch));
         } else {
-            matches = matchRepository.findByStatus(status);
+            matches = matchRepository.findByStatus(statusMatch);
         }
         
         return matches.stream()
-                .map(this::convertToDTO)
+                .map(ModelMapper::toMatchDTO)
                 .collect(Collectors.toList());
     }
     
@@ -317,151 +323,167 @@ public class MatchService {
         List<Match> matches;
         
         if (databaseOperations != null) {
-            matches = databaseOperations.findAllMatches();
-            return matches.stream()
-                    .filter(m -> m.getStatus() != null && 
-                                (m.getStatus().equalsIgnoreCase("ativo") || 
-                                 m.getStatus().equalsIgnoreCase("em_andamento") ||
-                                 m.getStatus().equalsIgnoreCase("pendente")))
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            matches = databaseOperations.findMatchesByStatusIn(StatusMatch.ATIVOS);
         } else {
-            return matchRepository.findActiveMatches().stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            matches = matchRepository.findByStatusIn(StatusMatch.ATIVOS);
         }
+        
+        return matches.stream()
+                .map(ModelMapper::toMatchDTO)
+                .collect(Collectors.toList());
     }
     
     public List<MatchDTO> buscarMatchesFinalizados() {
         List<Match> matches;
         
         if (databaseOperations != null) {
-            matches = databaseOperations.findAllMatches();
-            return matches.stream()
-                    .filter(m -> m.getStatus() != null && 
-                                (m.getStatus().equalsIgnoreCase("finalizado") || 
-                                 m.getStatus().equalsIgnoreCase("concluido") ||
-                                 m.getStatus().equalsIgnoreCase("terminado")))
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            matches = databaseOperations.findMatchesByStatusIn(StatusMatch.FINALIZADOS);
         } else {
-            return matchRepository.findCompletedMatches().stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            matches = matchRepository.findByStatusIn(StatusMatch.FINALIZADOS);
         }
+        
+        return matches.stream()
+                .map(ModelMapper::toMatchDTO)
+                .collect(Collectors.toList());
     }
     
     public List<MatchDTO> buscarPorAvaliacao(String avaliacaoMinima) {
-        try {
-            int minAvaliacao = Integer.parseInt(avaliacaoMinima);
-            List<Match> matches;
-            
-            if (databaseOperations != null) {
-                matches = databaseOperations.findAllMatches();
-                return matches.stream()
-                        .filter(m -> {
-                            if (m.getAvaliacao() == null) return false;
-                            try {
-                                return Integer.parseInt(m.getAvaliacao()) >= minAvaliacao;
-                            } catch (NumberFormatException e) {
-                                return false;
-                            }
-                        })
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
-            } else {
-                return matchRepository.findByAvaliacaoGreaterThanEqual(avaliacaoMinima).stream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
-            }
-        } catch (NumberFormatException e) {
+        Integer minAvaliacao = ModelMapper.converterInteiro(avaliacaoMinima, "Formato de avaliação inválido");
+        if (minAvaliacao == null) {
             throw new BadRequestException("Formato de avaliação inválido");
         }
+        List<Match> matches;
+        
+        if (databaseOperations != null) {
+            matches = databaseOperations.findMatchesByAvaliacaoMinima(minAvaliacao);
+        } else {
+            matches = matchRepository.findByAvaliacaoGreaterThanEqual(minAvaliacao);
+        }
+        
+        return matches.stream()
+                .map(ModelMapper::toMatchDTO)
+                .collect(Collectors.toList());
+    }
+    
+    public List<MatchDTO> buscarPorPeriodo(String dataInicio, String dataFim) {
+        if (dataInicio == null || dataInicio.trim().isEmpty() || dataFim == null || dataFim.trim().isEmpty()) {
+            throw new BadRequestException("Data de início e data de fim são obrigatórias");
+        }
+        
+        LocalDate inicio = ModelMapper.converterData(dataInicio, "Formato de data inválido, use yyyy-MM-dd");
+        LocalDate fim = ModelMapper.converterData(dataFim, "Formato de data inválido, use yyyy-MM-dd");
+        
+        List<Match> matches;
+        
+        if (databaseOperations != null) {
+            matches = databaseOperations.findMatchesByDataMatchBetween(inicio, fim);
+        } else {
+            matches = matchRepository.findByDataMatchBetween(inicio, fim);
+        }
+        
+        return matches.stream()
+                .map(ModelMapper::toMatchDTO)
+                .collect(Collectors.toList());
     }
     
     public MatchDTO buscarMatchPorUsuarioETrabalho(String idUsuario, String idTrabalho) {
+        long usuario = ModelMapper.converterIdObrigatorio(idUsuario);
+        long trabalho = ModelMapper.converterIdObrigatorio(idTrabalho);
+        
         if (databaseOperations != null) {
-            // Produção: PostgreSQL - buscar na lista e filtrar
-            List<Match> matchesUsuario = databaseOperations.findMatchesByUsuario(idUsuario);
-            Match match = matchesUsuario.stream()
-                    .filter(m -> m.getIdTrabalho().equals(idTrabalho))
-                    .findFirst()
+            // Produção: PostgreSQL
+            Match match = databaseOperations.findMatchByUsuarioAndTrabalho(usuario, trabalho)
                     .orElseThrow(() -> new ResourceNotFoundException(
                         "Match não encontrado entre usuário " + idUsuario + " e trabalho " + idTrabalho));
-            return convertToDTO(match);
+            return ModelMapper.toMatchDTO(match);
         } else {
             // Desenvolvimento: Memória
-            Match match = matchRepository.findByIdUsuarioAndIdTrabalho(idUsuario, idTrabalho)
+            Match match = matchRepository.findByIdUsuarioAndIdTrabalho(usuario, trabalho)
                     .orElseThrow(() -> new ResourceNotFoundException(
                         "Match não encontrado entre usuário " + idUsuario + " e trabalho " + idTrabalho));
-            return convertToDTO(match);
+            return ModelMapper.toMatchDTO(match);
         }
     }
     
-    public void excluirMatchesPorUsuario(String idUsuario) {
+    public int excluirMatchesPorUsuario(String idUsuario) {
+        long usuario = ModelMapper.converterIdObrigatorio(idUsuario);
+        List<Match> removidos;
+        
         if (databaseOperations != null) {
-            // Produção: PostgreSQL
-            List<Match> matches = databaseOperations.findMatchesByUsuario(idUsuario);
-            if (matches.isEmpty()) {
-                throw new ResourceNotFoundException("Nenhum match encontrado para o usuário com ID: " + idUsuario);
-            }
-            
-            for (Match match : matches) {
-                databaseOperations.deleteMatchById(match.getId());
-            }
+            // Produção: PostgreSQL - um único DELETE, que devolve as linhas removidas
+            removidos = databaseOperations.deleteMatchesByUsuario(usuario);
         } else {
             // Desenvolvimento: Memória
-            boolean removido = matchRepository.deleteByIdUsuario(idUsuario);
-            if (!removido) {
-                throw new ResourceNotFoundException("Nenhum match encontrado para o usuário com ID: " + idUsuario);
-            }
+            removidos = matchRepository.deleteByIdUsuario(usuario);
         }
+        
+        if (removidos.isEmpty()) {
+            throw new ResourceNotFoundException("Nenhum match encontrado para o usuário com ID: " + idUsuario);
+        }
+        // Cada exclusão vai para os assinantes do usuário e do trabalho, como em excluirMatch
+        removidos.forEach(match -> publicar(EventosMatchService.EXCLUIDO, ModelMapper.toMatchDTO(match), null));
+        return removidos.size();
     }
     
-    public void excluirMatchesPorTrabalho(String idTrabalho) {
+    public int excluirMatchesPorTrabalho(String idTrabalho) {
+        long trabalho = ModelMapper.converterIdObrigatorio(idTrabalho);
+        List<Match> removidos;
+        
         if (databaseOperations != null) {
-            // Produção: PostgreSQL
-            List<Match> matches = databaseOperations.findMatchesByTrabalho(idTrabalho);
-            if (matches.isEmpty()) {
-                throw new ResourceNotFoundException("Nenhum match encontrado para o trabalho com ID: " + idTrabalho);
-            }
-            
-            for (Match match : matches) {
-                databaseOperations.deleteMatchById(match.getId());
-            }
+            // Produção: PostgreSQL - um único DELETE, que devolve as linhas removidas
+            removidos = databaseOperations.deleteMatchesByTrabalho(trabalho);
         } else {
             // Desenvolvimento: Memória
-            boolean removido = matchRepository.deleteByIdTrabalho(idTrabalho);
-            if (!removido) {
-                throw new ResourceNotFoundException("Nenhum match encontrado para o trabalho com ID: " + idTrabalho);
-            }
+            removidos = matchRepository.deleteByIdTrabalho(trabalho);
         }
+        
+        if (removidos.isEmpty()) {
+            throw new ResourceNotFoundException("Nenhum match encontrado para o trabalho com ID: " + idTrabalho);
+        }
+        // Cada exclusão vai para os assinantes do usuário e do trabalho, como em excluirMatch
+        removidos.forEach(match -> publicar(EventosMatchService.EXCLUIDO, ModelMapper.toMatchDTO(match), null));
+        return removidos.size();
+    }
+    
+    /**
+     * Publica a alteração para o GET /api/matches/stream (EventosMatchService) e devolve o match
+     */
+    private MatchDTO publicar(String tipo, MatchDTO match, MatchDTO anterior) {
+        eventPublisher.publishEvent(new EventosMatchService.EventoMatch(tipo, match, anterior));
+        return match;
     }
     
+    /**
+     * Aplica os campos informados no DTO; recebe uma cópia (copiar), porque uma conversão inválida
+     * no meio lança BadRequestException com parte dos campos já alterados
+     */
     private void atualizarCamposMatch(Match match, MatchDTO dto) {
         if (dto.getIdUsuario() != null && !dto.getIdUsuario().trim().isEmpty()) {
-            match.setIdUsuario(dto.getIdUsuario());
+            match.setIdUsuario(ModelMapper.converterIdObrigatorio(dto.getIdUsuario()));
         }
         if (dto.getIdTrabalho() != null && !dto.getIdTrabalho().trim().isEmpty()) {
-            match.setIdTrabalho(dto.getIdTrabalho());
+            match.setIdTrabalho(ModelMapper.converterIdObrigatorio(dto.getIdTrabalho()));
         }
-        if (dto.getStatus() != null) {
-            match.setStatus(dto.getStatus());
+        StatusMatch status = ModelMapper.converterStatus(dto.getStatus());
+        if (status != null) {
+            match.setStatus(status);
         }
         if (dto.getDataMatch() != null) {
-            match.setDataMatch(dto.getDataMatch());
+            match.setDataMatch(ModelMapper.converterData(dto.getDataMatch(), "Data do match inválida (use AAAA-MM-DD)"));
         }
         if (dto.getDataInicio() != null) {
-            match.setDataInicio(dto.getDataInicio());
+            match.setDataInicio(ModelMapper.converterData(dto.getDataInicio(), "Data de início inválida (use AAAA-MM-DD)"));
         }
         if (dto.getDataTermino() != null) {
-            match.setDataTermino(dto.getDataTermino());
+            match.setDataTermino(ModelMapper.converterData(dto.getDataTermino(), "Data de término inválida (use AAAA-MM-DD)"));
         }
-        if (dto.getHorasTrabalhas() != null) {
-            match.setHorasTrabalhas(dto.getHorasTrabalhas());
+        Double horas = ModelMapper.converterDecimal(dto.getHorasTrabalhas(), "Formato de horas trabalhadas inválido");
+        if (horas != null) {
+            match.setHorasTrabalhas(horas);
         }
-        if (dto.getAvaliacao() != null) {
-            match.setAvaliacao(dto.getAvaliacao());
+        Integer avaliacao = ModelMapper.converterInteiro(dto.getAvaliacao(), "Formato de avaliação inválido");
+        if (avaliacao != null) {
+            match.setAvaliacao(avaliacao);
         }
         if (dto.getDescricao() != null) {
             match.setDescricao(dto.getDescricao());
@@ -477,44 +499,40 @@ public class MatchService {
             throw new BadRequestException("ID do trabalho é obrigatório");
         }
         
-        // Validar avaliação se fornecida
-        if (matchDTO.getAvaliacao() != null && !matchDTO.getAvaliacao().isEmpty()) {
-            try {
-                int avaliacao = Integer.parseInt(matchDTO.getAvaliacao());
-                if (avaliacao < 1 || avaliacao > 5) {
-                    throw new BadRequestException("Avaliação deve estar entre 1 e 5");
-                }
-            } catch (NumberFormatException e) {
-                throw new BadRequestException("Formato de avaliação inválido");
-            }
+        // Validar avaliação e horas trabalhadas se fornecidas
+        validarValoresMatch(matchDTO);
+    }
+    
+    private void validarValoresMatch(MatchDTO matchDTO) {
+        Integer avaliacao = ModelMapper.converterInteiro(matchDTO.getAvaliacao(), "Formato de avaliação inválido");
+        if (avaliacao != null && (avaliacao < 1 || avaliacao > 5)) {
+            throw new BadRequestException("Avaliação deve estar entre 1 e 5");
         }
         
-        // Validar horas trabalhadas se fornecidas
-        if (matchDTO.getHorasTrabalhas() != null && !matchDTO.getHorasTrabalhas().isEmpty()) {
-            try {
-                float horas = Float.parseFloat(matchDTO.getHorasTrabalhas());
-                if (horas < 0) {
-                    throw new BadRequestException("Horas trabalhadas não pode ser negativo");
-                }
-            } catch (NumberFormatException e) {
-                throw new BadRequestException("Formato de horas trabalhadas inválido");
-            }
+        Double horas = ModelMapper.converterDecimal(matchDTO.getHorasTrabalhas(), "Formato de horas trabalhadas inválido");
+        if (horas != null && horas < 0) {
+            throw new BadRequestException("Horas trabalhadas não pode ser negativo");
         }
     }
     
-    private MatchDTO convertToDTO(Match match) {
-        return new MatchDTO(
-                match.getId(),
-                match.getIdUsuario(),
-                match.getIdTrabalho(),
-                match.getStatus(),
-                match.getDataMatch(),
-                match.getDataInicio(),
-                match.getDataTermino(),
-                match.getHorasTrabalhas(),
-                match.getAvaliacao(),
-                match.getDescricao(),
-                match.getDataCadastro()
+    private Match novoMatch(MatchDTO matchDTO) {
+        StatusMatch status = ModelMapper.converterStatus(matchDTO.getStatus());
+        LocalDate dataMatch = ModelMapper.converterData(matchDTO.getDataMatch(), "Data do match inválida (use AAAA-MM-DD)");
+        Double horas = ModelMapper.converterDecimal(matchDTO.getHorasTrabalhas(), "Formato de horas trabalhadas inválido");
+        Integer avaliacao = ModelMapper.converterInteiro(matchDTO.getAvaliacao(), "Formato de avaliação inválido");
+        
+        return new Match(
+                null, // ID será gerado pelo banco/repository
+                matchDTO.getDescricao() != null ? matchDTO.getDescricao() : "",
+                ModelMapper.converterIdObrigatorio(matchDTO.getIdUsuario()),
+                ModelMapper.converterIdObrigatorio(matchDTO.getIdTrabalho()),
+                status != null ? status : StatusMatch.PENDENTE,
+                dataMatch != null ? dataMatch : LocalDate.now(),
+                ModelMapper.converterData(matchDTO.getDataInicio(), "Data de início inválida (use AAAA-MM-DD)"),
+                ModelMapper.converterData(matchDTO.getDataTermino(), "Data de término inválida (use AAAA-MM-DD)"),
+                horas != null ? horas : 0,
+                avaliacao != null ? avaliacao : 0,
+                ItemBase.getCurrentDateTime()
         );
     }
 }
\ No newline at end of file
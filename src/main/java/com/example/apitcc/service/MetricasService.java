@@ -0,0 +1,190 @@
+package com.example.apitcc.service;
+
+import com.example.apitcc.config.MetricasConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resumo das métricas do Micrometer para os endpoints /status
+ *
+ * Por recurso: vazão e latência das rotas, tempo das operações de banco da entidade
+ * e estado do pool de conexões. Os percentis vêm da janela recente do Micrometer (últimos minutos),
+ * a média é desde o início da aplicação
+ */
+@Service
+public class MetricasService {
+
+    // Intervalo mínimo entre as amostras usadas no cálculo de requisições por segundo
+    private static final long JANELA_VAZAO_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    // Intervalo entre as amostras da espera por conexão usada no descarte de carga
+    private static final long JANELA_ESPERA_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final long inicio = System.nanoTime();
+    private final Map<String, Amostra> amostras = new ConcurrentHashMap<>();
+    private final Map<String, AmostraEspera> amostrasEspera = new ConcurrentHashMap<>();
+
+    /**
+     * Métricas das rotas em prefixoUri (ex.: /api/usuarios) e das operações de banco
+     * cujo nome contém a entidade (ex.: Usuario -> findUsuarioById, saveUsuario, ...)
+     */
+    public Map<String, Object> estatisticas(String prefixoUri, String entidade) {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("requisicoes", estatisticasRotas(prefixoUri));
+        estatisticas.put("banco", estatisticasBanco(entidade));
+        estatisticas.put("pool", estatisticasPool());
+        return estatisticas;
+    }
+
+    private Map<String, Object> estatisticasRotas(String prefixoUri) {
+        List<Timer> timers = meterRegistry.find(MetricasConfig.REQUISICOES_HTTP).timers().stream()
+                .filter(t -> {
+                    String uri = t.getId().getTag("uri");
+                    return uri != null && uri.startsWith(prefixoUri);
+                })
+                .sorted(Comparator.comparingLong(Timer::count).reversed())
+                .toList();
+
+        long total = timers.stream().mapToLong(Timer::count).sum();
+        long erros = timers.stream()
+                .filter(t -> "SERVER_ERROR".equals(t.getId().getTag("outcome")))
+                .mapToLong(Timer::count)
+                .sum();
+
+        Map<String, Object> rotas = new LinkedHashMap<>();
+        for (Timer timer : timers) {
+            String rota = timer.getId().getTag("method") + " " + timer.getId().getTag("uri")
+                    + " " + timer.getId().getTag("status");
+            rotas.put(rota, estatisticasTimer(timer));
+        }
+
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("total", total);
+        estatisticas.put("errosServidor", erros);
+        estatisticas.put("porSegundo", arredondar(vazao(prefixoUri, total)));
+        estatisticas.put("rotas", rotas);
+        return estatisticas;
+    }
+
+    private Map<String, Object> estatisticasBanco(String entidade) {
+        Map<String, Object> operacoes = new LinkedHashMap<>();
+        meterRegistry.find(MetricasConfig.OPERACOES_BANCO).timers().stream()
+                .filter(t -> {
+                    String metodo = t.getId().getTag("method");
+                    return metodo != null && metodo.contains(entidade);
+                })
+                .sorted(Comparator.comparingDouble((Timer t) -> t.totalTime(TimeUnit.MILLISECONDS)).reversed())
+                .forEach(t -> {
+                    String excecao = t.getId().getTag("exception");
+                    String chave = t.getId().getTag("method")
+                            + (excecao != null && !"none".equals(excecao) ? " (" + excecao + ")" : "");
+                    operacoes.put(chave, estatisticasTimer(t));
+                });
+        return operacoes;
+    }
+
+    /**
+     * Conexões e tempo de espera por uma conexão, por pool (interativo, relatorios)
+     * Vazio sem DataSource, no modo memória
+     */
+    private Map<String, Object> estatisticasPool() {
+        Map<String, Object> pools = new TreeMap<>();
+        for (String estado : List.of("active", "idle", "pending", "max")) {
+            for (Gauge gauge : meterRegistry.find(MetricasConfig.POOL_CONEXOES + "." + estado).gauges()) {
+                estatisticasDoPool(pools, gauge.getId().getTag("pool")).put(estado, (long) gauge.value());
+            }
+        }
+        for (Timer espera : meterRegistry.find(MetricasConfig.POOL_CONEXOES + ".acquire").timers()) {
+            estatisticasDoPool(pools, espera.getId().getTag("pool")).put("espera", estatisticasTimer(espera));
+        }
+        return pools;
+    }
+
+    /**
+     * Espera média por uma conexão do pool (interativo, relatorios) no último segundo, em milissegundos
+     * Sem conexões entregues no intervalo vale a espera anterior se há threads aguardando, senão 0
+     * 0 sem DataSource (modo memória) ou antes do pool abrir a primeira conexão
+     */
+    public double esperaRecentePool(String pool) {
+        Timer espera = meterRegistry.find(MetricasConfig.POOL_CONEXOES + ".acquire").tag("pool", pool).timer();
+        if (espera == null) {
+            return 0;
+        }
+        long agora = System.nanoTime();
+        AmostraEspera anterior = amostrasEspera.get(pool);
+        if (anterior != null && agora - anterior.instante() < JANELA_ESPERA_NANOS) {
+            return anterior.mediaMs();
+        }
+
+        long contagem = espera.count();
+        double total = espera.totalTime(TimeUnit.MILLISECONDS);
+        double media = 0;
+        if (anterior != null && contagem > anterior.contagem()) {
+            media = (total - anterior.totalMs()) / (contagem - anterior.contagem());
+        } else if (anterior != null) {
+            Gauge pendentes = meterRegistry.find(MetricasConfig.POOL_CONEXOES + ".pending").tag("pool", pool).gauge();
+            media = pendentes != null && pendentes.value() > 0 ? anterior.mediaMs() : 0;
+        }
+        amostrasEspera.put(pool, new AmostraEspera(contagem, total, media, agora));
+        return media;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> estatisticasDoPool(Map<String, Object> pools, String pool) {
+        return (Map<String, Object>) pools.computeIfAbsent(String.valueOf(pool), p -> new LinkedHashMap<String, Object>());
+    }
+
+    /**
+     * Contagem, média, máximo e percentis de um timer, em milissegundos
+     */
+    private Map<String, Object> estatisticasTimer(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("contagem", snapshot.count());
+        estatisticas.put("mediaMs", arredondar(snapshot.mean(TimeUnit.MILLISECONDS)));
+        estatisticas.put("maxMs", arredondar(snapshot.max(TimeUnit.MILLISECONDS)));
+        for (ValueAtPercentile percentil : snapshot.percentileValues()) {
+            estatisticas.put("p" + Math.round(percentil.percentile() * 100) + "Ms",
+                    arredondar(percentil.value(TimeUnit.MILLISECONDS)));
+        }
+        return estatisticas;
+    }
+
+    /**
+     * Requisições por segundo desde a amostra anterior (a primeira é o início da aplicação)
+     * A amostra só é trocada depois de JANELA_VAZAO_NANOS, para a taxa não oscilar entre leituras seguidas
+     */
+    private double vazao(String chave, long contagem) {
+        long agora = System.nanoTime();
+        Amostra anterior = amostras.computeIfAbsent(chave, c -> new Amostra(0, inicio));
+        long decorrido = agora - anterior.instante();
+        if (decorrido >= JANELA_VAZAO_NANOS) {
+            amostras.put(chave, new Amostra(contagem, agora));
+        }
+        return decorrido > 0 ? (contagem - anterior.contagem()) * 1e9 / decorrido : 0;
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 1000) / 1000.0;
+    }
+
+    private record Amostra(long contagem, long instante) {}
+
+    private record AmostraEspera(long contagem, double totalMs, double mediaMs, long instante) {}
+}
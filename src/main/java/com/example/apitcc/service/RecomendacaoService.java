@@ -0,0 +1,225 @@
+package com.example.apitcc.service;
+
+import com.example.apitcc.config.DatabaseConfig;
+import com.example.apitcc.model.dto.RecomendacaoDTO;
+import com.example.apitcc.model.dto.TrabalhoDTO;
+import com.example.apitcc.model.dto.UsuarioDTO;
+import com.example.apitcc.model.entity.Match;
+import com.example.apitcc.model.entity.Trabalho;
+import com.example.apitcc.model.entity.Usuario;
+import com.example.apitcc.repository.MatchRepository;
+import com.example.apitcc.repository.TrabalhoRepository;
+import com.example.apitcc.repository.UsuarioRepository;
+import com.example.apitcc.exception.ResourceNotFoundException;
+import com.example.apitcc.exception.BadRequestException;
+import com.example.apitcc.util.IndiceHabilidades;
+import com.example.apitcc.util.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recomendações por habilidades entre usuários e trabalhos
+ *
+ * Mantém em memória um índice invertido de habilidades para trabalhos e outro para usuários.
+ * Os índices são carregados na primeira recomendação e depois atualizados pelos serviços
+ * a cada criação, atualização e exclusão.
+ */
+@Service
+public class RecomendacaoService {
+
+    public static final int K_PADRAO = 20;
+    public static final int K_MAXIMO = 100;
+
+    @Autowired(required = false)
+    private DatabaseConfig.DatabaseOperations databaseOperations;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TrabalhoRepository trabalhoRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private final IndiceHabilidades indiceTrabalhos = new IndiceHabilidades();
+    private final IndiceHabilidades indiceUsuarios = new IndiceHabilidades();
+
+    /**
+     * Top-k trabalhos para o usuário, excluindo os que já têm match com ele
+     */
+    public List<RecomendacaoDTO<TrabalhoDTO>> recomendarTrabalhos(String idUsuario, Integer k) {
+        int limite = validarK(k);
+        long usuarioId = ModelMapper.converterIdObrigatorio(idUsuario);
+        Usuario usuario;
+        Set<Long> comMatch;
+
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL
+            usuario = databaseOperations.findUsuarioById(usuarioId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + idUsuario));
+            comMatch = databaseOperations.findMatchesByUsuario(usuarioId).stream()
+                    .map(Match::getIdTrabalho)
+                    .collect(Collectors.toSet());
+        } else {
+            // Desenvolvimento: Memória
+            usuario = usuarioRepository.findById(usuarioId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + idUsuario));
+            comMatch = matchRepository.findByIdUsuario(usuarioId).stream()
+                    .map(Match::getIdTrabalho)
+                    .collect(Collectors.toSet());
+        }
+
+        carregarTrabalhos();
+        List<IndiceHabilidades.Resultado> resultados = indiceTrabalhos.buscar(
+                IndiceHabilidades.normalizar(usuario.getHabilidades()), limite, comMatch);
+
+        List<Long> ids = resultados.stream().map(IndiceHabilidades.Resultado::getId).toList();
+        List<Trabalho> trabalhos;
+        if (databaseOperations != null) {
+            trabalhos = databaseOperations.findTrabalhosByIds(ids);
+        } else {
+            trabalhos = ids.stream().map(trabalhoRepository::findById).flatMap(Optional::stream).toList();
+        }
+
+        return montarRecomendacoes(resultados, trabalhos, Trabalho::getId, ModelMapper::toTrabalhoDTO, indiceTrabalhos);
+    }
+
+    /**
+     * Top-k usuários para o trabalho, excluindo os que já têm match com ele
+     */
+    public List<RecomendacaoDTO<UsuarioDTO>> recomendarUsuarios(String idTrabalho, Integer k) {
+        int limite = validarK(k);
+        long trabalhoId = ModelMapper.converterIdObrigatorio(idTrabalho);
+        Trabalho trabalho;
+        Set<Long> comMatch;
+
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL
+            trabalho = databaseOperations.findTrabalhoById(trabalhoId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Trabalho não encontrado com ID: " + idTrabalho));
+            comMatch = databaseOperations.findMatchesByTrabalho(trabalhoId).stream()
+                    .map(Match::getIdUsuario)
+                    .collect(Collectors.toSet());
+        } else {
+            // Desenvolvimento: Memória
+            trabalho = trabalhoRepository.findById(trabalhoId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Trabalho não encontrado com ID: " + idTrabalho));
+            comMatch = matchRepository.findByIdTrabalho(trabalhoId).stream()
+                    .map(Match::getIdUsuario)
+                    .collect(Collectors.toSet());
+        }
+
+        carregarUsuarios();
+        List<IndiceHabilidades.Resultado> resultados = indiceUsuarios.buscar(
+                IndiceHabilidades.normalizar(trabalho.getHabilidadesNecessarias()), limite, comMatch);
+
+        List<Long> ids = resultados.stream().map(IndiceHabilidades.Resultado::getId).toList();
+        List<Usuario> usuarios;
+        if (databaseOperations != null) {
+            usuarios = databaseOperations.findUsuariosByIds(ids);
+        } else {
+            usuarios = ids.stream().map(usuarioRepository::findById).flatMap(Optional::stream).toList();
+        }
+
+        return montarRecomendacoes(resultados, usuarios, Usuario::getId, ModelMapper::toUsuarioDTO, indiceUsuarios);
+    }
+
+    // =================== ATUALIZAÇÃO DOS ÍNDICES ===================
+
+    public void indexarTrabalho(Trabalho trabalho) {
+        indiceTrabalhos.indexar(trabalho.getId(), trabalho.getHabilidadesNecessarias());
+    }
+
+    public void removerTrabalhos(Collection<Long> ids) {
+        indiceTrabalhos.remover(ids);
+    }
+
+    public void removerTrabalho(long id) {
+        indiceTrabalhos.remover(id);
+    }
+
+    public void indexarUsuario(Usuario usuario) {
+        indiceUsuarios.indexar(usuario.getId(), usuario.getHabilidades());
+    }
+
+    public void removerUsuario(long id) {
+        indiceUsuarios.remover(id);
+    }
+
+    /**
+     * Tamanho dos índices (exposto em /status)
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("trabalhosIndexados", indiceTrabalhos.tamanho());
+        estatisticas.put("usuariosIndexados", indiceUsuarios.tamanho());
+        estatisticas.put("carregado", indiceTrabalhos.isCarregado() || indiceUsuarios.isCarregado());
+        return estatisticas;
+    }
+
+    private void carregarTrabalhos() {
+        indiceTrabalhos.carregarSeNecessario(indexar -> {
+            if (databaseOperations != null) {
+                databaseOperations.streamTrabalhos(t -> indexar.accept(t.getId(), t.getHabilidadesNecessarias()));
+            } else {
+                trabalhoRepository.findAll().forEach(t -> indexar.accept(t.getId(), t.getHabilidadesNecessarias()));
+            }
+        });
+    }
+
+    private void carregarUsuarios() {
+        indiceUsuarios.carregarSeNecessario(indexar -> {
+            if (databaseOperations != null) {
+                databaseOperations.streamUsuarios(u -> indexar.accept(u.getId(), u.getHabilidades()));
+            } else {
+                usuarioRepository.findAll().forEach(u -> indexar.accept(u.getId(), u.getHabilidades()));
+            }
+        });
+    }
+
+    /**
+     * Junta o resultado do índice com os registros buscados, mantendo a ordem do ranking
+     * IDs que não existem mais (ex.: removidos em cascata) saem do índice
+     */
+    private <E, D> List<RecomendacaoDTO<D>> montarRecomendacoes(List<IndiceHabilidades.Resultado> resultados,
+                                                               List<E> registros,
+                                                               Function<E, Long> id,
+                                                               Function<E, D> converter,
+                                                               IndiceHabilidades indice) {
+        Map<Long, E> porId = registros.stream().collect(Collectors.toMap(id, Function.identity()));
+        List<RecomendacaoDTO<D>> recomendacoes = new ArrayList<>(resultados.size());
+
+        for (IndiceHabilidades.Resultado resultado : resultados) {
+            E registro = porId.get(resultado.getId());
+            if (registro == null) {
+                indice.remover(resultado.getId());
+                continue;
+            }
+            recomendacoes.add(new RecomendacaoDTO<>(
+                    converter.apply(registro),
+                    Math.round(resultado.getPontuacao() * 1000) / 1000.0,
+                    Math.round(resultado.getCobertura() * 1000) / 1000.0,
+                    resultado.getHabilidadesEmComum()));
+        }
+        return recomendacoes;
+    }
+
+    private int validarK(Integer k) {
+        int limite = k != null ? k : K_PADRAO;
+        if (limite < 1 || limite > K_MAXIMO) {
+            throw new BadRequestException("Parâmetro k deve estar entre 1 e " + K_MAXIMO);
+        }
+        return limite;
+    }
+}
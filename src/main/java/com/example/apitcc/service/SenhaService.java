@@ -0,0 +1,164 @@
+package com.example.apitcc.service;
+
+import com.example.apitcc.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Hash e verificação de senhas (BCrypt, custo em app.auth.bcrypt.custo)
+ *
+ * O BCrypt é caro em CPU de propósito, então roda num pool próprio e limitado (app.auth.hash.*):
+ * no máximo uma thread por CPU e uma fila curta. Com o pool cheio a requisição recebe 503 em vez de
+ * ocupar as threads do Tomcat; as demais rotas continuam atendendo normalmente.
+ * Métricas do pool em executor.*{name=hash-senhas}
+ *
+ * Senhas antigas em texto puro (anteriores ao hash) ainda são aceitas no login e regravadas com hash
+ * (AuthService); a migração de uma vez é feita pelo MigracaoSenhas (app.auth.migrar-senhas=true)
+ */
+@Service
+public class SenhaService {
+
+    // $2a$, $2b$ ou $2y$, custo com dois dígitos, 22 caracteres de salt e 31 de hash
+    private static final Pattern HASH_BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private final BCryptPasswordEncoder encoder;
+    private final ExecutorService executor;
+    private final int threads;
+    private final Duration espera;
+
+    // Comparado quando o email não existe: o tempo de resposta do login não revela quem é cadastrado
+    private final String hashFicticio;
+
+    public SenhaService(Environment environment, MeterRegistry meterRegistry) {
+        this.encoder = new BCryptPasswordEncoder(environment.getProperty("app.auth.bcrypt.custo", Integer.class, 10));
+
+        int threadsConfiguradas = environment.getProperty("app.auth.hash.threads", Integer.class, 0);
+        this.threads = threadsConfiguradas > 0 ? threadsConfiguradas : Runtime.getRuntime().availableProcessors();
+        this.espera = environment.getProperty("app.auth.hash.espera", Duration.class, Duration.ofSeconds(5));
+
+        CustomizableThreadFactory fabrica = new CustomizableThreadFactory("hash-senha-");
+        fabrica.setDaemon(true);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(environment.getProperty("app.auth.hash.fila", Integer.class, 64)),
+                fabrica, new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "hash-senhas");
+
+        this.hashFicticio = encoder.encode(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Hash BCrypt de uma senha (cadastro, alteração)
+     */
+    public String gerarHash(String senha) {
+        return executar(() -> encoder.encode(senha), espera);
+    }
+
+    /**
+     * Hashes de várias senhas, na mesma ordem (inserção em lote, migração)
+     * Usa no máximo metade das threads do pool: um lote grande não bloqueia os logins
+     */
+    public List<String> gerarHashes(List<String> senhas) {
+        if (senhas.isEmpty()) {
+            return List.of();
+        }
+        int fatias = Math.min(Math.max(1, threads / 2), senhas.size());
+        int tamanhoFatia = (senhas.size() + fatias - 1) / fatias;
+
+        List<Future<List<String>>> futuros = new ArrayList<>(fatias);
+        try {
+            for (int inicio = 0; inicio < senhas.size(); inicio += tamanhoFatia) {
+                List<String> fatia = senhas.subList(inicio, Math.min(inicio + tamanhoFatia, senhas.size()));
+                futuros.add(submeter(() -> fatia.stream().map(encoder::encode).toList()));
+            }
+            List<String> hashes = new ArrayList<>(senhas.size());
+            for (Future<List<String>> futuro : futuros) {
+                hashes.addAll(aguardar(futuro, espera.multipliedBy(tamanhoFatia)));
+            }
+            return hashes;
+        } finally {
+            futuros.forEach(futuro -> futuro.cancel(true));
+        }
+    }
+
+    /**
+     * Confere a senha informada com a armazenada (hash BCrypt ou texto puro legado)
+     * armazenada null ou vazia (email inexistente) sempre falha, no mesmo tempo de uma comparação real
+     */
+    public boolean confere(String senha, String armazenada) {
+        if (armazenada == null || armazenada.isEmpty() || !isHash(armazenada)) {
+            executar(() -> encoder.matches(senha, hashFicticio), espera);
+            return armazenada != null && !armazenada.isEmpty()
+                    && MessageDigest.isEqual(senha.getBytes(StandardCharsets.UTF_8),
+                            armazenada.getBytes(StandardCharsets.UTF_8));
+        }
+        return executar(() -> encoder.matches(senha, armazenada), espera);
+    }
+
+    /**
+     * true se a senha armazenada deve ser regravada: texto puro ou hash com custo menor que o atual
+     */
+    public boolean precisaAtualizar(String armazenada) {
+        return !isHash(armazenada) || encoder.upgradeEncoding(armazenada);
+    }
+
+    public static boolean isHash(String senha) {
+        return senha != null && HASH_BCRYPT.matcher(senha).matches();
+    }
+
+    private <T> T executar(Callable<T> tarefa, Duration limite) {
+        Future<T> futuro = submeter(tarefa);
+        try {
+            return aguardar(futuro, limite);
+        } finally {
+            futuro.cancel(true);
+        }
+    }
+
+    private <T> Future<T> submeter(Callable<T> tarefa) {
+        try {
+            return executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Servidor ocupado processando senhas, tente novamente", e);
+        }
+    }
+
+    private static <T> T aguardar(Future<T> futuro, Duration limite) {
+        try {
+            return futuro.get(limite.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Servidor ocupado processando senhas, tente novamente", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Processamento da senha interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao processar a senha", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
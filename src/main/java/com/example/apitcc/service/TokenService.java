@@ -0,0 +1,157 @@
+package com.example.apitcc.service;
+
+import com.example.apitcc.exception.UnauthorizedException;
+import com.example.apitcc.model.dto.SessaoDTO;
+import com.example.apitcc.util.ModelMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tokens de sessão assinados (formato JWT, HS256), emitidos no login
+ *
+ * O token carrega o ID, o tipo (usuario/empresa) e a validade; a verificação só confere a assinatura
+ * HMAC e o exp, sem consultar o banco. Um token continua válido até expirar (app.auth.validade),
+ * mesmo que a senha mude: não há revogação.
+ *
+ * A chave vem de app.auth.segredo (APP_AUTH_SEGREDO, pelo menos 32 caracteres) e é obrigatória no perfil prod:
+ * sem ela a aplicação não sobe. Nos demais perfis (dev, testes) cada processo sorteia a sua, com um aviso no log;
+ * os tokens deixam de valer ao reiniciar e não valem entre instâncias.
+ */
+@Service
+public class TokenService {
+
+    public static final String USUARIO = "usuario";
+    public static final String EMPRESA = "empresa";
+    public static final Set<String> TIPOS = Set.of(USUARIO, EMPRESA);
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final int TAMANHO_MINIMO_SEGREDO = 32;
+
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+
+    // Cabeçalho fixo: tokens com outro alg (inclusive "none") são recusados sem decodificar
+    private static final String CABECALHO = BASE64.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final SecretKeySpec chave;
+    private final Duration validade;
+    private final ObjectMapper objectMapper;
+
+    public TokenService(Environment environment, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.validade = environment.getProperty("app.auth.validade", Duration.class, Duration.ofHours(8));
+
+        String segredo = environment.getProperty("app.auth.segredo", "");
+        byte[] bytesChave;
+        if (segredo.isBlank()) {
+            if (environment.acceptsProfiles(Profiles.of("prod"))) {
+                throw new IllegalStateException("app.auth.segredo (APP_AUTH_SEGREDO) é obrigatório no perfil prod");
+            }
+            log.warn("app.auth.segredo não configurado: usando chave aleatória deste processo "
+                    + "(tokens perdidos ao reiniciar e não aceitos por outras instâncias)");
+            bytesChave = new byte[TAMANHO_MINIMO_SEGREDO];
+            new SecureRandom().nextBytes(bytesChave);
+        } else {
+            bytesChave = segredo.getBytes(StandardCharsets.UTF_8);
+            if (bytesChave.length < TAMANHO_MINIMO_SEGREDO) {
+                throw new IllegalStateException("app.auth.segredo deve ter pelo menos "
+                        + TAMANHO_MINIMO_SEGREDO + " caracteres");
+            }
+        }
+        this.chave = new SecretKeySpec(bytesChave, ALGORITMO);
+    }
+
+    /**
+     * Emite o token de uma sessão nova
+     */
+    public SessaoDTO emitir(String tipo, long id) {
+        // Em segundos, como iat/exp: o expiraEm da resposta é o mesmo que a verificação usa
+        Instant emitidoEm = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant expiraEm = emitidoEm.plus(validade);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sub", ModelMapper.formatarId(id));
+        payload.put("tipo", tipo);
+        payload.put("iat", emitidoEm.getEpochSecond());
+        payload.put("exp", expiraEm.getEpochSecond());
+
+        String conteudo;
+        try {
+            conteudo = CABECALHO + "." + BASE64.encodeToString(objectMapper.writeValueAsBytes(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        String token = conteudo + "." + BASE64.encodeToString(assinar(conteudo));
+
+        return new SessaoDTO(ModelMapper.formatarId(id), tipo,
+                emitidoEm.toString(), expiraEm.toString(), token);
+    }
+
+    /**
+     * Confere assinatura e validade; o retorno não inclui o token
+     */
+    public SessaoDTO verificar(String token) {
+        String[] partes = token.split("\\.", -1);
+        if (partes.length != 3 || !CABECALHO.equals(partes[0])) {
+            throw new UnauthorizedException("Token inválido");
+        }
+
+        try {
+            byte[] assinatura = BASE64_DECODER.decode(partes[2]);
+            if (!MessageDigest.isEqual(assinar(partes[0] + "." + partes[1]), assinatura)) {
+                throw new UnauthorizedException("Token inválido");
+            }
+
+            JsonNode payload = objectMapper.readTree(BASE64_DECODER.decode(partes[1]));
+            long exp = payload.path("exp").asLong(0);
+            if (Instant.now().getEpochSecond() >= exp) {
+                throw new UnauthorizedException("Token expirado");
+            }
+            String tipo = payload.path("tipo").asText();
+            if (!TIPOS.contains(tipo)) {
+                throw new UnauthorizedException("Token inválido");
+            }
+
+            return new SessaoDTO(payload.path("sub").asText(), tipo,
+                    Instant.ofEpochSecond(payload.path("iat").asLong()).toString(),
+                    Instant.ofEpochSecond(exp).toString(), null);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new UnauthorizedException("Token inválido");
+        }
+    }
+
+    private byte[] assinar(String conteudo) {
+        try {
+            // Mac não é thread-safe: uma instância por chamada
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            return mac.doFinal(conteudo.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,17 +1,34 @@
 package com.example.apitcc.service;
 
 import com.example.apitcc.config.DatabaseConfig;
+import com.example.apitcc.config.VersaoTabelas;
 import com.example.apitcc.model.dto.TrabalhoDTO;
+import com.example.apitcc.model.dto.PaginaDTO;
+import com.example.apitcc.model.dto.ResultadoLoteDTO;
 import com.example.apitcc.model.entity.Trabalho;
 import com.example.apitcc.model.entity.Empresa;
 import com.example.apitcc.model.entity.ItemBase;
+import com.example.apitcc.repository.EmpresaRepository;
+import com.example.apitcc.repository.MatchRepository;
+import com.example.apitcc.repository.TrabalhoRepository;
 import com.example.apitcc.exception.ResourceNotFoundException;
 import com.example.apitcc.exception.BadRequestException;
+import com.example.apitcc.util.BuscaTexto;
+import com.example.apitcc.util.ModelMapper;
+import com.example.apitcc.util.Paginacao;
+import com.example.apitcc.util.Projecao;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,153 +37,278 @@ public class TrabalhoService {
     @Autowired(required = false)
     private DatabaseConfig.DatabaseOperations databaseOperations;
     
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+    
+    @Autowired
+    private TrabalhoRepository trabalhoRepository;
+    
+    @Autowired
+    private EmpresaRepository empresaRepository;
+    
+    @Autowired
+    private MatchRepository matchRepository;
+    
+    @Autowired
+    private RecomendacaoService recomendacaoService;
+    
+    @Autowired
+    private ConsultaParalelaService consultaParalelaService;
+    
+    // Máximo de itens aceitos por requisição de criação em lote
+    private static final int LIMITE_LOTE = 10000;
+    
     public List<TrabalhoDTO> listarTodosTrabalhos() {
         if (databaseOperations != null) {
             // Produção: PostgreSQL
             return databaseOperations.findAllTrabalhos().stream()
-                    .map(this::convertToDTO)
+                    .map(ModelMapper::toTrabalhoDTO)
                     .collect(Collectors.toList());
         } else {
             // Desenvolvimento: Memória
-            return Trabalho.trabalhos.stream()
-                    .map(this::convertToDTO)
+            return trabalhoRepository.findAll().stream()
+                    .map(ModelMapper::toTrabalhoDTO)
                     .collect(Collectors.toList());
         }
     }
     
+    /**
+     * Versão dos dados de trabalhos para o ETag das leituras (não consulta o banco)
+     */
+    public long versaoTrabalhos() {
+        if (databaseOperations != null) {
+            return versaoTabelas.versao(VersaoTabelas.Tabela.TRABALHOS);
+        } else {
+            return trabalhoRepository.versao();
+        }
+    }
+    
+    public PaginaDTO<TrabalhoDTO> listarTrabalhosPaginado(Integer limit, String after, String sort, Projecao projecao) {
+        Paginacao.Consulta consulta = Paginacao.criarConsulta(limit, after, sort,
+                TrabalhoRepository.CAMPOS_ORDENACAO.keySet());
+        List<Trabalho> resultado;
+        
+        if (databaseOperations != null) {
+            resultado = databaseOperations.findTrabalhosPagina(consulta, projecao);
+        } else {
+            resultado = trabalhoRepository.findPagina(consulta);
+        }
+        
+        return Paginacao.montarPagina(resultado, consulta,
+                TrabalhoRepository.CAMPOS_ORDENACAO.get(consulta.getCampo()), Trabalho::getId, ModelMapper::toTrabalhoDTO);
+    }
+    
+    /**
+     * Busca textual em descrição, habilidades necessárias e tipo de trabalho, ordenada por relevância
+     * Paginada por cursor como a listagem (limit, after)
+     */
+    public PaginaDTO<TrabalhoDTO> buscarTrabalhos(String q, Integer limit, String after) {
+        Paginacao.Consulta consulta = BuscaTexto.criarConsulta(q, limit, after);
+        List<BuscaTexto.Resultado<Trabalho>> resultado;
+        
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL - tsvector com índice GIN, ordenado por ts_rank
+            resultado = databaseOperations.buscarTrabalhos(q.trim(), consulta);
+        } else {
+            // Desenvolvimento: Memória
+            resultado = trabalhoRepository.buscarTexto(q, consulta);
+        }
+        
+        return Paginacao.montarPagina(resultado, consulta, r -> Float.toString(r.relevancia()),
+                r -> r.item().getId(), r -> ModelMapper.toTrabalhoDTO(r.item()));
+    }
+    
+    public void exportarTrabalhos(Consumer<TrabalhoDTO> consumidor) {
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL - cursor no servidor, linha a linha
+            databaseOperations.streamTrabalhos(t -> consumidor.accept(ModelMapper.toTrabalhoDTO(t)));
+        } else {
+            // Desenvolvimento: Memória
+            trabalhoRepository.findAll().forEach(t -> consumidor.accept(ModelMapper.toTrabalhoDTO(t)));
+        }
+    }
+    
     public TrabalhoDTO buscarTrabalhoPorId(String id) {
+        long idTrabalho = ModelMapper.converterIdObrigatorio(id);
+        
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            Trabalho trabalho = databaseOperations.findTrabalhoById(id)
+            Trabalho trabalho = databaseOperations.findTrabalhoById(idTrabalho)
                     .orElseThrow(() -> new ResourceNotFoundException("Trabalho não encontrado com ID: " + id));
-            return convertToDTO(trabalho);
+            return ModelMapper.toTrabalhoDTO(trabalho);
         } else {
             // Desenvolvimento: Memória
-            Trabalho trabalho = Trabalho.trabalhos.stream()
-                    .filter(t -> t.getId().equals(id))
-                    .findFirst()
+            Trabalho trabalho = trabalhoRepository.findById(idTrabalho)
                     .orElseThrow(() -> new ResourceNotFoundException("Trabalho não encontrado com ID: " + id));
-            return convertToDTO(trabalho);
+            return ModelMapper.toTrabalhoDTO(trabalho);
         }
     }
     
     public TrabalhoDTO criarTrabalho(TrabalhoDTO trabalhoDTO) {
         // Validações
         validarDadosTrabalho(trabalhoDTO);
+        long idEmpresa = ModelMapper.converterIdObrigatorio(trabalhoDTO.getIdEmpresa());
         
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            // Verificar se a empresa existe
-            Optional<Empresa> empresaExistente = databaseOperations.findEmpresaById(trabalhoDTO.getIdEmpresa());
-            if (!empresaExistente.isPresent()) {
+            // Existência e nome da empresa são lidos no próprio INSERT (uma ida ao banco)
+            Trabalho trabalho = novoTrabalho(trabalhoDTO, idEmpresa, null, ItemBase.getCurrentDateTime());
+            
+            if (!databaseOperations.insertTrabalhoSeEmpresaExiste(trabalho)) {
                 throw new BadRequestException("Empresa não encontrada com ID: " + trabalhoDTO.getIdEmpresa());
             }
             
-            String nomeEmpresa = empresaExistente.get().getNome();
-            
-            Trabalho trabalho = new Trabalho(
-                    null, // ID será gerado pelo banco
-                    trabalhoDTO.getDescricao() != null ? trabalhoDTO.getDescricao() : "",
-                    trabalhoDTO.getIdEmpresa(),
-                    nomeEmpresa,
-                    trabalhoDTO.getDescricaoTrabalho(),
-                    trabalhoDTO.getQuantidadeDeVagas() != null ? trabalhoDTO.getQuantidadeDeVagas() : "1",
-                    trabalhoDTO.getTipoTrabalho() != null ? trabalhoDTO.getTipoTrabalho() : "",
-                    trabalhoDTO.getHabilidadesNecessarias() != null ? trabalhoDTO.getHabilidadesNecessarias() : "",
-                    ItemBase.getCurrentDateTime()
-            );
-            
-            Trabalho trabalhoSalvo = databaseOperations.saveTrabalho(trabalho);
-            return convertToDTO(trabalhoSalvo);
+            recomendacaoService.indexarTrabalho(trabalho);
+            return ModelMapper.toTrabalhoDTO(trabalho);
             
         } else {
             // Desenvolvimento: Memória
             // Verificar se a empresa existe
-            boolean empresaExiste = Empresa.empresas.stream()
-                    .anyMatch(e -> e.getId().equals(trabalhoDTO.getIdEmpresa()));
+            boolean empresaExiste = empresaRepository.existsById(idEmpresa);
             
             if (!empresaExiste) {
                 throw new BadRequestException("Empresa não encontrada com ID: " + trabalhoDTO.getIdEmpresa());
             }
             
             // Buscar nome da empresa para armazenar
-            String nomeEmpresa = Empresa.empresas.stream()
-                    .filter(e -> e.getId().equals(trabalhoDTO.getIdEmpresa()))
+            String nomeEmpresa = empresaRepository.findById(idEmpresa)
                     .map(Empresa::getNome)
-                    .findFirst()
                     .orElse("");
             
-            String id = String.valueOf(Trabalho.proximoId++);
-            String dataCadastro = ItemBase.getCurrentDateTime();
+            Trabalho trabalho = novoTrabalho(trabalhoDTO, idEmpresa, nomeEmpresa, ItemBase.getCurrentDateTime());
             
-            Trabalho trabalho = new Trabalho(
-                    id,
-                    trabalhoDTO.getDescricao() != null ? trabalhoDTO.getDescricao() : "",
-                    trabalhoDTO.getIdEmpresa(),
-                    nomeEmpresa,
-                    trabalhoDTO.getDescricaoTrabalho(),
-                    trabalhoDTO.getQuantidadeDeVagas() != null ? trabalhoDTO.getQuantidadeDeVagas() : "1",
-                    trabalhoDTO.getTipoTrabalho() != null ? trabalhoDTO.getTipoTrabalho() : "",
-                    trabalhoDTO.getHabilidadesNecessarias() != null ? trabalhoDTO.getHabilidadesNecessarias() : "",
-                    dataCadastro
-            );
+            Trabalho trabalhoSalvo = trabalhoRepository.save(trabalho);
             
-            Trabalho.trabalhos.add(trabalho);
-            return convertToDTO(trabalho);
+            recomendacaoService.indexarTrabalho(trabalhoSalvo);
+            return ModelMapper.toTrabalhoDTO(trabalhoSalvo);
         }
     }
     
+    /**
+     * Cria vários trabalhos de uma vez
+     * Cada item é validado individualmente; os válidos são inseridos juntos (em lote, no banco)
+     * e o resultado informa, por índice, o ID criado ou o motivo da falha
+     */
+    public List<ResultadoLoteDTO> criarTrabalhosEmLote(List<TrabalhoDTO> trabalhosDTO) {
+        if (trabalhosDTO == null || trabalhosDTO.isEmpty()) {
+            throw new BadRequestException("Lista de trabalhos vazia");
+        }
+        if (trabalhosDTO.size() > LIMITE_LOTE) {
+            throw new BadRequestException("Máximo de " + LIMITE_LOTE + " trabalhos por lote");
+        }
+        
+        // Nome das empresas referenciadas (ID -> nome); empresas inexistentes e IDs inválidos ficam de fora
+        Set<Long> idsEmpresas = trabalhosDTO.stream()
+                .filter(dto -> dto != null && dto.getIdEmpresa() != null && dto.getIdEmpresa().trim().matches("\\d{1,18}"))
+                .map(dto -> Long.valueOf(dto.getIdEmpresa().trim()))
+                .collect(Collectors.toSet());
+        Map<Long, String> nomesEmpresas;
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL - uma única consulta para todas as empresas
+            nomesEmpresas = databaseOperations.findNomesEmpresas(idsEmpresas);
+        } else {
+            // Desenvolvimento: Memória
+            nomesEmpresas = new HashMap<>();
+            for (Long idEmpresa : idsEmpresas) {
+                empresaRepository.findById(idEmpresa)
+                        .ifPresent(empresa -> nomesEmpresas.put(idEmpresa, empresa.getNome() != null ? empresa.getNome() : ""));
+            }
+        }
+        
+        List<ResultadoLoteDTO> resultados = new ArrayList<>(trabalhosDTO.size());
+        List<Trabalho> novosTrabalhos = new ArrayList<>();
+        List<ResultadoLoteDTO> resultadosCriados = new ArrayList<>();
+        LocalDateTime dataCadastro = ItemBase.getCurrentDateTime();
+        
+        for (int i = 0; i < trabalhosDTO.size(); i++) {
+            TrabalhoDTO trabalhoDTO = trabalhosDTO.get(i);
+            try {
+                if (trabalhoDTO == null) {
+                    throw new BadRequestException("Trabalho não informado");
+                }
+                validarDadosTrabalho(trabalhoDTO);
+                long idEmpresa = ModelMapper.converterIdObrigatorio(trabalhoDTO.getIdEmpresa());
+                
+                String nomeEmpresa = nomesEmpresas.get(idEmpresa);
+                if (nomeEmpresa == null) {
+                    throw new BadRequestException("Empresa não encontrada com ID: " + trabalhoDTO.getIdEmpresa());
+                }
+                
+                ResultadoLoteDTO resultado = ResultadoLoteDTO.criado(i, null);
+                resultados.add(resultado);
+                resultadosCriados.add(resultado);
+                novosTrabalhos.add(novoTrabalho(trabalhoDTO, idEmpresa, nomeEmpresa, dataCadastro));
+            } catch (BadRequestException e) {
+                resultados.add(ResultadoLoteDTO.falha(i, e.getMessage()));
+            }
+        }
+        
+        if (!novosTrabalhos.isEmpty()) {
+            if (databaseOperations != null) {
+                // Produção: PostgreSQL - batch insert em uma transação
+                databaseOperations.insertTrabalhosEmLote(novosTrabalhos);
+            } else {
+                // Desenvolvimento: Memória
+                novosTrabalhos.forEach(trabalhoRepository::save);
+            }
+            
+            for (int i = 0; i < novosTrabalhos.size(); i++) {
+                resultadosCriados.get(i).setId(ModelMapper.formatarId(novosTrabalhos.get(i).getId()));
+            }
+            novosTrabalhos.forEach(recomendacaoService::indexarTrabalho);
+        }
+        
+        return resultados;
+    }
+    
     public TrabalhoDTO atualizarTrabalho(String id, TrabalhoDTO trabalhoDTO) {
+        long idTrabalho = ModelMapper.converterIdObrigatorio(id);
+        Long idEmpresa = ModelMapper.converterId(trabalhoDTO.getIdEmpresa());
+        
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            Trabalho trabalhoExistente = databaseOperations.findTrabalhoById(id)
+            // Trabalho e empresa são buscados em paralelo
+            Future<Optional<Trabalho>> buscaTrabalho = consultaParalelaService.iniciar(
+                    () -> databaseOperations.findTrabalhoById(idTrabalho));
+            Future<Optional<Empresa>> buscaEmpresa = idEmpresa != null
+                    ? consultaParalelaService.iniciar(() -> databaseOperations.findEmpresaById(idEmpresa))
+                    : null;
+            
+            Trabalho trabalhoExistente = consultaParalelaService.aguardar(buscaTrabalho)
+                    .map(Trabalho::copiar)
                     .orElseThrow(() -> new ResourceNotFoundException("Trabalho não encontrado com ID: " + id));
             
             // Validar dados se fornecidos
-            if (trabalhoDTO.getIdEmpresa() != null && !trabalhoDTO.getIdEmpresa().isEmpty()) {
-                Optional<Empresa> empresa = databaseOperations.findEmpresaById(trabalhoDTO.getIdEmpresa());
-                if (!empresa.isPresent()) {
-                    throw new BadRequestException("Empresa não encontrada com ID: " + trabalhoDTO.getIdEmpresa());
-                }
+            Optional<Empresa> empresa = idEmpresa != null
+                    ? consultaParalelaService.aguardar(buscaEmpresa)
+                    : Optional.empty();
+            if (idEmpresa != null && empresa.isEmpty()) {
+                throw new BadRequestException("Empresa não encontrada com ID: " + trabalhoDTO.getIdEmpresa());
             }
             
             // Validar quantidade de vagas se fornecida
-            if (trabalhoDTO.getQuantidadeDeVagas() != null && !trabalhoDTO.getQuantidadeDeVagas().isEmpty()) {
-                try {
-                    int vagas = Integer.parseInt(trabalhoDTO.getQuantidadeDeVagas());
-                    if (vagas <= 0) {
-                        throw new BadRequestException("Quantidade de vagas deve ser um número positivo");
-                    }
-                } catch (NumberFormatException e) {
-                    throw new BadRequestException("Formato de quantidade de vagas inválido");
-                }
-            }
+            validarQuantidadeDeVagas(trabalhoDTO.getQuantidadeDeVagas());
             
             // Atualizar campos
             atualizarCamposTrabalho(trabalhoExistente, trabalhoDTO);
             
             // Atualizar nome da empresa se o ID mudou
-            if (trabalhoDTO.getIdEmpresa() != null && !trabalhoDTO.getIdEmpresa().isEmpty()) {
-                Optional<Empresa> empresa = databaseOperations.findEmpresaById(trabalhoDTO.getIdEmpresa());
-                if (empresa.isPresent()) {
-                    trabalhoExistente.setNomeEmpresa(empresa.get().getNome());
-                }
-            }
+            empresa.ifPresent(e -> trabalhoExistente.setNomeEmpresa(e.getNome()));
             
             Trabalho trabalhoAtualizado = databaseOperations.saveTrabalho(trabalhoExistente);
-            return convertToDTO(trabalhoAtualizado);
+            
+            recomendacaoService.indexarTrabalho(trabalhoAtualizado);
+            return ModelMapper.toTrabalhoDTO(trabalhoAtualizado);
             
         } else {
             // Desenvolvimento: Memória
-            Trabalho trabalhoExistente = Trabalho.trabalhos.stream()
-                    .filter(t -> t.getId().equals(id))
-                    .findFirst()
+            Trabalho trabalhoExistente = trabalhoRepository.findById(idTrabalho)
+                    .map(Trabalho::copiar)
                     .orElseThrow(() -> new ResourceNotFoundException("Trabalho não encontrado com ID: " + id));
             
             // Validar dados se fornecidos
-            if (trabalhoDTO.getIdEmpresa() != null && !trabalhoDTO.getIdEmpresa().isEmpty()) {
-                boolean empresaExiste = Empresa.empresas.stream()
-                        .anyMatch(e -> e.getId().equals(trabalhoDTO.getIdEmpresa()));
+            if (idEmpresa != null) {
+                boolean empresaExiste = empresaRepository.existsById(idEmpresa);
                 
                 if (!empresaExiste) {
                     throw new BadRequestException("Empresa não encontrada com ID: " + trabalhoDTO.getIdEmpresa());
@@ -174,61 +316,55 @@ public class TrabalhoService {
             }
             
             // Validar quantidade de vagas se fornecida
-            if (trabalhoDTO.getQuantidadeDeVagas() != null && !trabalhoDTO.getQuantidadeDeVagas().isEmpty()) {
-                try {
-                    int vagas = Integer.parseInt(trabalhoDTO.getQuantidadeDeVagas());
-                    if (vagas <= 0) {
-                        throw new BadRequestException("Quantidade de vagas deve ser um número positivo");
-                    }
-                } catch (NumberFormatException e) {
-                    throw new BadRequestException("Formato de quantidade de vagas inválido");
-                }
-            }
+            validarQuantidadeDeVagas(trabalhoDTO.getQuantidadeDeVagas());
             
             // Atualizar campos
             atualizarCamposTrabalho(trabalhoExistente, trabalhoDTO);
             
             // Atualizar nome da empresa se o ID mudou
-            if (trabalhoDTO.getIdEmpresa() != null && !trabalhoDTO.getIdEmpresa().trim().isEmpty()) {
-                String nomeEmpresa = Empresa.empresas.stream()
-                        .filter(e -> e.getId().equals(trabalhoDTO.getIdEmpresa()))
+            if (idEmpresa != null) {
+                String nomeEmpresa = empresaRepository.findById(idEmpresa)
                         .map(Empresa::getNome)
-                        .findFirst()
                         .orElse("");
                 trabalhoExistente.setNomeEmpresa(nomeEmpresa);
             }
             
-            return convertToDTO(trabalhoExistente);
+            // Salvar novamente para atualizar o índice por empresa
+            Trabalho trabalhoAtualizado = trabalhoRepository.save(trabalhoExistente);
+            recomendacaoService.indexarTrabalho(trabalhoAtualizado);
+            return ModelMapper.toTrabalhoDTO(trabalhoAtualizado);
         }
     }
     
     public void excluirTrabalho(String id) {
+        long idTrabalho = ModelMapper.converterIdObrigatorio(id);
+        
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            boolean removido = databaseOperations.deleteTrabalhoById(id);
+            boolean removido = databaseOperations.deleteTrabalhoById(idTrabalho);
             if (!removido) {
                 throw new ResourceNotFoundException("Trabalho não encontrado com ID: " + id);
             }
         } else {
             // Desenvolvimento: Memória
-            boolean removido = Trabalho.trabalhos.removeIf(t -> t.getId().equals(id));
+            boolean removido = trabalhoRepository.deleteById(idTrabalho);
             if (!removido) {
                 throw new ResourceNotFoundException("Trabalho não encontrado com ID: " + id);
             }
         }
+        recomendacaoService.removerTrabalho(idTrabalho);
     }
     
     public List<TrabalhoDTO> buscarTrabalhosPorEmpresa(String idEmpresa) {
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            return databaseOperations.findTrabalhosByEmpresa(idEmpresa).stream()
-                    .map(this::convertToDTO)
+            return databaseOperations.findTrabalhosByEmpresa(ModelMapper.converterIdObrigatorio(idEmpresa)).stream()
+                    .map(ModelMapper::toTrabalhoDTO)
                     .collect(Collectors.toList());
         } else {
             // Desenvolvimento: Memória
-            return Trabalho.trabalhos.stream()
-                    .filter(t -> t.getIdEmpresa() != null && t.getIdEmpresa().equals(idEmpresa))
-                    .map(this::convertToDTO)
+            return trabalhoRepository.findByIdEmpresa(ModelMapper.converterIdObrigatorio(idEmpresa)).stream()
+                    .map(ModelMapper::toTrabalhoDTO)
                     .collect(Collectors.toList());
         }
     }
@@ -237,15 +373,15 @@ public class TrabalhoService {
         List<Trabalho> trabalhos;
         
         if (databaseOperations != null) {
-            trabalhos = databaseOperations.findAllTrabalhos();
+            // Produção: PostgreSQL - ILIKE sem acento com índice de trigramas
+            trabalhos = databaseOperations.findTrabalhosByTipo(tipoTrabalho);
         } else {
-            trabalhos = Trabalho.trabalhos;
+            // Desenvolvimento: Memória - índice de trigramas
+            trabalhos = trabalhoRepository.findByTipoTrabalhoContaining(tipoTrabalho);
         }
         
         return trabalhos.stream()
-                .filter(t -> t.getTipoTrabalho() != null && 
-                            t.getTipoTrabalho().toLowerCase().contains(tipoTrabalho.toLowerCase()))
-                .map(this::convertToDTO)
+                .map(ModelMapper::toTrabalhoDTO)
                 .collect(Collectors.toList());
     }
     
@@ -253,43 +389,35 @@ public class TrabalhoService {
         List<Trabalho> trabalhos;
         
         if (databaseOperations != null) {
-            trabalhos = databaseOperations.findAllTrabalhos();
+            // Produção: PostgreSQL - ILIKE sem acento com índice de trigramas
+            trabalhos = databaseOperations.findTrabalhosByHabilidade(habilidade);
         } else {
-            trabalhos = Trabalho.trabalhos;
+            // Desenvolvimento: Memória - índice de trigramas
+            trabalhos = trabalhoRepository.findByHabilidadesNecessariasContaining(habilidade);
         }
         
         return trabalhos.stream()
-                .filter(t -> t.getHabilidadesNecessarias() != null && 
-                            t.getHabilidadesNecessarias().toLowerCase().contains(habilidade.toLowerCase()))
-                .map(this::convertToDTO)
+                .map(ModelMapper::toTrabalhoDTO)
                 .collect(Collectors.toList());
     }
     
     public List<TrabalhoDTO> buscarPorQuantidadeVagas(String quantidadeMinima) {
-        try {
-            int minVagas = Integer.parseInt(quantidadeMinima);
-            List<Trabalho> trabalhos;
-            
-            if (databaseOperations != null) {
-                trabalhos = databaseOperations.findAllTrabalhos();
-            } else {
-                trabalhos = Trabalho.trabalhos;
-            }
-            
-            return trabalhos.stream()
-                    .filter(t -> {
-                        if (t.getQuantidadeDeVagas() == null) return false;
-                        try {
-                            return Integer.parseInt(t.getQuantidadeDeVagas()) >= minVagas;
-                        } catch (NumberFormatException e) {
-                            return false;
-                        }
-                    })
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-        } catch (NumberFormatException e) {
+        Integer minVagas = ModelMapper.converterInteiro(quantidadeMinima, "Formato de quantidade de vagas inválido");
+        if (minVagas == null) {
             throw new BadRequestException("Formato de quantidade de vagas inválido");
         }
+        List<Trabalho> trabalhos;
+        
+        if (databaseOperations != null) {
+            trabalhos = databaseOperations.findAllTrabalhos();
+        } else {
+            trabalhos = trabalhoRepository.findAll();
+        }
+        
+        return trabalhos.stream()
+                .filter(t -> t.getQuantidadeDeVagas() >= minVagas)
+                .map(ModelMapper::toTrabalhoDTO)
+                .collect(Collectors.toList());
     }
     
     public List<TrabalhoDTO> buscarPorDescricao(String descricao) {
@@ -298,47 +426,55 @@ public class TrabalhoService {
         if (databaseOperations != null) {
             trabalhos = databaseOperations.findAllTrabalhos();
         } else {
-            trabalhos = Trabalho.trabalhos;
+            trabalhos = trabalhoRepository.findAll();
         }
         
         return trabalhos.stream()
                 .filter(t -> t.getDescricaoTrabalho() != null && 
                             t.getDescricaoTrabalho().toLowerCase().contains(descricao.toLowerCase()))
-                .map(this::convertToDTO)
+                .map(ModelMapper::toTrabalhoDTO)
                 .collect(Collectors.toList());
     }
     
-    public void excluirTrabalhosPorEmpresa(String idEmpresa) {
+    public int excluirTrabalhosPorEmpresa(String idEmpresa) {
+        long empresa = ModelMapper.converterIdObrigatorio(idEmpresa);
+        List<Long> idsRemovidos;
+        
         if (databaseOperations != null) {
-            // Produção: PostgreSQL - implementar método específico se necessário
-            List<Trabalho> trabalhos = databaseOperations.findTrabalhosByEmpresa(idEmpresa);
-            if (trabalhos.isEmpty()) {
-                throw new ResourceNotFoundException("Nenhum trabalho encontrado para a empresa com ID: " + idEmpresa);
-            }
-            
-            for (Trabalho trabalho : trabalhos) {
-                databaseOperations.deleteTrabalhoById(trabalho.getId());
-            }
+            // Produção: PostgreSQL - trabalhos e seus matches em uma transação
+            idsRemovidos = databaseOperations.deleteTrabalhosByEmpresa(empresa);
         } else {
-            // Desenvolvimento: Memória
-            boolean removido = Trabalho.trabalhos.removeIf(t -> t.getIdEmpresa() != null && 
-                                                                t.getIdEmpresa().equals(idEmpresa));
-            
-            if (!removido) {
-                throw new ResourceNotFoundException("Nenhum trabalho encontrado para a empresa com ID: " + idEmpresa);
+            // Desenvolvimento: Memória - remove também os matches dos trabalhos
+            idsRemovidos = new ArrayList<>();
+            for (Trabalho trabalho : trabalhoRepository.findByIdEmpresa(empresa)) {
+                matchRepository.deleteByIdTrabalho(trabalho.getId());
+                idsRemovidos.add(trabalho.getId());
             }
+            trabalhoRepository.deleteByIdEmpresa(empresa);
+        }
+        
+        if (idsRemovidos.isEmpty()) {
+            throw new ResourceNotFoundException("Nenhum trabalho encontrado para a empresa com ID: " + idEmpresa);
         }
+        recomendacaoService.removerTrabalhos(idsRemovidos);
+        return idsRemovidos.size();
     }
     
+    /**
+     * Aplica os campos informados no DTO; recebe uma cópia (copiar), porque uma conversão inválida
+     * no meio lança BadRequestException com parte dos campos já alterados
+     */
     private void atualizarCamposTrabalho(Trabalho trabalho, TrabalhoDTO dto) {
-        if (dto.getIdEmpresa() != null && !dto.getIdEmpresa().trim().isEmpty()) {
-            trabalho.setIdEmpresa(dto.getIdEmpresa());
+        Long idEmpresa = ModelMapper.converterId(dto.getIdEmpresa());
+        if (idEmpresa != null) {
+            trabalho.setIdEmpresa(idEmpresa);
         }
         if (dto.getDescricaoTrabalho() != null && !dto.getDescricaoTrabalho().trim().isEmpty()) {
             trabalho.setDescricaoTrabalho(dto.getDescricaoTrabalho());
         }
-        if (dto.getQuantidadeDeVagas() != null) {
-            trabalho.setQuantidadeDeVagas(dto.getQuantidadeDeVagas());
+        Integer vagas = ModelMapper.converterInteiro(dto.getQuantidadeDeVagas(), "Formato de quantidade de vagas inválido");
+        if (vagas != null) {
+            trabalho.setQuantidadeDeVagas(vagas);
         }
         if (dto.getTipoTrabalho() != null) {
             trabalho.setTipoTrabalho(dto.getTipoTrabalho());
@@ -365,29 +501,29 @@ public class TrabalhoService {
         }
         
         // Validar quantidade de vagas se fornecida
-        if (trabalhoDTO.getQuantidadeDeVagas() != null && !trabalhoDTO.getQuantidadeDeVagas().isEmpty()) {
-            try {
-                int vagas = Integer.parseInt(trabalhoDTO.getQuantidadeDeVagas());
-                if (vagas <= 0) {
-                    throw new BadRequestException("Quantidade de vagas deve ser um número positivo");
-                }
-            } catch (NumberFormatException e) {
-                throw new BadRequestException("Formato de quantidade de vagas inválido");
-            }
+        validarQuantidadeDeVagas(trabalhoDTO.getQuantidadeDeVagas());
+    }
+    
+    private void validarQuantidadeDeVagas(String quantidadeDeVagas) {
+        Integer vagas = ModelMapper.converterInteiro(quantidadeDeVagas, "Formato de quantidade de vagas inválido");
+        if (vagas != null && vagas <= 0) {
+            throw new BadRequestException("Quantidade de vagas deve ser um número positivo");
         }
     }
     
-    private TrabalhoDTO convertToDTO(Trabalho trabalho) {
-        return new TrabalhoDTO(
-                trabalho.getId(),
-                trabalho.getIdEmpresa(),
-                trabalho.getNomeEmpresa(),
-                trabalho.getDescricaoTrabalho(),
-                trabalho.getQuantidadeDeVagas(),
-                trabalho.getTipoTrabalho(),
-                trabalho.getHabilidadesNecessarias(),
-                trabalho.getDescricao(),
-                trabalho.getDataCadastro()
+    private Trabalho novoTrabalho(TrabalhoDTO trabalhoDTO, long idEmpresa, String nomeEmpresa, LocalDateTime dataCadastro) {
+        Integer vagas = ModelMapper.converterInteiro(trabalhoDTO.getQuantidadeDeVagas(), "Formato de quantidade de vagas inválido");
+        
+        return new Trabalho(
+                null, // ID será gerado pelo banco/repository
+                trabalhoDTO.getDescricao() != null ? trabalhoDTO.getDescricao() : "",
+                idEmpresa,
+                nomeEmpresa,
+                trabalhoDTO.getDescricaoTrabalho(),
+                vagas != null ? vagas : 1,
+                trabalhoDTO.getTipoTrabalho() != null ? trabalhoDTO.getTipoTrabalho() : "",
+                trabalhoDTO.getHabilidadesNecessarias() != null ? trabalhoDTO.getHabilidadesNecessarias() : "",
+                dataCadastro
         );
     }
 }
\ No newline at end of file
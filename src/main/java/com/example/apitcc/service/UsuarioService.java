@@ -1,16 +1,31 @@
 package com.example.apitcc.service;
 
 import com.example.apitcc.config.DatabaseConfig;
+import com.example.apitcc.config.VersaoTabelas;
 import com.example.apitcc.model.dto.UsuarioDTO;
+import com.example.apitcc.model.dto.PaginaDTO;
+import com.example.apitcc.model.dto.ResultadoLoteDTO;
 import com.example.apitcc.model.entity.Usuario;
+import com.example.apitcc.model.entity.Foto;
 import com.example.apitcc.model.entity.ItemBase;
+import com.example.apitcc.repository.UsuarioRepository;
 import com.example.apitcc.exception.ResourceNotFoundException;
 import com.example.apitcc.exception.BadRequestException;
+import com.example.apitcc.util.ModelMapper;
+import com.example.apitcc.util.Paginacao;
+import com.example.apitcc.util.Projecao;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.regex.Pattern;
 
@@ -20,36 +35,90 @@ public class UsuarioService {
     @Autowired(required = false)
     private DatabaseConfig.DatabaseOperations databaseOperations;
     
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+    
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    
+    @Autowired
+    private RecomendacaoService recomendacaoService;
+    
+    @Autowired
+    private FotoService fotoService;
+    
+    @Autowired
+    private SenhaService senhaService;
+    
     // Regex para validação de email
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
     
+    // Máximo de itens aceitos por requisição de criação em lote
+    private static final int LIMITE_LOTE = 10000;
+    
     public List<UsuarioDTO> listarTodosUsuarios() {
         if (databaseOperations != null) {
             // Produção: PostgreSQL
             return databaseOperations.findAllUsuarios().stream()
-                    .map(this::convertToDTO)
+                    .map(ModelMapper::toUsuarioDTO)
                     .collect(Collectors.toList());
         } else {
             // Desenvolvimento: Memória
-            return Usuario.usuarios.stream()
-                    .map(this::convertToDTO)
+            return usuarioRepository.findAll().stream()
+                    .map(ModelMapper::toUsuarioDTO)
                     .collect(Collectors.toList());
         }
     }
     
+    /**
+     * Versão dos dados de usuários para o ETag das leituras (não consulta o banco)
+     */
+    public long versaoUsuarios() {
+        if (databaseOperations != null) {
+            return versaoTabelas.versao(VersaoTabelas.Tabela.USUARIOS);
+        } else {
+            return usuarioRepository.versao();
+        }
+    }
+    
+    public PaginaDTO<UsuarioDTO> listarUsuariosPaginado(Integer limit, String after, String sort, Projecao projecao) {
+        Paginacao.Consulta consulta = Paginacao.criarConsulta(limit, after, sort,
+                UsuarioRepository.CAMPOS_ORDENACAO.keySet());
+        List<Usuario> resultado;
+        
+        if (databaseOperations != null) {
+            resultado = databaseOperations.findUsuariosPagina(consulta, projecao);
+        } else {
+            resultado = usuarioRepository.findPagina(consulta);
+        }
+        
+        return Paginacao.montarPagina(resultado, consulta,
+                UsuarioRepository.CAMPOS_ORDENACAO.get(consulta.getCampo()), Usuario::getId, ModelMapper::toUsuarioDTO);
+    }
+    
+    public void exportarUsuarios(Consumer<UsuarioDTO> consumidor) {
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL - cursor no servidor, linha a linha
+            databaseOperations.streamUsuarios(u -> consumidor.accept(ModelMapper.toUsuarioDTO(u)));
+        } else {
+            // Desenvolvimento: Memória
+            usuarioRepository.findAll().forEach(u -> consumidor.accept(ModelMapper.toUsuarioDTO(u)));
+        }
+    }
+    
     public UsuarioDTO buscarUsuarioPorId(String id) {
+        long idUsuario = ModelMapper.converterIdObrigatorio(id);
+        
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            Usuario usuario = databaseOperations.findUsuarioById(id)
+            Usuario usuario = databaseOperations.findUsuarioById(idUsuario)
                     .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
-            return convertToDTO(usuario);
+            return ModelMapper.toUsuarioDTO(usuario);
         } else {
             // Desenvolvimento: Memória
-            Usuario usuario = Usuario.usuarios.stream()
-                    .filter(u -> u.getId().equals(id))
-                    .findFirst()
+            Usuario usuario = usuarioRepository.findById(idUsuario)
                     .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
-            return convertToDTO(usuario);
+            return ModelMapper.toUsuarioDTO(usuario);
         }
     }
     
@@ -65,28 +134,18 @@ public class UsuarioService {
                 throw new BadRequestException("Email já cadastrado no sistema");
             }
             
-            Usuario usuario = new Usuario(
-                    null, // ID será gerado pelo banco
-                    usuarioDTO.getDescricao() != null ? usuarioDTO.getDescricao() : "",
-                    usuarioDTO.getEmail(),
-                    usuarioDTO.getTelefone() != null ? usuarioDTO.getTelefone() : "",
-                    usuarioDTO.getDataDeNascimento() != null ? usuarioDTO.getDataDeNascimento() : "",
-                    usuarioDTO.getSenha(),
-                    usuarioDTO.getHabilidades() != null ? usuarioDTO.getHabilidades() : "",
-                    usuarioDTO.getHoras() != null ? usuarioDTO.getHoras() : "0",
-                    usuarioDTO.getNome(),
-                    usuarioDTO.getFoto() != null ? usuarioDTO.getFoto() : "",
-                    ItemBase.getCurrentDateTime()
-            );
+            Usuario usuario = novoUsuario(usuarioDTO, senhaService.gerarHash(usuarioDTO.getSenha()),
+                    ItemBase.getCurrentDateTime());
             
             Usuario usuarioSalvo = databaseOperations.saveUsuario(usuario);
-            return convertToDTO(usuarioSalvo);
+            
+            recomendacaoService.indexarUsuario(usuarioSalvo);
+            return ModelMapper.toUsuarioDTO(usuarioSalvo);
             
         } else {
             // Desenvolvimento: Memória
             // Verificar se email já existe
-            boolean emailExiste = Usuario.usuarios.stream()
-                    .anyMatch(u -> u.getEmail() != null && u.getEmail().equals(usuarioDTO.getEmail()));
+            boolean emailExiste = usuarioRepository.existsByEmail(usuarioDTO.getEmail());
             
             if (emailExiste) {
                 throw new BadRequestException("Email já cadastrado no sistema");
@@ -94,40 +153,125 @@ public class UsuarioService {
             
             // Verificar se telefone já existe (se fornecido)
             if (usuarioDTO.getTelefone() != null && !usuarioDTO.getTelefone().trim().isEmpty()) {
-                boolean telefoneExiste = Usuario.usuarios.stream()
-                        .anyMatch(u -> u.getTelefone() != null && u.getTelefone().equals(usuarioDTO.getTelefone()));
+                boolean telefoneExiste = usuarioRepository.existsByTelefone(usuarioDTO.getTelefone());
                 
                 if (telefoneExiste) {
                     throw new BadRequestException("Telefone já cadastrado no sistema");
                 }
             }
             
-            String id = String.valueOf(Usuario.proximoId++);
-            String dataCadastro = ItemBase.getCurrentDateTime();
+            Usuario usuario = novoUsuario(usuarioDTO, senhaService.gerarHash(usuarioDTO.getSenha()),
+                    ItemBase.getCurrentDateTime());
             
-            Usuario usuario = new Usuario(
-                    id,
-                    usuarioDTO.getDescricao() != null ? usuarioDTO.getDescricao() : "",
-                    usuarioDTO.getEmail(),
-                    usuarioDTO.getTelefone() != null ? usuarioDTO.getTelefone() : "",
-                    usuarioDTO.getDataDeNascimento() != null ? usuarioDTO.getDataDeNascimento() : "",
-                    usuarioDTO.getSenha(),
-                    usuarioDTO.getHabilidades() != null ? usuarioDTO.getHabilidades() : "",
-                    usuarioDTO.getHoras() != null ? usuarioDTO.getHoras() : "0",
-                    usuarioDTO.getNome(),
-                    usuarioDTO.getFoto() != null ? usuarioDTO.getFoto() : "",
-                    dataCadastro
-            );
+            Usuario usuarioSalvo = usuarioRepository.save(usuario);
             
-            Usuario.usuarios.add(usuario);
-            return convertToDTO(usuario);
+            recomendacaoService.indexarUsuario(usuarioSalvo);
+            return ModelMapper.toUsuarioDTO(usuarioSalvo);
         }
     }
     
+    /**
+     * Cria vários usuários de uma vez
+     * Cada item é validado individualmente; os válidos são inseridos juntos (em lote, no banco)
+     * e o resultado informa, por índice, o ID criado ou o motivo da falha
+     */
+    public List<ResultadoLoteDTO> criarUsuariosEmLote(List<UsuarioDTO> usuariosDTO) {
+        if (usuariosDTO == null || usuariosDTO.isEmpty()) {
+            throw new BadRequestException("Lista de usuários vazia");
+        }
+        if (usuariosDTO.size() > LIMITE_LOTE) {
+            throw new BadRequestException("Máximo de " + LIMITE_LOTE + " usuários por lote");
+        }
+        
+        // Produção: uma única consulta para os emails já cadastrados
+        Set<String> emailsCadastrados = Collections.emptySet();
+        if (databaseOperations != null) {
+            emailsCadastrados = databaseOperations.findEmailsUsuariosExistentes(usuariosDTO.stream()
+                    .filter(dto -> dto != null && dto.getEmail() != null)
+                    .map(UsuarioDTO::getEmail)
+                    .collect(Collectors.toSet()));
+        }
+        
+        List<ResultadoLoteDTO> resultados = new ArrayList<>(usuariosDTO.size());
+        List<Usuario> novosUsuarios = new ArrayList<>();
+        List<ResultadoLoteDTO> resultadosCriados = new ArrayList<>();
+        Set<String> emailsDoLote = new HashSet<>();
+        Set<String> telefonesDoLote = new HashSet<>();
+        LocalDateTime dataCadastro = ItemBase.getCurrentDateTime();
+        
+        for (int i = 0; i < usuariosDTO.size(); i++) {
+            UsuarioDTO usuarioDTO = usuariosDTO.get(i);
+            try {
+                if (usuarioDTO == null) {
+                    throw new BadRequestException("Usuário não informado");
+                }
+                validarDadosUsuario(usuarioDTO);
+                validarDataDeNascimento(usuarioDTO.getDataDeNascimento());
+                
+                String telefone = usuarioDTO.getTelefone();
+                boolean temTelefone = telefone != null && !telefone.trim().isEmpty();
+                
+                if (databaseOperations != null) {
+                    if (emailsCadastrados.contains(usuarioDTO.getEmail())) {
+                        throw new BadRequestException("Email já cadastrado no sistema");
+                    }
+                } else {
+                    if (usuarioRepository.existsByEmail(usuarioDTO.getEmail())) {
+                        throw new BadRequestException("Email já cadastrado no sistema");
+                    }
+                    if (temTelefone && usuarioRepository.existsByTelefone(telefone)) {
+                        throw new BadRequestException("Telefone já cadastrado no sistema");
+                    }
+                }
+                
+                if (!emailsDoLote.add(usuarioDTO.getEmail())) {
+                    throw new BadRequestException("Email repetido no lote");
+                }
+                if (databaseOperations == null && temTelefone && !telefonesDoLote.add(telefone)) {
+                    emailsDoLote.remove(usuarioDTO.getEmail());
+                    throw new BadRequestException("Telefone repetido no lote");
+                }
+                
+                ResultadoLoteDTO resultado = ResultadoLoteDTO.criado(i, null);
+                resultados.add(resultado);
+                resultadosCriados.add(resultado);
+                novosUsuarios.add(novoUsuario(usuarioDTO, usuarioDTO.getSenha(), dataCadastro));
+            } catch (BadRequestException e) {
+                resultados.add(ResultadoLoteDTO.falha(i, e.getMessage()));
+            }
+        }
+        
+        if (!novosUsuarios.isEmpty()) {
+            // Hashes das senhas em paralelo no pool do SenhaService (o BCrypt domina o tempo do lote)
+            List<String> hashes = senhaService.gerarHashes(novosUsuarios.stream().map(Usuario::getSenha).toList());
+            for (int i = 0; i < novosUsuarios.size(); i++) {
+                novosUsuarios.get(i).setSenha(hashes.get(i));
+            }
+            
+            if (databaseOperations != null) {
+                // Produção: PostgreSQL - batch insert em uma transação
+                databaseOperations.insertUsuariosEmLote(novosUsuarios);
+            } else {
+                // Desenvolvimento: Memória
+                novosUsuarios.forEach(usuarioRepository::save);
+            }
+            
+            for (int i = 0; i < novosUsuarios.size(); i++) {
+                resultadosCriados.get(i).setId(ModelMapper.formatarId(novosUsuarios.get(i).getId()));
+            }
+            novosUsuarios.forEach(recomendacaoService::indexarUsuario);
+        }
+        
+        return resultados;
+    }
+    
     public UsuarioDTO atualizarUsuario(String id, UsuarioDTO usuarioDTO) {
+        long idUsuario = ModelMapper.converterIdObrigatorio(id);
+        
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            Usuario usuarioExistente = databaseOperations.findUsuarioById(id)
+            Usuario usuarioExistente = databaseOperations.findUsuarioById(idUsuario)
+                    .map(Usuario::copiar)
                     .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
             
             // Validar email se fornecido
@@ -137,34 +281,26 @@ public class UsuarioService {
                 }
                 
                 Optional<Usuario> usuarioComEmail = databaseOperations.findUsuarioByEmail(usuarioDTO.getEmail());
-                if (usuarioComEmail.isPresent() && !usuarioComEmail.get().getId().equals(id)) {
+                if (usuarioComEmail.isPresent() && usuarioComEmail.get().getId() != idUsuario) {
                     throw new BadRequestException("Email já cadastrado para outro usuário");
                 }
             }
             
             // Validar formato de horas se fornecido
-            if (usuarioDTO.getHoras() != null && !usuarioDTO.getHoras().isEmpty()) {
-                try {
-                    float horas = Float.parseFloat(usuarioDTO.getHoras());
-                    if (horas < 0) {
-                        throw new BadRequestException("Horas disponíveis não pode ser negativo");
-                    }
-                } catch (NumberFormatException e) {
-                    throw new BadRequestException("Formato de horas inválido");
-                }
-            }
+            validarHoras(usuarioDTO.getHoras());
             
             // Atualizar campos
             atualizarCamposUsuario(usuarioExistente, usuarioDTO);
             
             Usuario usuarioAtualizado = databaseOperations.saveUsuario(usuarioExistente);
-            return convertToDTO(usuarioAtualizado);
+            
+            recomendacaoService.indexarUsuario(usuarioAtualizado);
+            return ModelMapper.toUsuarioDTO(usuarioAtualizado);
             
         } else {
             // Desenvolvimento: Memória
-            Usuario usuarioExistente = Usuario.usuarios.stream()
-                    .filter(u -> u.getId().equals(id))
-                    .findFirst()
+            Usuario usuarioExistente = usuarioRepository.findById(idUsuario)
+                    .map(Usuario::copiar)
                     .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com ID: " + id));
             
             // Validar email se fornecido
@@ -173,10 +309,9 @@ public class UsuarioService {
                     throw new BadRequestException("Email inválido");
                 }
                 
-                boolean emailExiste = Usuario.usuarios.stream()
-                        .anyMatch(u -> !u.getId().equals(id) && 
-                                 u.getEmail() != null && 
-                                 u.getEmail().equals(usuarioDTO.getEmail()));
+                boolean emailExiste = usuarioRepository.findByEmail(usuarioDTO.getEmail())
+                        .filter(u -> u.getId() != idUsuario)
+                        .isPresent();
                 
                 if (emailExiste) {
                     throw new BadRequestException("Email já cadastrado para outro usuário");
@@ -184,10 +319,9 @@ public class UsuarioService {
             }
             
             if (usuarioDTO.getTelefone() != null && !usuarioDTO.getTelefone().isEmpty()) {
-                boolean telefoneExiste = Usuario.usuarios.stream()
-                        .anyMatch(u -> !u.getId().equals(id) && 
-                                 u.getTelefone() != null && 
-                                 u.getTelefone().equals(usuarioDTO.getTelefone()));
+                boolean telefoneExiste = usuarioRepository.findByTelefone(usuarioDTO.getTelefone())
+                        .filter(u -> u.getId() != idUsuario)
+                        .isPresent();
                 
                 if (telefoneExiste) {
                     throw new BadRequestException("Telefone já cadastrado para outro usuário");
@@ -195,54 +329,77 @@ public class UsuarioService {
             }
             
             // Validar formato de horas se fornecido
-            if (usuarioDTO.getHoras() != null && !usuarioDTO.getHoras().isEmpty()) {
-                try {
-                    float horas = Float.parseFloat(usuarioDTO.getHoras());
-                    if (horas < 0) {
-                        throw new BadRequestException("Horas disponíveis não pode ser negativo");
-                    }
-                } catch (NumberFormatException e) {
-                    throw new BadRequestException("Formato de horas inválido");
-                }
-            }
+            validarHoras(usuarioDTO.getHoras());
             
             // Atualizar campos
             atualizarCamposUsuario(usuarioExistente, usuarioDTO);
             
-            return convertToDTO(usuarioExistente);
+            // Salvar novamente para atualizar os índices (email, telefone)
+            Usuario usuarioAtualizado = usuarioRepository.save(usuarioExistente);
+            recomendacaoService.indexarUsuario(usuarioAtualizado);
+            return ModelMapper.toUsuarioDTO(usuarioAtualizado);
         }
     }
     
     public void excluirUsuario(String id) {
+        long idUsuario = ModelMapper.converterIdObrigatorio(id);
+        
         if (databaseOperations != null) {
             // Produção: PostgreSQL
-            boolean removido = databaseOperations.deleteUsuarioById(id);
+            boolean removido = databaseOperations.deleteUsuarioById(idUsuario);
             if (!removido) {
                 throw new ResourceNotFoundException("Usuário não encontrado com ID: " + id);
             }
         } else {
             // Desenvolvimento: Memória
-            boolean removido = Usuario.usuarios.removeIf(u -> u.getId().equals(id));
+            boolean removido = usuarioRepository.deleteById(idUsuario);
             if (!removido) {
                 throw new ResourceNotFoundException("Usuário não encontrado com ID: " + id);
             }
         }
+        recomendacaoService.removerUsuario(idUsuario);
+        fotoService.remover(FotoService.USUARIOS, idUsuario);
+    }
+    
+    /**
+     * Grava (ou substitui) a foto do usuário
+     */
+    public Foto salvarFoto(String id, MultipartFile arquivo) {
+        // 404 se o usuário não existe
+        buscarUsuarioPorId(id);
+        return fotoService.salvar(FotoService.USUARIOS, ModelMapper.converterIdObrigatorio(id), arquivo);
+    }
+    
+    public void removerFoto(String id) {
+        if (!fotoService.remover(FotoService.USUARIOS, ModelMapper.converterIdObrigatorio(id))) {
+            throw new ResourceNotFoundException("Foto não encontrada para o usuário com ID: " + id);
+        }
     }
     
     public List<UsuarioDTO> buscarPorHabilidades(String habilidade) {
         if (databaseOperations != null) {
-            // Produção: PostgreSQL - implementar query específica se necessário
-            return databaseOperations.findAllUsuarios().stream()
-                    .filter(u -> u.getHabilidades() != null && 
-                                u.getHabilidades().toLowerCase().contains(habilidade.toLowerCase()))
-                    .map(this::convertToDTO)
+            // Produção: PostgreSQL - ILIKE sem acento com índice de trigramas
+            return databaseOperations.findUsuariosByHabilidade(habilidade).stream()
+                    .map(ModelMapper::toUsuarioDTO)
                     .collect(Collectors.toList());
         } else {
-            // Desenvolvimento: Memória
-            return Usuario.usuarios.stream()
-                    .filter(u -> u.getHabilidades() != null && 
-                                u.getHabilidades().toLowerCase().contains(habilidade.toLowerCase()))
-                    .map(this::convertToDTO)
+            // Desenvolvimento: Memória - índice de trigramas
+            return usuarioRepository.findByHabilidadesContaining(habilidade).stream()
+                    .map(ModelMapper::toUsuarioDTO)
+                    .collect(Collectors.toList());
+        }
+    }
+    
+    public List<UsuarioDTO> buscarPorNome(String nome) {
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL - ILIKE sem acento com índice de trigramas
+            return databaseOperations.findUsuariosByNome(nome).stream()
+                    .map(ModelMapper::toUsuarioDTO)
+                    .collect(Collectors.toList());
+        } else {
+            // Desenvolvimento: Memória - índice de trigramas
+            return usuarioRepository.findByNomeContaining(nome).stream()
+                    .map(ModelMapper::toUsuarioDTO)
                     .collect(Collectors.toList());
         }
     }
@@ -252,53 +409,39 @@ public class UsuarioService {
             // Produção: PostgreSQL
             Usuario usuario = databaseOperations.findUsuarioByEmail(email)
                     .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com email: " + email));
-            return convertToDTO(usuario);
+            return ModelMapper.toUsuarioDTO(usuario);
         } else {
             // Desenvolvimento: Memória
-            Usuario usuario = Usuario.usuarios.stream()
-                    .filter(u -> u.getEmail() != null && u.getEmail().equals(email))
-                    .findFirst()
+            Usuario usuario = usuarioRepository.findByEmail(email)
                     .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado com email: " + email));
-            return convertToDTO(usuario);
+            return ModelMapper.toUsuarioDTO(usuario);
         }
     }
     
     public List<UsuarioDTO> buscarPorHorasDisponiveis(String horasMinimas) {
-        try {
-            float minHours = Float.parseFloat(horasMinimas);
-            
-            if (databaseOperations != null) {
-                // Produção: PostgreSQL
-                return databaseOperations.findAllUsuarios().stream()
-                        .filter(u -> {
-                            if (u.getHoras() == null) return false;
-                            try {
-                                return Float.parseFloat(u.getHoras()) >= minHours;
-                            } catch (NumberFormatException e) {
-                                return false;
-                            }
-                        })
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
-            } else {
-                // Desenvolvimento: Memória
-                return Usuario.usuarios.stream()
-                        .filter(u -> {
-                            if (u.getHoras() == null) return false;
-                            try {
-                                return Float.parseFloat(u.getHoras()) >= minHours;
-                            } catch (NumberFormatException e) {
-                                return false;
-                            }
-                        })
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
-            }
-        } catch (NumberFormatException e) {
+        Double minHoras = ModelMapper.converterDecimal(horasMinimas, "Formato de horas inválido");
+        if (minHoras == null) {
             throw new BadRequestException("Formato de horas inválido");
         }
+        
+        if (databaseOperations != null) {
+            // Produção: PostgreSQL
+            return databaseOperations.findAllUsuarios().stream()
+                    .filter(u -> u.getHoras() >= minHoras)
+                    .map(ModelMapper::toUsuarioDTO)
+                    .collect(Collectors.toList());
+        } else {
+            // Desenvolvimento: Memória
+            return usuarioRepository.findByHorasGreaterThanEqual(minHoras).stream()
+                    .map(ModelMapper::toUsuarioDTO)
+                    .collect(Collectors.toList());
+        }
     }
     
+    /**
+     * Aplica os campos informados no DTO; recebe uma cópia (copiar), porque uma conversão inválida
+     * no meio lança BadRequestException com parte dos campos já alterados
+     */
     private void atualizarCamposUsuario(Usuario usuario, UsuarioDTO dto) {
         if (dto.getEmail() != null && !dto.getEmail().trim().isEmpty()) {
             usuario.setEmail(dto.getEmail());
@@ -307,16 +450,18 @@ public class UsuarioService {
             usuario.setTelefone(dto.getTelefone());
         }
         if (dto.getDataDeNascimento() != null) {
-            usuario.setDataDeNascimento(dto.getDataDeNascimento());
+            usuario.setDataDeNascimento(ModelMapper.converterData(dto.getDataDeNascimento(),
+                    "Data de nascimento inválida (use AAAA-MM-DD)"));
         }
         if (dto.getSenha() != null && !dto.getSenha().trim().isEmpty()) {
-            usuario.setSenha(dto.getSenha());
+            usuario.setSenha(senhaService.gerarHash(dto.getSenha()));
         }
         if (dto.getHabilidades() != null) {
             usuario.setHabilidades(dto.getHabilidades());
         }
-        if (dto.getHoras() != null) {
-            usuario.setHoras(dto.getHoras());
+        Double horas = ModelMapper.converterDecimal(dto.getHoras(), "Formato de horas inválido");
+        if (horas != null) {
+            usuario.setHoras(horas);
         }
         if (dto.getNome() != null && !dto.getNome().trim().isEmpty()) {
             usuario.setNome(dto.getNome());
@@ -351,31 +496,35 @@ public class UsuarioService {
         }
         
         // Validar formato de horas se fornecido
-        if (usuarioDTO.getHoras() != null && !usuarioDTO.getHoras().isEmpty()) {
-            try {
-                float horas = Float.parseFloat(usuarioDTO.getHoras());
-                if (horas < 0) {
-                    throw new BadRequestException("Horas disponíveis não pode ser negativo");
-                }
-            } catch (NumberFormatException e) {
-                throw new BadRequestException("Formato de horas inválido");
-            }
+        validarHoras(usuarioDTO.getHoras());
+    }
+    
+    private void validarHoras(String horas) {
+        Double valor = ModelMapper.converterDecimal(horas, "Formato de horas inválido");
+        if (valor != null && valor < 0) {
+            throw new BadRequestException("Horas disponíveis não pode ser negativo");
         }
     }
     
-    private UsuarioDTO convertToDTO(Usuario usuario) {
-        return new UsuarioDTO(
-                usuario.getId(),
-                usuario.getEmail(),
-                usuario.getTelefone(),
-                usuario.getDataDeNascimento(),
-                usuario.getSenha(),
-                usuario.getHabilidades(),
-                usuario.getHoras(),
-                usuario.getNome(),
-                usuario.getFoto(),
-                usuario.getDescricao(),
-                usuario.getDataCadastro()
+    private void validarDataDeNascimento(String dataDeNascimento) {
+        ModelMapper.converterData(dataDeNascimento, "Data de nascimento inválida (use AAAA-MM-DD)");
+    }
+    
+    private Usuario novoUsuario(UsuarioDTO usuarioDTO, String senha, LocalDateTime dataCadastro) {
+        Double horas = ModelMapper.converterDecimal(usuarioDTO.getHoras(), "Formato de horas inválido");
+        
+        return new Usuario(
+                null, // ID será gerado pelo banco/repository
+                usuarioDTO.getDescricao() != null ? usuarioDTO.getDescricao() : "",
+                usuarioDTO.getEmail(),
+                usuarioDTO.getTelefone() != null ? usuarioDTO.getTelefone() : "",
+                ModelMapper.converterData(usuarioDTO.getDataDeNascimento(), "Data de nascimento inválida (use AAAA-MM-DD)"),
+                senha,
+                usuarioDTO.getHabilidades() != null ? usuarioDTO.getHabilidades() : "",
+                horas != null ? horas : 0,
+                usuarioDTO.getNome(),
+                usuarioDTO.getFoto() != null ? usuarioDTO.getFoto() : "",
+                dataCadastro
         );
     }
 }
\ No newline at end of file
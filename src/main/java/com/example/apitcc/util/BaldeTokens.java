@@ -0,0 +1,47 @@
+package com.example.apitcc.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Balde de tokens (token bucket) de um cliente
+ *
+ * Começa cheio com capacidade tokens e recupera porSegundo tokens por segundo, até a capacidade.
+ * Cada requisição consome um token: a capacidade é a rajada aceita e porSegundo a taxa sustentada.
+ */
+public class BaldeTokens {
+
+    private final double capacidade;
+    private final double porNano;
+    private final LongSupplier relogio;
+
+    private double tokens;
+    private long ultimaRecarga;
+
+    public BaldeTokens(double capacidade, double porSegundo) {
+        this(capacidade, porSegundo, System::nanoTime);
+    }
+
+    // Relógio em nanossegundos (System.nanoTime); nos testes, um relógio controlado
+    BaldeTokens(double capacidade, double porSegundo, LongSupplier relogio) {
+        this.capacidade = capacidade;
+        this.porNano = porSegundo / 1e9;
+        this.relogio = relogio;
+        this.tokens = capacidade;
+        this.ultimaRecarga = relogio.getAsLong();
+    }
+
+    /**
+     * Consome um token; retorna 0 se havia token ou, se não, os nanossegundos até o próximo
+     */
+    public synchronized long consumir() {
+        long agora = relogio.getAsLong();
+        tokens = Math.min(capacidade, tokens + (agora - ultimaRecarga) * porNano);
+        ultimaRecarga = agora;
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / porNano);
+    }
+}
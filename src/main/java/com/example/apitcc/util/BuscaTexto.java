@@ -0,0 +1,196 @@
+package com.example.apitcc.util;
+
+import com.example.apitcc.exception.BadRequestException;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Busca textual com relevância (GET /api/trabalhos/busca?q=)
+ *
+ * Em produção a busca é feita pelo PostgreSQL (tsvector portuguese + GIN, ordenada por ts_rank).
+ * Esta classe traz o que é comum aos dois modos (resultado com relevância, cursor de paginação)
+ * e uma versão simplificada para o modo memória: termos sem acento e em minúsculas, todos
+ * obrigatórios (ou excluídos, com prefixo "-"), pontuados pelo peso do campo onde aparecem
+ * (sem radicalização, frases nem "or").
+ */
+public class BuscaTexto {
+
+    // Campo de ordenação do cursor (Paginacao): relevância decrescente, depois ID decrescente
+    public static final String CAMPO_RELEVANCIA = "relevancia";
+
+    // Pesos padrão do ts_rank para os rótulos A, B e C
+    public static final float PESO_A = 1.0f;
+    public static final float PESO_B = 0.4f;
+    public static final float PESO_C = 0.2f;
+
+    private static final int TAMANHO_MAXIMO_CONSULTA = 200;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern NAO_PALAVRA = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    // Palavras ignoradas no modo memória (o dicionário portuguese do PostgreSQL também as descarta)
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "no", "na", "nos", "nas",
+            "um", "uma", "para", "por", "com", "ou", "que", "se", "ao", "aos");
+
+    /**
+     * Item encontrado e sua relevância
+     */
+    public record Resultado<T>(T item, float relevancia) {}
+
+    /**
+     * Campo pesquisável de um item no modo memória
+     */
+    public record Campo<T>(Function<T, String> extrator, float peso) {}
+
+    /**
+     * Valida o parâmetro q e monta a consulta paginada por relevância
+     */
+    public static Paginacao.Consulta criarConsulta(String q, Integer limit, String after) {
+        if (q == null || q.isBlank()) {
+            throw new BadRequestException("Parâmetro q é obrigatório");
+        }
+        if (q.length() > TAMANHO_MAXIMO_CONSULTA) {
+            throw new BadRequestException("Parâmetro q deve ter no máximo " + TAMANHO_MAXIMO_CONSULTA + " caracteres");
+        }
+        Paginacao.Consulta consulta = Paginacao.criarConsulta(limit, after, "-" + CAMPO_RELEVANCIA, Set.of(CAMPO_RELEVANCIA));
+        if (consulta.temCursor()) {
+            relevanciaDoCursor(consulta);
+        }
+        return consulta;
+    }
+
+    /**
+     * Relevância do último item da página anterior, guardada no cursor
+     */
+    public static float relevanciaDoCursor(Paginacao.Consulta consulta) {
+        try {
+            return Float.parseFloat(consulta.getCursorValor());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Cursor de paginação inválido");
+        }
+    }
+
+    /**
+     * Termos da consulta: sem acento, em minúsculas e sem palavras vazias
+     * excluidos = true devolve só os termos com prefixo "-"; false, os demais
+     */
+    public static Set<String> termos(String texto, boolean excluidos) {
+        Set<String> termos = new LinkedHashSet<>();
+        for (String parte : ESPACOS.split(texto.trim())) {
+            if (parte.startsWith("-") != excluidos) {
+                continue;
+            }
+            for (String termo : palavras(parte)) {
+                if (!PALAVRAS_VAZIAS.contains(termo)) {
+                    termos.add(termo);
+                }
+            }
+        }
+        return termos;
+    }
+
+    /**
+     * Busca em memória: itens que contêm todos os termos, ordenados por (relevância, ID) decrescentes,
+     * a partir do cursor e com até limite + 1 itens (mesma semântica da consulta SQL)
+     */
+    public static <T> List<Resultado<T>> buscar(Collection<T> itens, String q, Paginacao.Consulta consulta,
+                                                List<Campo<T>> campos, ToLongFunction<T> id) {
+        Set<String> termos = termos(q, false);
+        Set<String> excluidos = termos(q, true);
+        if (termos.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Float relevanciaCursor = consulta.temCursor() ? relevanciaDoCursor(consulta) : null;
+        Comparator<Resultado<T>> ordem = Comparator.<Resultado<T>>comparingDouble(Resultado::relevancia)
+                .thenComparingLong(r -> id.applyAsLong(r.item()))
+                .reversed();
+
+        List<Resultado<T>> encontrados = new ArrayList<>();
+        for (T item : itens) {
+            float relevancia = relevancia(item, termos, campos);
+            if (relevancia == 0 || (!excluidos.isEmpty() && relevancia(item, excluidos, campos, true) > 0)) {
+                continue;
+            }
+            if (relevanciaCursor != null) {
+                int cmp = Float.compare(relevancia, relevanciaCursor);
+                if (cmp > 0 || (cmp == 0 && id.applyAsLong(item) >= consulta.getCursorId())) {
+                    continue;
+                }
+            }
+            encontrados.add(new Resultado<>(item, relevancia));
+        }
+        encontrados.sort(ordem);
+        return encontrados.size() > consulta.getLimite() + 1
+                ? new ArrayList<>(encontrados.subList(0, consulta.getLimite() + 1))
+                : encontrados;
+    }
+
+    private static <T> float relevancia(T item, Set<String> termos, List<Campo<T>> campos) {
+        return relevancia(item, termos, campos, false);
+    }
+
+    /**
+     * Soma, para cada termo, o peso dos campos em que ele aparece
+     * qualquer = false: 0 se algum termo não aparece; true: basta um termo aparecer
+     */
+    private static <T> float relevancia(T item, Set<String> termos, List<Campo<T>> campos, boolean qualquer) {
+        List<List<String>> palavrasPorCampo = new ArrayList<>(campos.size());
+        for (Campo<T> campo : campos) {
+            palavrasPorCampo.add(palavras(campo.extrator().apply(item)));
+        }
+
+        float relevancia = 0;
+        for (String termo : termos) {
+            float pesoTermo = 0;
+            for (int i = 0; i < campos.size(); i++) {
+                int ocorrencias = 0;
+                for (String palavra : palavrasPorCampo.get(i)) {
+                    if (palavra.equals(termo)) {
+                        ocorrencias++;
+                    }
+                }
+                pesoTermo += ocorrencias * campos.get(i).peso();
+            }
+            if (pesoTermo == 0 && !qualquer) {
+                return 0;
+            }
+            relevancia += pesoTermo;
+        }
+        return relevancia;
+    }
+
+    /**
+     * Texto sem acentos e em minúsculas ("Educação" -> "educacao"), como public.sem_acento + ILIKE no banco
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        return ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> palavras(String texto) {
+        List<String> palavras = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return palavras;
+        }
+        for (String palavra : NAO_PALAVRA.split(normalizar(texto))) {
+            if (!palavra.isEmpty()) {
+                palavras.add(palavra);
+            }
+        }
+        return palavras;
+    }
+}
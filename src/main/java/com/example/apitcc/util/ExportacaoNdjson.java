@@ -0,0 +1,49 @@
+package com.example.apitcc.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Classe utilitária para exportação em NDJSON (um objeto JSON por linha)
+ * Cada item é serializado direto no output stream da resposta, sem montar lista em memória
+ */
+public class ExportacaoNdjson {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    /**
+     * Escreve na resposta todos os itens entregues pela fonte
+     * A fonte recebe o consumidor que grava cada item e deve chamá-lo uma vez por linha
+     */
+    public static <T> void exportar(HttpServletResponse response, ObjectMapper objectMapper,
+                                    String nomeArquivo, Consumer<Consumer<T>> fonte) throws IOException {
+        response.setContentType(MEDIA_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + nomeArquivo + ".ndjson\"");
+
+        JsonGenerator gerador = objectMapper.createGenerator(response.getOutputStream());
+        gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // O separador de linha é escrito manualmente após cada objeto
+        gerador.setRootValueSeparator(null);
+
+        try {
+            fonte.accept(item -> {
+                try {
+                    gerador.writeObject(item);
+                    gerador.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        gerador.flush();
+    }
+}
@@ -0,0 +1,345 @@
+package com.example.apitcc.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de habilidades (habilidade normalizada -> IDs) mantido em memória
+ *
+ * As habilidades são texto livre ("Java, Spring Boot; SQL"): cada item separado por
+ * vírgula, ponto e vírgula, barra ou quebra de linha vira uma habilidade, sem acentos
+ * e em minúsculas. A busca pontua cada ID pela sobreposição ponderada (IDF) com as
+ * habilidades consultadas e devolve os k melhores.
+ *
+ * Cada ID recebe uma posição fixa (slot) e as listas de cada habilidade guardam slots
+ * em arrays de int, para que a busca acumule pontuações em arrays, sem mapas nem objetos
+ * por candidato. Leituras não bloqueiam; escritas e a carga inicial usam um ReentrantLock
+ * (não synchronized: a carga lê o banco e, em threads virtuais, um monitor prenderia a thread portadora).
+ */
+public class IndiceHabilidades {
+
+    private static final Pattern SEPARADORES = Pattern.compile("[,;/|\\n]+");
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private final Map<Long, Set<String>> habilidadesPorId = new ConcurrentHashMap<>();
+    private final Map<String, Postagens> postagensPorHabilidade = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> slotPorId = new ConcurrentHashMap<>();
+
+    // Slots não são reaproveitados: uma busca em andamento nunca confunde um ID removido com um novo
+    // Slot livre ou removido: ID 0 (os IDs gerados começam em 1)
+    private volatile long[] idPorSlot = new long[1024];
+    private volatile int[] quantidadePorSlot = new int[1024];
+    private int proximoSlot = 0;
+
+    private volatile boolean carregado = false;
+    private final ReentrantLock bloqueio = new ReentrantLock();
+
+    /**
+     * Carrega o índice na primeira chamada
+     * O carregador recebe um callback (ID, habilidades em texto) para cada item existente
+     */
+    public void carregarSeNecessario(Consumer<BiConsumer<Long, String>> carregador) {
+        if (carregado) {
+            return;
+        }
+        bloqueio.lock();
+        try {
+            if (!carregado) {
+                carregador.accept(this::indexarSemBloqueio);
+                carregado = true;
+            }
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+
+    /**
+     * Indexa (ou reindexa) um item
+     * Antes da carga inicial não faz nada, já que a carga lê o estado atual da fonte
+     */
+    public void indexar(Long id, String habilidades) {
+        bloqueio.lock();
+        try {
+            if (carregado && id != null) {
+                indexarSemBloqueio(id, habilidades);
+            }
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+
+    /**
+     * Remove os itens do índice
+     */
+    public void remover(Collection<Long> ids) {
+        bloqueio.lock();
+        try {
+            ids.forEach(this::removerSemBloqueio);
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+
+    public void remover(long id) {
+        remover(Collections.singletonList(id));
+    }
+
+    /**
+     * Busca os k IDs com maior sobreposição ponderada com as habilidades informadas
+     * Peso de cada habilidade: ln(1 + total de itens / itens com a habilidade)
+     * Empates: maior cobertura (fração das habilidades do item atendidas), depois menor ID
+     */
+    public List<Resultado> buscar(Set<String> habilidades, int k, Set<Long> excluidos) {
+        long[] ids = idPorSlot;
+        int[] quantidades = quantidadePorSlot;
+        int total = habilidadesPorId.size();
+
+        List<Postagens> listas = new ArrayList<>(habilidades.size());
+        List<Double> pesos = new ArrayList<>(habilidades.size());
+        int maximoCandidatos = 0;
+        for (String habilidade : habilidades) {
+            Postagens postagens = postagensPorHabilidade.get(habilidade);
+            if (postagens != null) {
+                listas.add(postagens);
+                pesos.add(Math.log(1.0 + (double) total / postagens.tamanho));
+                maximoCandidatos += postagens.tamanho;
+            }
+        }
+
+        double[] pontuacoes = new double[ids.length];
+        int[] comuns = new int[ids.length];
+        for (Long id : excluidos) {
+            Integer slot = slotPorId.get(id);
+            if (slot != null && slot < ids.length) {
+                comuns[slot] = -1;
+            }
+        }
+
+        // Acumula a pontuação de cada slot que aparece em alguma das listas
+        int[] candidatos = new int[maximoCandidatos];
+        int totalCandidatos = 0;
+        for (int h = 0; h < listas.size(); h++) {
+            Postagens postagens = listas.get(h);
+            double peso = pesos.get(h);
+            for (int i = 0; i < postagens.tamanho; i++) {
+                int slot = postagens.slots[i];
+                if (slot >= ids.length || comuns[slot] < 0) {
+                    continue;
+                }
+                if (comuns[slot] == 0) {
+                    candidatos[totalCandidatos++] = slot;
+                }
+                pontuacoes[slot] += peso;
+                comuns[slot]++;
+            }
+        }
+
+        // Seleção dos k melhores por inserção ordenada
+        int[] melhores = new int[Math.min(k, totalCandidatos)];
+        int quantidade = 0;
+        for (int c = 0; c < totalCandidatos; c++) {
+            int slot = candidatos[c];
+            if (ids[slot] == 0 || quantidades[slot] == 0) {
+                continue; // removido
+            }
+            if (quantidade == melhores.length && !melhor(slot, melhores[quantidade - 1], ids, quantidades, pontuacoes, comuns)) {
+                continue;
+            }
+            int posicao = quantidade < melhores.length ? quantidade++ : quantidade - 1;
+            while (posicao > 0 && melhor(slot, melhores[posicao - 1], ids, quantidades, pontuacoes, comuns)) {
+                melhores[posicao] = melhores[posicao - 1];
+                posicao--;
+            }
+            melhores[posicao] = slot;
+        }
+
+        List<Resultado> resultado = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            int slot = melhores[i];
+            long id = ids[slot];
+            Set<String> habilidadesItem = id != 0 ? habilidadesPorId.get(id) : null;
+            if (habilidadesItem == null) {
+                continue; // removido durante a busca
+            }
+            resultado.add(new Resultado(
+                    id,
+                    pontuacoes[slot],
+                    (double) comuns[slot] / habilidadesItem.size(),
+                    habilidades.stream().filter(habilidadesItem::contains).toList()));
+        }
+        return resultado;
+    }
+
+    public int tamanho() {
+        return habilidadesPorId.size();
+    }
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    /**
+     * Separa e normaliza as habilidades de um texto livre
+     * "Java, Programação;  spring  boot" -> [java, programacao, spring boot]
+     */
+    public static Set<String> normalizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return Collections.emptySet();
+        }
+        Set<String> habilidades = new LinkedHashSet<>();
+        for (String parte : SEPARADORES.split(texto)) {
+            String semAcento = ACENTOS.matcher(Normalizer.normalize(parte, Normalizer.Form.NFD)).replaceAll("");
+            String habilidade = ESPACOS.matcher(semAcento.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+            if (!habilidade.isEmpty()) {
+                habilidades.add(habilidade);
+            }
+        }
+        return habilidades;
+    }
+
+    /**
+     * a vem antes de b? (maior pontuação, maior cobertura, menor ID)
+     */
+    private static boolean melhor(int a, int b, long[] ids, int[] quantidades, double[] pontuacoes, int[] comuns) {
+        if (pontuacoes[a] != pontuacoes[b]) {
+            return pontuacoes[a] > pontuacoes[b];
+        }
+        double coberturaA = (double) comuns[a] / quantidades[a];
+        double coberturaB = (double) comuns[b] / quantidades[b];
+        if (coberturaA != coberturaB) {
+            return coberturaA > coberturaB;
+        }
+        return ids[a] < ids[b];
+    }
+
+    private void indexarSemBloqueio(Long id, String texto) {
+        Set<String> novas = normalizar(texto);
+        if (novas.isEmpty()) {
+            removerSemBloqueio(id);
+            return;
+        }
+
+        Integer existente = slotPorId.get(id);
+        int slot = existente != null ? existente : novoSlot(id);
+        Set<String> anteriores = habilidadesPorId.put(id, novas);
+
+        if (anteriores != null) {
+            for (String habilidade : anteriores) {
+                if (!novas.contains(habilidade)) {
+                    postagensPorHabilidade.computeIfPresent(habilidade, (chave, postagens) -> postagens.sem(slot));
+                }
+            }
+        }
+        quantidadePorSlot[slot] = novas.size();
+        for (String habilidade : novas) {
+            if (anteriores == null || !anteriores.contains(habilidade)) {
+                postagensPorHabilidade.compute(habilidade,
+                        (chave, postagens) -> postagens == null ? Postagens.de(slot) : postagens.com(slot));
+            }
+        }
+    }
+
+    private void removerSemBloqueio(Long id) {
+        Set<String> anteriores = habilidadesPorId.remove(id);
+        Integer slot = slotPorId.remove(id);
+        if (slot == null) {
+            return;
+        }
+        if (anteriores != null) {
+            for (String habilidade : anteriores) {
+                postagensPorHabilidade.computeIfPresent(habilidade, (chave, postagens) -> postagens.sem(slot));
+            }
+        }
+        quantidadePorSlot[slot] = 0;
+        idPorSlot[slot] = 0;
+    }
+
+    private int novoSlot(Long id) {
+        if (proximoSlot == idPorSlot.length) {
+            // Quantidades antes dos IDs: quem lê os IDs novos também enxerga as quantidades novas
+            int capacidade = idPorSlot.length * 2;
+            quantidadePorSlot = Arrays.copyOf(quantidadePorSlot, capacidade);
+            idPorSlot = Arrays.copyOf(idPorSlot, capacidade);
+        }
+        int slot = proximoSlot++;
+        idPorSlot[slot] = id;
+        slotPorId.put(id, slot);
+        return slot;
+    }
+
+    /**
+     * Lista de slots de uma habilidade
+     * Imutável para quem lê: inclusões escrevem além do tamanho já publicado
+     * (ou em um array novo) e remoções sempre copiam o array
+     */
+    private static final class Postagens {
+        private final int[] slots;
+        private final int tamanho;
+
+        private Postagens(int[] slots, int tamanho) {
+            this.slots = slots;
+            this.tamanho = tamanho;
+        }
+
+        static Postagens de(int slot) {
+            int[] slots = new int[4];
+            slots[0] = slot;
+            return new Postagens(slots, 1);
+        }
+
+        Postagens com(int slot) {
+            int[] destino = tamanho < slots.length ? slots : Arrays.copyOf(slots, slots.length * 2);
+            destino[tamanho] = slot;
+            return new Postagens(destino, tamanho + 1);
+        }
+
+        // null quando a lista fica vazia (remove a habilidade do mapa)
+        Postagens sem(int slot) {
+            int[] destino = new int[slots.length];
+            int novoTamanho = 0;
+            for (int i = 0; i < tamanho; i++) {
+                if (slots[i] != slot) {
+                    destino[novoTamanho++] = slots[i];
+                }
+            }
+            return novoTamanho == 0 ? null : new Postagens(destino, novoTamanho);
+        }
+    }
+
+    /**
+     * Item encontrado na busca
+     */
+    public static class Resultado {
+        private final long id;
+        private final double pontuacao;
+        private final double cobertura;
+        private final List<String> habilidadesEmComum;
+
+        public Resultado(long id, double pontuacao, double cobertura, List<String> habilidadesEmComum) {
+            this.id = id;
+            this.pontuacao = pontuacao;
+            this.cobertura = cobertura;
+            this.habilidadesEmComum = habilidadesEmComum;
+        }
+
+        public long getId() { return id; }
+        public double getPontuacao() { return pontuacao; }
+        // Fração das habilidades do item presentes na consulta
+        public double getCobertura() { return cobertura; }
+        public List<String> getHabilidadesEmComum() { return habilidadesEmComum; }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.apitcc.util;
 
+import com.example.apitcc.exception.BadRequestException;
 import com.example.apitcc.model.dto.EmpresaDTO;
 import com.example.apitcc.model.dto.UsuarioDTO;
 import com.example.apitcc.model.dto.TrabalhoDTO;
@@ -9,16 +10,154 @@ import com.example.apitcc.model.entity.Usuario;
 import com.example.apitcc.model.entity.Trabalho;
 import com.example.apitcc.model.entity.Match;
 import com.example.apitcc.model.entity.ItemBase;
+import com.example.apitcc.model.entity.StatusMatch;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Classe utilitÃ¡ria para conversÃ£o entre Entities e DTOs
  * ContÃ©m mappers para todas as entidades: Empresa, Usuario, Trabalho e Match
+ *
+ * Os DTOs trafegam tudo como texto (compatibilidade do JSON) e as entidades usam tipos
+ * (IDs long, LocalDate, double/int, StatusMatch): a conversão entre os dois acontece aqui
  */
 public class ModelMapper {
     
+    // =================== CONVERSÕES DE CAMPOS ===================
+    
+    /**
+     * Converte um ID recebido na API (null se vazio)
+     */
+    public static Long converterId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("ID inválido: " + id);
+        }
+    }
+    
+    /**
+     * Converte um ID obrigatório recebido na API (ex: path variable)
+     */
+    public static long converterIdObrigatorio(String id) {
+        Long convertido = converterId(id);
+        if (convertido == null) {
+            throw new BadRequestException("ID é obrigatório");
+        }
+        return convertido;
+    }
+    
+    /**
+     * Converte uma data AAAA-MM-DD (null se vazia)
+     */
+    public static LocalDate converterData(String data, String mensagemErro) {
+        if (data == null || data.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(data.trim());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException(mensagemErro);
+        }
+    }
+    
+    /**
+     * Converte um número decimal (null se vazio)
+     */
+    public static Double converterDecimal(String valor, String mensagemErro) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            double numero = Double.parseDouble(valor.trim());
+            if (Double.isNaN(numero) || Double.isInfinite(numero)) {
+                throw new BadRequestException(mensagemErro);
+            }
+            return numero;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(mensagemErro);
+        }
+    }
+    
+    /**
+     * Converte um número inteiro (null se vazio)
+     */
+    public static Integer converterInteiro(String valor, String mensagemErro) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(mensagemErro);
+        }
+    }
+    
+    /**
+     * Converte o código de status (null se vazio)
+     */
+    public static StatusMatch converterStatus(String status) {
+        if (status == null || status.trim().isEmpty()) {
+            return null;
+        }
+        StatusMatch convertido = StatusMatch.deCodigo(status);
+        if (convertido == null) {
+            throw new BadRequestException("Status inválido: " + status + ". Valores aceitos: "
+                    + Arrays.stream(StatusMatch.values()).map(StatusMatch::getCodigo).collect(Collectors.joining(", ")));
+        }
+        return convertido;
+    }
+    
+    /**
+     * Converte dataCadastro vinda do cliente (yyyy-MM-dd HH:mm:ss ou ISO); null se vazia ou ilegível
+     */
+    public static LocalDateTime converterDataHora(String dataHora) {
+        if (dataHora == null || dataHora.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(dataHora.trim(), ItemBase.FORMATO_DATA_HORA);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(dataHora.trim());
+            } catch (DateTimeParseException e2) {
+                return null;
+            }
+        }
+    }
+    
+    public static String formatarId(Long id) {
+        return id != null ? id.toString() : null;
+    }
+    
+    public static String formatarData(LocalDate data) {
+        return data != null ? data.toString() : null;
+    }
+    
+    public static String formatarDataHora(LocalDateTime dataHora) {
+        return dataHora != null ? dataHora.format(ItemBase.FORMATO_DATA_HORA) : null;
+    }
+    
+    /**
+     * Endereço da foto (GET /api/{recurso}/{id}/foto); a imagem nunca vai no JSON, só o link (404 se não houver foto)
+     */
+    public static String formatarUrlFoto(String recurso, Long id) {
+        return id != null ? "/api/" + recurso + "/" + id + "/foto" : null;
+    }
+    
+    // Avaliação 0 = sem avaliação
+    public static String formatarAvaliacao(int avaliacao) {
+        return avaliacao > 0 ? String.valueOf(avaliacao) : null;
+    }
+    
     // =================== EMPRESA MAPPERS ===================
     
     /**
@@ -30,7 +169,7 @@ public class ModelMapper {
         }
         
         return new EmpresaDTO(
-                empresa.getId(),
+                formatarId(empresa.getId()),
                 empresa.getNome(),
                 empresa.getEmail(),
                 empresa.getCnpj(),
@@ -39,9 +178,9 @@ public class ModelMapper {
                 empresa.getAreaAtuacao(),
                 empresa.getPublicoAlvo(),
                 empresa.getSenha(),
-                empresa.getFoto(),
+                formatarUrlFoto("empresas", empresa.getId()),
                 empresa.getDescricao(),
-                empresa.getDataCadastro()
+                formatarDataHora(empresa.getDataCadastro())
         );
     }
     
@@ -53,11 +192,13 @@ public class ModelMapper {
             return null;
         }
         
-        String dataCadastro = dto.getDataCadastro() != null ? 
-                            dto.getDataCadastro() : ItemBase.getCurrentDateTime();
+        LocalDateTime dataCadastro = converterDataHora(dto.getDataCadastro());
+        if (dataCadastro == null) {
+            dataCadastro = ItemBase.getCurrentDateTime();
+        }
         
         return new Empresa(
-                dto.getId(),
+                converterId(dto.getId()),
                 dto.getDescricao(),
                 dto.getNome(),
                 dto.getEmail(),
@@ -141,17 +282,17 @@ public class ModelMapper {
         }
         
         return new UsuarioDTO(
-                usuario.getId(),
+                formatarId(usuario.getId()),
                 usuario.getEmail(),
                 usuario.getTelefone(),
-                usuario.getDataDeNascimento(),
+                formatarData(usuario.getDataDeNascimento()),
                 usuario.getSenha(),
                 usuario.getHabilidades(),
-                usuario.getHoras(),
+                String.valueOf(usuario.getHoras()),
                 usuario.getNome(),
-                usuario.getFoto(),
+                formatarUrlFoto("usuarios", usuario.getId()),
                 usuario.getDescricao(),
-                usuario.getDataCadastro()
+                formatarDataHora(usuario.getDataCadastro())
         );
     }
     
@@ -163,18 +304,22 @@ public class ModelMapper {
             return null;
         }
         
-        String dataCadastro = dto.getDataCadastro() != null ? 
-                            dto.getDataCadastro() : ItemBase.getCurrentDateTime();
+        LocalDateTime dataCadastro = converterDataHora(dto.getDataCadastro());
+        if (dataCadastro == null) {
+            dataCadastro = ItemBase.getCurrentDateTime();
+        }
+        
+        Double horas = converterDecimal(dto.getHoras(), "Formato de horas inválido");
         
         return new Usuario(
-                dto.getId(),
+                converterId(dto.getId()),
                 dto.getDescricao(),
                 dto.getEmail(),
                 dto.getTelefone(),
-                dto.getDataDeNascimento(),
+                converterData(dto.getDataDeNascimento(), "Data de nascimento inválida (use AAAA-MM-DD)"),
                 dto.getSenha(),
                 dto.getHabilidades(),
-                dto.getHoras(),
+                horas != null ? horas : 0,
                 dto.getNome(),
                 dto.getFoto(),
                 dataCadastro
@@ -214,7 +359,7 @@ public class ModelMapper {
             usuario.setTelefone(dto.getTelefone());
         }
         if (dto.getDataDeNascimento() != null) {
-            usuario.setDataDeNascimento(dto.getDataDeNascimento());
+            usuario.setDataDeNascimento(converterData(dto.getDataDeNascimento(), "Data de nascimento inválida (use AAAA-MM-DD)"));
         }
         if (dto.getSenha() != null && !dto.getSenha().trim().isEmpty()) {
             usuario.setSenha(dto.getSenha());
@@ -222,8 +367,9 @@ public class ModelMapper {
         if (dto.getHabilidades() != null) {
             usuario.setHabilidades(dto.getHabilidades());
         }
-        if (dto.getHoras() != null) {
-            usuario.setHoras(dto.getHoras());
+        Double horas = converterDecimal(dto.getHoras(), "Formato de horas inválido");
+        if (horas != null) {
+            usuario.setHoras(horas);
         }
         if (dto.getNome() != null && !dto.getNome().trim().isEmpty()) {
             usuario.setNome(dto.getNome());
@@ -247,15 +393,15 @@ public class ModelMapper {
         }
         
         return new TrabalhoDTO(
-                trabalho.getId(),
-                trabalho.getIdEmpresa(),
+                formatarId(trabalho.getId()),
+                String.valueOf(trabalho.getIdEmpresa()),
                 trabalho.getNomeEmpresa(),
                 trabalho.getDescricaoTrabalho(),
-                trabalho.getQuantidadeDeVagas(),
+                String.valueOf(trabalho.getQuantidadeDeVagas()),
                 trabalho.getTipoTrabalho(),
                 trabalho.getHabilidadesNecessarias(),
                 trabalho.getDescricao(),
-                trabalho.getDataCadastro()
+                formatarDataHora(trabalho.getDataCadastro())
         );
     }
     
@@ -267,16 +413,20 @@ public class ModelMapper {
             return null;
         }
         
-        String dataCadastro = dto.getDataCadastro() != null ? 
-                            dto.getDataCadastro() : ItemBase.getCurrentDateTime();
+        LocalDateTime dataCadastro = converterDataHora(dto.getDataCadastro());
+        if (dataCadastro == null) {
+            dataCadastro = ItemBase.getCurrentDateTime();
+        }
+        
+        Integer vagas = converterInteiro(dto.getQuantidadeDeVagas(), "Formato de quantidade de vagas inválido");
         
         return new Trabalho(
-                dto.getId(),
+                converterId(dto.getId()),
                 dto.getDescricao(),
-                dto.getIdEmpresa(),
+                converterIdObrigatorio(dto.getIdEmpresa()),
                 dto.getNomeEmpresa(),
                 dto.getDescricaoTrabalho(),
-                dto.getQuantidadeDeVagas(),
+                vagas != null ? vagas : 1,
                 dto.getTipoTrabalho(),
                 dto.getHabilidadesNecessarias(),
                 dataCadastro
@@ -310,7 +460,7 @@ public class ModelMapper {
         }
         
         if (dto.getIdEmpresa() != null && !dto.getIdEmpresa().trim().isEmpty()) {
-            trabalho.setIdEmpresa(dto.getIdEmpresa());
+            trabalho.setIdEmpresa(converterIdObrigatorio(dto.getIdEmpresa()));
         }
         if (dto.getNomeEmpresa() != null && !dto.getNomeEmpresa().trim().isEmpty()) {
             trabalho.setNomeEmpresa(dto.getNomeEmpresa());
@@ -318,8 +468,9 @@ public class ModelMapper {
         if (dto.getDescricaoTrabalho() != null && !dto.getDescricaoTrabalho().trim().isEmpty()) {
             trabalho.setDescricaoTrabalho(dto.getDescricaoTrabalho());
         }
-        if (dto.getQuantidadeDeVagas() != null) {
-            trabalho.setQuantidadeDeVagas(dto.getQuantidadeDeVagas());
+        Integer vagas = converterInteiro(dto.getQuantidadeDeVagas(), "Formato de quantidade de vagas inválido");
+        if (vagas != null) {
+            trabalho.setQuantidadeDeVagas(vagas);
         }
         if (dto.getTipoTrabalho() != null) {
             trabalho.setTipoTrabalho(dto.getTipoTrabalho());
@@ -343,17 +494,17 @@ public class ModelMapper {
         }
         
         return new MatchDTO(
-                match.getId(),
-                match.getIdUsuario(),
-                match.getIdTrabalho(),
-                match.getStatus(),
-                match.getDataMatch(),
-                match.getDataInicio(),
-                match.getDataTermino(),
-                match.getHorasTrabalhas(),
-                match.getAvaliacao(),
+                formatarId(match.getId()),
+                String.valueOf(match.getIdUsuario()),
+                String.valueOf(match.getIdTrabalho()),
+                match.getCodigoStatus(),
+                formatarData(match.getDataMatch()),
+                formatarData(match.getDataInicio()),
+                formatarData(match.getDataTermino()),
+                String.valueOf(match.getHorasTrabalhas()),
+                formatarAvaliacao(match.getAvaliacao()),
                 match.getDescricao(),
-                match.getDataCadastro()
+                formatarDataHora(match.getDataCadastro())
         );
     }
     
@@ -365,20 +516,27 @@ public class ModelMapper {
             return null;
         }
         
-        String dataCadastro = dto.getDataCadastro() != null ? 
-                            dto.getDataCadastro() : ItemBase.getCurrentDateTime();
+        LocalDateTime dataCadastro = converterDataHora(dto.getDataCadastro());
+        if (dataCadastro == null) {
+            dataCadastro = ItemBase.getCurrentDateTime();
+        }
+        
+        StatusMatch status = converterStatus(dto.getStatus());
+        LocalDate dataMatch = converterData(dto.getDataMatch(), "Data do match inválida (use AAAA-MM-DD)");
+        Double horas = converterDecimal(dto.getHorasTrabalhas(), "Formato de horas trabalhadas inválido");
+        Integer avaliacao = converterInteiro(dto.getAvaliacao(), "Formato de avaliação inválido");
         
         return new Match(
-                dto.getId(),
+                converterId(dto.getId()),
                 dto.getDescricao(),
-                dto.getIdUsuario(),
-                dto.getIdTrabalho(),
-                dto.getStatus(),
-                dto.getDataMatch(),
-                dto.getDataInicio(),
-                dto.getDataTermino(),
-                dto.getHorasTrabalhas(),
-                dto.getAvaliacao(),
+                converterIdObrigatorio(dto.getIdUsuario()),
+                converterIdObrigatorio(dto.getIdTrabalho()),
+                status != null ? status : StatusMatch.PENDENTE,
+                dataMatch != null ? dataMatch : LocalDate.now(),
+                converterData(dto.getDataInicio(), "Data de início inválida (use AAAA-MM-DD)"),
+                converterData(dto.getDataTermino(), "Data de término inválida (use AAAA-MM-DD)"),
+                horas != null ? horas : 0,
+                avaliacao != null ? avaliacao : 0,
                 dataCadastro
         );
     }
@@ -410,28 +568,31 @@ public class ModelMapper {
         }
         
         if (dto.getIdUsuario() != null && !dto.getIdUsuario().trim().isEmpty()) {
-            match.setIdUsuario(dto.getIdUsuario());
+            match.setIdUsuario(converterIdObrigatorio(dto.getIdUsuario()));
         }
         if (dto.getIdTrabalho() != null && !dto.getIdTrabalho().trim().isEmpty()) {
-            match.setIdTrabalho(dto.getIdTrabalho());
+            match.setIdTrabalho(converterIdObrigatorio(dto.getIdTrabalho()));
         }
-        if (dto.getStatus() != null) {
-            match.setStatus(dto.getStatus());
+        StatusMatch status = converterStatus(dto.getStatus());
+        if (status != null) {
+            match.setStatus(status);
         }
         if (dto.getDataMatch() != null) {
-            match.setDataMatch(dto.getDataMatch());
+            match.setDataMatch(converterData(dto.getDataMatch(), "Data do match inválida (use AAAA-MM-DD)"));
         }
         if (dto.getDataInicio() != null) {
-            match.setDataInicio(dto.getDataInicio());
+            match.setDataInicio(converterData(dto.getDataInicio(), "Data de início inválida (use AAAA-MM-DD)"));
         }
         if (dto.getDataTermino() != null) {
-            match.setDataTermino(dto.getDataTermino());
+            match.setDataTermino(converterData(dto.getDataTermino(), "Data de término inválida (use AAAA-MM-DD)"));
         }
-        if (dto.getHorasTrabalhas() != null) {
-            match.setHorasTrabalhas(dto.getHorasTrabalhas());
+        Double horas = converterDecimal(dto.getHorasTrabalhas(), "Formato de horas trabalhadas inválido");
+        if (horas != null) {
+            match.setHorasTrabalhas(horas);
         }
-        if (dto.getAvaliacao() != null) {
-            match.setAvaliacao(dto.getAvaliacao());
+        Integer avaliacao = converterInteiro(dto.getAvaliacao(), "Formato de avaliação inválido");
+        if (avaliacao != null) {
+            match.setAvaliacao(avaliacao);
         }
         if (dto.getDescricao() != null) {
             match.setDescricao(dto.getDescricao());
@@ -0,0 +1,155 @@
+package com.example.apitcc.util;
+
+import com.example.apitcc.exception.BadRequestException;
+import com.example.apitcc.model.dto.PaginaDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Classe utilitária para paginação por cursor (keyset) das listagens
+ * O cursor é opaco para o cliente: codifica o valor do campo de ordenação e o ID do último item
+ */
+public class Paginacao {
+
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+    public static final String CAMPO_ID = "id";
+
+    /**
+     * Parâmetros já validados de uma consulta paginada
+     */
+    public static class Consulta {
+        private final String campo;
+        private final boolean descendente;
+        private final int limite;
+        private final String cursorValor;
+        private final Long cursorId;
+
+        public Consulta(String campo, boolean descendente, int limite, String cursorValor, Long cursorId) {
+            this.campo = campo;
+            this.descendente = descendente;
+            this.limite = limite;
+            this.cursorValor = cursorValor;
+            this.cursorId = cursorId;
+        }
+
+        public String getCampo() { return campo; }
+        public boolean isDescendente() { return descendente; }
+        public int getLimite() { return limite; }
+        public String getCursorValor() { return cursorValor; }
+        public Long getCursorId() { return cursorId; }
+
+        public boolean temCursor() { return cursorId != null; }
+        public boolean ordenadoPorId() { return CAMPO_ID.equals(campo); }
+    }
+
+    /**
+     * Valida os parâmetros limit, after e sort recebidos pelo controller
+     * sort aceita o nome do campo, com prefixo "-" para ordem decrescente (ex: "-nome")
+     */
+    public static Consulta criarConsulta(Integer limit, String after, String sort, Set<String> camposPermitidos) {
+        int limite = limit != null ? limit : LIMITE_PADRAO;
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BadRequestException("Parâmetro limit deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+
+        String campo = CAMPO_ID;
+        boolean descendente = false;
+        if (sort != null && !sort.trim().isEmpty()) {
+            campo = sort.trim();
+            if (campo.startsWith("-")) {
+                descendente = true;
+                campo = campo.substring(1);
+            }
+            if (!camposPermitidos.contains(campo)) {
+                throw new BadRequestException("Campo de ordenação inválido: " + campo
+                        + ". Valores aceitos: " + String.join(", ", camposPermitidos));
+            }
+        }
+
+        String cursorValor = null;
+        Long cursorId = null;
+        if (after != null && !after.trim().isEmpty()) {
+            try {
+                String decodificado = new String(Base64.getUrlDecoder().decode(after.trim()), StandardCharsets.UTF_8);
+                int separador = decodificado.lastIndexOf('|');
+                cursorValor = decodificado.substring(0, separador);
+                cursorId = Long.parseLong(decodificado.substring(separador + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new BadRequestException("Cursor de paginação inválido");
+            }
+        }
+
+        return new Consulta(campo, descendente, limite, cursorValor, cursorId);
+    }
+
+    /**
+     * Gera o cursor opaco a partir do último item retornado
+     */
+    public static String gerarCursor(String valor, long id) {
+        String bruto = (valor != null ? valor : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Aplica a consulta sobre uma coleção em memória com a mesma semântica do SQL:
+     * ordena por (campo, id), descarta tudo até o cursor e retorna até limite + 1 itens
+     * (o item extra indica que existe uma próxima página)
+     */
+    public static <T> List<T> paginar(Collection<T> itens, Consulta consulta,
+                                      Function<T, String> campo, ToLongFunction<T> id) {
+        Function<T, String> chave = consulta.ordenadoPorId() ? t -> "" : t -> valorOuVazio(campo.apply(t));
+        Comparator<T> comparador = Comparator.comparing(chave)
+                .thenComparingLong(id);
+        if (consulta.isDescendente()) {
+            comparador = comparador.reversed();
+        }
+        Comparator<T> ordem = comparador;
+
+        return itens.stream()
+                .filter(t -> {
+                    if (!consulta.temCursor()) return true;
+                    String valorCursor = consulta.ordenadoPorId() ? "" : consulta.getCursorValor();
+                    int cmp = chave.apply(t).compareTo(valorCursor);
+                    if (cmp == 0) {
+                        cmp = Long.compare(id.applyAsLong(t), consulta.getCursorId());
+                    }
+                    return consulta.isDescendente() ? cmp < 0 : cmp > 0;
+                })
+                .sorted(ordem)
+                .limit(consulta.getLimite() + 1L)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Monta a página de resposta a partir de um resultado com até limite + 1 itens
+     */
+    public static <T, D> PaginaDTO<D> montarPagina(List<T> resultado, Consulta consulta,
+                                                   Function<T, String> campo, ToLongFunction<T> id,
+                                                   Function<T, D> conversor) {
+        boolean temMais = resultado.size() > consulta.getLimite();
+        List<T> pagina = temMais ? resultado.subList(0, consulta.getLimite()) : resultado;
+
+        String proximoCursor = null;
+        if (temMais) {
+            T ultimo = pagina.get(pagina.size() - 1);
+            String valor = consulta.ordenadoPorId() ? "" : campo.apply(ultimo);
+            proximoCursor = gerarCursor(valor, id.applyAsLong(ultimo));
+        }
+
+        List<D> itens = pagina.stream().map(conversor).collect(Collectors.toList());
+        return new PaginaDTO<>(itens, proximoCursor, consulta.getLimite(), temMais);
+    }
+
+    private static String valorOuVazio(String valor) {
+        return valor != null ? valor : "";
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.apitcc.util;
+
+import com.example.apitcc.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Projeção de campos das respostas (parâmetro fields=nome,email,...)
+ *
+ * Os DTOs são anotados com @JsonFilter(FILTRO): sem projeção todos os campos são serializados
+ * (filtro padrão do JacksonConfig); com projeção só os campos pedidos, e o id sempre.
+ * Em produção as listagens também usam a projeção para não ler do banco as colunas que não vão na resposta.
+ */
+public class Projecao {
+
+    public static final String FILTRO = "projecao";
+
+    private final Set<String> campos;
+
+    private Projecao(Set<String> campos) {
+        this.campos = campos;
+    }
+
+    /**
+     * Valida o parâmetro fields contra os campos do DTO; vazio usa os campos padrão do endpoint
+     */
+    public static Projecao criar(String fields, Set<String> disponiveis, Set<String> padrao) {
+        Set<String> campos = new LinkedHashSet<>();
+        campos.add(Paginacao.CAMPO_ID);
+        if (fields == null || fields.isBlank()) {
+            campos.addAll(padrao);
+            return new Projecao(campos);
+        }
+        for (String campo : fields.split(",")) {
+            campo = campo.trim();
+            if (campo.isEmpty()) {
+                continue;
+            }
+            if (!disponiveis.contains(campo)) {
+                throw new BadRequestException("Campo inválido em fields: " + campo
+                        + ". Valores aceitos: " + String.join(", ", new TreeSet<>(disponiveis)));
+            }
+            campos.add(campo);
+        }
+        return new Projecao(campos);
+    }
+
+    public Set<String> getCampos() { return campos; }
+
+    public boolean inclui(String campo) {
+        return campos.contains(campo);
+    }
+
+    /**
+     * Corpo da resposta com o filtro de campos aplicado na serialização
+     */
+    public MappingJacksonValue aplicar(Object corpo) {
+        MappingJacksonValue valor = new MappingJacksonValue(corpo);
+        valor.setFilters(new SimpleFilterProvider()
+                .addFilter(FILTRO, SimpleBeanPropertyFilter.filterOutAllExcept(campos)));
+        return valor;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.apitcc.util;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * GET condicional com ETag forte derivado da versão dos dados (VersaoTabelas / ArmazenamentoEmMemoria)
+ *
+ * Se o If-None-Match do cliente bate com a versão atual, responde 304 sem executar a consulta
+ * nem serializar o JSON. O ETag inclui o instante de início do processo, porque as versões
+ * recomeçam do zero a cada inicialização.
+ */
+public class RespostaCondicional {
+
+    private static final String INSTANCIA = Long.toString(System.currentTimeMillis(), 36);
+
+    public static String etag(long versao) {
+        return "\"" + INSTANCIA + "-" + versao + "\"";
+    }
+
+    /**
+     * A versão deve ser lida antes de montar o corpo: se houver escrita no meio, o ETag fica
+     * mais antigo que os dados (só custa uma resposta completa a mais), nunca o contrário
+     */
+    public static <T> ResponseEntity<T> responder(WebRequest request, long versao, Supplier<T> corpo) {
+        String etag = etag(versao);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(corpo.get());
+    }
+
+    /**
+     * Igual ao anterior, serializando só os campos da projeção (parâmetro fields)
+     */
+    public static ResponseEntity<MappingJacksonValue> responder(WebRequest request, long versao, Projecao projecao,
+                                                                Supplier<?> corpo) {
+        return responder(request, versao, () -> projecao.aplicar(corpo.get()));
+    }
+
+    /**
+     * GET condicional de arquivo binário, com ETag derivado do conteúdo (sem o prefixo da instância)
+     * O corpo Resource faz o Spring MVC atender Range com 206 e Accept-Ranges: bytes
+     */
+    public static ResponseEntity<Resource> responderArquivo(WebRequest request, String versao, String tipo,
+                                                            Supplier<Resource> corpo) {
+        String etag = "\"" + versao + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.parseMediaType(tipo))
+                .body(corpo.get());
+    }
+}
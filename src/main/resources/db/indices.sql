@@ -0,0 +1,84 @@
+-- Índices do banco de produção (PostgreSQL)
+-- Não é executado na inicialização da aplicação; aplicar manualmente:
+--   psql "$DATABASE_URL" -f src/main/resources/db/indices.sql
+
+-- Match: um único match por par usuário/trabalho
+-- Serve a busca pontual (findMatchByUsuarioAndTrabalho), as buscas por usuário
+-- e o ON CONFLICT da inserção condicional (insertMatchSeValido)
+-- Remova duplicatas existentes antes de criar o índice
+CREATE UNIQUE INDEX IF NOT EXISTS ux_match_usuario_trabalho
+    ON public."Match" ("IdUsuario", "IdTrabalho");
+
+-- Match: buscas e exclusões por trabalho
+CREATE INDEX IF NOT EXISTS ix_match_trabalho
+    ON public."Match" ("IdTrabalho");
+
+-- Match: filtros dos relatórios (findMatchesByStatusIn, findMatchesByAvaliacaoMinima, findMatchesByDataMatchBetween)
+-- O status é comparado como LOWER("status_Match") IN (...): só um índice de expressão atende esse predicado
+CREATE INDEX IF NOT EXISTS ix_match_status_lower
+    ON public."Match" (LOWER("status_Match"));
+
+CREATE INDEX IF NOT EXISTS ix_match_avaliacao
+    ON public."Match" ("avaliacao_Match");
+
+CREATE INDEX IF NOT EXISTS ix_match_data
+    ON public."Match" ("data_Match");
+
+-- Trabalho: trabalhos da empresa e painel de impacto (GET /api/empresas/{id}/impacto)
+CREATE INDEX IF NOT EXISTS ix_trabalho_empresa
+    ON public.trabalho ("IdEmpresa");
+
+-- Trabalho: busca textual (GET /api/trabalhos/busca?q=)
+-- Coluna tsvector (dicionário portuguese) mantida pelo próprio banco a partir da descrição (peso A),
+-- habilidades necessárias (peso B) e tipo de trabalho (peso C); o GIN atende o operador @@
+ALTER TABLE public.trabalho
+    ADD COLUMN IF NOT EXISTS "busca_Trabalho" tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce("descricao_Trabalho", '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce("habilidadesNecessarias_Trabalho", '')), 'B') ||
+        setweight(to_tsvector('portuguese', coalesce("tipoTrabalho_Trabalho", '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_trabalho_busca
+    ON public.trabalho USING GIN ("busca_Trabalho");
+
+-- Buscas "contém" sem acento e sem caixa (nome, área de atuação, tipo e habilidades)
+-- unaccent não é IMMUTABLE e não pode ser usado em índice; public.sem_acento fixa o dicionário
+-- As consultas usam public.sem_acento(coluna) ILIKE '%' || public.sem_acento(termo) || '%'
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE OR REPLACE FUNCTION public.sem_acento(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+CREATE INDEX IF NOT EXISTS ix_usuario_nome_trgm
+    ON public."Usuario" USING GIN (public.sem_acento("nome_Usuario") gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_usuario_habilidades_trgm
+    ON public."Usuario" USING GIN (public.sem_acento("habilidades_Usuario") gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_empresa_area_atuacao_trgm
+    ON public."Empresa" USING GIN (public.sem_acento("area_atuacao_empresa") gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_trabalho_tipo_trgm
+    ON public.trabalho USING GIN (public.sem_acento("tipoTrabalho_Trabalho") gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_trabalho_habilidades_trgm
+    ON public.trabalho USING GIN (public.sem_acento("habilidadesNecessarias_Trabalho") gin_trgm_ops);
+
+-- Fotos de empresas e usuários (FotoService), fora das tabelas das entidades
+-- As listagens e buscas nunca leem o BYTEA; o GET /foto lê primeiro só o hash (ETag / 304)
+-- JPEG e PNG já são comprimidos: STORAGE EXTERNAL evita a tentativa de compressão do TOAST
+CREATE TABLE IF NOT EXISTS public.foto (
+    "entidade"      varchar(20)  NOT NULL,
+    "IdEntidade"    bigint       NOT NULL,
+    "tipo"          varchar(50)  NOT NULL,
+    "hash"          char(64)     NOT NULL,
+    "tamanho"       integer      NOT NULL,
+    "conteudo"      bytea        NOT NULL,
+    "atualizado_em" timestamp    NOT NULL DEFAULT now(),
+    PRIMARY KEY ("entidade", "IdEntidade")
+);
+
+ALTER TABLE public.foto ALTER COLUMN "conteudo" SET STORAGE EXTERNAL;
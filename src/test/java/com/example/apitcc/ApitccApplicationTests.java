@@ -3,7 +3,8 @@ package com.example.apitcc;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Perfil prod (padrão): app.auth.segredo é obrigatório
+@SpringBootTest(properties = "app.auth.segredo=segredo-de-teste-com-mais-de-32-caracteres")
 class ApitccApplicationTests {
 
 	@Test
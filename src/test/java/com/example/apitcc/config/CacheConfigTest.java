@@ -0,0 +1,47 @@
+package com.example.apitcc.config;
+
+import com.example.apitcc.model.entity.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class CacheConfigTest {
+
+	private final Cache cache = new CacheConfig().cacheManager(new MockEnvironment()).getCache(CacheConfig.USUARIOS);
+
+	@Test
+	void alteracaoDaInstanciaGuardadaNaoChegaAoCache() {
+		Usuario usuario = usuario();
+		cache.put(1L, usuario);
+		usuario.setEmail("alterado@x.com");
+
+		assertEquals("ana@x.com", cache.get(1L, Usuario.class).getEmail());
+	}
+
+	@Test
+	void cadaAcertoDevolveUmaCopia() {
+		cache.put(1L, usuario());
+		Usuario primeiro = cache.get(1L, Usuario.class);
+		primeiro.setEmail("alterado@x.com");
+
+		Usuario segundo = cache.get(1L, Usuario.class);
+		assertNotSame(primeiro, segundo);
+		assertEquals("ana@x.com", segundo.getEmail());
+	}
+
+	@Test
+	void carregamentoPeloCacheTambemGuardaCopia() {
+		Usuario carregado = usuario();
+		Usuario devolvido = cache.get(2L, () -> carregado);
+		devolvido.setNome("Alterado");
+
+		assertEquals("Ana", cache.get(2L, Usuario.class).getNome());
+	}
+
+	private static Usuario usuario() {
+		return new Usuario(1L, "", "ana@x.com", "", null, "hash", "java", 0, "Ana", "", null);
+	}
+}
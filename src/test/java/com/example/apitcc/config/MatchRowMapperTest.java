@@ -0,0 +1,52 @@
+package com.example.apitcc.config;
+
+import com.example.apitcc.model.entity.Match;
+import com.example.apitcc.model.entity.StatusMatch;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MatchRowMapperTest {
+
+	@Test
+	void statusConhecidoIgnorandoCaixa() throws SQLException {
+		Match match = new DatabaseConfig.MatchRowMapper().mapRow(linha(" Em_Andamento"), 1);
+
+		assertEquals(StatusMatch.EM_ANDAMENTO, match.getStatus());
+		assertEquals("em_andamento", match.getCodigoStatus());
+	}
+
+	@Test
+	void statusDesconhecidoEPreservado() throws SQLException {
+		Match match = new DatabaseConfig.MatchRowMapper().mapRow(linha("Aguardando"), 1);
+
+		assertNull(match.getStatus());
+		assertEquals("Aguardando", match.getCodigoStatus());
+
+		// Alteração de outro campo mantém o código; um novo status o substitui
+		match.setHorasTrabalhas(3);
+		assertEquals("Aguardando", match.getCodigoStatus());
+		match.setStatus(StatusMatch.ATIVO);
+		assertEquals("ativo", match.getCodigoStatus());
+	}
+
+	@Test
+	void statusNuloContinuaNulo() throws SQLException {
+		assertNull(new DatabaseConfig.MatchRowMapper().mapRow(linha(null), 1).getCodigoStatus());
+	}
+
+	private static ResultSet linha(String status) throws SQLException {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getLong("IdMatch")).thenReturn(1L);
+		when(rs.getLong("IdUsuario")).thenReturn(2L);
+		when(rs.getLong("IdTrabalho")).thenReturn(3L);
+		when(rs.getString("status_Match")).thenReturn(status);
+		return rs;
+	}
+}
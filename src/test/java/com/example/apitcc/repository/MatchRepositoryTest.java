@@ -0,0 +1,75 @@
+package com.example.apitcc.repository;
+
+import com.example.apitcc.model.entity.Match;
+import com.example.apitcc.model.entity.StatusMatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchRepositoryTest {
+
+	private final MatchRepository repository = new MatchRepository();
+
+	@Test
+	void inclusoesConcorrentesDoMesmoParSalvamUmaVez() throws Exception {
+		int threads = 16;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (int rodada = 0; rodada < 50; rodada++) {
+				long idTrabalho = rodada;
+				CountDownLatch largada = new CountDownLatch(1);
+				AtomicInteger salvos = new AtomicInteger();
+				List<Future<?>> tarefas = new ArrayList<>();
+				for (int i = 0; i < threads; i++) {
+					tarefas.add(executor.submit(() -> {
+						largada.await();
+						if (repository.saveSeParUnico(match(1L, idTrabalho))) {
+							salvos.incrementAndGet();
+						}
+						return null;
+					}));
+				}
+				largada.countDown();
+				for (Future<?> tarefa : tarefas) {
+					tarefa.get();
+				}
+				assertEquals(1, salvos.get());
+				assertEquals(1, repository.countByIdTrabalho(idTrabalho));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void atualizacaoNaoPodeOcuparParDeOutroMatch() {
+		Match primeiro = match(1L, 10L);
+		Match segundo = match(2L, 10L);
+		assertTrue(repository.saveSeParUnico(primeiro));
+		assertTrue(repository.saveSeParUnico(segundo));
+
+		// Salvar o próprio match com o mesmo par não é conflito
+		segundo.setHorasTrabalhas(4);
+		assertTrue(repository.saveSeParUnico(segundo));
+
+		Match alterado = repository.findById(segundo.getId()).orElseThrow().copiar();
+		alterado.setIdUsuario(1L);
+		assertFalse(repository.saveSeParUnico(alterado));
+		assertEquals(2L, repository.findById(segundo.getId()).orElseThrow().getIdUsuario());
+		assertEquals(primeiro.getId(), repository.findByIdUsuarioAndIdTrabalho(1L, 10L).orElseThrow().getId());
+	}
+
+	private static Match match(long idUsuario, long idTrabalho) {
+		return new Match(null, "", idUsuario, idTrabalho, StatusMatch.PENDENTE, null, null, null, 0, 0, null);
+	}
+}
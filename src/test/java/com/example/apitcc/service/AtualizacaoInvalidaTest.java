@@ -0,0 +1,112 @@
+package com.example.apitcc.service;
+
+import com.example.apitcc.exception.BadRequestException;
+import com.example.apitcc.exception.ResourceNotFoundException;
+import com.example.apitcc.model.dto.EmpresaDTO;
+import com.example.apitcc.model.dto.MatchDTO;
+import com.example.apitcc.model.dto.TrabalhoDTO;
+import com.example.apitcc.model.dto.UsuarioDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Atualização com um campo inválido (400) não pode deixar os campos anteriores alterados
+ * Ambiente de desenvolvimento: os repositories em memória guardam as próprias instâncias
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class AtualizacaoInvalidaTest {
+
+	@Autowired
+	private UsuarioService usuarioService;
+
+	@Autowired
+	private EmpresaService empresaService;
+
+	@Autowired
+	private TrabalhoService trabalhoService;
+
+	@Autowired
+	private MatchService matchService;
+
+	@Test
+	void usuarioComDataInvalidaMantemEmailEIndice() {
+		UsuarioDTO usuario = usuarioService.criarUsuario(usuario("ana.atualizacao@x.com"));
+
+		UsuarioDTO alteracao = new UsuarioDTO();
+		alteracao.setEmail("novo.atualizacao@x.com");
+		alteracao.setDataDeNascimento("xx");
+		assertThrows(BadRequestException.class, () -> usuarioService.atualizarUsuario(usuario.getId(), alteracao));
+
+		assertEquals("ana.atualizacao@x.com", usuarioService.buscarUsuarioPorId(usuario.getId()).getEmail());
+		assertEquals(usuario.getId(), usuarioService.buscarPorEmail("ana.atualizacao@x.com").getId());
+		assertThrows(ResourceNotFoundException.class, () -> usuarioService.buscarPorEmail("novo.atualizacao@x.com"));
+	}
+
+	@Test
+	void matchComDataInvalidaMantemStatus() {
+		UsuarioDTO usuario = usuarioService.criarUsuario(usuario("bia.atualizacao@x.com"));
+		String idTrabalho = trabalho("empresa.atualizacao@x.com");
+		String idMatch = match(usuario.getId(), idTrabalho);
+
+		MatchDTO alteracao = new MatchDTO();
+		alteracao.setStatus("cancelado");
+		alteracao.setDataMatch("18/10/2026");
+		assertThrows(BadRequestException.class, () -> matchService.atualizarMatch(idMatch, alteracao));
+
+		assertEquals("pendente", matchService.buscarMatchPorId(idMatch).getStatus());
+	}
+
+	@Test
+	void matchNaoPodeOcuparParDeOutroMatch() {
+		String idUsuario = usuarioService.criarUsuario(usuario("caio.atualizacao@x.com")).getId();
+		String outroUsuario = usuarioService.criarUsuario(usuario("davi.atualizacao@x.com")).getId();
+		String idTrabalho = trabalho("empresa2.atualizacao@x.com");
+		match(idUsuario, idTrabalho);
+		String idMatch = match(outroUsuario, idTrabalho);
+
+		MatchDTO alteracao = new MatchDTO();
+		alteracao.setIdUsuario(idUsuario);
+		BadRequestException erro = assertThrows(BadRequestException.class,
+				() -> matchService.atualizarMatch(idMatch, alteracao));
+
+		assertEquals("Já existe um match entre este usuário e trabalho", erro.getMessage());
+		assertEquals(outroUsuario, matchService.buscarMatchPorId(idMatch).getIdUsuario());
+	}
+
+	private String trabalho(String emailEmpresa) {
+		EmpresaDTO empresa = new EmpresaDTO();
+		empresa.setNome("Empresa");
+		empresa.setEmail(emailEmpresa);
+		empresa.setSenha("segredo1");
+		String idEmpresa = empresaService.criarEmpresa(empresa).getId();
+
+		TrabalhoDTO trabalho = new TrabalhoDTO();
+		trabalho.setIdEmpresa(idEmpresa);
+		trabalho.setDescricaoTrabalho("Aulas de reforço");
+		trabalho.setTipoTrabalho("remoto");
+		trabalho.setQuantidadeDeVagas("2");
+		return trabalhoService.criarTrabalho(trabalho).getId();
+	}
+
+	private String match(String idUsuario, String idTrabalho) {
+		MatchDTO match = new MatchDTO();
+		match.setIdUsuario(idUsuario);
+		match.setIdTrabalho(idTrabalho);
+		match.setStatus("pendente");
+		return matchService.criarMatch(match).getId();
+	}
+
+	private static UsuarioDTO usuario(String email) {
+		UsuarioDTO usuario = new UsuarioDTO();
+		usuario.setNome("Usuário");
+		usuario.setEmail(email);
+		usuario.setSenha("segredo1");
+		return usuario;
+	}
+}
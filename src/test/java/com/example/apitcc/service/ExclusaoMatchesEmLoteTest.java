@@ -0,0 +1,95 @@
+package com.example.apitcc.service;
+
+import com.example.apitcc.model.dto.EmpresaDTO;
+import com.example.apitcc.model.dto.MatchDTO;
+import com.example.apitcc.model.dto.TrabalhoDTO;
+import com.example.apitcc.model.dto.UsuarioDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exclusões em lote publicam um EXCLUIDO por match para o GET /api/matches/stream
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+@RecordApplicationEvents
+class ExclusaoMatchesEmLoteTest {
+
+	@Autowired
+	private UsuarioService usuarioService;
+
+	@Autowired
+	private EmpresaService empresaService;
+
+	@Autowired
+	private TrabalhoService trabalhoService;
+
+	@Autowired
+	private MatchService matchService;
+
+	@Autowired
+	private ApplicationEvents eventos;
+
+	@Test
+	void excluirPorUsuarioEPorTrabalhoPublicaCadaMatch() {
+		String ana = usuario("ana.lote@x.com");
+		String bia = usuario("bia.lote@x.com");
+		String primeiro = trabalho("empresa1.lote@x.com");
+		String segundo = trabalho("empresa2.lote@x.com");
+		String anaPrimeiro = match(ana, primeiro);
+		String anaSegundo = match(ana, segundo);
+		String biaPrimeiro = match(bia, primeiro);
+
+		assertEquals(2, matchService.excluirMatchesPorUsuario(ana));
+		assertEquals(Set.of(anaPrimeiro, anaSegundo), excluidos());
+
+		assertEquals(1, matchService.excluirMatchesPorTrabalho(primeiro));
+		assertEquals(Set.of(anaPrimeiro, anaSegundo, biaPrimeiro), excluidos());
+	}
+
+	private Set<String> excluidos() {
+		return eventos.stream(EventosMatchService.EventoMatch.class)
+				.filter(evento -> EventosMatchService.EXCLUIDO.equals(evento.tipo()))
+				.map(evento -> evento.match().getId())
+				.collect(Collectors.toSet());
+	}
+
+	private String usuario(String email) {
+		UsuarioDTO usuario = new UsuarioDTO();
+		usuario.setNome("Usuário");
+		usuario.setEmail(email);
+		usuario.setSenha("segredo1");
+		return usuarioService.criarUsuario(usuario).getId();
+	}
+
+	private String trabalho(String emailEmpresa) {
+		EmpresaDTO empresa = new EmpresaDTO();
+		empresa.setNome("Empresa");
+		empresa.setEmail(emailEmpresa);
+		empresa.setSenha("segredo1");
+
+		TrabalhoDTO trabalho = new TrabalhoDTO();
+		trabalho.setIdEmpresa(empresaService.criarEmpresa(empresa).getId());
+		trabalho.setDescricaoTrabalho("Aulas de reforço");
+		trabalho.setTipoTrabalho("remoto");
+		trabalho.setQuantidadeDeVagas("2");
+		return trabalhoService.criarTrabalho(trabalho).getId();
+	}
+
+	private String match(String idUsuario, String idTrabalho) {
+		MatchDTO match = new MatchDTO();
+		match.setIdUsuario(idUsuario);
+		match.setIdTrabalho(idTrabalho);
+		match.setStatus("pendente");
+		return matchService.criarMatch(match).getId();
+	}
+}
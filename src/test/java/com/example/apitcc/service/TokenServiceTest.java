@@ -0,0 +1,145 @@
+package com.example.apitcc.service;
+
+import com.example.apitcc.exception.UnauthorizedException;
+import com.example.apitcc.model.dto.SessaoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenServiceTest {
+
+	private static final String SEGREDO = "segredo-de-teste-com-mais-de-32-caracteres";
+	private static final String CABECALHO_HS256 = "{\"alg\":\"HS256\",\"typ\":\"JWT\"}";
+
+	private final TokenService tokenService = tokenService(SEGREDO, "8h");
+
+	@Test
+	void verificaOTokenEmitido() {
+		SessaoDTO sessao = tokenService.emitir(TokenService.USUARIO, 42);
+		SessaoDTO verificada = tokenService.verificar(sessao.getToken());
+
+		assertEquals("42", verificada.getId());
+		assertEquals(TokenService.USUARIO, verificada.getTipo());
+		assertEquals(sessao.getExpiraEm(), verificada.getExpiraEm());
+		assertNull(verificada.getToken());
+	}
+
+	@Test
+	void payloadAlteradoERecusado() {
+		String[] partes = tokenService.emitir(TokenService.USUARIO, 42).getToken().split("\\.");
+		String payload = new String(Base64.getUrlDecoder().decode(partes[1]), StandardCharsets.UTF_8)
+				.replace("\"42\"", "\"1\"");
+		String token = partes[0] + "." + base64(payload) + "." + partes[2];
+
+		assertInvalido(token, "Token inválido");
+	}
+
+	@Test
+	void assinaturaAlteradaOuDeOutraChaveERecusada() {
+		String token = tokenService.emitir(TokenService.EMPRESA, 7).getToken();
+		// Primeiro caractere da assinatura (o último tem bits de preenchimento ignorados na decodificação)
+		int inicio = token.lastIndexOf('.') + 1;
+		char trocado = token.charAt(inicio) == 'A' ? 'B' : 'A';
+		assertInvalido(token.substring(0, inicio) + trocado + token.substring(inicio + 1), "Token inválido");
+
+		String deOutraChave = tokenService("outro-segredo-tambem-com-mais-de-32-caracteres", "8h")
+				.emitir(TokenService.EMPRESA, 7).getToken();
+		assertInvalido(deOutraChave, "Token inválido");
+	}
+
+	@Test
+	void tokenExpiradoERecusado() {
+		String token = tokenService(SEGREDO, "0s").emitir(TokenService.USUARIO, 42).getToken();
+		assertInvalido(token, "Token expirado");
+
+		long passado = Instant.now().minusSeconds(60).getEpochSecond();
+		assertInvalido(assinado(CABECALHO_HS256,
+				"{\"sub\":\"42\",\"tipo\":\"usuario\",\"iat\":0,\"exp\":" + passado + "}"), "Token expirado");
+	}
+
+	@Test
+	void outroAlgERecusadoMesmoAssinado() {
+		String payload = "{\"sub\":\"42\",\"tipo\":\"usuario\",\"iat\":0,\"exp\":" + futuro() + "}";
+
+		assertInvalido(base64("{\"alg\":\"none\",\"typ\":\"JWT\"}") + "." + base64(payload) + ".", "Token inválido");
+		assertInvalido(assinado("{\"alg\":\"none\",\"typ\":\"JWT\"}", payload), "Token inválido");
+		assertInvalido(assinado("{\"alg\":\"HS512\",\"typ\":\"JWT\"}", payload), "Token inválido");
+		assertInvalido(assinado("{\"typ\":\"JWT\",\"alg\":\"HS256\"}", payload), "Token inválido");
+
+		// O mesmo payload com o cabeçalho esperado é aceito
+		assertEquals("42", tokenService.verificar(assinado(CABECALHO_HS256, payload)).getId());
+	}
+
+	@Test
+	void tipoDesconhecidoOuTokenMalformadoERecusado() {
+		assertInvalido(assinado(CABECALHO_HS256,
+				"{\"sub\":\"42\",\"tipo\":\"admin\",\"iat\":0,\"exp\":" + futuro() + "}"), "Token inválido");
+		assertInvalido(assinado(CABECALHO_HS256, "nao é json"), "Token inválido");
+		assertInvalido("abc", "Token inválido");
+		assertInvalido(base64(CABECALHO_HS256) + ".e30", "Token inválido");
+		assertInvalido(base64(CABECALHO_HS256) + ".e30.%%%", "Token inválido");
+	}
+
+	@Test
+	void segredoCurtoNaoInicia() {
+		assertThrows(IllegalStateException.class, () -> tokenService("curto", "8h"));
+	}
+
+	@Test
+	void semSegredoSoIniciaForaDeProducao() {
+		MockEnvironment producao = new MockEnvironment();
+		producao.setActiveProfiles("prod");
+		assertThrows(IllegalStateException.class, () -> new TokenService(producao, new ObjectMapper()));
+
+		MockEnvironment desenvolvimento = new MockEnvironment();
+		desenvolvimento.setActiveProfiles("dev");
+		TokenService aleatorio = new TokenService(desenvolvimento, new ObjectMapper());
+		assertEquals("42", aleatorio.verificar(aleatorio.emitir(TokenService.USUARIO, 42).getToken()).getId());
+	}
+
+	private void assertInvalido(String token, String mensagem) {
+		UnauthorizedException erro = assertThrows(UnauthorizedException.class, () -> tokenService.verificar(token));
+		assertEquals(mensagem, erro.getMessage());
+	}
+
+	private static TokenService tokenService(String segredo, String validade) {
+		MockEnvironment environment = new MockEnvironment()
+				.withProperty("app.auth.segredo", segredo)
+				.withProperty("app.auth.validade", validade);
+		// Conversões do Spring Boot (texto -> Duration), como no contexto da aplicação
+		environment.setConversionService((ConfigurableConversionService) ApplicationConversionService.getSharedInstance());
+		return new TokenService(environment, new ObjectMapper());
+	}
+
+	private static String assinado(String cabecalho, String payload) {
+		String conteudo = base64(cabecalho) + "." + base64(payload);
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(SEGREDO.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+			return conteudo + "." + Base64.getUrlEncoder().withoutPadding()
+					.encodeToString(mac.doFinal(conteudo.getBytes(StandardCharsets.UTF_8)));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String base64(String texto) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static long futuro() {
+		return Instant.now().plusSeconds(3600).getEpochSecond();
+	}
+}
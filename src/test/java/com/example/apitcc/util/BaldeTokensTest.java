@@ -0,0 +1,90 @@
+package com.example.apitcc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BaldeTokensTest {
+
+	private long agora = 1_000_000_000L;
+
+	@Test
+	void comecaCheioEAceitaARajada() {
+		BaldeTokens balde = new BaldeTokens(3, 2, () -> agora);
+
+		assertEquals(0, balde.consumir());
+		assertEquals(0, balde.consumir());
+		assertEquals(0, balde.consumir());
+		// Vazio: 1 token a 2/s leva 500 ms
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(500), balde.consumir(), 1);
+	}
+
+	@Test
+	void recargaParcialReduzAEspera() {
+		BaldeTokens balde = vazio(1, 2);
+
+		avancar(250);
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(250), balde.consumir(), 1);
+
+		avancar(250);
+		assertEquals(0, balde.consumir());
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(500), balde.consumir(), 1);
+	}
+
+	@Test
+	void esperarOTempoInformadoBasta() {
+		BaldeTokens balde = vazio(5, 3);
+
+		for (int i = 0; i < 20; i++) {
+			long espera = balde.consumir();
+			agora += espera;
+			assertEquals(0, balde.consumir());
+		}
+	}
+
+	@Test
+	void recargaNaoPassaDaCapacidade() {
+		BaldeTokens balde = vazio(3, 10);
+
+		avancar(60_000);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, balde.consumir());
+		}
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(100), balde.consumir(), 1);
+	}
+
+	@Test
+	void taxaFracionaria() {
+		BaldeTokens balde = vazio(1, 0.5);
+
+		assertEquals(TimeUnit.SECONDS.toNanos(2), balde.consumir(), 1);
+		avancar(1_500);
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(500), balde.consumir(), 1);
+	}
+
+	@Test
+	void recusaNaoConsome() {
+		BaldeTokens balde = vazio(2, 1);
+
+		// Tentativas recusadas não acumulam dívida
+		for (int i = 0; i < 5; i++) {
+			balde.consumir();
+		}
+		avancar(1_000);
+		assertEquals(0, balde.consumir());
+	}
+
+	private BaldeTokens vazio(double capacidade, double porSegundo) {
+		BaldeTokens balde = new BaldeTokens(capacidade, porSegundo, () -> agora);
+		for (int i = 0; i < capacidade; i++) {
+			assertEquals(0, balde.consumir());
+		}
+		return balde;
+	}
+
+	private void avancar(long milissegundos) {
+		agora += TimeUnit.MILLISECONDS.toNanos(milissegundos);
+	}
+}
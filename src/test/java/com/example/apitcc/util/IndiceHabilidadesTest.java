@@ -0,0 +1,101 @@
+package com.example.apitcc.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceHabilidadesTest {
+
+	private IndiceHabilidades indice;
+
+	@BeforeEach
+	void carregar() {
+		indice = new IndiceHabilidades();
+		indice.carregarSeNecessario(indexar -> {
+			indexar.accept(1L, "Java, SQL");
+			indexar.accept(2L, "java");
+			indexar.accept(3L, "Python");
+			indexar.accept(4L, "Java; Spring Boot / SQL | Docker");
+		});
+	}
+
+	@Test
+	void normalizaSeparadoresAcentosEEspacos() {
+		assertEquals(List.of("java", "programacao", "spring boot"),
+				List.copyOf(IndiceHabilidades.normalizar("Java, Programação;  spring  boot\n")));
+		assertTrue(IndiceHabilidades.normalizar("  ").isEmpty());
+		assertTrue(IndiceHabilidades.normalizar(null).isEmpty());
+	}
+
+	@Test
+	void ordenaPorPontuacaoCoberturaEId() {
+		List<IndiceHabilidades.Resultado> resultado = indice.buscar(Set.of("java", "sql"), 10, Set.of());
+
+		// 1 e 4 empatam na pontuação; 1 cobre todas as suas habilidades (2/2), 4 só metade (2/4)
+		assertEquals(List.of(1L, 4L, 2L), ids(resultado));
+		assertEquals(Math.log(1 + 4.0 / 3) + Math.log(1 + 4.0 / 2), resultado.get(0).getPontuacao(), 1e-9);
+		assertEquals(0.5, resultado.get(1).getCobertura(), 1e-9);
+		assertEquals(List.of("java"), resultado.get(2).getHabilidadesEmComum());
+	}
+
+	@Test
+	void respeitaLimiteEExcluidos() {
+		assertEquals(List.of(1L, 4L), ids(indice.buscar(Set.of("java", "sql"), 2, Set.of())));
+		assertEquals(List.of(4L, 2L), ids(indice.buscar(Set.of("java", "sql"), 10, Set.of(1L))));
+		assertTrue(indice.buscar(Set.of("cobol"), 10, Set.of()).isEmpty());
+	}
+
+	@Test
+	void reindexarTrocaAsHabilidades() {
+		indice.indexar(2L, "Python");
+
+		assertEquals(List.of(1L, 4L), ids(indice.buscar(Set.of("java"), 10, Set.of())));
+		assertEquals(List.of(2L, 3L), ids(indice.buscar(Set.of("python"), 10, Set.of())));
+		assertEquals(4, indice.tamanho());
+	}
+
+	@Test
+	void removerTiraDoIndice() {
+		indice.remover(1L);
+		assertEquals(List.of(4L, 2L), ids(indice.buscar(Set.of("java", "sql"), 10, Set.of())));
+
+		// Habilidades vazias também removem
+		indice.indexar(4L, " ");
+		assertEquals(List.of(2L), ids(indice.buscar(Set.of("java", "sql"), 10, Set.of())));
+		assertEquals(2, indice.tamanho());
+
+		// Reindexar um ID removido volta a encontrá-lo
+		indice.indexar(1L, "sql");
+		assertEquals(List.of(1L), ids(indice.buscar(Set.of("sql"), 10, Set.of())));
+	}
+
+	@Test
+	void indexarAntesDaCargaNaoFazNada() {
+		IndiceHabilidades vazio = new IndiceHabilidades();
+		vazio.indexar(1L, "java");
+
+		assertFalse(vazio.isCarregado());
+		assertEquals(0, vazio.tamanho());
+	}
+
+	@Test
+	void cresceAlemDaCapacidadeInicial() {
+		for (long id = 10; id < 2010; id++) {
+			indice.indexar(id, "kotlin");
+		}
+		indice.indexar(2009L, "kotlin, go");
+
+		assertEquals(List.of(2009L), ids(indice.buscar(Set.of("go"), 10, Set.of())));
+		assertEquals(2000, indice.buscar(Set.of("kotlin"), 5000, Set.of()).size());
+	}
+
+	private static List<Long> ids(List<IndiceHabilidades.Resultado> resultado) {
+		return resultado.stream().map(IndiceHabilidades.Resultado::getId).toList();
+	}
+}
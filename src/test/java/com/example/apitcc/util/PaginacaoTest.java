@@ -0,0 +1,97 @@
+package com.example.apitcc.util;
+
+import com.example.apitcc.exception.BadRequestException;
+import com.example.apitcc.model.dto.PaginaDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaginacaoTest {
+
+	private static final Set<String> CAMPOS = Set.of(Paginacao.CAMPO_ID, "nome");
+
+	// Nomes repetidos, nulos e com o separador do cursor
+	private static final List<Item> ITENS = List.of(
+			new Item(5, "Bruno"), new Item(1, "Ana"), new Item(7, null), new Item(3, "Ana"),
+			new Item(2, "C|arla"), new Item(9, "Ana"), new Item(4, "Érica"), new Item(8, null), new Item(6, "Bruno"));
+
+	@Test
+	void cursorIdaEVolta() {
+		for (String valor : List.of("", "Ana", "C|arla", "Érica 😀", "a|b|c")) {
+			Paginacao.Consulta consulta = Paginacao.criarConsulta(10, Paginacao.gerarCursor(valor, 42), "nome", CAMPOS);
+
+			assertEquals(valor, consulta.getCursorValor());
+			assertEquals(42L, consulta.getCursorId());
+			assertTrue(consulta.temCursor());
+		}
+		assertEquals("", Paginacao.criarConsulta(10, Paginacao.gerarCursor(null, 1), null, CAMPOS).getCursorValor());
+	}
+
+	@Test
+	void percorreTodasAsPaginasSemRepetirNemPular() {
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), percorrer(null, 2));
+		assertEquals(List.of(9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L), percorrer("-id", 4));
+		// Empates no nome desempatados pelo ID; nulos ordenados como vazio
+		assertEquals(List.of(7L, 8L, 1L, 3L, 9L, 5L, 6L, 2L, 4L), percorrer("nome", 2));
+		assertEquals(List.of(4L, 2L, 6L, 5L, 9L, 3L, 1L, 8L, 7L), percorrer("-nome", 3));
+	}
+
+	@Test
+	void ultimaPaginaSemCursor() {
+		Paginacao.Consulta consulta = Paginacao.criarConsulta(ITENS.size(), null, null, CAMPOS);
+		PaginaDTO<Long> pagina = pagina(consulta);
+
+		assertEquals(ITENS.size(), pagina.getItens().size());
+		assertFalse(pagina.isTemMais());
+		assertNull(pagina.getProximoCursor());
+	}
+
+	@Test
+	void parametrosInvalidos() {
+		assertThrows(BadRequestException.class, () -> Paginacao.criarConsulta(0, null, null, CAMPOS));
+		assertThrows(BadRequestException.class,
+				() -> Paginacao.criarConsulta(Paginacao.LIMITE_MAXIMO + 1, null, null, CAMPOS));
+		assertThrows(BadRequestException.class, () -> Paginacao.criarConsulta(null, null, "-email", CAMPOS));
+		assertThrows(BadRequestException.class, () -> Paginacao.criarConsulta(null, "%%%", null, CAMPOS));
+		assertThrows(BadRequestException.class, () -> Paginacao.criarConsulta(null, base64("sem separador"), null, CAMPOS));
+		assertThrows(BadRequestException.class, () -> Paginacao.criarConsulta(null, base64("Ana|abc"), null, CAMPOS));
+		assertEquals(Paginacao.LIMITE_PADRAO, Paginacao.criarConsulta(null, " ", " ", CAMPOS).getLimite());
+	}
+
+	/**
+	 * Segue os cursores como um cliente e devolve os IDs na ordem recebida
+	 */
+	private static List<Long> percorrer(String sort, int limite) {
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			PaginaDTO<Long> pagina = pagina(Paginacao.criarConsulta(limite, cursor, sort, CAMPOS));
+			assertTrue(pagina.getItens().size() <= limite);
+			assertEquals(pagina.isTemMais(), pagina.getProximoCursor() != null);
+			ids.addAll(pagina.getItens());
+			cursor = pagina.getProximoCursor();
+		} while (cursor != null);
+		return ids;
+	}
+
+	private static PaginaDTO<Long> pagina(Paginacao.Consulta consulta) {
+		List<Item> resultado = Paginacao.paginar(ITENS, consulta, Item::nome, Item::id);
+		return Paginacao.montarPagina(resultado, consulta, Item::nome, Item::id, Item::id);
+	}
+
+	private static String base64(String texto) {
+		return Base64.getUrlEncoder().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private record Item(long id, String nome) {}
+}
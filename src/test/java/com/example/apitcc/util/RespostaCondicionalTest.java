@@ -0,0 +1,121 @@
+package com.example.apitcc.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RespostaCondicionalTest {
+
+	private final AtomicInteger consultas = new AtomicInteger();
+
+	@Test
+	void semIfNoneMatchRespondeComETag() {
+		ResponseEntity<String> resposta = RespostaCondicional.responder(requisicao(null), 7, this::consultar);
+
+		assertEquals(HttpStatus.OK, resposta.getStatusCode());
+		assertEquals(RespostaCondicional.etag(7), resposta.getHeaders().getETag());
+		assertEquals("no-cache", resposta.getHeaders().getCacheControl());
+		assertEquals("corpo", resposta.getBody());
+		assertEquals(1, consultas.get());
+	}
+
+	@Test
+	void mesmaVersaoResponde304SemConsultar() {
+		ResponseEntity<String> resposta = RespostaCondicional.responder(
+				requisicao(RespostaCondicional.etag(7)), 7, this::consultar);
+
+		assertEquals(HttpStatus.NOT_MODIFIED, resposta.getStatusCode());
+		assertEquals(RespostaCondicional.etag(7), resposta.getHeaders().getETag());
+		assertNull(resposta.getBody());
+		assertEquals(0, consultas.get());
+	}
+
+	@Test
+	void etagFracoEListaTambemBatem() {
+		String etag = RespostaCondicional.etag(7);
+
+		assertEquals(HttpStatus.NOT_MODIFIED,
+				RespostaCondicional.responder(requisicao("W/" + etag), 7, this::consultar).getStatusCode());
+		assertEquals(HttpStatus.NOT_MODIFIED, RespostaCondicional.responder(
+				requisicao(RespostaCondicional.etag(3) + ", " + etag), 7, this::consultar).getStatusCode());
+		assertEquals(0, consultas.get());
+	}
+
+	@Test
+	void versaoNovaRespondeCompleto() {
+		ResponseEntity<String> resposta = RespostaCondicional.responder(
+				requisicao(RespostaCondicional.etag(7)), 8, this::consultar);
+
+		assertEquals(HttpStatus.OK, resposta.getStatusCode());
+		assertEquals(RespostaCondicional.etag(8), resposta.getHeaders().getETag());
+		assertEquals(1, consultas.get());
+		assertNotEquals(RespostaCondicional.etag(7), RespostaCondicional.etag(8));
+	}
+
+	@Test
+	void projecaoSoMontaOCorpoQuandoModificado() {
+		Projecao projecao = Projecao.criar("nome", Set.of("nome", "email"), Set.of());
+
+		ResponseEntity<MappingJacksonValue> naoModificado = RespostaCondicional.responder(
+				requisicao(RespostaCondicional.etag(2)), 2, projecao, this::consultarLista);
+		assertEquals(HttpStatus.NOT_MODIFIED, naoModificado.getStatusCode());
+		assertEquals(0, consultas.get());
+
+		ResponseEntity<MappingJacksonValue> completo = RespostaCondicional.responder(
+				requisicao(null), 2, projecao, this::consultarLista);
+		assertEquals(List.of("corpo"), completo.getBody().getValue());
+		assertEquals(1, consultas.get());
+	}
+
+	@Test
+	void arquivoUsaAVersaoDoConteudo() {
+		ResponseEntity<Resource> naoModificado = RespostaCondicional.responderArquivo(
+				requisicao("\"abc\""), "abc", "image/png", this::arquivo);
+		assertEquals(HttpStatus.NOT_MODIFIED, naoModificado.getStatusCode());
+		assertEquals(0, consultas.get());
+
+		ResponseEntity<Resource> completo = RespostaCondicional.responderArquivo(
+				requisicao("\"velho\""), "abc", "image/png", this::arquivo);
+		assertEquals(HttpStatus.OK, completo.getStatusCode());
+		assertEquals("\"abc\"", completo.getHeaders().getETag());
+		assertEquals(MediaType.IMAGE_PNG, completo.getHeaders().getContentType());
+		assertEquals(1, consultas.get());
+	}
+
+	private String consultar() {
+		consultas.incrementAndGet();
+		return "corpo";
+	}
+
+	private List<String> consultarLista() {
+		return List.of(consultar());
+	}
+
+	private Resource arquivo() {
+		consultas.incrementAndGet();
+		return new ByteArrayResource(new byte[] {1, 2, 3});
+	}
+
+	private static ServletWebRequest requisicao(String ifNoneMatch) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/usuarios/listar");
+		if (ifNoneMatch != null) {
+			request.addHeader("If-None-Match", ifNoneMatch);
+		}
+		return new ServletWebRequest(request, new MockHttpServletResponse());
+	}
+}